@@ -0,0 +1,128 @@
+package com.ratelimitx.agent;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.ratelimitx.sdk.RateLimitXException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.ratelimitx.sdk.Models.RateLimitCheckRequest;
+import static com.ratelimitx.sdk.Models.RateLimitCheckResponse;
+import static com.ratelimitx.sdk.Models.RateLimitReleaseRequest;
+
+/**
+ * Client for processes on the same host as the agent. One instance holds one socket
+ * connection; checks can be issued from any thread and complete as decisions arrive.
+ */
+public class AgentClient implements Closeable {
+    private final LineChannel connection;
+    private final Gson gson = new GsonBuilder().create();
+    private final Map<String, CompletableFuture<JsonObject>> pending = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(0);
+
+    public AgentClient() throws IOException {
+        this(Path.of(AgentConfig.DEFAULT_SOCKET));
+    }
+
+    public AgentClient(Path socketPath) throws IOException {
+        SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+        channel.connect(UnixDomainSocketAddress.of(socketPath));
+        this.connection = new LineChannel(channel);
+
+        Thread reader = new Thread(this::read, "ratelimitx-agent-client");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Check if a request should be rate limited; completes exceptionally with
+     * {@link RateLimitXException} if the agent could not evaluate it
+     */
+    public CompletableFuture<RateLimitCheckResponse> check(RateLimitCheckRequest request) {
+        JsonObject message = gson.toJsonTree(request).getAsJsonObject();
+        return send(message).thenApply(reply -> gson.fromJson(reply, RateLimitCheckResponse.class));
+    }
+
+    /**
+     * Release a lease returned by {@link #check} for CONCURRENCY rules
+     * @return number of rules whose lease was still held
+     */
+    public CompletableFuture<Integer> release(RateLimitReleaseRequest request) {
+        JsonObject message = gson.toJsonTree(request).getAsJsonObject();
+        message.addProperty("op", "release");
+        return send(message).thenApply(reply -> reply.get("released").getAsInt());
+    }
+
+    private CompletableFuture<JsonObject> send(JsonObject message) {
+        String id = Long.toString(nextId.incrementAndGet());
+        CompletableFuture<JsonObject> future = new CompletableFuture<>();
+        pending.put(id, future);
+        message.addProperty("id", id);
+
+        try {
+            connection.writeLine(gson.toJson(message));
+        } catch (IOException e) {
+            pending.remove(id);
+            future.completeExceptionally(new RateLimitXException("Agent connection failed: " + e.getMessage(), 0, null));
+        }
+        return future;
+    }
+
+    private void read() {
+        String reason = "Agent connection closed";
+        try {
+            String line;
+            while ((line = connection.readLine()) != null) {
+                JsonObject reply;
+                try {
+                    reply = gson.fromJson(line, JsonObject.class);
+                } catch (JsonParseException e) {
+                    continue;
+                }
+                if (reply == null || !reply.has("id") || reply.get("id").isJsonNull()) {
+                    // Message the agent could not parse at all
+                    continue;
+                }
+
+                CompletableFuture<JsonObject> future = pending.remove(reply.get("id").getAsString());
+                if (future == null) {
+                    continue;
+                }
+
+                if (reply.has("error")) {
+                    future.completeExceptionally(new RateLimitXException(reply.get("error").getAsString(), 0, reply));
+                } else {
+                    future.complete(reply);
+                }
+            }
+        } catch (IOException e) {
+            reason = "Agent connection failed: " + e.getMessage();
+        }
+        failAll(reason);
+    }
+
+    private void failAll(String message) {
+        for (String id : pending.keySet()) {
+            CompletableFuture<JsonObject> future = pending.remove(id);
+            if (future != null) {
+                future.completeExceptionally(new RateLimitXException(message, 0, null));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        connection.close();
+    }
+}
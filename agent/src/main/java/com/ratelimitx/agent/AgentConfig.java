@@ -0,0 +1,73 @@
+package com.ratelimitx.agent;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Agent settings, read from RATELIMITX_* environment variables
+ *
+ * @param serverUrl        RateLimitX base URL (backend data-plane port or standalone data plane)
+ * @param apiKey           API key every forwarded check is made with
+ * @param socketPath       Unix domain socket local processes connect to
+ * @param failOpen         answer allowed (true) or denied (false) when the server cannot be reached
+ * @param maxBatchSize     checks per stream frame (the server accepts at most 100)
+ * @param maxInFlight      frames outstanding on the stream before checks queue up
+ * @param leaseMinRate     checks per second on one key before the agent leases tokens for it
+ * @param leaseMs          how long a leased chunk may be served from, and the traffic it is sized for
+ * @param maxChunk         most tokens claimed for a key at once; 0 turns leasing off
+ * @param denyCacheMaxMs   longest a server denial is answered locally
+ */
+public record AgentConfig(
+        String serverUrl,
+        String apiKey,
+        Path socketPath,
+        boolean failOpen,
+        int maxBatchSize,
+        int maxInFlight,
+        int leaseMinRate,
+        long leaseMs,
+        int maxChunk,
+        long denyCacheMaxMs) {
+
+    public static final String DEFAULT_SOCKET = "/tmp/ratelimitx-agent.sock";
+
+    public static AgentConfig fromEnv() {
+        return fromEnv(System.getenv());
+    }
+
+    static AgentConfig fromEnv(Map<String, String> env) {
+        String serverUrl = env.get("RATELIMITX_URL");
+        String apiKey = env.get("RATELIMITX_API_KEY");
+        if (serverUrl == null || serverUrl.isBlank() || apiKey == null || apiKey.isBlank()) {
+            throw new IllegalArgumentException("RATELIMITX_URL and RATELIMITX_API_KEY are required");
+        }
+
+        return new AgentConfig(
+                serverUrl,
+                apiKey,
+                Path.of(env.getOrDefault("RATELIMITX_AGENT_SOCKET", DEFAULT_SOCKET)),
+                Boolean.parseBoolean(env.getOrDefault("RATELIMITX_AGENT_FAIL_OPEN", "true")),
+                Math.max(1, Math.min(100, intValue(env, "RATELIMITX_AGENT_MAX_BATCH_SIZE", 100))),
+                Math.max(1, intValue(env, "RATELIMITX_AGENT_MAX_IN_FLIGHT", 8)),
+                intValue(env, "RATELIMITX_AGENT_LEASE_MIN_RATE", 10),
+                intValue(env, "RATELIMITX_AGENT_LEASE_MS", 1000),
+                intValue(env, "RATELIMITX_AGENT_MAX_CHUNK", 20),
+                intValue(env, "RATELIMITX_AGENT_DENY_CACHE_MAX_MS", 5000));
+    }
+
+    private static int intValue(Map<String, String> env, String name, int defaultValue) {
+        String value = env.get(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed < 0) {
+                throw new NumberFormatException();
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a non-negative number, got: " + value);
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package com.ratelimitx.agent;
+
+import com.ratelimitx.sdk.RateLimitX;
+import com.ratelimitx.sdk.RateLimitXException;
+
+import java.io.Closeable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.ratelimitx.sdk.Models.RateLimitCheckRequest;
+import static com.ratelimitx.sdk.Models.RateLimitCheckResponse;
+import static com.ratelimitx.sdk.Models.RateLimitReleaseRequest;
+import static com.ratelimitx.sdk.Models.ReservationRequest;
+import static com.ratelimitx.sdk.Models.ReservationResponse;
+
+/**
+ * Answers checks for every process on the host, going to the server only when it has to.
+ * <ul>
+ *   <li>Deny cache: once the server denies a key, later checks on it are denied locally
+ *       for retryAfter (at most denyCacheMaxMs).</li>
+ *   <li>Token leases: a key checked at least leaseMinRate times a second gets a chunk of
+ *       tokens reserved (and committed right away) on the server, sized to cover leaseMs of
+ *       its traffic; checks are then allowed locally until the chunk is used up or leaseMs
+ *       has passed. Tokens left in an expired chunk are lost, like the server's TOKEN_LEASE
+ *       mode, so the limit is never exceeded but may be under-used by one chunk per agent.</li>
+ *   <li>Coalescing: concurrent checks on a key that needs a new chunk all wait for one claim
+ *       instead of each sending their own; whoever the chunk cannot cover is forwarded.</li>
+ *   <li>Everything else is forwarded in batches over one check stream ({@link Forwarder}).</li>
+ * </ul>
+ * Reservations only cover FIXED_WINDOW and SLIDING_WINDOW rules; keys with other rules
+ * are rejected by the server and simply keep being forwarded.
+ */
+class AgentLimiter implements Closeable {
+
+    private static final System.Logger log = System.getLogger(AgentLimiter.class.getName());
+
+    // Reservations are committed right away; the TTL only matters if the commit is lost
+    private static final int RESERVATION_TTL_SECONDS = 60;
+
+    // Keys whose rules cannot be reserved against are retried this often (rules may change)
+    private static final long UNLEASABLE_RETRY_MS = 60000;
+    private static final long CLAIM_FAILURE_RETRY_MS = 1000;
+
+    private static final long SLOT_IDLE_MS = 60000;
+
+    enum Source { SERVER, LEASE, DENY_CACHE, FAIL_OPEN, FAIL_CLOSED }
+
+    record AgentDecision(RateLimitCheckResponse response, Source source) {}
+
+    private final AgentConfig config;
+    private final Forwarder forwarder;
+    private final RateLimitX client;
+    private final ExecutorService http;
+    private final ScheduledExecutorService sweeper;
+
+    private final ConcurrentHashMap<String, Slot> slots = new ConcurrentHashMap<>();
+
+    private final LongAdder leaseAllowed = new LongAdder();
+    private final LongAdder cacheDenied = new LongAdder();
+    private final LongAdder forwarded = new LongAdder();
+    private final LongAdder claims = new LongAdder();
+    private final LongAdder claimedTokens = new LongAdder();
+    private final LongAdder unavailable = new LongAdder();
+
+    AgentLimiter(AgentConfig config) {
+        this.config = config;
+        this.forwarder = new Forwarder(config.serverUrl(), config.apiKey(), config.maxBatchSize(), config.maxInFlight());
+        this.client = new RateLimitX(config.serverUrl(), config.apiKey());
+        // Reservations, commits and releases are blocking HTTP calls
+        this.http = Executors.newCachedThreadPool(daemon("ratelimitx-agent-http"));
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(daemon("ratelimitx-agent-sweeper"));
+        sweeper.scheduleWithFixedDelay(this::sweep, SLOT_IDLE_MS, SLOT_IDLE_MS, TimeUnit.MILLISECONDS);
+    }
+
+    CompletableFuture<AgentDecision> check(RateLimitCheckRequest request) {
+        long now = System.currentTimeMillis();
+        String key = request.getResource() + '\n' + (request.getIdentifier() != null ? request.getIdentifier() : "");
+        Slot slot = slots.computeIfAbsent(key, k -> new Slot());
+        slot.lastUsedAt = now;
+        int rate = slot.record(now);
+
+        long deniedUntil = slot.deniedUntil;
+        if (deniedUntil > now) {
+            cacheDenied.increment();
+            return CompletableFuture.completedFuture(new AgentDecision(denied(deniedUntil, now), Source.DENY_CACHE));
+        }
+
+        RateLimitCheckResponse leased = slot.take(now);
+        if (leased != null) {
+            leaseAllowed.increment();
+            return CompletableFuture.completedFuture(new AgentDecision(leased, Source.LEASE));
+        }
+
+        if (config.maxChunk() > 0 && rate >= config.leaseMinRate() && now >= slot.leaseRetryAt) {
+            return claimThenCheck(slot, request, rate, now);
+        }
+        return forward(slot, request);
+    }
+
+    CompletableFuture<Integer> release(RateLimitReleaseRequest request) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return client.release(request);
+            } catch (RateLimitXException e) {
+                throw new CompletionException(e);
+            }
+        }, http);
+    }
+
+    Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("keys", (long) slots.size());
+        stats.put("leaseAllowed", leaseAllowed.sum());
+        stats.put("cacheDenied", cacheDenied.sum());
+        stats.put("forwarded", forwarded.sum());
+        stats.put("claims", claims.sum());
+        stats.put("claimedTokens", claimedTokens.sum());
+        stats.put("unavailable", unavailable.sum());
+        return stats;
+    }
+
+    private CompletableFuture<AgentDecision> claimThenCheck(Slot slot, RateLimitCheckRequest request, int rate, long now) {
+        CompletableFuture<Void> claim;
+        synchronized (slot) {
+            // A claim may have finished while we got here
+            RateLimitCheckResponse leased = slot.take(now);
+            if (leased != null) {
+                leaseAllowed.increment();
+                return CompletableFuture.completedFuture(new AgentDecision(leased, Source.LEASE));
+            }
+
+            claim = slot.claim;
+            if (claim == null) {
+                claim = startClaim(slot, request, rate);
+                slot.claim = claim;
+            }
+        }
+
+        return claim.thenCompose(ignored -> {
+            RateLimitCheckResponse leased = slot.take(System.currentTimeMillis());
+            if (leased != null) {
+                leaseAllowed.increment();
+                return CompletableFuture.completedFuture(new AgentDecision(leased, Source.LEASE));
+            }
+            // The claim failed or the chunk was shared out before this check got a token
+            return forward(slot, request);
+        });
+    }
+
+    private CompletableFuture<Void> startClaim(Slot slot, RateLimitCheckRequest request, int rate) {
+        int chunk = (int) Math.ceil(rate * config.leaseMs() / 1000.0);
+        int tokens = Math.max(1, Math.min(chunk, Math.min(config.maxChunk(), slot.chunkCap)));
+
+        return CompletableFuture.runAsync(() -> {
+            try {
+                ReservationResponse reservation = client.reserve(new ReservationRequest(
+                        request.getIdentifier(), request.getResource(), tokens, RESERVATION_TTL_SECONDS));
+
+                if (reservation != null && Boolean.TRUE.equals(reservation.getAllowed())) {
+                    claims.increment();
+                    claimedTokens.add(tokens);
+                    long granted = System.currentTimeMillis();
+                    slot.lease = new Lease(tokens, reservation.getRemaining() != null ? reservation.getRemaining() : 0,
+                            granted + config.leaseMs());
+                    if (slot.chunkCap < config.maxChunk()) {
+                        slot.chunkCap = Math.min(config.maxChunk(), slot.chunkCap * 2);
+                    }
+                    commit(reservation.getReservationId());
+                } else {
+                    slot.shrink(tokens);
+                }
+            } catch (RateLimitXException e) {
+                if (e.getStatusCode() == 429) {
+                    // Not enough room for the whole chunk; the forwarded check gets the exact answer
+                    slot.shrink(tokens);
+                } else if (e.getStatusCode() == 400) {
+                    log.log(System.Logger.Level.DEBUG, "Key cannot be leased, forwarding its checks: {0}", e.getMessage());
+                    slot.leaseRetryAt = System.currentTimeMillis() + UNLEASABLE_RETRY_MS;
+                } else {
+                    log.log(System.Logger.Level.DEBUG, "Token claim failed: {0}", e.getMessage());
+                    slot.leaseRetryAt = System.currentTimeMillis() + CLAIM_FAILURE_RETRY_MS;
+                }
+            } catch (RuntimeException e) {
+                log.log(System.Logger.Level.ERROR, "Token claim failed", e);
+                slot.leaseRetryAt = System.currentTimeMillis() + CLAIM_FAILURE_RETRY_MS;
+            } finally {
+                synchronized (slot) {
+                    slot.claim = null;
+                }
+            }
+        }, http);
+    }
+
+    private void commit(String reservationId) {
+        try {
+            client.commitReservation(reservationId);
+        } catch (RateLimitXException e) {
+            // The server refunds the reservation after its TTL, so the chunk ends up not counted
+            log.log(System.Logger.Level.WARNING, "Could not commit reservation {0}: {1}", reservationId, e.getMessage());
+        }
+    }
+
+    private CompletableFuture<AgentDecision> forward(Slot slot, RateLimitCheckRequest request) {
+        forwarded.increment();
+
+        return forwarder.submit(request).handle((response, error) -> {
+            if (error == null) {
+                long now = System.currentTimeMillis();
+                if (!Boolean.TRUE.equals(response.getAllowed()) && response.getRetryAfter() != null
+                        && response.getRetryAfter() > 0) {
+                    slot.deniedUntil = now + Math.min(response.getRetryAfter() * 1000L, config.denyCacheMaxMs());
+                }
+                return new AgentDecision(response, Source.SERVER);
+            }
+
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof RateLimitXException && ((RateLimitXException) cause).getResponse() != null) {
+                // The server answered, but could not evaluate this check (e.g. invalid identifier)
+                throw new CompletionException(cause);
+            }
+            if (!(cause instanceof RateLimitXException) && !(cause instanceof TimeoutException)) {
+                log.log(System.Logger.Level.ERROR, "Forwarded check failed", cause);
+            }
+
+            unavailable.increment();
+            return unavailable(System.currentTimeMillis());
+        });
+    }
+
+    private AgentDecision unavailable(long now) {
+        RateLimitCheckResponse response = new RateLimitCheckResponse();
+        if (config.failOpen()) {
+            response.setAllowed(true);
+            response.setRemaining(0);
+            response.setResetAt(now);
+            response.setRetryAfter(0);
+            return new AgentDecision(response, Source.FAIL_OPEN);
+        }
+
+        response.setAllowed(false);
+        response.setRemaining(0);
+        response.setResetAt(now + 1000);
+        response.setRetryAfter(1);
+        return new AgentDecision(response, Source.FAIL_CLOSED);
+    }
+
+    private static RateLimitCheckResponse denied(long deniedUntil, long now) {
+        RateLimitCheckResponse response = new RateLimitCheckResponse();
+        response.setAllowed(false);
+        response.setRemaining(0);
+        response.setResetAt(deniedUntil);
+        response.setRetryAfter((int) Math.ceil((deniedUntil - now) / 1000.0));
+        return response;
+    }
+
+    private void sweep() {
+        long idleSince = System.currentTimeMillis() - SLOT_IDLE_MS;
+        slots.values().removeIf(slot -> slot.lastUsedAt < idleSince && slot.claim == null);
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+        http.shutdown();
+        forwarder.close();
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Tokens claimed for one key; served until used up or until expiresAt
+     */
+    private static final class Lease {
+        final AtomicInteger tokens;
+        final int sharedRemaining;
+        final long expiresAt;
+
+        Lease(int tokens, int sharedRemaining, long expiresAt) {
+            this.tokens = new AtomicInteger(tokens);
+            this.sharedRemaining = sharedRemaining;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Local state of one (resource, identifier) key
+     */
+    private static final class Slot {
+        volatile long lastUsedAt;
+        volatile long deniedUntil;
+        volatile long leaseRetryAt;
+        volatile int chunkCap = Integer.MAX_VALUE;
+        volatile Lease lease;
+
+        // Guarded by the slot's monitor
+        CompletableFuture<Void> claim;
+
+        // Checks seen in the current and the previous second
+        private final AtomicInteger count = new AtomicInteger();
+        private volatile long second;
+        private volatile int previousCount;
+
+        /**
+         * Count a check
+         * @return checks per second on this key, the larger of the last full second and this one
+         */
+        int record(long now) {
+            long current = now / 1000;
+            if (current != second) {
+                synchronized (this) {
+                    if (current != second) {
+                        previousCount = current == second + 1 ? count.get() : 0;
+                        count.set(0);
+                        second = current;
+                    }
+                }
+            }
+            return Math.max(previousCount, count.incrementAndGet());
+        }
+
+        /**
+         * Take a leased token
+         * @return the decision, or null if no lease covers this check
+         */
+        RateLimitCheckResponse take(long now) {
+            Lease current = lease;
+            if (current == null || current.expiresAt <= now) {
+                return null;
+            }
+
+            int left = current.tokens.decrementAndGet();
+            if (left < 0) {
+                return null;
+            }
+
+            RateLimitCheckResponse response = new RateLimitCheckResponse();
+            response.setAllowed(true);
+            response.setRemaining(current.sharedRemaining + left);
+            response.setResetAt(current.expiresAt);
+            response.setRetryAfter(0);
+            return response;
+        }
+
+        // A chunk of this size did not fit: ask for half as much next time
+        void shrink(int tokens) {
+            chunkCap = Math.max(1, tokens / 2);
+        }
+    }
+}
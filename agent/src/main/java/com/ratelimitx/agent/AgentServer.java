@@ -0,0 +1,231 @@
+package com.ratelimitx.agent;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.ratelimitx.sdk.RateLimitXException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.ratelimitx.sdk.Models.RateLimitCheckRequest;
+import static com.ratelimitx.sdk.Models.RateLimitReleaseRequest;
+
+/**
+ * Unix domain socket front end of the agent.
+ * The protocol is newline-delimited JSON, one message per line in each direction:
+ * <pre>
+ * {"id":"1","identifier":"user-1","resource":"api.search"}                      check
+ * {"id":"2","op":"release","identifier":"user-1","resource":"r","leaseId":"…"}  release a CONCURRENCY lease
+ * {"id":"3","op":"stats"}                                                       agent counters
+ * </pre>
+ * Replies carry the same id and may come back in any order:
+ * <pre>
+ * {"id":"1","allowed":true,"remaining":41,"resetAt":1700000000000,"retryAfter":0,"source":"LEASE"}
+ * {"id":"2","released":1}
+ * {"id":"3","stats":{…}}
+ * {"id":"4","error":"Resource is required"}
+ * </pre>
+ * A connection may have any number of requests outstanding, so one connection per process
+ * is enough. The socket is created group-writable so processes in the agent's group can connect.
+ */
+class AgentServer implements Closeable {
+
+    private static final System.Logger log = System.getLogger(AgentServer.class.getName());
+
+    private final Path socketPath;
+    private final AgentLimiter limiter;
+    private final Gson gson = new GsonBuilder().create();
+    private final ExecutorService connections = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "ratelimitx-agent-connection");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ServerSocketChannel server;
+
+    AgentServer(Path socketPath, AgentLimiter limiter) {
+        this.socketPath = socketPath;
+        this.limiter = limiter;
+    }
+
+    void start() throws IOException {
+        // A socket file left behind by a previous run would make bind fail
+        Files.deleteIfExists(socketPath);
+
+        server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        server.bind(UnixDomainSocketAddress.of(socketPath));
+        try {
+            Files.setPosixFilePermissions(socketPath, PosixFilePermissions.fromString("rw-rw----"));
+        } catch (UnsupportedOperationException e) {
+            log.log(System.Logger.Level.DEBUG, "Cannot set socket permissions on this file system");
+        }
+
+        // Not a daemon: the acceptor keeps the agent process running
+        new Thread(this::accept, "ratelimitx-agent-acceptor").start();
+    }
+
+    private void accept() {
+        while (server.isOpen()) {
+            try {
+                SocketChannel channel = server.accept();
+                connections.execute(() -> serve(channel));
+            } catch (IOException e) {
+                if (server.isOpen()) {
+                    log.log(System.Logger.Level.WARNING, "Accepting agent connection failed: {0}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(SocketChannel channel) {
+        try (LineChannel connection = new LineChannel(channel)) {
+            String line;
+            while ((line = connection.readLine()) != null) {
+                if (!line.isBlank()) {
+                    handle(line, connection);
+                }
+            }
+        } catch (IOException e) {
+            log.log(System.Logger.Level.DEBUG, "Agent connection closed: {0}", e.getMessage());
+        }
+    }
+
+    private void handle(String line, LineChannel connection) {
+        JsonObject message;
+        String id;
+        String op;
+        try {
+            message = gson.fromJson(line, JsonObject.class);
+            if (message == null) {
+                throw new JsonParseException("empty message");
+            }
+            id = message.has("id") ? message.get("id").getAsString() : null;
+            op = message.has("op") ? message.get("op").getAsString() : "check";
+        } catch (JsonParseException | IllegalStateException | UnsupportedOperationException e) {
+            reply(connection, error(null, "Malformed message"));
+            return;
+        }
+
+        switch (op) {
+            case "check" -> {
+                RateLimitCheckRequest request = parse(message, RateLimitCheckRequest.class);
+                if (request == null) {
+                    reply(connection, error(id, "Malformed check"));
+                } else {
+                    check(id, request, connection);
+                }
+            }
+            case "release" -> {
+                RateLimitReleaseRequest request = parse(message, RateLimitReleaseRequest.class);
+                if (request == null) {
+                    reply(connection, error(id, "Malformed release"));
+                } else {
+                    release(id, request, connection);
+                }
+            }
+            case "stats" -> {
+                JsonObject reply = new JsonObject();
+                reply.addProperty("id", id);
+                reply.add("stats", gson.toJsonTree(limiter.stats()));
+                reply(connection, reply);
+            }
+            default -> reply(connection, error(id, "Unknown op: " + op));
+        }
+    }
+
+    private <T> T parse(JsonObject message, Class<T> type) {
+        try {
+            return gson.fromJson(message, type);
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+
+    private void check(String id, RateLimitCheckRequest request, LineChannel connection) {
+        if (request.getResource() == null || request.getResource().isBlank()) {
+            reply(connection, error(id, "Resource is required"));
+            return;
+        }
+
+        limiter.check(request).whenComplete((decision, error) -> {
+            if (error != null) {
+                reply(connection, error(id, message(error)));
+                return;
+            }
+
+            JsonObject reply = gson.toJsonTree(decision.response()).getAsJsonObject();
+            reply.addProperty("id", id);
+            reply.addProperty("source", decision.source().name());
+            reply(connection, reply);
+        });
+    }
+
+    private void release(String id, RateLimitReleaseRequest request, LineChannel connection) {
+        if (request.getResource() == null || request.getLeaseId() == null) {
+            reply(connection, error(id, "Resource and leaseId are required"));
+            return;
+        }
+
+        limiter.release(request).whenComplete((released, error) -> {
+            if (error != null) {
+                reply(connection, error(id, message(error)));
+                return;
+            }
+
+            JsonObject reply = new JsonObject();
+            reply.addProperty("id", id);
+            reply.addProperty("released", released);
+            reply(connection, reply);
+        });
+    }
+
+    private String message(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof RateLimitXException) {
+            return cause.getMessage();
+        }
+
+        log.log(System.Logger.Level.ERROR, "Agent request failed", cause);
+        return "Internal agent error";
+    }
+
+    private JsonObject error(String id, String message) {
+        JsonObject reply = new JsonObject();
+        reply.addProperty("id", id);
+        reply.addProperty("error", message);
+        return reply;
+    }
+
+    private void reply(LineChannel connection, JsonObject reply) {
+        try {
+            connection.writeLine(gson.toJson(reply));
+        } catch (IOException e) {
+            log.log(System.Logger.Level.DEBUG, "Could not reply on agent connection: {0}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (server != null) {
+                server.close();
+            }
+            Files.deleteIfExists(socketPath);
+        } catch (IOException e) {
+            log.log(System.Logger.Level.WARNING, "Could not close agent socket: {0}", e.getMessage());
+        }
+        connections.shutdownNow();
+    }
+}
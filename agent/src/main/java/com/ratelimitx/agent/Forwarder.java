@@ -0,0 +1,151 @@
+package com.ratelimitx.agent;
+
+import com.ratelimitx.sdk.RateLimitXException;
+import com.ratelimitx.sdk.RateLimitXStream;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.ratelimitx.sdk.Models.RateLimitCheckRequest;
+import static com.ratelimitx.sdk.Models.RateLimitCheckResponse;
+
+/**
+ * Sends the checks the agent cannot answer locally to the server over one check stream.
+ * A check goes out right away while fewer than maxInFlight frames are outstanding;
+ * otherwise it waits for the next free slot and goes out together with everything that
+ * queued up meanwhile (up to maxBatchSize per frame). Nothing is held back on a timer,
+ * so a quiet host sees no added latency.
+ * If the stream drops, the next frame opens a new one, at most once per second; checks
+ * that cannot be sent, or get no answer within 5 seconds, complete exceptionally.
+ */
+class Forwarder implements Closeable {
+
+    private static final System.Logger log = System.getLogger(Forwarder.class.getName());
+
+    private static final long RECONNECT_INTERVAL_MS = 1000;
+
+    // A frame the server never answers must not hold its in-flight slot forever
+    private static final long DECISION_TIMEOUT_MS = 5000;
+
+    private final String serverUrl;
+    private final String apiKey;
+    private final int maxBatchSize;
+    private final int maxInFlight;
+
+    private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger(0);
+
+    private RateLimitXStream stream;
+    private long connectedAt;
+    private boolean closed;
+
+    Forwarder(String serverUrl, String apiKey, int maxBatchSize, int maxInFlight) {
+        this.serverUrl = serverUrl;
+        this.apiKey = apiKey;
+        this.maxBatchSize = maxBatchSize;
+        this.maxInFlight = maxInFlight;
+    }
+
+    CompletableFuture<RateLimitCheckResponse> submit(RateLimitCheckRequest request) {
+        Pending pending = new Pending(request, new CompletableFuture<>());
+        queue.add(pending);
+        drain();
+        return pending.future;
+    }
+
+    private void drain() {
+        while (!queue.isEmpty()) {
+            int current = inFlight.get();
+            if (current >= maxInFlight) {
+                // The next completing frame drains again
+                return;
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+
+            List<Pending> batch = new ArrayList<>();
+            Pending pending;
+            while (batch.size() < maxBatchSize && (pending = queue.poll()) != null) {
+                batch.add(pending);
+            }
+
+            if (batch.isEmpty()) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+            dispatch(batch);
+        }
+    }
+
+    private void dispatch(List<Pending> batch) {
+        List<RateLimitCheckRequest> requests = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            requests.add(pending.request);
+        }
+
+        List<CompletableFuture<RateLimitCheckResponse>> decisions;
+        try {
+            decisions = stream().check(requests);
+        } catch (RateLimitXException | RuntimeException e) {
+            decisions = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                decisions.add(CompletableFuture.failedFuture(e));
+            }
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            CompletableFuture<RateLimitCheckResponse> target = batch.get(i).future;
+            decisions.set(i, decisions.get(i).orTimeout(DECISION_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+            decisions.get(i).whenComplete((response, error) -> {
+                if (error == null) {
+                    target.complete(response);
+                } else {
+                    target.completeExceptionally(error);
+                }
+            });
+        }
+
+        CompletableFuture.allOf(decisions.toArray(new CompletableFuture[0])).whenComplete((ignored, error) -> {
+            inFlight.decrementAndGet();
+            drain();
+        });
+    }
+
+    private synchronized RateLimitXStream stream() throws RateLimitXException {
+        if (closed) {
+            throw new RateLimitXException("Agent is shutting down", 0, null);
+        }
+        if (stream != null && stream.isOpen()) {
+            return stream;
+        }
+
+        long now = System.currentTimeMillis();
+        if (stream != null && now - connectedAt < RECONNECT_INTERVAL_MS) {
+            throw new RateLimitXException("Check stream is down, reconnecting", 0, null);
+        }
+        if (stream != null) {
+            log.log(System.Logger.Level.WARNING, "Check stream to {0} dropped, reconnecting", serverUrl);
+            stream.close();
+        }
+
+        stream = new RateLimitXStream(serverUrl, apiKey);
+        connectedAt = now;
+        return stream;
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private record Pending(RateLimitCheckRequest request, CompletableFuture<RateLimitCheckResponse> future) {}
+}
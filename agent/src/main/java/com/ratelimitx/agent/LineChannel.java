@@ -0,0 +1,68 @@
+package com.ratelimitx.agent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Newline-delimited messages over a blocking socket channel.
+ * One thread reads while others write: the channel's own read and write locks are
+ * independent, whereas the java.io stream adapters share one lock and would block
+ * every write behind a pending read.
+ */
+final class LineChannel implements Closeable {
+
+    private static final int MAX_LINE_BYTES = 64 * 1024;
+
+    private final SocketChannel channel;
+    private final ByteBuffer in = ByteBuffer.allocate(8192).flip();
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+
+    LineChannel(SocketChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * @return the next line without its terminator, or null once the peer closed the connection
+     */
+    String readLine() throws IOException {
+        line.reset();
+        while (true) {
+            while (in.hasRemaining()) {
+                byte b = in.get();
+                if (b == '\n') {
+                    return line.toString(StandardCharsets.UTF_8);
+                }
+                if (line.size() >= MAX_LINE_BYTES) {
+                    throw new IOException("Line longer than " + MAX_LINE_BYTES + " bytes");
+                }
+                line.write(b);
+            }
+
+            in.clear();
+            int read = channel.read(in);
+            in.flip();
+            if (read < 0) {
+                return null;
+            }
+        }
+    }
+
+    void writeLine(String text) throws IOException {
+        byte[] bytes = (text + "\n").getBytes(StandardCharsets.UTF_8);
+        ByteBuffer out = ByteBuffer.wrap(bytes);
+        synchronized (this) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
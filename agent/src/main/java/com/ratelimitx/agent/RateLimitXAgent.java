@@ -0,0 +1,29 @@
+package com.ratelimitx.agent;
+
+import java.io.IOException;
+
+/**
+ * Host-local sidecar: local processes check over a Unix domain socket ({@link AgentServer}),
+ * the agent answers from its deny cache and token leases where it can and forwards the rest
+ * to RateLimitX in batches over a single connection. See {@link AgentConfig} for settings.
+ */
+public class RateLimitXAgent {
+
+    private static final System.Logger log = System.getLogger(RateLimitXAgent.class.getName());
+
+    public static void main(String[] args) throws IOException {
+        AgentConfig config = AgentConfig.fromEnv();
+
+        AgentLimiter limiter = new AgentLimiter(config);
+        AgentServer server = new AgentServer(config.socketPath(), limiter);
+        server.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            limiter.close();
+        }, "ratelimitx-agent-shutdown"));
+
+        log.log(System.Logger.Level.INFO, "RateLimitX agent listening on {0}, forwarding to {1}",
+                config.socketPath(), config.serverUrl());
+    }
+}
@@ -0,0 +1,51 @@
+#!/bin/bash
+
+# Check throughput benchmark: platform threads vs virtual threads
+#
+# Requires hey (https://github.com/rakyll/hey) and a running backend.
+# Run it once per threading mode and compare the summaries:
+#
+#   VIRTUAL_THREADS=false TOMCAT_MAX_CONNECTIONS=12000 java -jar target/ratelimitx-1.0.0.jar
+#   API_KEY=rlx_... ./benchmark-check.sh platform
+#
+#   VIRTUAL_THREADS=true TOMCAT_MAX_CONNECTIONS=12000 REDIS_MAX_IDLE_CONNECTIONS=256 \
+#       java -Djdk.tracePinnedThreads=short -jar target/ratelimitx-1.0.0.jar
+#   API_KEY=rlx_... ./benchmark-check.sh virtual
+#
+# With -Djdk.tracePinnedThreads=short the JVM prints a stack trace whenever a virtual
+# thread blocks while pinned; the check path should print none.
+# Raise the client's open file limit first (ulimit -n 65536) for 10k connections.
+
+LABEL=${1:-run}
+BASE_URL=${BASE_URL:-http://localhost:8080}
+CONNECTIONS=${CONNECTIONS:-10000}
+DURATION=${DURATION:-60s}
+RESOURCE=${RESOURCE:-bench}
+
+if [ -z "$API_KEY" ]; then
+    echo "API_KEY is not set"
+    exit 1
+fi
+
+if ! command -v hey > /dev/null; then
+    echo "hey is not installed: go install github.com/rakyll/hey@latest"
+    exit 1
+fi
+
+echo "=========================================="
+echo "Check benchmark ($LABEL): $CONNECTIONS connections for $DURATION"
+echo "=========================================="
+
+# Warm up the JIT, the rule cache and the Redis connection pool
+hey -z 10s -c 100 -m POST \
+    -H "X-API-Key: $API_KEY" -T "application/json" \
+    -d "{\"identifier\":\"warmup\",\"resource\":\"$RESOURCE\"}" \
+    "$BASE_URL/api/v1/check" > /dev/null
+
+hey -z "$DURATION" -c "$CONNECTIONS" -m POST \
+    -H "X-API-Key: $API_KEY" -T "application/json" \
+    -d "{\"identifier\":\"bench\",\"resource\":\"$RESOURCE\"}" \
+    "$BASE_URL/api/v1/check" | tee "benchmark-$LABEL.txt"
+
+echo ""
+echo "Summary saved to benchmark-$LABEL.txt"
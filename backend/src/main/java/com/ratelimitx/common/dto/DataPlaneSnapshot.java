@@ -0,0 +1,39 @@
+package com.ratelimitx.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ratelimitx.core.Rule;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Everything a standalone data-plane node needs to answer checks without the database:
+ * active rules, active API keys (hashes only) and tenants over their monthly check limit.
+ * The version changes whenever the content does and is served as the ETag.
+ * Embedded limiters get the same shape with only their tenant's rules.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DataPlaneSnapshot {
+    private String version;
+    private Long generatedAt;
+    private List<Rule> rules;
+    private List<Key> apiKeys;
+    private List<UUID> blockedTenants;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key {
+        private String keyHash;
+        private UUID tenantId;
+    }
+}
@@ -0,0 +1,38 @@
+package com.ratelimitx.common.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Checks answered by a data-plane node since its last report, recorded as usage metrics
+ * so analytics and monthly tier limits count them like checks served here
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataPlaneUsageReport {
+    @NotNull(message = "Checks are required")
+    @Size(max = 5000, message = "At most 5000 checks per report")
+    private List<Check> checks;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Check {
+        private UUID tenantId;
+        private String resource;
+        private String identifier;
+        private Boolean allowed;
+        private Long latencyMs;
+        private Long timestamp;
+    }
+}
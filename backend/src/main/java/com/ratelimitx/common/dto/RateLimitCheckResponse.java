@@ -1,5 +1,7 @@
 package com.ratelimitx.common.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ratelimitx.core.Decision;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,5 +16,16 @@ public class RateLimitCheckResponse {
     private Integer remaining;
     private Long resetAt;
     private Integer retryAfter;
-}
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String leaseId; // Set when a CONCURRENCY rule acquired a lease
 
+    public static RateLimitCheckResponse of(Decision decision) {
+        return RateLimitCheckResponse.builder()
+                .allowed(decision.allowed())
+                .remaining(decision.remaining())
+                .resetAt(decision.resetAt())
+                .retryAfter(decision.retryAfter())
+                .leaseId(decision.leaseId())
+                .build();
+    }
+}
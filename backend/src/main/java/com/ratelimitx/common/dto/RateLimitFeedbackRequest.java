@@ -0,0 +1,26 @@
+package com.ratelimitx.common.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitFeedbackRequest {
+    private String identifier;
+    
+    @NotBlank(message = "Resource is required")
+    private String resource;
+    
+    @PositiveOrZero(message = "Latency must not be negative")
+    private Integer latencyMs;
+    
+    @Builder.Default
+    private Boolean error = false;
+}
+
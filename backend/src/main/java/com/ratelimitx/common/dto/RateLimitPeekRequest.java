@@ -0,0 +1,22 @@
+package com.ratelimitx.common.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitPeekRequest {
+    @NotEmpty(message = "At least one check is required")
+    @Size(max = 100, message = "At most 100 checks per request")
+    @Valid
+    private List<RateLimitCheckRequest> checks;
+}
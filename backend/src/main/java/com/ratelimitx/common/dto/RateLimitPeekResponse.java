@@ -0,0 +1,40 @@
+package com.ratelimitx.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Result of a dry-run check: what /check would answer now, without consuming quota
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitPeekResponse {
+    private String identifier;
+    private String resource;
+    private Boolean allowed;
+    private Integer remaining;
+    private Long resetAt;
+    private Integer retryAfter;
+    private List<RuleStatus> rules;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RuleStatus {
+        private UUID ruleId;
+        private String algorithm;
+        private Boolean allowed;
+        private Integer remaining;
+        private Long resetAt;
+        private Integer retryAfter;
+        private String source; // REDIS, CACHE or LOCAL
+    }
+}
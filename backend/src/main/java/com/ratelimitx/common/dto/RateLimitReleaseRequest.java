@@ -0,0 +1,23 @@
+package com.ratelimitx.common.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitReleaseRequest {
+    @NotBlank(message = "Identifier is required")
+    private String identifier;
+    
+    @NotBlank(message = "Resource is required")
+    private String resource;
+    
+    @NotBlank(message = "Lease ID is required")
+    private String leaseId;
+}
+
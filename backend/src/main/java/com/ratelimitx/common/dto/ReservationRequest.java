@@ -0,0 +1,31 @@
+package com.ratelimitx.common.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationRequest {
+    private String identifier;
+    
+    @NotBlank(message = "Resource is required")
+    private String resource;
+    
+    @NotNull(message = "Tokens is required")
+    @Positive(message = "Tokens must be positive")
+    @Builder.Default
+    private Integer tokens = 1;
+    
+    @Positive(message = "TTL must be positive")
+    @Max(value = 3600, message = "TTL must be at most 3600 seconds")
+    @Builder.Default
+    private Integer ttlSeconds = 60;
+}
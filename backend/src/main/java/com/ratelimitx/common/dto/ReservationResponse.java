@@ -0,0 +1,21 @@
+package com.ratelimitx.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationResponse {
+    private Boolean allowed;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String reservationId; // Set when the tokens were reserved
+    private Integer tokens;
+    private Integer remaining;
+    private Long expiresAt;       // Uncommitted reservations are refunded after this time
+    private Integer retryAfter;
+}
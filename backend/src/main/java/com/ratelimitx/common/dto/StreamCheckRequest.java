@@ -0,0 +1,25 @@
+package com.ratelimitx.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One check on the WebSocket stream: the check fields plus a client-chosen correlation id
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StreamCheckRequest {
+    @NotBlank(message = "Id is required")
+    private String id;
+
+    @JsonUnwrapped
+    @Valid
+    private RateLimitCheckRequest check;
+}
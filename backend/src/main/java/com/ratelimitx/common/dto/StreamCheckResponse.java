@@ -0,0 +1,25 @@
+package com.ratelimitx.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Decision for one streamed check, or an error if it could not be evaluated
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StreamCheckResponse {
+    private String id;
+
+    @JsonUnwrapped
+    private RateLimitCheckResponse decision;
+
+    private String error;
+}
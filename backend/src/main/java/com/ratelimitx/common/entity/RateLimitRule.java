@@ -1,10 +1,14 @@
 package com.ratelimitx.common.entity;
 
+import com.ratelimitx.core.Algorithm;
+import com.ratelimitx.core.LimitScope;
+import com.ratelimitx.core.RuleDefinition;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -15,7 +19,7 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class RateLimitRule {
+public class RateLimitRule implements RuleDefinition {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
@@ -57,6 +61,22 @@ public class RateLimitRule {
     @Builder.Default
     private Integer priority = 0; // Higher priority = evaluated first
     
+    @Column(name = "execution_mode", nullable = false, length = 20)
+    @ColumnDefault("'EXACT'") // Rows created before execution modes existed are EXACT
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private ExecutionMode executionMode = ExecutionMode.EXACT;
+    
+    @Column(name = "adaptive")
+    @Builder.Default
+    private Boolean adaptive = false; // AIMD: effective limit adapts to client feedback, maxRequests is the ceiling
+    
+    @Column(name = "min_requests")
+    private Integer minRequests; // Floor for adaptive rules (defaults to maxRequests / 10)
+    
+    @Column(name = "target_latency_ms")
+    private Integer targetLatencyMs; // Adaptive rules back off when reported latency exceeds this
+    
     @Column(name = "condition_json", columnDefinition = "TEXT")
     private String conditionJson; // JSON for time-based, geo-based, header-based conditions
     
@@ -72,18 +92,43 @@ public class RateLimitRule {
         this.updatedAt = LocalDateTime.now();
     }
     
-    public enum Algorithm {
-        TOKEN_BUCKET, SLIDING_WINDOW, FIXED_WINDOW
+    public ExecutionMode getExecutionMode() {
+        return executionMode != null ? executionMode : ExecutionMode.EXACT;
+    }
+    
+    /**
+     * Token leases are claimed from a fixed window counter, so they only run FIXED_WINDOW
+     * (a SLIDING_WINDOW rule would quietly allow up to twice its limit across a boundary);
+     * approximate counters sync window counts, so they run both window algorithms
+     * @throws IllegalArgumentException if the execution mode cannot run this rule's algorithm
+     */
+    public void validateExecutionMode() {
+        if (getExecutionMode() == ExecutionMode.TOKEN_LEASE && algorithm != Algorithm.FIXED_WINDOW) {
+            throw new IllegalArgumentException("TOKEN_LEASE supports FIXED_WINDOW rules only, got " + algorithm);
+        }
+        if (getExecutionMode() == ExecutionMode.APPROXIMATE
+                && algorithm != Algorithm.FIXED_WINDOW && algorithm != Algorithm.SLIDING_WINDOW) {
+            throw new IllegalArgumentException("APPROXIMATE supports FIXED_WINDOW and SLIDING_WINDOW rules only, got "
+                    + algorithm);
+        }
+    }
+    
+    /**
+     * Whether checks are served from token leases; rules stored with TOKEN_LEASE on another
+     * algorithm before it was rejected are evaluated as EXACT
+     */
+    public boolean usesTokenLease() {
+        return getExecutionMode() == ExecutionMode.TOKEN_LEASE && algorithm == Algorithm.FIXED_WINDOW;
     }
     
     public enum IdentifierType {
         USER_ID, IP_ADDRESS, API_KEY, CUSTOM
     }
     
-    public enum LimitScope {
-        GLOBAL,      // Applies to entire tenant
-        RESOURCE,    // Applies to specific resource/endpoint
-        IDENTIFIER   // Applies to specific identifier (user/IP)
+    public enum ExecutionMode {
+        EXACT,       // Every check is evaluated against Redis
+        TOKEN_LEASE, // Nodes claim chunks of tokens from Redis and serve checks locally
+        APPROXIMATE  // Nodes count locally and sync deltas to Redis periodically
     }
 }
 
@@ -1,7 +1,9 @@
 package com.ratelimitx.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
@@ -11,8 +13,23 @@ import java.util.concurrent.Executor;
 @EnableAsync
 public class AsyncConfig {
     
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+    
+    @Value("${ratelimit.async.virtual-concurrency-limit:200}")
+    private int virtualConcurrencyLimit;
+    
     @Bean(name = "taskExecutor")
     public Executor taskExecutor() {
+        if (virtualThreads) {
+            // One virtual thread per task; the limit only throttles submitters when the
+            // database falls far behind, instead of rejecting like a full queue would
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("async-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(virtualConcurrencyLimit);
+            return executor;
+        }
+        
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(2);
         executor.setMaxPoolSize(5);
@@ -22,4 +39,3 @@ public class AsyncConfig {
         return executor;
     }
 }
-
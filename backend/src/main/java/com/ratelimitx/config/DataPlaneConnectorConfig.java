@@ -0,0 +1,210 @@
+package com.ratelimitx.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.tomcat.util.threads.ThreadPoolExecutor;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves the check APIs on a second Tomcat connector (ratelimit.data-plane.port) with its own
+ * worker threads and accept queue, so dashboard, analytics and import traffic on server.port
+ * cannot take the threads checks need. The data-plane port only serves check paths and health;
+ * both ports report request latency and worker usage tagged with their connector.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ratelimit.data-plane.enabled", havingValue = "true")
+@Slf4j
+public class DataPlaneConnectorConfig {
+    
+    static final String DATA_PLANE = "data-plane";
+    static final String CONTROL_PLANE = "control-plane";
+    
+    private static final String[] HEALTH_PATHS = {"/api/v1/health", "/actuator/health", "/actuator/health/**"};
+    
+    @Value("${ratelimit.data-plane.port:8081}")
+    private int port;
+    
+    @Value("${ratelimit.data-plane.max-threads:200}")
+    private int maxThreads;
+    
+    @Value("${ratelimit.data-plane.min-spare-threads:20}")
+    private int minSpareThreads;
+    
+    @Value("${ratelimit.data-plane.accept-count:200}")
+    private int acceptCount;
+    
+    @Value("${ratelimit.data-plane.max-connections:8192}")
+    private int maxConnections;
+    
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+    
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> dataPlaneConnector() {
+        return factory -> {
+            Connector connector = new Connector(TomcatServletWebServerFactory.DEFAULT_PROTOCOL);
+            connector.setPort(port);
+            
+            AbstractProtocol<?> protocol = (AbstractProtocol<?>) connector.getProtocolHandler();
+            protocol.setAcceptCount(acceptCount);
+            protocol.setMaxConnections(maxConnections);
+            if (virtualThreads) {
+                protocol.setExecutor(new VirtualThreadExecutor("data-plane-"));
+            } else {
+                // Tomcat creates a pool just for this connector from these settings
+                protocol.setMaxThreads(maxThreads);
+                protocol.setMinSpareThreads(minSpareThreads);
+            }
+            
+            factory.addAdditionalTomcatConnectors(connector);
+        };
+    }
+    
+    @Bean
+    public FilterRegistrationBean<ConnectorFilter> connectorFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ConnectorFilter> registration =
+                new FilterRegistrationBean<>(new ConnectorFilter(port, meterRegistry));
+        // Before Spring Security, so control-plane paths on the data-plane port are never authenticated
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+    
+    /**
+     * Worker gauges per connector, once Tomcat has created the pools
+     */
+    @Bean
+    public ApplicationListener<WebServerInitializedEvent> connectorThreadMetrics(MeterRegistry meterRegistry) {
+        return event -> {
+            if (!(event.getWebServer() instanceof TomcatWebServer webServer)) {
+                return;
+            }
+            
+            for (Connector connector : webServer.getTomcat().getService().findConnectors()) {
+                String name = connector.getLocalPort() == port ? DATA_PLANE : CONTROL_PLANE;
+                Executor executor = connector.getProtocolHandler().getExecutor();
+                
+                if (executor instanceof ThreadPoolExecutor pool) {
+                    Gauge.builder("ratelimit.connector.threads.busy", pool, ThreadPoolExecutor::getActiveCount)
+                            .description("Worker threads currently handling a request")
+                            .tag("connector", name)
+                            .register(meterRegistry);
+                    Gauge.builder("ratelimit.connector.threads.max", pool, ThreadPoolExecutor::getMaximumPoolSize)
+                            .tag("connector", name)
+                            .register(meterRegistry);
+                    Gauge.builder("ratelimit.connector.queue", pool, p -> p.getQueue().size())
+                            .description("Requests waiting for a worker thread")
+                            .tag("connector", name)
+                            .register(meterRegistry);
+                }
+                log.info("{} connector on port {}", name, connector.getLocalPort());
+            }
+        };
+    }
+    
+    /**
+     * Keeps dashboard routes off the data-plane port and times requests per connector
+     */
+    static class ConnectorFilter extends OncePerRequestFilter {
+        private final int dataPlanePort;
+        private final Timer dataPlaneRequests;
+        private final Timer controlPlaneRequests;
+        private final AntPathMatcher pathMatcher = new AntPathMatcher();
+        
+        ConnectorFilter(int dataPlanePort, MeterRegistry meterRegistry) {
+            this.dataPlanePort = dataPlanePort;
+            this.dataPlaneRequests = requestTimer(meterRegistry, DATA_PLANE);
+            this.controlPlaneRequests = requestTimer(meterRegistry, CONTROL_PLANE);
+        }
+        
+        @Override
+        protected void doFilterInternal(HttpServletRequest request,
+                HttpServletResponse response,
+                FilterChain filterChain) throws ServletException, IOException {
+            boolean dataPlane = request.getLocalPort() == dataPlanePort;
+            
+            if (dataPlane && !servedOnDataPlane(request.getRequestURI())) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            
+            Timer timer = dataPlane ? dataPlaneRequests : controlPlaneRequests;
+            long startNanos = System.nanoTime();
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                if (request.isAsyncStarted()) {
+                    // /check/async and /check/wait finish after this thread has returned
+                    request.getAsyncContext().addListener(new AsyncListener() {
+                        @Override
+                        public void onComplete(AsyncEvent event) {
+                            timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                        }
+                        
+                        @Override
+                        public void onTimeout(AsyncEvent event) {
+                        }
+                        
+                        @Override
+                        public void onError(AsyncEvent event) {
+                        }
+                        
+                        @Override
+                        public void onStartAsync(AsyncEvent event) {
+                        }
+                    });
+                } else {
+                    timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+        
+        private boolean servedOnDataPlane(String path) {
+            for (String pattern : SecurityConfig.DATA_PLANE_PATHS) {
+                if (pathMatcher.match(pattern, path)) {
+                    return true;
+                }
+            }
+            for (String pattern : HEALTH_PATHS) {
+                if (pathMatcher.match(pattern, path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        private static Timer requestTimer(MeterRegistry meterRegistry, String connector) {
+            return Timer.builder("ratelimit.connector.requests")
+                    .description("Request latency per Tomcat connector")
+                    .tag("connector", connector)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+    }
+}
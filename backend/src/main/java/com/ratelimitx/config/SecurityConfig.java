@@ -1,13 +1,21 @@
 package com.ratelimitx.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ratelimitx.common.dto.ApiResponse;
+import com.ratelimitx.exception.InvalidApiKeyException;
+import com.ratelimitx.service.ApiKeyService;
 import com.ratelimitx.service.AuthService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -21,17 +29,36 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
     
+    // Check APIs authenticated by API key only
+    static final String[] DATA_PLANE_PATHS = {
+        "/api/v1/check", "/api/v1/check/**", "/api/v1/peek", "/api/v1/release", "/api/v1/feedback",
+        "/api/v1/reservations", "/api/v1/reservations/**", "/api/v1/rules/snapshot"
+    };
+    
+    // Control-plane API for standalone data-plane nodes, authenticated by a shared token
+    static final String[] INTERNAL_PATHS = {"/internal/**"};
+    
     private final AuthService authService;
+    private final ApiKeyService apiKeyService;
+    private final ObjectMapper objectMapper;
+    private final String internalToken;
     
-    public SecurityConfig(@Lazy AuthService authService) {
+    public SecurityConfig(@Lazy AuthService authService, ApiKeyService apiKeyService, ObjectMapper objectMapper,
+                          @Value("${ratelimit.internal.token:}") String internalToken) {
         this.authService = authService;
+        this.apiKeyService = apiKeyService;
+        this.objectMapper = objectMapper;
+        this.internalToken = internalToken;
     }
     
     @Bean
@@ -39,6 +66,51 @@ public class SecurityConfig {
         return new BCryptPasswordEncoder();
     }
     
+    /**
+     * Minimal chain for the check APIs: API-key authentication through the key cache and
+     * nothing else (no CORS, JWT parsing, sessions, request cache or anonymous user)
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain dataPlaneFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher(DATA_PLANE_PATHS)
+            .csrf(csrf -> csrf.disable())
+            .cors(cors -> cors.disable())
+            .headers(headers -> headers.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .securityContext(context -> context.disable())
+            .requestCache(cache -> cache.disable())
+            .anonymous(anonymous -> anonymous.disable())
+            .logout(logout -> logout.disable())
+            .addFilterBefore(new ApiKeyAuthenticationFilter(apiKeyService, objectMapper),
+                    UsernamePasswordAuthenticationFilter.class);
+        
+        return http.build();
+    }
+    
+    /**
+     * Internal snapshot and usage API, same minimal chain with the internal token instead of an API key
+     */
+    @Bean
+    @Order(2)
+    public SecurityFilterChain internalFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher(INTERNAL_PATHS)
+            .csrf(csrf -> csrf.disable())
+            .cors(cors -> cors.disable())
+            .headers(headers -> headers.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .securityContext(context -> context.disable())
+            .requestCache(cache -> cache.disable())
+            .anonymous(anonymous -> anonymous.disable())
+            .logout(logout -> logout.disable())
+            .addFilterBefore(new InternalTokenFilter(internalToken, objectMapper),
+                    UsernamePasswordAuthenticationFilter.class);
+        
+        return http.build();
+    }
+    
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -46,8 +118,7 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/auth/**", "/api/v1/check","/api/v1/health", "/actuator/**",
-                        "/api/v1/debug/**").permitAll()
+                .requestMatchers("/auth/**", "/api/v1/health", "/actuator/**", "/api/v1/debug/**").permitAll()
                 .anyRequest().authenticated()
             )
             .addFilterBefore(new JwtAuthenticationFilter(authService), UsernamePasswordAuthenticationFilter.class);
@@ -102,5 +173,87 @@ public class SecurityConfig {
             filterChain.doFilter(request, response);
         }
     }
+    
+    /**
+     * Resolves the X-API-Key header to its tenant (cached lookup, database on a miss) and
+     * exposes it as the {@link #TENANT_ID} request attribute; bad keys never reach the controllers
+     */
+    public static class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
+        public static final String TENANT_ID = "ratelimitx.tenantId";
+        
+        private final ApiKeyService apiKeyService;
+        private final ObjectMapper objectMapper;
+        
+        public ApiKeyAuthenticationFilter(ApiKeyService apiKeyService, ObjectMapper objectMapper) {
+            this.apiKeyService = apiKeyService;
+            this.objectMapper = objectMapper;
+        }
+        
+        @Override
+        protected void doFilterInternal(HttpServletRequest request,
+                HttpServletResponse response,
+                FilterChain filterChain) throws ServletException, IOException {
+            String apiKey = request.getHeader("X-API-Key");
+            
+            if (apiKey == null) {
+                reject(response, HttpStatus.BAD_REQUEST, "Required header 'X-API-Key' is missing");
+                return;
+            }
+            
+            UUID tenantId;
+            try {
+                tenantId = apiKeyService.validateAndGetTenant(apiKey);
+            } catch (InvalidApiKeyException e) {
+                reject(response, HttpStatus.UNAUTHORIZED, e.getMessage());
+                return;
+            }
+            
+            request.setAttribute(TENANT_ID, tenantId);
+            filterChain.doFilter(request, response);
+        }
+        
+        private void reject(HttpServletResponse response, HttpStatus status, String error) throws IOException {
+            response.setStatus(status.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(error));
+        }
+    }
+    
+    /**
+     * Lets internal requests through only with the configured X-Internal-Token; without a
+     * configured token the internal API is disabled
+     */
+    static class InternalTokenFilter extends OncePerRequestFilter {
+        private final byte[] token;
+        private final ObjectMapper objectMapper;
+        
+        InternalTokenFilter(String token, ObjectMapper objectMapper) {
+            this.token = token != null && !token.isBlank() ? token.getBytes(StandardCharsets.UTF_8) : null;
+            this.objectMapper = objectMapper;
+        }
+        
+        @Override
+        protected void doFilterInternal(HttpServletRequest request,
+                HttpServletResponse response,
+                FilterChain filterChain) throws ServletException, IOException {
+            if (token == null) {
+                reject(response, HttpStatus.NOT_FOUND, "Internal API is disabled");
+                return;
+            }
+            
+            String presented = request.getHeader("X-Internal-Token");
+            if (presented == null || !MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8))) {
+                reject(response, HttpStatus.UNAUTHORIZED, "Invalid internal token");
+                return;
+            }
+            
+            filterChain.doFilter(request, response);
+        }
+        
+        private void reject(HttpServletResponse response, HttpStatus status, String error) throws IOException {
+            response.setStatus(status.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(error));
+        }
+    }
 }
-
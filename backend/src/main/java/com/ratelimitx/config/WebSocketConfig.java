@@ -0,0 +1,43 @@
+package com.ratelimitx.config;
+
+import com.ratelimitx.controller.CheckStreamHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
+
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+    
+    private final CheckStreamHandler checkStreamHandler;
+    
+    @Value("${ratelimit.websocket.max-message-bytes:65536}")
+    private int maxMessageBytes;
+    
+    @Value("${ratelimit.websocket.idle-timeout-ms:300000}")
+    private long idleTimeoutMs;
+    
+    public WebSocketConfig(CheckStreamHandler checkStreamHandler) {
+        this.checkStreamHandler = checkStreamHandler;
+    }
+    
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        // Authenticated by API key on the handshake, not by origin
+        registry.addHandler(checkStreamHandler, "/api/v1/check/stream")
+                .addInterceptors(checkStreamHandler)
+                .setAllowedOrigins("*");
+    }
+    
+    @Bean
+    public ServletServerContainerFactoryBean webSocketContainer() {
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxTextMessageBufferSize(maxMessageBytes);
+        container.setMaxSessionIdleTimeout(idleTimeoutMs);
+        return container;
+    }
+}
@@ -4,7 +4,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.ratelimitx.common.dto.ApiResponse;
 import com.ratelimitx.common.entity.RateLimitRule;
+import com.ratelimitx.core.Algorithm;
+import com.ratelimitx.core.LimitScope;
 import com.ratelimitx.repository.RateLimitRuleRepository;
+import com.ratelimitx.service.DeniedKeyCache;
+import com.ratelimitx.service.RuleSnapshotCache;
 import com.ratelimitx.service.TierService;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +29,8 @@ public class BulkController {
     
     private final RateLimitRuleRepository ruleRepository;
     private final TierService tierService;
+    private final DeniedKeyCache deniedKeyCache;
+    private final RuleSnapshotCache ruleSnapshotCache;
     private final ObjectMapper jsonMapper = new ObjectMapper();
     private final ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
     
@@ -54,10 +60,11 @@ public class BulkController {
                     // Validate tier limits
                     tierService.validateRuleCreation(tenantId);
                     
+                    validateRequiredFields(ruleImport);
                     RateLimitRule rule = RateLimitRule.builder()
                         .tenantId(tenantId)
                         .resource(ruleImport.getResource())
-                        .algorithm(RateLimitRule.Algorithm.valueOf(ruleImport.getAlgorithm()))
+                        .algorithm(Algorithm.valueOf(ruleImport.getAlgorithm()))
                         .maxRequests(ruleImport.getMaxRequests())
                         .windowSeconds(ruleImport.getWindowSeconds())
                         .burstCapacity(ruleImport.getBurstCapacity())
@@ -65,11 +72,18 @@ public class BulkController {
                             RateLimitRule.IdentifierType.valueOf(ruleImport.getIdentifierType()) :
                             RateLimitRule.IdentifierType.USER_ID)
                         .limitScope(ruleImport.getLimitScope() != null ?
-                            RateLimitRule.LimitScope.valueOf(ruleImport.getLimitScope()) :
-                            RateLimitRule.LimitScope.RESOURCE)
+                            LimitScope.valueOf(ruleImport.getLimitScope()) :
+                            LimitScope.RESOURCE)
                         .priority(ruleImport.getPriority() != null ? ruleImport.getPriority() : 0)
+                        .executionMode(ruleImport.getExecutionMode() != null ?
+                            RateLimitRule.ExecutionMode.valueOf(ruleImport.getExecutionMode()) :
+                            RateLimitRule.ExecutionMode.EXACT)
+                        .adaptive(ruleImport.getAdaptive() != null && ruleImport.getAdaptive())
+                        .minRequests(ruleImport.getMinRequests())
+                        .targetLatencyMs(ruleImport.getTargetLatencyMs())
                         .active(true)
                         .build();
+                    rule.validateExecutionMode();
                     
                     ruleRepository.save(rule);
                     created++;
@@ -79,6 +93,12 @@ public class BulkController {
                 }
             }
             
+            if (created > 0) {
+                // Cached denials were decided with the old rule set
+                deniedKeyCache.clear();
+                ruleSnapshotCache.invalidate(tenantId);
+            }
+            
             Map<String, Object> result = new HashMap<>();
             result.put("created", created);
             result.put("skipped", skipped);
@@ -108,7 +128,11 @@ public class BulkController {
                 rule.getIdentifierType().name(),
                 rule.getLimitScope().name(),
                 rule.getPriority(),
-                rule.getActive()
+                rule.getActive(),
+                rule.getExecutionMode() != null ? rule.getExecutionMode().name() : null,
+                rule.getAdaptive(),
+                rule.getMinRequests(),
+                rule.getTargetLatencyMs()
             ))
             .collect(Collectors.toList());
         
@@ -133,6 +157,21 @@ public class BulkController {
         }
     }
     
+    private void validateRequiredFields(RuleImport ruleImport) {
+        if (ruleImport.getResource() == null || ruleImport.getResource().isBlank()) {
+            throw new IllegalArgumentException("resource is required");
+        }
+        if (ruleImport.getAlgorithm() == null) {
+            throw new IllegalArgumentException("algorithm is required");
+        }
+        if (ruleImport.getMaxRequests() == null) {
+            throw new IllegalArgumentException("maxRequests is required");
+        }
+        if (ruleImport.getWindowSeconds() == null) {
+            throw new IllegalArgumentException("windowSeconds is required");
+        }
+    }
+    
     private UUID getTenantId(Authentication authentication) {
         return UUID.fromString(authentication.getName());
     }
@@ -147,6 +186,10 @@ public class BulkController {
         private String identifierType;
         private String limitScope;
         private Integer priority;
+        private String executionMode;
+        private Boolean adaptive;
+        private Integer minRequests;
+        private Integer targetLatencyMs;
     }
     
     @Data
@@ -161,6 +204,10 @@ public class BulkController {
         private String limitScope;
         private Integer priority;
         private Boolean active;
+        private String executionMode;
+        private Boolean adaptive;
+        private Integer minRequests;
+        private Integer targetLatencyMs;
     }
 }
 
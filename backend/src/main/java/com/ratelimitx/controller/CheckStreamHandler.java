@@ -0,0 +1,235 @@
+package com.ratelimitx.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ratelimitx.common.dto.RateLimitCheckResponse;
+import com.ratelimitx.common.dto.StreamCheckRequest;
+import com.ratelimitx.common.dto.StreamCheckResponse;
+import com.ratelimitx.config.SecurityConfig.ApiKeyAuthenticationFilter;
+import com.ratelimitx.exception.InvalidApiKeyException;
+import com.ratelimitx.exception.ServiceOverloadedException;
+import com.ratelimitx.infrastructure.bulkhead.BulkheadFullException;
+import com.ratelimitx.infrastructure.bulkhead.TenantContext;
+import com.ratelimitx.service.AdaptiveConcurrencyLimiter;
+import com.ratelimitx.service.ApiKeyService;
+import com.ratelimitx.service.NonBlockingCheckService;
+import com.ratelimitx.service.RateLimitApiService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Check stream on /api/v1/check/stream. The API key is validated once, on the handshake;
+ * after that each text frame carries one check or an array of checks tagged with an id,
+ * and each decision is sent back as its own frame as soon as it is ready (in any order).
+ * Checks run on the non-blocking path, so a connection's concurrent checks share
+ * pipelined Redis round trips.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CheckStreamHandler extends TextWebSocketHandler implements HandshakeInterceptor {
+
+    private static final String TENANT_ID = "tenantId";
+    private static final String API_KEY = "apiKey";
+    private static final int MAX_CHECKS_PER_FRAME = 100;
+
+    private final NonBlockingCheckService nonBlockingCheckService;
+    private final ApiKeyService apiKeyService;
+    private final RateLimitApiService rateLimitApiService;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final Validator validator;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${ratelimit.websocket.max-in-flight:1000}")
+    private int maxInFlight;
+
+    @Value("${ratelimit.websocket.send-time-limit-ms:5000}")
+    private int sendTimeLimitMs;
+
+    @Value("${ratelimit.websocket.send-buffer-bytes:524288}")
+    private int sendBufferBytes;
+
+    private final Map<String, Connection> connections = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        String apiKey = request.getHeaders().getFirst("X-API-Key");
+        if (apiKey == null || apiKey.isBlank()) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+
+        // Normally already resolved by the data-plane security filter
+        Object tenantId = request instanceof ServletServerHttpRequest servletRequest
+                ? servletRequest.getServletRequest().getAttribute(ApiKeyAuthenticationFilter.TENANT_ID) : null;
+
+        try {
+            attributes.put(TENANT_ID, tenantId != null ? tenantId : apiKeyService.validateAndGetTenant(apiKey));
+            attributes.put(API_KEY, apiKey);
+            return true;
+        } catch (InvalidApiKeyException e) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        // Decisions complete on Redis client threads; the decorator serializes sends and
+        // closes connections whose client stops reading
+        WebSocketSession sender = new ConcurrentWebSocketSessionDecorator(session, sendTimeLimitMs, sendBufferBytes);
+        connections.put(session.getId(), new Connection((UUID) session.getAttributes().get(TENANT_ID),
+                (String) session.getAttributes().get(API_KEY), sender));
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        connections.remove(session.getId());
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        Connection connection = connections.get(session.getId());
+        if (connection == null) {
+            return;
+        }
+
+        List<StreamCheckRequest> checks;
+        try {
+            checks = parse(message.getPayload());
+        } catch (IOException | IllegalArgumentException e) {
+            send(connection, StreamCheckResponse.builder().error("Malformed message: " + e.getMessage()).build());
+            return;
+        }
+
+        // Rate limit the API itself, once per frame like once per HTTP request
+        TenantContext.callAs(connection.tenantId, () -> rateLimitApiService.isAllowedAsync(connection.apiKey))
+                .thenAccept(allowed -> {
+                    for (StreamCheckRequest check : checks) {
+                        if (allowed) {
+                            run(connection, check);
+                        } else {
+                            send(connection, error(check.getId(), "API rate limit exceeded"));
+                        }
+                    }
+                });
+    }
+
+    private List<StreamCheckRequest> parse(String payload) throws IOException {
+        JsonNode root = objectMapper.readTree(payload);
+        List<StreamCheckRequest> checks = new ArrayList<>();
+
+        if (root.isArray()) {
+            if (root.size() > MAX_CHECKS_PER_FRAME) {
+                throw new IllegalArgumentException("at most " + MAX_CHECKS_PER_FRAME + " checks per frame");
+            }
+            for (JsonNode node : root) {
+                checks.add(objectMapper.treeToValue(node, StreamCheckRequest.class));
+            }
+        } else if (root.isObject()) {
+            checks.add(objectMapper.treeToValue(root, StreamCheckRequest.class));
+        } else {
+            throw new IllegalArgumentException("expected a check or an array of checks");
+        }
+        return checks;
+    }
+
+    private void run(Connection connection, StreamCheckRequest check) {
+        Set<ConstraintViolation<StreamCheckRequest>> violations = validator.validate(check);
+        if (!violations.isEmpty()) {
+            send(connection, error(check.getId(), violations.iterator().next().getMessage()));
+            return;
+        }
+
+        if (connection.inFlight.incrementAndGet() > maxInFlight) {
+            connection.inFlight.decrementAndGet();
+            send(connection, error(check.getId(), "Too many checks in flight on this connection"));
+            return;
+        }
+
+        // Limits and samples the check alone, like the request/response endpoints
+        CompletableFuture<RateLimitCheckResponse> decision = concurrencyLimiter.executeAsync(
+                () -> nonBlockingCheckService.check(connection.tenantId, check.getCheck()));
+
+        decision.whenComplete((response, error) -> {
+            connection.inFlight.decrementAndGet();
+
+            if (error == null) {
+                send(connection, StreamCheckResponse.builder().id(check.getId()).decision(response).build());
+            } else {
+                send(connection, error(check.getId(), errorMessage(error)));
+            }
+        });
+    }
+
+    private String errorMessage(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof IllegalArgumentException || cause instanceof ServiceOverloadedException
+                || cause instanceof BulkheadFullException) {
+            return cause.getMessage();
+        }
+
+        log.error("Streamed check failed", cause);
+        return "Internal server error";
+    }
+
+    private StreamCheckResponse error(String id, String message) {
+        return StreamCheckResponse.builder().id(id).error(message).build();
+    }
+
+    private void send(Connection connection, StreamCheckResponse response) {
+        try {
+            connection.sender.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
+        } catch (IOException e) {
+            log.debug("Could not send check decision on session: {} ({})", connection.sender.getId(), e.getMessage());
+        } catch (RuntimeException e) {
+            // Send limits exceeded: the decorator has closed the session
+            log.warn("Closing check stream for tenant: {} ({})", connection.tenantId, e.getMessage());
+        }
+    }
+
+    private static class Connection {
+        final UUID tenantId;
+        final String apiKey;
+        final WebSocketSession sender;
+        final AtomicInteger inFlight = new AtomicInteger(0);
+
+        Connection(UUID tenantId, String apiKey, WebSocketSession sender) {
+            this.tenantId = tenantId;
+            this.apiKey = apiKey;
+            this.sender = sender;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.ratelimitx.controller;
+
+import com.ratelimitx.common.dto.ApiResponse;
+import com.ratelimitx.common.dto.DataPlaneSnapshot;
+import com.ratelimitx.common.dto.DataPlaneUsageReport;
+import com.ratelimitx.service.DataPlaneSyncService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Control-plane API for standalone data-plane nodes (authenticated by the internal token)
+ */
+@RestController
+@RequestMapping("/internal/v1")
+@RequiredArgsConstructor
+public class InternalController {
+
+    private final DataPlaneSyncService dataPlaneSyncService;
+
+    /**
+     * Current rules and API keys; 304 while the node's If-None-Match still matches
+     */
+    @GetMapping("/snapshot")
+    public ResponseEntity<DataPlaneSnapshot> snapshot(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+
+        DataPlaneSnapshot snapshot = dataPlaneSyncService.snapshot();
+        String etag = "\"" + snapshot.getVersion() + "\"";
+
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(snapshot);
+    }
+
+    /**
+     * Checks answered by a data-plane node, for analytics and monthly tier limits
+     */
+    @PostMapping("/usage")
+    public ResponseEntity<ApiResponse<Integer>> usage(@RequestBody @Valid DataPlaneUsageReport report) {
+        int recorded = dataPlaneSyncService.recordUsage(report);
+
+        return ResponseEntity.ok(ApiResponse.success(recorded));
+    }
+}
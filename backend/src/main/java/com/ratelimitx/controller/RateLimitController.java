@@ -1,20 +1,42 @@
 package com.ratelimitx.controller;
 
 import com.ratelimitx.common.dto.ApiResponse;
+import com.ratelimitx.common.dto.DataPlaneSnapshot;
 import com.ratelimitx.common.dto.RateLimitCheckRequest;
 import com.ratelimitx.common.dto.RateLimitCheckResponse;
+import com.ratelimitx.common.dto.RateLimitFeedbackRequest;
+import com.ratelimitx.common.dto.RateLimitPeekRequest;
+import com.ratelimitx.common.dto.RateLimitPeekResponse;
+import com.ratelimitx.common.dto.RateLimitReleaseRequest;
+import com.ratelimitx.common.dto.ReservationRequest;
+import com.ratelimitx.common.dto.ReservationResponse;
+import com.ratelimitx.exception.ConcurrencyLimitExceededException;
 import com.ratelimitx.exception.InvalidApiKeyException;
+import com.ratelimitx.service.AdaptiveConcurrencyLimiter;
+import com.ratelimitx.service.AdmissionScheduler;
 import com.ratelimitx.service.ApiKeyService;
+import com.ratelimitx.service.DataPlaneSyncService;
+import com.ratelimitx.service.NonBlockingCheckService;
 import com.ratelimitx.service.RateLimitApiService;
+import com.ratelimitx.service.RateLimitPeekService;
 import com.ratelimitx.service.RateLimitService;
+import com.ratelimitx.service.RateLimitWaitService;
+import com.ratelimitx.service.ReservationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static com.ratelimitx.config.SecurityConfig.ApiKeyAuthenticationFilter.TENANT_ID;
 
 @RestController
 @RequestMapping("/api/v1")
@@ -25,6 +47,16 @@ public class RateLimitController {
     private final RateLimitService rateLimitService;
     private final ApiKeyService apiKeyService;
     private final RateLimitApiService rateLimitApiService;
+    private final ReservationService reservationService;
+    private final RateLimitPeekService rateLimitPeekService;
+    private final RateLimitWaitService rateLimitWaitService;
+    private final AdmissionScheduler admissionScheduler;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final NonBlockingCheckService nonBlockingCheckService;
+    private final DataPlaneSyncService dataPlaneSyncService;
+
+    @Value("${ratelimit.fail-open:true}")
+    private boolean failOpen;
 
     /**
      * Check if a request should be rate limited
@@ -32,40 +64,198 @@ public class RateLimitController {
     @PostMapping("/check")
     public ResponseEntity<RateLimitCheckResponse> check(
             @RequestHeader("X-API-Key") String apiKey,
+            @RequestAttribute(TENANT_ID) UUID tenantId,
             @RequestBody @Valid RateLimitCheckRequest request) {
 
         // Rate limit the API itself
         if (!rateLimitApiService.isAllowed(apiKey)) {
-            RateLimitCheckResponse response = RateLimitCheckResponse.builder()
-                    .allowed(false)
-                    .remaining(0)
-                    .resetAt(System.currentTimeMillis() + 60000)
-                    .retryAfter(60)
-                    .build();
+            return apiRateLimitExceeded();
+        }
+
+        try {
+            // Weighted fair admission across tenants under load; the concurrency limit then
+            // applies to the admitted check alone, so queueing for admission is not sampled
+            RateLimitCheckResponse response = admissionScheduler.execute(tenantId,
+                    () -> concurrencyLimiter.execute(() -> rateLimitService.check(tenantId, request)));
+
+            return toResponseEntity(response);
+        } catch (ConcurrencyLimitExceededException e) {
+            return overloaded();
+        }
+    }
 
+    /**
+     * Same check as /check without holding a request thread while Redis or the database is busy.
+     * Admission queueing does not apply here (it parks threads); the concurrency limit does.
+     */
+    @PostMapping("/check/async")
+    public CompletableFuture<ResponseEntity<RateLimitCheckResponse>> checkAsync(
+            @RequestHeader("X-API-Key") String apiKey,
+            @RequestAttribute(TENANT_ID) UUID tenantId,
+            @RequestBody @Valid RateLimitCheckRequest request) {
+
+        return rateLimitApiService.isAllowedAsync(apiKey)
+                .thenCompose(allowed -> {
+                    if (!allowed) {
+                        return CompletableFuture.completedFuture(apiRateLimitExceeded());
+                    }
+                    return concurrencyLimiter.executeAsync(() -> nonBlockingCheckService.check(tenantId, request))
+                            .thenApply(this::toResponseEntity)
+                            .exceptionally(error -> {
+                                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                        ? error.getCause() : error;
+                                if (cause instanceof ConcurrencyLimitExceededException) {
+                                    return overloaded();
+                                }
+                                throw new CompletionException(cause);
+                            });
+                });
+    }
+
+    /**
+     * Check that waits up to timeoutMs for capacity instead of returning 429 right away
+     */
+    @PostMapping("/check/wait")
+    public DeferredResult<ResponseEntity<RateLimitCheckResponse>> checkAndWait(
+            @RequestHeader("X-API-Key") String apiKey,
+            @RequestAttribute(TENANT_ID) UUID tenantId,
+            @RequestParam(defaultValue = "5000") long timeoutMs,
+            @RequestBody @Valid RateLimitCheckRequest request) {
+
+        if (!rateLimitApiService.isAllowed(apiKey)) {
+            DeferredResult<ResponseEntity<RateLimitCheckResponse>> result = new DeferredResult<>();
+            result.setResult(apiRateLimitExceeded());
+            return result;
+        }
+
+        return rateLimitWaitService.checkAndWait(tenantId, request, timeoutMs, this::toResponseEntity);
+    }
+
+    /**
+     * Dry-run one or more checks without consuming quota
+     */
+    @PostMapping("/peek")
+    public ResponseEntity<ApiResponse<List<RateLimitPeekResponse>>> peek(
+            @RequestHeader("X-API-Key") String apiKey,
+            @RequestAttribute(TENANT_ID) UUID tenantId,
+            @RequestBody @Valid RateLimitPeekRequest request) {
+
+        if (!rateLimitApiService.isAllowed(apiKey)) {
             return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
-                    .header("X-RateLimit-Remaining", "0")
-                    .header("X-RateLimit-Reset", String.valueOf(response.getResetAt()))
                     .header("Retry-After", "60")
-                    .body(response);
+                    .body(ApiResponse.error("API rate limit exceeded"));
         }
 
-        // Validate API key and get tenant (throws InvalidApiKeyException if invalid)
-        UUID tenantId = apiKeyService.validateAndGetTenant(apiKey);
+        List<RateLimitPeekResponse> results = rateLimitPeekService.peek(tenantId, request.getChecks());
+
+        return ResponseEntity.ok(ApiResponse.success(results));
+    }
+
+    /**
+     * Release a lease returned by a check against CONCURRENCY rules
+     */
+    @PostMapping("/release")
+    public ResponseEntity<ApiResponse<Integer>> release(
+            @RequestAttribute(TENANT_ID) UUID tenantId,
+            @RequestBody @Valid RateLimitReleaseRequest request) {
+
+        int released = rateLimitService.release(tenantId, request);
+
+        return ResponseEntity.ok(ApiResponse.success(released));
+    }
+
+    /**
+     * Report backend latency/errors for adaptive rules
+     */
+    @PostMapping("/feedback")
+    public ResponseEntity<ApiResponse<Integer>> feedback(
+            @RequestAttribute(TENANT_ID) UUID tenantId,
+            @RequestBody @Valid RateLimitFeedbackRequest request) {
+
+        int updated = rateLimitService.feedback(tenantId, request);
+
+        return ResponseEntity.ok(ApiResponse.success(updated));
+    }
 
-        // Perform rate limit check
-        RateLimitCheckResponse response = rateLimitService.check(tenantId, request);
+    /**
+     * Reserve tokens up front; commit or cancel later, uncommitted reservations expire after ttlSeconds
+     */
+    @PostMapping("/reservations")
+    public ResponseEntity<ReservationResponse> reserve(
+            @RequestHeader("X-API-Key") String apiKey,
+            @RequestAttribute(TENANT_ID) UUID tenantId,
+            @RequestBody @Valid ReservationRequest request) {
+
+        if (!rateLimitApiService.isAllowed(apiKey)) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header("Retry-After", "60")
+                    .body(ReservationResponse.builder()
+                            .allowed(false)
+                            .tokens(request.getTokens())
+                            .remaining(0)
+                            .retryAfter(60)
+                            .build());
+        }
+
+        ReservationResponse response = reservationService.reserve(tenantId, request);
 
         HttpStatus status = response.getAllowed() ? HttpStatus.OK : HttpStatus.TOO_MANY_REQUESTS;
 
         return ResponseEntity
                 .status(status)
                 .header("X-RateLimit-Remaining", String.valueOf(response.getRemaining()))
-                .header("X-RateLimit-Reset", String.valueOf(response.getResetAt()))
                 .header("Retry-After", String.valueOf(response.getRetryAfter()))
                 .body(response);
     }
 
+    /**
+     * Keep the tokens of a reservation
+     */
+    @PostMapping("/reservations/{id}/commit")
+    public ResponseEntity<ApiResponse<Boolean>> commitReservation(
+            @RequestAttribute(TENANT_ID) UUID tenantId,
+            @PathVariable String id) {
+
+        boolean committed = reservationService.commit(tenantId, id);
+
+        return ResponseEntity.ok(ApiResponse.success(committed));
+    }
+
+    /**
+     * Give the tokens of a reservation back
+     */
+    @PostMapping("/reservations/{id}/cancel")
+    public ResponseEntity<ApiResponse<Integer>> cancelReservation(
+            @RequestAttribute(TENANT_ID) UUID tenantId,
+            @PathVariable String id) {
+
+        int refunded = reservationService.cancel(tenantId, id);
+
+        return ResponseEntity.ok(ApiResponse.success(refunded));
+    }
+
+    /**
+     * The tenant's active rules for embedded limiters; 304 while If-None-Match still matches
+     */
+    @GetMapping("/rules/snapshot")
+    public ResponseEntity<DataPlaneSnapshot> rulesSnapshot(
+            @RequestHeader("X-API-Key") String apiKey,
+            @RequestAttribute(TENANT_ID) UUID tenantId,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+
+        if (!rateLimitApiService.isAllowed(apiKey)) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header("Retry-After", "60").build();
+        }
+
+        DataPlaneSnapshot snapshot = dataPlaneSyncService.tenantRules(tenantId);
+        String etag = "\"" + snapshot.getVersion() + "\"";
+
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(snapshot);
+    }
+
     /**
      * Get current API usage for the authenticated API key
      */
@@ -89,4 +279,46 @@ public class RateLimitController {
     public ResponseEntity<ApiResponse<String>> health() {
         return ResponseEntity.ok(ApiResponse.success("OK"));
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<RateLimitCheckResponse> toResponseEntity(RateLimitCheckResponse response) {
+        HttpStatus status = response.getAllowed() ? HttpStatus.OK : HttpStatus.TOO_MANY_REQUESTS;
+
+        return ResponseEntity
+                .status(status)
+                .header("X-RateLimit-Remaining", String.valueOf(response.getRemaining()))
+                .header("X-RateLimit-Reset", String.valueOf(response.getResetAt()))
+                .header("Retry-After", String.valueOf(response.getRetryAfter()))
+                .body(response);
+    }
+
+    /**
+     * 503 for checks rejected by the concurrency limit; the body follows the fail-open setting
+     */
+    private ResponseEntity<RateLimitCheckResponse> overloaded() {
+        RateLimitCheckResponse response = RateLimitCheckResponse.builder()
+                .allowed(failOpen)
+                .remaining(0)
+                .resetAt(System.currentTimeMillis() + 1000)
+                .retryAfter(1)
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(response);
+    }
+
+    private ResponseEntity<RateLimitCheckResponse> apiRateLimitExceeded() {
+        RateLimitCheckResponse response = RateLimitCheckResponse.builder()
+                .allowed(false)
+                .remaining(0)
+                .resetAt(System.currentTimeMillis() + 60000)
+                .retryAfter(60)
+                .build();
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("X-RateLimit-Remaining", "0")
+                .header("X-RateLimit-Reset", String.valueOf(response.getResetAt()))
+                .header("Retry-After", "60")
+                .body(response);
+    }
+}
@@ -4,6 +4,8 @@ import com.ratelimitx.common.dto.ApiResponse;
 import com.ratelimitx.common.dto.RateLimitCheckResponse;
 import com.ratelimitx.service.RateLimitDebugger;
 import com.ratelimitx.service.algorithm.FixedWindowAlgorithm;
+import com.ratelimitx.service.algorithm.GcraAlgorithm;
+import com.ratelimitx.service.algorithm.SlidingLogAlgorithm;
 import com.ratelimitx.service.algorithm.SlidingWindowAlgorithm;
 import com.ratelimitx.service.algorithm.TokenBucketAlgorithm;
 import lombok.RequiredArgsConstructor;
@@ -32,6 +34,8 @@ public class RateLimitDebugController {
     private final FixedWindowAlgorithm fixedWindow;
     private final SlidingWindowAlgorithm slidingWindowCounter;
     private final TokenBucketAlgorithm tokenBucket;
+    private final GcraAlgorithm gcra;
+    private final SlidingLogAlgorithm slidingLog;
     private final RateLimitDebugger debugger;
 
     /**
@@ -271,6 +275,8 @@ public class RateLimitDebugController {
             case FIXED_WINDOW -> fixedWindow.check(key, maxRequests, windowSeconds);
             case SLIDING_WINDOW -> slidingWindowCounter.check(key, maxRequests, windowSeconds);
             case TOKEN_BUCKET -> tokenBucket.check(key, maxRequests, windowSeconds);
+            case GCRA -> gcra.check(key, maxRequests, windowSeconds);
+            case SLIDING_LOG -> slidingLog.check(key, maxRequests, windowSeconds);
         };
     }
 
@@ -278,7 +284,9 @@ public class RateLimitDebugController {
     public enum AlgorithmType {
         FIXED_WINDOW,
         SLIDING_WINDOW,
-        TOKEN_BUCKET
+        TOKEN_BUCKET,
+        GCRA,
+        SLIDING_LOG
     }
 
     public static class SequentialTestResult {
@@ -2,7 +2,11 @@ package com.ratelimitx.controller;
 
 import com.ratelimitx.common.dto.ApiResponse;
 import com.ratelimitx.common.entity.RateLimitRule;
+import com.ratelimitx.core.Algorithm;
 import com.ratelimitx.repository.RateLimitRuleRepository;
+import com.ratelimitx.service.AdaptiveLimitService;
+import com.ratelimitx.service.DeniedKeyCache;
+import com.ratelimitx.service.RuleSnapshotCache;
 import com.ratelimitx.service.TierService;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +24,9 @@ public class RuleController {
     
     private final RateLimitRuleRepository ruleRepository;
     private final TierService tierService;
+    private final DeniedKeyCache deniedKeyCache;
+    private final RuleSnapshotCache ruleSnapshotCache;
+    private final AdaptiveLimitService adaptiveLimitService;
     
     @GetMapping
     public ResponseEntity<ApiResponse<List<RateLimitRule>>> getRules(Authentication authentication) {
@@ -40,15 +47,23 @@ public class RuleController {
         RateLimitRule rule = RateLimitRule.builder()
             .tenantId(tenantId)
             .resource(request.getResource())
-            .algorithm(RateLimitRule.Algorithm.valueOf(request.getAlgorithm()))
+            .algorithm(Algorithm.valueOf(request.getAlgorithm()))
             .maxRequests(request.getMaxRequests())
             .windowSeconds(request.getWindowSeconds())
             .burstCapacity(request.getBurstCapacity())
             .identifierType(RateLimitRule.IdentifierType.valueOf(request.getIdentifierType()))
+            .executionMode(request.getExecutionMode() != null ?
+                RateLimitRule.ExecutionMode.valueOf(request.getExecutionMode()) :
+                RateLimitRule.ExecutionMode.EXACT)
+            .adaptive(request.getAdaptive() != null && request.getAdaptive())
+            .minRequests(request.getMinRequests())
+            .targetLatencyMs(request.getTargetLatencyMs())
             .active(true)
             .build();
+        rule.validateExecutionMode();
         
         rule = ruleRepository.save(rule);
+        ruleSnapshotCache.invalidate(tenantId);
         return ResponseEntity.ok(ApiResponse.success(rule));
     }
     
@@ -67,13 +82,24 @@ public class RuleController {
         }
         
         if (request.getResource() != null) rule.setResource(request.getResource());
-        if (request.getAlgorithm() != null) rule.setAlgorithm(RateLimitRule.Algorithm.valueOf(request.getAlgorithm()));
+        if (request.getAlgorithm() != null) rule.setAlgorithm(Algorithm.valueOf(request.getAlgorithm()));
         if (request.getMaxRequests() != null) rule.setMaxRequests(request.getMaxRequests());
         if (request.getWindowSeconds() != null) rule.setWindowSeconds(request.getWindowSeconds());
         if (request.getBurstCapacity() != null) rule.setBurstCapacity(request.getBurstCapacity());
         if (request.getActive() != null) rule.setActive(request.getActive());
+        if (request.getExecutionMode() != null) rule.setExecutionMode(RateLimitRule.ExecutionMode.valueOf(request.getExecutionMode()));
+        if (request.getAdaptive() != null) rule.setAdaptive(request.getAdaptive());
+        if (request.getMinRequests() != null) rule.setMinRequests(request.getMinRequests());
+        if (request.getTargetLatencyMs() != null) rule.setTargetLatencyMs(request.getTargetLatencyMs());
+        rule.validateExecutionMode();
         
         rule = ruleRepository.save(rule);
+        if (!rule.getActive() || !Boolean.TRUE.equals(rule.getAdaptive())) {
+            adaptiveLimitService.forget(rule.getId());
+        }
+        // Cached denials were decided with the old limit
+        deniedKeyCache.clear();
+        ruleSnapshotCache.invalidate(tenantId);
         return ResponseEntity.ok(ApiResponse.success(rule));
     }
     
@@ -91,6 +117,8 @@ public class RuleController {
         }
         
         ruleRepository.delete(rule);
+        adaptiveLimitService.forget(rule.getId());
+        ruleSnapshotCache.invalidate(tenantId);
         return ResponseEntity.ok(ApiResponse.success(null));
     }
     
@@ -106,6 +134,10 @@ public class RuleController {
         private Integer windowSeconds;
         private Integer burstCapacity;
         private String identifierType;
+        private String executionMode;
+        private Boolean adaptive;
+        private Integer minRequests;
+        private Integer targetLatencyMs;
     }
     
     @Data
@@ -117,6 +149,10 @@ public class RuleController {
         private Integer burstCapacity;
         private Boolean active;
         private String identifierType;
+        private String executionMode;
+        private Boolean adaptive;
+        private Integer minRequests;
+        private Integer targetLatencyMs;
     }
 }
 
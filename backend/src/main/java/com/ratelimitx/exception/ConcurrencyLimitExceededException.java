@@ -0,0 +1,10 @@
+package com.ratelimitx.exception;
+
+/**
+ * Exception thrown when a check is rejected by the adaptive concurrency limit
+ */
+public class ConcurrencyLimitExceededException extends ServiceOverloadedException {
+    public ConcurrencyLimitExceededException() {
+        super("Server overloaded, retry shortly");
+    }
+}
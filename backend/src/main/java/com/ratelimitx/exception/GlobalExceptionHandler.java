@@ -1,6 +1,7 @@
 package com.ratelimitx.exception;
 
 import com.ratelimitx.common.dto.ApiResponse;
+import com.ratelimitx.infrastructure.bulkhead.BulkheadFullException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
@@ -182,6 +183,36 @@ public class GlobalExceptionHandler {
             .body(ApiResponse.error("Rate limit service temporarily unavailable"));
     }
 
+    /**
+     * Handle requests shed under overload
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ApiResponse<Void>> handleServiceOverloadedException(
+            ServiceOverloadedException ex, WebRequest request) {
+        
+        log.warn("Request shed: {} - {}", request.getDescription(false), ex.getMessage());
+        
+        return ResponseEntity
+            .status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header("Retry-After", "1")
+            .body(ApiResponse.error(ex.getMessage()));
+    }
+
+    /**
+     * Handle tenant bulkhead rejections (too many concurrent Redis or DB calls for one tenant)
+     */
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<ApiResponse<Void>> handleBulkheadFullException(
+            BulkheadFullException ex, WebRequest request) {
+        
+        log.warn("Bulkhead full: {} - {}", request.getDescription(false), ex.getMessage());
+        
+        return ResponseEntity
+            .status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header("Retry-After", "1")
+            .body(ApiResponse.error("Too many concurrent requests for this tenant"));
+    }
+
     /**
      * Handle all other runtime exceptions
      */
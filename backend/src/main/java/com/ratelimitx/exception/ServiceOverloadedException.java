@@ -0,0 +1,10 @@
+package com.ratelimitx.exception;
+
+/**
+ * Exception thrown when a request is shed because RateLimitX itself is overloaded
+ */
+public class ServiceOverloadedException extends RuntimeException {
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,102 @@
+package com.ratelimitx.grpc;
+
+import io.grpc.Grpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the gRPC check service on its own port next to Tomcat.
+ * Calls are handled on a dedicated executor (virtual threads when enabled), so gRPC
+ * traffic and HTTP traffic do not compete for the same worker threads.
+ */
+@Component
+@ConditionalOnProperty(name = "ratelimit.grpc.enabled", havingValue = "true")
+@Slf4j
+public class GrpcServer implements SmartLifecycle {
+
+    private final RateLimitGrpcService rateLimitGrpcService;
+
+    @Value("${ratelimit.grpc.port:9090}")
+    private int port;
+
+    @Value("${ratelimit.grpc.threads:32}")
+    private int threads;
+
+    @Value("${ratelimit.grpc.max-message-bytes:1048576}")
+    private int maxMessageBytes;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private volatile Server server;
+    private ExecutorService executor;
+
+    public GrpcServer(RateLimitGrpcService rateLimitGrpcService) {
+        this.rateLimitGrpcService = rateLimitGrpcService;
+    }
+
+    @Override
+    public void start() {
+        if (virtualThreads) {
+            executor = Executors.newVirtualThreadPerTaskExecutor();
+        } else {
+            AtomicInteger threadCount = new AtomicInteger(0);
+            executor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "grpc-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        try {
+            server = Grpc.newServerBuilderForPort(port, InsecureServerCredentials.create())
+                    .executor(executor)
+                    .maxInboundMessageSize(maxMessageBytes)
+                    .addService(rateLimitGrpcService.bindService())
+                    .build()
+                    .start();
+        } catch (IOException e) {
+            executor.shutdownNow();
+            throw new UncheckedIOException("Failed to start gRPC server on port " + port, e);
+        }
+
+        log.info("gRPC check service listening on port {}", port);
+    }
+
+    @Override
+    public void stop() {
+        Server current = server;
+        if (current == null) {
+            return;
+        }
+
+        current.shutdown();
+        try {
+            if (!current.awaitTermination(5, TimeUnit.SECONDS)) {
+                current.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            current.shutdownNow();
+        }
+        executor.shutdownNow();
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+}
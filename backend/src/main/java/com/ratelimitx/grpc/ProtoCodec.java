@@ -0,0 +1,216 @@
+package com.ratelimitx.grpc;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import com.ratelimitx.common.dto.RateLimitCheckRequest;
+import com.ratelimitx.common.dto.RateLimitCheckResponse;
+import com.ratelimitx.common.dto.RateLimitPeekResponse;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Protobuf wire encoding of the messages in ratelimitx/v1/ratelimit.proto, written by hand
+ * against the existing DTOs so the build needs no protoc step. Default values are omitted
+ * as in proto3, and unknown fields are skipped so the contract can grow.
+ */
+final class ProtoCodec {
+
+    private ProtoCodec() {
+    }
+
+    static final MethodDescriptor.Marshaller<RateLimitCheckRequest> CHECK_REQUEST =
+            marshaller(ProtoCodec::writeCheckRequest, ProtoCodec::readCheckRequest);
+
+    static final MethodDescriptor.Marshaller<RateLimitCheckResponse> CHECK_RESPONSE =
+            marshaller(ProtoCodec::writeCheckResponse, ProtoCodec::readCheckResponse);
+
+    // CheckBatchRequest { repeated CheckRequest checks = 1; }
+    static final MethodDescriptor.Marshaller<List<RateLimitCheckRequest>> CHECK_BATCH_REQUEST =
+            repeated(ProtoCodec::writeCheckRequest, ProtoCodec::readCheckRequest);
+
+    // CheckBatchResponse { repeated CheckResponse results = 1; }
+    static final MethodDescriptor.Marshaller<List<RateLimitCheckResponse>> CHECK_BATCH_RESPONSE =
+            repeated(ProtoCodec::writeCheckResponse, ProtoCodec::readCheckResponse);
+
+    // PeekBatchResponse { repeated PeekResponse results = 1; }
+    static final MethodDescriptor.Marshaller<List<RateLimitPeekResponse>> PEEK_BATCH_RESPONSE =
+            repeated(ProtoCodec::writePeekResponse, ProtoCodec::readPeekResponse);
+
+    private static void writeCheckRequest(CodedOutputStream out, RateLimitCheckRequest request) throws IOException {
+        writeString(out, 1, request.getIdentifier());
+        writeString(out, 2, request.getResource());
+        if (request.getTokens() != null && request.getTokens() != 0) {
+            out.writeInt32(3, request.getTokens());
+        }
+    }
+
+    private static RateLimitCheckRequest readCheckRequest(CodedInputStream in) throws IOException {
+        RateLimitCheckRequest request = new RateLimitCheckRequest();
+        while (true) {
+            int tag = in.readTag();
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 0 -> {
+                    // Absent (0) means the default of 1
+                    if (request.getTokens() == null || request.getTokens() == 0) {
+                        request.setTokens(1);
+                    }
+                    return request;
+                }
+                case 1 -> request.setIdentifier(in.readString());
+                case 2 -> request.setResource(in.readString());
+                case 3 -> request.setTokens(in.readInt32());
+                default -> in.skipField(tag);
+            }
+        }
+    }
+
+    private static void writeCheckResponse(CodedOutputStream out, RateLimitCheckResponse response) throws IOException {
+        if (Boolean.TRUE.equals(response.getAllowed())) {
+            out.writeBool(1, true);
+        }
+        writeInt32(out, 2, response.getRemaining());
+        writeInt64(out, 3, response.getResetAt());
+        writeInt32(out, 4, response.getRetryAfter());
+        writeString(out, 5, response.getLeaseId());
+    }
+
+    private static RateLimitCheckResponse readCheckResponse(CodedInputStream in) throws IOException {
+        RateLimitCheckResponse response = RateLimitCheckResponse.builder()
+                .allowed(false).remaining(0).resetAt(0L).retryAfter(0).build();
+        while (true) {
+            int tag = in.readTag();
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 0 -> {
+                    return response;
+                }
+                case 1 -> response.setAllowed(in.readBool());
+                case 2 -> response.setRemaining(in.readInt32());
+                case 3 -> response.setResetAt(in.readInt64());
+                case 4 -> response.setRetryAfter(in.readInt32());
+                case 5 -> response.setLeaseId(in.readString());
+                default -> in.skipField(tag);
+            }
+        }
+    }
+
+    private static void writePeekResponse(CodedOutputStream out, RateLimitPeekResponse response) throws IOException {
+        writeString(out, 1, response.getIdentifier());
+        writeString(out, 2, response.getResource());
+        if (Boolean.TRUE.equals(response.getAllowed())) {
+            out.writeBool(3, true);
+        }
+        writeInt32(out, 4, response.getRemaining());
+        writeInt64(out, 5, response.getResetAt());
+        writeInt32(out, 6, response.getRetryAfter());
+    }
+
+    private static RateLimitPeekResponse readPeekResponse(CodedInputStream in) throws IOException {
+        RateLimitPeekResponse response = RateLimitPeekResponse.builder()
+                .allowed(false).remaining(0).resetAt(0L).retryAfter(0).build();
+        while (true) {
+            int tag = in.readTag();
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 0 -> {
+                    return response;
+                }
+                case 1 -> response.setIdentifier(in.readString());
+                case 2 -> response.setResource(in.readString());
+                case 3 -> response.setAllowed(in.readBool());
+                case 4 -> response.setRemaining(in.readInt32());
+                case 5 -> response.setResetAt(in.readInt64());
+                case 6 -> response.setRetryAfter(in.readInt32());
+                default -> in.skipField(tag);
+            }
+        }
+    }
+
+    private static void writeString(CodedOutputStream out, int field, String value) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            out.writeString(field, value);
+        }
+    }
+
+    private static void writeInt32(CodedOutputStream out, int field, Integer value) throws IOException {
+        if (value != null && value != 0) {
+            out.writeInt32(field, value);
+        }
+    }
+
+    private static void writeInt64(CodedOutputStream out, int field, Long value) throws IOException {
+        if (value != null && value != 0) {
+            out.writeInt64(field, value);
+        }
+    }
+
+    private interface Writer<T> {
+        void write(CodedOutputStream out, T value) throws IOException;
+    }
+
+    private interface Reader<T> {
+        T read(CodedInputStream in) throws IOException;
+    }
+
+    private static <T> byte[] encode(Writer<T> writer, T value) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+            writer.write(out, value);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw Status.INTERNAL.withDescription("Failed to encode message").withCause(e).asRuntimeException();
+        }
+    }
+
+    private static <T> MethodDescriptor.Marshaller<T> marshaller(Writer<T> writer, Reader<T> reader) {
+        return new MethodDescriptor.Marshaller<>() {
+            @Override
+            public InputStream stream(T value) {
+                return new ByteArrayInputStream(encode(writer, value));
+            }
+
+            @Override
+            public T parse(InputStream stream) {
+                try {
+                    return reader.read(CodedInputStream.newInstance(stream));
+                } catch (IOException e) {
+                    throw Status.INVALID_ARGUMENT.withDescription("Malformed message").withCause(e).asRuntimeException();
+                }
+            }
+        };
+    }
+
+    /**
+     * A message whose only field (number 1) is a repeated embedded message
+     */
+    private static <T> MethodDescriptor.Marshaller<List<T>> repeated(Writer<T> writer, Reader<T> reader) {
+        return marshaller((out, values) -> {
+            for (T value : values) {
+                out.writeByteArray(1, encode(writer, value));
+            }
+        }, in -> {
+            List<T> values = new ArrayList<>();
+            while (true) {
+                int tag = in.readTag();
+                if (tag == 0) {
+                    return values;
+                }
+                if (WireFormat.getTagFieldNumber(tag) != 1) {
+                    in.skipField(tag);
+                    continue;
+                }
+                int limit = in.pushLimit(in.readRawVarint32());
+                values.add(reader.read(in));
+                in.popLimit(limit);
+            }
+        });
+    }
+}
@@ -0,0 +1,244 @@
+package com.ratelimitx.grpc;
+
+import com.ratelimitx.common.dto.RateLimitCheckRequest;
+import com.ratelimitx.common.dto.RateLimitCheckResponse;
+import com.ratelimitx.common.dto.RateLimitPeekResponse;
+import com.ratelimitx.exception.InvalidApiKeyException;
+import com.ratelimitx.exception.RateLimitServiceException;
+import com.ratelimitx.exception.ServiceOverloadedException;
+import com.ratelimitx.exception.TierLimitExceededException;
+import com.ratelimitx.infrastructure.bulkhead.BulkheadFullException;
+import com.ratelimitx.service.AdaptiveConcurrencyLimiter;
+import com.ratelimitx.service.AdmissionScheduler;
+import com.ratelimitx.service.ApiKeyService;
+import com.ratelimitx.service.NonBlockingCheckService;
+import com.ratelimitx.service.RateLimitApiService;
+import com.ratelimitx.service.RateLimitPeekService;
+import com.ratelimitx.service.RateLimitService;
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * gRPC check service (ratelimitx.v1.RateLimit): Check, CheckBatch and Peek over one
+ * long-lived HTTP/2 connection. Same services, admission and load shedding as the
+ * HTTP endpoints; a denied check is a normal reply with allowed = false, while
+ * errors map to gRPC status codes.
+ */
+@Component
+@ConditionalOnProperty(name = "ratelimit.grpc.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitGrpcService {
+
+    static final String SERVICE_NAME = "ratelimitx.v1.RateLimit";
+    static final int MAX_BATCH_SIZE = 100;
+
+    static final Metadata.Key<String> API_KEY_HEADER =
+            Metadata.Key.of("x-api-key", Metadata.ASCII_STRING_MARSHALLER);
+    private static final Context.Key<String> API_KEY = Context.key("ratelimitx-api-key");
+
+    static final MethodDescriptor<RateLimitCheckRequest, RateLimitCheckResponse> CHECK =
+            MethodDescriptor.<RateLimitCheckRequest, RateLimitCheckResponse>newBuilder()
+                    .setType(MethodDescriptor.MethodType.UNARY)
+                    .setFullMethodName(MethodDescriptor.generateFullMethodName(SERVICE_NAME, "Check"))
+                    .setRequestMarshaller(ProtoCodec.CHECK_REQUEST)
+                    .setResponseMarshaller(ProtoCodec.CHECK_RESPONSE)
+                    .build();
+
+    static final MethodDescriptor<List<RateLimitCheckRequest>, List<RateLimitCheckResponse>> CHECK_BATCH =
+            MethodDescriptor.<List<RateLimitCheckRequest>, List<RateLimitCheckResponse>>newBuilder()
+                    .setType(MethodDescriptor.MethodType.UNARY)
+                    .setFullMethodName(MethodDescriptor.generateFullMethodName(SERVICE_NAME, "CheckBatch"))
+                    .setRequestMarshaller(ProtoCodec.CHECK_BATCH_REQUEST)
+                    .setResponseMarshaller(ProtoCodec.CHECK_BATCH_RESPONSE)
+                    .build();
+
+    static final MethodDescriptor<List<RateLimitCheckRequest>, List<RateLimitPeekResponse>> PEEK =
+            MethodDescriptor.<List<RateLimitCheckRequest>, List<RateLimitPeekResponse>>newBuilder()
+                    .setType(MethodDescriptor.MethodType.UNARY)
+                    .setFullMethodName(MethodDescriptor.generateFullMethodName(SERVICE_NAME, "Peek"))
+                    .setRequestMarshaller(ProtoCodec.CHECK_BATCH_REQUEST)
+                    .setResponseMarshaller(ProtoCodec.PEEK_BATCH_RESPONSE)
+                    .build();
+
+    private final RateLimitService rateLimitService;
+    private final NonBlockingCheckService nonBlockingCheckService;
+    private final RateLimitPeekService rateLimitPeekService;
+    private final ApiKeyService apiKeyService;
+    private final RateLimitApiService rateLimitApiService;
+    private final AdmissionScheduler admissionScheduler;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    public ServerServiceDefinition bindService() {
+        ServerServiceDefinition definition = ServerServiceDefinition.builder(SERVICE_NAME)
+                .addMethod(CHECK, ServerCalls.asyncUnaryCall(this::check))
+                .addMethod(CHECK_BATCH, ServerCalls.asyncUnaryCall(this::checkBatch))
+                .addMethod(PEEK, ServerCalls.asyncUnaryCall(this::peek))
+                .build();
+        return ServerInterceptors.intercept(definition, new ApiKeyInterceptor());
+    }
+
+    private void check(RateLimitCheckRequest request, StreamObserver<RateLimitCheckResponse> observer) {
+        respond(observer, () -> {
+            validate(request);
+            UUID tenantId = authenticate();
+            return admissionScheduler.execute(tenantId,
+                    () -> concurrencyLimiter.execute(() -> rateLimitService.check(tenantId, request)));
+        });
+    }
+
+    private void checkBatch(List<RateLimitCheckRequest> checks, StreamObserver<List<RateLimitCheckResponse>> observer) {
+        respondAsync(observer, () -> {
+            validateBatch(checks);
+            UUID tenantId = authenticate();
+            // Checks run concurrently on the non-blocking path (no admission queue, as for /check/async),
+            // under one concurrency permit for the whole batch
+            return concurrencyLimiter.executeAsync(() -> {
+                List<CompletableFuture<RateLimitCheckResponse>> results = checks.stream()
+                        .map(check -> nonBlockingCheckService.check(tenantId, check))
+                        .toList();
+                return CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                        .thenApply(done -> results.stream().map(CompletableFuture::join).toList());
+            });
+        });
+    }
+
+    private void peek(List<RateLimitCheckRequest> checks, StreamObserver<List<RateLimitPeekResponse>> observer) {
+        respond(observer, () -> {
+            validateBatch(checks);
+            UUID tenantId = authenticate();
+            return rateLimitPeekService.peek(tenantId, checks);
+        });
+    }
+
+    private <T> void respond(StreamObserver<T> observer, Supplier<T> call) {
+        try {
+            T result = call.get();
+            observer.onNext(result);
+            observer.onCompleted();
+        } catch (StatusRuntimeException e) {
+            observer.onError(e);
+        } catch (Exception e) {
+            observer.onError(toStatus(e).asRuntimeException());
+        }
+    }
+
+    /**
+     * Same as {@link #respond} for a call that completes later; the observer is completed
+     * from whichever thread completes the future
+     */
+    private <T> void respondAsync(StreamObserver<T> observer, Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (Exception e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+
+        future.whenComplete((result, error) -> {
+            if (error == null) {
+                observer.onNext(result);
+                observer.onCompleted();
+                return;
+            }
+
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof StatusRuntimeException status) {
+                observer.onError(status);
+            } else {
+                observer.onError(toStatus(cause).asRuntimeException());
+            }
+        });
+    }
+
+    private UUID authenticate() {
+        String apiKey = API_KEY.get();
+
+        // Rate limit the API itself
+        if (!rateLimitApiService.isAllowed(apiKey)) {
+            throw Status.RESOURCE_EXHAUSTED.withDescription("API rate limit exceeded").asRuntimeException();
+        }
+        return apiKeyService.validateAndGetTenant(apiKey);
+    }
+
+    /**
+     * Same constraints as the bean validation on RateLimitCheckRequest
+     */
+    private void validate(RateLimitCheckRequest request) {
+        if (request.getIdentifier() == null || request.getIdentifier().isBlank()) {
+            throw new IllegalArgumentException("Identifier is required");
+        }
+        if (request.getResource() == null || request.getResource().isBlank()) {
+            throw new IllegalArgumentException("Resource is required");
+        }
+        if (request.getTokens() == null || request.getTokens() <= 0) {
+            throw new IllegalArgumentException("Tokens must be positive");
+        }
+    }
+
+    private void validateBatch(List<RateLimitCheckRequest> checks) {
+        if (checks.isEmpty()) {
+            throw new IllegalArgumentException("At least one check is required");
+        }
+        if (checks.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " checks per request");
+        }
+        checks.forEach(this::validate);
+    }
+
+    private Status toStatus(Throwable e) {
+        if (e instanceof InvalidApiKeyException) {
+            return Status.UNAUTHENTICATED.withDescription(e.getMessage());
+        }
+        if (e instanceof TierLimitExceededException) {
+            return Status.RESOURCE_EXHAUSTED.withDescription(e.getMessage());
+        }
+        if (e instanceof IllegalArgumentException) {
+            return Status.INVALID_ARGUMENT.withDescription(e.getMessage());
+        }
+        if (e instanceof ServiceOverloadedException || e instanceof BulkheadFullException
+                || e instanceof RateLimitServiceException) {
+            return Status.UNAVAILABLE.withDescription(e.getMessage());
+        }
+
+        log.error("gRPC call failed", e);
+        return Status.INTERNAL.withDescription("Internal server error");
+    }
+
+    /**
+     * Moves the x-api-key header into the call context; calls without one are rejected up front
+     */
+    private static class ApiKeyInterceptor implements ServerInterceptor {
+        @Override
+        public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                     ServerCallHandler<ReqT, RespT> next) {
+            String apiKey = headers.get(API_KEY_HEADER);
+            if (apiKey == null || apiKey.isBlank()) {
+                call.close(Status.UNAUTHENTICATED.withDescription("API key is required"), new Metadata());
+                return new ServerCall.Listener<>() {};
+            }
+            return Contexts.interceptCall(Context.current().withValue(API_KEY, apiKey), call, headers, next);
+        }
+    }
+}
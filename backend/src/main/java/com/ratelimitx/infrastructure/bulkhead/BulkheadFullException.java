@@ -0,0 +1,10 @@
+package com.ratelimitx.infrastructure.bulkhead;
+
+/**
+ * Thrown when a tenant already uses all of its permits for a shared resource
+ */
+public class BulkheadFullException extends RuntimeException {
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
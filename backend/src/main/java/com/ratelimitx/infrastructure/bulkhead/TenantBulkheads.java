@@ -0,0 +1,142 @@
+package com.ratelimitx.infrastructure.bulkhead;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Per-tenant bulkheads for the shared Redis client and database pool.
+ * Each tenant gets a fixed number of concurrent Redis calls and DB acquisitions; a call
+ * beyond that is rejected immediately with {@link BulkheadFullException} instead of
+ * waiting for a connection, so a bursting tenant cannot starve the others.
+ * Work done outside a tenant context (schedulers, sweepers) is not limited.
+ */
+@Component
+@Slf4j
+public class TenantBulkheads {
+
+    public enum Resource {
+        REDIS,
+        DB
+    }
+
+    private final int redisPermits;
+    private final int dbPermits;
+    private final boolean enabled;
+
+    private final ConcurrentHashMap<UUID, Semaphore> redis = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Semaphore> db = new ConcurrentHashMap<>();
+    private final Counter redisRejected;
+    private final Counter dbRejected;
+
+    public TenantBulkheads(MeterRegistry meterRegistry,
+                           @Value("${ratelimit.bulkhead.enabled:true}") boolean enabled,
+                           @Value("${ratelimit.bulkhead.redis.max-concurrent:16}") int redisPermits,
+                           @Value("${ratelimit.bulkhead.db.max-concurrent:2}") int dbPermits) {
+        this.enabled = enabled;
+        this.redisPermits = redisPermits;
+        this.dbPermits = dbPermits;
+
+        this.redisRejected = rejectedCounter(meterRegistry, Resource.REDIS);
+        this.dbRejected = rejectedCounter(meterRegistry, Resource.DB);
+        registerGauges(meterRegistry, Resource.REDIS, redis, redisPermits);
+        registerGauges(meterRegistry, Resource.DB, db, dbPermits);
+    }
+
+    /**
+     * Run a Redis call within the current tenant's Redis bulkhead
+     */
+    public <T> T redis(Supplier<T> call) {
+        return execute(Resource.REDIS, TenantContext.current(), call);
+    }
+
+    /**
+     * Start an async Redis call within the current tenant's Redis bulkhead; the permit is
+     * held until the returned future completes
+     */
+    public <T> CompletableFuture<T> redisAsync(Supplier<CompletableFuture<T>> call) {
+        UUID tenantId = TenantContext.current();
+        if (!enabled || tenantId == null) {
+            return call.get();
+        }
+
+        Semaphore semaphore = redis.computeIfAbsent(tenantId, id -> new Semaphore(redisPermits));
+        if (!semaphore.tryAcquire()) {
+            redisRejected.increment();
+            log.debug("{} bulkhead full for tenant: {}", Resource.REDIS, tenantId);
+            return CompletableFuture.failedFuture(
+                    new BulkheadFullException(Resource.REDIS + " bulkhead full for tenant " + tenantId));
+        }
+
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            semaphore.release();
+            throw e;
+        }
+        return future.whenComplete((result, error) -> semaphore.release());
+    }
+
+    /**
+     * Run database work within the tenant's DB bulkhead
+     */
+    public <T> T db(UUID tenantId, Supplier<T> work) {
+        return execute(Resource.DB, tenantId, work);
+    }
+
+    private <T> T execute(Resource resource, UUID tenantId, Supplier<T> call) {
+        if (!enabled || tenantId == null) {
+            return call.get();
+        }
+
+        Semaphore semaphore = resource == Resource.REDIS
+                ? redis.computeIfAbsent(tenantId, id -> new Semaphore(redisPermits))
+                : db.computeIfAbsent(tenantId, id -> new Semaphore(dbPermits));
+
+        if (!semaphore.tryAcquire()) {
+            (resource == Resource.REDIS ? redisRejected : dbRejected).increment();
+            log.debug("{} bulkhead full for tenant: {}", resource, tenantId);
+            throw new BulkheadFullException(resource + " bulkhead full for tenant " + tenantId);
+        }
+
+        try {
+            return call.get();
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    private Counter rejectedCounter(MeterRegistry meterRegistry, Resource resource) {
+        return Counter.builder("ratelimit.bulkhead.rejected")
+                .description("Calls rejected because the tenant's bulkhead was full")
+                .tag("resource", resource.name().toLowerCase())
+                .register(meterRegistry);
+    }
+
+    private void registerGauges(MeterRegistry meterRegistry, Resource resource,
+                                ConcurrentHashMap<UUID, Semaphore> semaphores, int permits) {
+        String tag = resource.name().toLowerCase();
+
+        Gauge.builder("ratelimit.bulkhead.active", semaphores, s -> s.values().stream()
+                        .mapToInt(semaphore -> permits - semaphore.availablePermits()).sum())
+                .description("Permits in use across all tenants")
+                .tag("resource", tag)
+                .register(meterRegistry);
+
+        Gauge.builder("ratelimit.bulkhead.saturated.tenants", semaphores, s -> s.values().stream()
+                        .filter(semaphore -> semaphore.availablePermits() == 0).count())
+                .description("Tenants currently using all of their permits")
+                .tag("resource", tag)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,37 @@
+package com.ratelimitx.infrastructure.bulkhead;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Tenant on whose behalf the current thread is working, so shared clients can apply
+ * per-tenant bulkheads without the tenant id being passed through every call
+ */
+public final class TenantContext {
+
+    private static final ThreadLocal<UUID> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static UUID current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Run a task as the given tenant, restoring the previous tenant afterwards
+     */
+    public static <T> T callAs(UUID tenantId, Supplier<T> task) {
+        UUID previous = CURRENT.get();
+        CURRENT.set(tenantId);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
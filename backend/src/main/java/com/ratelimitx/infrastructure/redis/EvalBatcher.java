@@ -0,0 +1,113 @@
+package com.ratelimitx.infrastructure.redis;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Coalesces one tenant's async EVALs into Upstash pipeline calls.
+ * A command is sent right away while fewer than maxInFlight pipelines are outstanding;
+ * otherwise it waits for the next free slot and goes out together with everything that
+ * queued up meanwhile (up to maxBatchSize per round trip). Nothing is held back on a
+ * timer, so an idle tenant sees no added latency.
+ */
+@Slf4j
+class EvalBatcher {
+
+    private final UpstashRedisClient client;
+    private final UUID tenantId;
+    private final int maxBatchSize;
+    private final int maxInFlight;
+
+    private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger(0);
+
+    EvalBatcher(UpstashRedisClient client, UUID tenantId, int maxBatchSize, int maxInFlight) {
+        this.client = client;
+        this.tenantId = tenantId;
+        this.maxBatchSize = maxBatchSize;
+        this.maxInFlight = maxInFlight;
+    }
+
+    CompletableFuture<String> submit(String[] command) {
+        Pending pending = new Pending(command, new CompletableFuture<>());
+        queue.add(pending);
+        drain();
+        return pending.future;
+    }
+
+    private void drain() {
+        while (!queue.isEmpty()) {
+            int current = inFlight.get();
+            if (current >= maxInFlight) {
+                // The next completing pipeline drains again
+                return;
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+
+            List<Pending> batch = new ArrayList<>();
+            Pending pending;
+            while (batch.size() < maxBatchSize && (pending = queue.poll()) != null) {
+                batch.add(pending);
+            }
+
+            if (batch.isEmpty()) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+            dispatch(batch);
+        }
+    }
+
+    private void dispatch(List<Pending> batch) {
+        List<String[]> commands = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            commands.add(pending.command);
+        }
+
+        CompletableFuture<List<UpstashRedisClient.PipelineReply>> replies;
+        try {
+            replies = client.pipelineAsync(tenantId, commands);
+        } catch (RuntimeException e) {
+            replies = CompletableFuture.failedFuture(e);
+        }
+
+        replies.whenComplete((results, error) -> {
+            inFlight.decrementAndGet();
+            complete(batch, results, error);
+            drain();
+        });
+    }
+
+    private void complete(List<Pending> batch, List<UpstashRedisClient.PipelineReply> results, Throwable error) {
+        if (error == null && results.size() != batch.size()) {
+            error = new RuntimeException("Redis pipeline returned " + results.size() + " replies for "
+                    + batch.size() + " commands");
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            CompletableFuture<String> future = batch.get(i).future;
+            if (error != null) {
+                future.completeExceptionally(error);
+                continue;
+            }
+
+            UpstashRedisClient.PipelineReply reply = results.get(i);
+            if (reply.error() != null) {
+                log.error("Redis pipeline command failed: {}", reply.error());
+                future.completeExceptionally(new RuntimeException("Lua script execution failed: " + reply.error()));
+            } else {
+                future.complete(reply.result());
+            }
+        }
+    }
+
+    private record Pending(String[] command, CompletableFuture<String> future) {}
+}
@@ -0,0 +1,96 @@
+package com.ratelimitx.infrastructure.redis;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Circuit breaker around Upstash calls.
+ * CLOSED: calls go through; consecutive connection failures are counted.
+ * OPEN: calls fail fast for open-duration-ms instead of waiting for the HTTP timeout.
+ * HALF_OPEN: a single probe call is let through; its outcome closes or re-opens the circuit.
+ */
+@Component
+@Slf4j
+public class RedisCircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    @Value("${ratelimit.redis.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${ratelimit.redis.open-duration-ms:10000}")
+    private long openDurationMs;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger(0);
+    private final AtomicLong openedAt = new AtomicLong(0);
+    private final AtomicBoolean probeInFlight = new AtomicBoolean(false);
+
+    /**
+     * @return true if the caller may send a request to Redis now
+     */
+    public boolean allowRequest() {
+        State current = state.get();
+
+        if (current == State.CLOSED) {
+            return true;
+        }
+
+        if (current == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt.get() < openDurationMs) {
+                return false;
+            }
+            if (state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+                log.info("Redis circuit half-open, probing");
+            }
+        }
+
+        // HALF_OPEN: only one probe at a time
+        return probeInFlight.compareAndSet(false, true);
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        if (state.get() != State.CLOSED) {
+            state.set(State.CLOSED);
+            probeInFlight.set(false);
+            log.info("Redis circuit closed");
+        }
+    }
+
+    public void onFailure() {
+        int failures = consecutiveFailures.incrementAndGet();
+        State current = state.get();
+
+        if (current == State.HALF_OPEN) {
+            open("probe failed");
+        } else if (current == State.CLOSED && failures >= failureThreshold) {
+            open(failures + " consecutive failures");
+        }
+    }
+
+    private void open(String reason) {
+        openedAt.set(System.currentTimeMillis());
+        state.set(State.OPEN);
+        probeInFlight.set(false);
+        log.error("Redis circuit opened ({}), failing fast for {}ms", reason, openDurationMs);
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public boolean isOpen() {
+        return state.get() != State.CLOSED;
+    }
+}
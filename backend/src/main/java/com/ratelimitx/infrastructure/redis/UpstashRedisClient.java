@@ -2,17 +2,26 @@ package com.ratelimitx.infrastructure.redis;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ratelimitx.core.store.ScriptExecutor;
+import com.ratelimitx.infrastructure.bulkhead.BulkheadFullException;
+import com.ratelimitx.infrastructure.bulkhead.TenantBulkheads;
+import com.ratelimitx.infrastructure.bulkhead.TenantContext;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.*;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 @Component
 @Slf4j
-public class UpstashRedisClient {
+public class UpstashRedisClient implements ScriptExecutor {
 
     @Value("${upstash.redis.url}")
     private String redisUrl;
@@ -22,60 +31,287 @@ public class UpstashRedisClient {
 
     private final OkHttpClient httpClient;
     private final ObjectMapper objectMapper;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final TenantBulkheads bulkheads;
 
-    public UpstashRedisClient() {
-        this.httpClient = new OkHttpClient.Builder()
+    @Value("${ratelimit.redis.batching.enabled:true}")
+    private boolean batching;
+
+    @Value("${ratelimit.redis.batching.max-batch-size:64}")
+    private int maxBatchSize;
+
+    @Value("${ratelimit.redis.batching.max-in-flight:4}")
+    private int maxBatchesInFlight;
+
+    private final ConcurrentHashMap<UUID, EvalBatcher> batchers = new ConcurrentHashMap<>();
+
+    public UpstashRedisClient(RedisCircuitBreaker circuitBreaker, TenantBulkheads bulkheads,
+                              @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                              @Value("${ratelimit.redis.max-idle-connections:5}") int maxIdleConnections,
+                              @Value("${ratelimit.redis.async-max-requests:256}") int asyncMaxRequests) {
+        this.circuitBreaker = circuitBreaker;
+        this.bulkheads = bulkheads;
+
+        // Only async calls go through the dispatcher; its default of 5 per host would serialize them
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(asyncMaxRequests);
+        dispatcher.setMaxRequestsPerHost(asyncMaxRequests);
+
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
                 .connectTimeout(5, TimeUnit.SECONDS)
                 .readTimeout(5, TimeUnit.SECONDS)
                 .writeTimeout(5, TimeUnit.SECONDS)
-                .retryOnConnectionFailure(true)
-                .build();
+                .connectionPool(new ConnectionPool(maxIdleConnections, 5, TimeUnit.MINUTES))
+                .retryOnConnectionFailure(true);
+
+        if (virtualThreads) {
+            // OkHttp's HTTP/2 writer blocks on socket I/O inside synchronized blocks, which pins
+            // virtual threads to their carrier; HTTP/1.1 calls do their I/O outside monitors
+            builder.protocols(List.of(Protocol.HTTP_1_1));
+        }
+
+        this.httpClient = builder.build();
         this.objectMapper = new ObjectMapper();
     }
 
     private String executeCommand(String... commands) {
+        // A full bulkhead rejects before the breaker is consulted - it says nothing about Redis health
+        return bulkheads.redis(() -> send(commands));
+    }
+
+    private String send(String... commands) {
+        if (!circuitBreaker.allowRequest()) {
+            throw new RedisUnavailableException("Redis circuit is open");
+        }
+
+        try {
+            try (Response response = httpClient.newCall(commandRequest(commands)).execute()) {
+                return readResult(response);
+            }
+        } catch (IOException e) {
+            circuitBreaker.onFailure();
+            log.error("Error executing Redis command", e);
+            throw new RuntimeException("Redis operation failed", e);
+        }
+    }
+
+    /**
+     * Same as {@link #send} without blocking the caller: the reply is handled on an OkHttp dispatcher thread
+     */
+    private CompletableFuture<String> sendAsync(String... commands) {
+        if (!circuitBreaker.allowRequest()) {
+            return CompletableFuture.failedFuture(new RedisUnavailableException("Redis circuit is open"));
+        }
+
+        CompletableFuture<String> future = new CompletableFuture<>();
+        Request request;
         try {
-            String jsonBody = objectMapper.writeValueAsString(java.util.Arrays.asList(commands));
-
-            RequestBody body = RequestBody.create(
-                    jsonBody,
-                    MediaType.parse("application/json")
-            );
-
-            Request request = new Request.Builder()
-                    .url(redisUrl)
-                    .addHeader("Authorization", "Bearer " + redisToken)
-                    .addHeader("Content-Type", "application/json")
-                    .post(body)
-                    .build();
-
-            try (Response response = httpClient.newCall(request).execute()) {
-                if (!response.isSuccessful()) {
-                    log.error("Redis command failed: {} - {}", response.code(), response.message());
-                    throw new RuntimeException("Redis operation failed: " + response.code());
+            request = commandRequest(commands);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new RuntimeException("Redis operation failed", e));
+        }
+
+        httpClient.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                circuitBreaker.onFailure();
+                log.error("Error executing Redis command", e);
+                future.completeExceptionally(new RuntimeException("Redis operation failed", e));
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (response) {
+                    future.complete(readResult(response));
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
                 }
+            }
+        });
+        return future;
+    }
 
-                String responseBody = response.body().string();
-                JsonNode jsonNode = objectMapper.readTree(responseBody);
+    private Request commandRequest(String... commands) throws IOException {
+        String jsonBody = objectMapper.writeValueAsString(java.util.Arrays.asList(commands));
 
-                if (jsonNode.has("result")) {
-                    JsonNode resultNode = jsonNode.get("result");
-                    if (resultNode.isNull()) {
-                        return null;
-                    }
-                    if (resultNode.isTextual()) {
-                        return resultNode.asText();
+        RequestBody body = RequestBody.create(
+                jsonBody,
+                MediaType.parse("application/json")
+        );
+
+        return new Request.Builder()
+                .url(redisUrl)
+                .addHeader("Authorization", "Bearer " + redisToken)
+                .addHeader("Content-Type", "application/json")
+                .post(body)
+                .build();
+    }
+
+    private String readResult(Response response) throws IOException {
+        recordOutcome(response);
+
+        if (!response.isSuccessful()) {
+            log.error("Redis command failed: {} - {}", response.code(), response.message());
+            throw new RuntimeException("Redis operation failed: " + response.code());
+        }
+
+        String responseBody = response.body().string();
+        JsonNode jsonNode = objectMapper.readTree(responseBody);
+
+        if (jsonNode.has("result")) {
+            JsonNode resultNode = jsonNode.get("result");
+            if (resultNode.isNull()) {
+                return null;
+            }
+            if (resultNode.isTextual()) {
+                return resultNode.asText();
+            }
+            return resultNode.toString();
+        }
+        return responseBody;
+    }
+
+    /**
+     * Server errors count against the circuit; 4xx replies (bad command or script) mean Redis is reachable
+     */
+    private void recordOutcome(Response response) {
+        if (response.code() >= 500) {
+            circuitBreaker.onFailure();
+        } else {
+            circuitBreaker.onSuccess();
+        }
+    }
+
+    /**
+     * Execute several commands in one HTTP round trip (Upstash /pipeline endpoint).
+     * Commands are not atomic as a group.
+     * @param commands Commands, each as [COMMAND, arg1, arg2, ...]
+     * @return One result per command, in order (null for nil replies)
+     */
+    public List<String> pipeline(List<String[]> commands) {
+        if (commands.isEmpty()) {
+            return List.of();
+        }
+
+        return bulkheads.redis(() -> sendPipeline(commands));
+    }
+
+    private List<String> sendPipeline(List<String[]> commands) {
+        if (!circuitBreaker.allowRequest()) {
+            throw new RedisUnavailableException("Redis circuit is open");
+        }
+
+        try {
+            try (Response response = httpClient.newCall(pipelineRequest(commands)).execute()) {
+                List<PipelineReply> replies = readPipelineReplies(response, commands.size());
+                List<String> values = new ArrayList<>(replies.size());
+
+                for (PipelineReply reply : replies) {
+                    if (reply.error() != null) {
+                        throw new RuntimeException("Redis pipeline command failed: " + reply.error());
                     }
-                    return resultNode.toString();
+                    values.add(reply.result());
                 }
-                return responseBody;
+                return values;
             }
         } catch (IOException e) {
-            log.error("Error executing Redis command", e);
-            throw new RuntimeException("Redis operation failed", e);
+            circuitBreaker.onFailure();
+            log.error("Error executing Redis pipeline", e);
+            throw new RuntimeException("Redis pipeline failed", e);
         }
     }
 
+    /**
+     * Non-blocking pipeline for {@link EvalBatcher}, run within the tenant's Redis bulkhead.
+     * A failed command yields its error in place of a result instead of failing the other commands.
+     */
+    CompletableFuture<List<PipelineReply>> pipelineAsync(UUID tenantId, List<String[]> commands) {
+        return TenantContext.callAs(tenantId, () -> bulkheads.redisAsync(() -> sendPipelineAsync(commands)));
+    }
+
+    private CompletableFuture<List<PipelineReply>> sendPipelineAsync(List<String[]> commands) {
+        if (!circuitBreaker.allowRequest()) {
+            return CompletableFuture.failedFuture(new RedisUnavailableException("Redis circuit is open"));
+        }
+
+        CompletableFuture<List<PipelineReply>> future = new CompletableFuture<>();
+        Request request;
+        try {
+            request = pipelineRequest(commands);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new RuntimeException("Redis pipeline failed", e));
+        }
+
+        httpClient.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                circuitBreaker.onFailure();
+                log.error("Error executing Redis pipeline", e);
+                future.completeExceptionally(new RuntimeException("Redis pipeline failed", e));
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (response) {
+                    future.complete(readPipelineReplies(response, commands.size()));
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        return future;
+    }
+
+    private Request pipelineRequest(List<String[]> commands) throws IOException {
+        String jsonBody = objectMapper.writeValueAsString(commands);
+
+        RequestBody body = RequestBody.create(
+                jsonBody,
+                MediaType.parse("application/json")
+        );
+
+        return new Request.Builder()
+                .url(redisUrl + "/pipeline")
+                .addHeader("Authorization", "Bearer " + redisToken)
+                .addHeader("Content-Type", "application/json")
+                .post(body)
+                .build();
+    }
+
+    private List<PipelineReply> readPipelineReplies(Response response, int expected) throws IOException {
+        recordOutcome(response);
+
+        if (!response.isSuccessful()) {
+            log.error("Redis pipeline failed: {} - {}", response.code(), response.message());
+            throw new RuntimeException("Redis pipeline failed: " + response.code());
+        }
+
+        JsonNode results = objectMapper.readTree(response.body().string());
+        List<PipelineReply> replies = new ArrayList<>(expected);
+
+        for (JsonNode item : results) {
+            if (item.has("error")) {
+                replies.add(new PipelineReply(null, item.get("error").asText()));
+                continue;
+            }
+            JsonNode resultNode = item.get("result");
+            if (resultNode == null || resultNode.isNull()) {
+                replies.add(new PipelineReply(null, null));
+            } else if (resultNode.isTextual()) {
+                replies.add(new PipelineReply(resultNode.asText(), null));
+            } else {
+                replies.add(new PipelineReply(resultNode.toString(), null));
+            }
+        }
+        return replies;
+    }
+
+    /**
+     * One command's outcome within a pipeline: a result (null for nil) or an error message
+     */
+    record PipelineReply(String result, String error) {}
+
     /**
      * Execute a Lua script atomically
      * @param script The Lua script to execute
@@ -83,38 +319,62 @@ public class UpstashRedisClient {
      * @param args Array of arguments (ARGV in Lua)
      * @return The result from the script
      */
+    @Override
     public String eval(String script, String[] keys, String... args) {
         try {
-            // Build EVAL command: EVAL script numkeys key [key ...] arg [arg ...]
-            int numKeys = keys != null ? keys.length : 0;
-            int numArgs = args != null ? args.length : 0;
-            int totalSize = 3 + numKeys + numArgs; // EVAL + script + numkeys + keys + args
-
-            String[] command = new String[totalSize];
-            command[0] = "EVAL";
-            command[1] = script;
-            command[2] = String.valueOf(numKeys);
-
-            int idx = 3;
-            if (keys != null) {
-                for (String key : keys) {
-                    command[idx++] = key;
-                }
-            }
-            if (args != null) {
-                for (String arg : args) {
-                    command[idx++] = arg;
-                }
-            }
-
-            return executeCommand(command);
+            return executeCommand(evalCommand(script, keys, args));
 
+        } catch (RedisUnavailableException | BulkheadFullException e) {
+            // Expected rejections, callers handle them without wrapping
+            throw e;
         } catch (Exception e) {
             log.error("Error executing Lua script", e);
             throw new RuntimeException("Lua script execution failed", e);
         }
     }
 
+    /**
+     * Non-blocking {@link #eval}. The current tenant's Redis bulkhead is taken when the
+     * call is made and released when the reply arrives; the future completes on an
+     * OkHttp dispatcher thread, so dependent stages must not block.
+     * With batching enabled, a tenant's concurrent calls share pipelined round trips.
+     */
+    @Override
+    public CompletableFuture<String> evalAsync(String script, String[] keys, String... args) {
+        UUID tenantId = TenantContext.current();
+        if (batching && tenantId != null) {
+            return batchers.computeIfAbsent(tenantId,
+                            id -> new EvalBatcher(this, id, maxBatchSize, maxBatchesInFlight))
+                    .submit(evalCommand(script, keys, args));
+        }
+        return bulkheads.redisAsync(() -> sendAsync(evalCommand(script, keys, args)));
+    }
+
+    private String[] evalCommand(String script, String[] keys, String... args) {
+        // Build EVAL command: EVAL script numkeys key [key ...] arg [arg ...]
+        int numKeys = keys != null ? keys.length : 0;
+        int numArgs = args != null ? args.length : 0;
+        int totalSize = 3 + numKeys + numArgs; // EVAL + script + numkeys + keys + args
+
+        String[] command = new String[totalSize];
+        command[0] = "EVAL";
+        command[1] = script;
+        command[2] = String.valueOf(numKeys);
+
+        int idx = 3;
+        if (keys != null) {
+            for (String key : keys) {
+                command[idx++] = key;
+            }
+        }
+        if (args != null) {
+            for (String arg : args) {
+                command[idx++] = arg;
+            }
+        }
+        return command;
+    }
+
     public long incr(String key) {
         String result = executeCommand("INCR", key);
         return Long.parseLong(result);
@@ -162,6 +422,11 @@ public class UpstashRedisClient {
         return Long.parseLong(result);
     }
 
+    public long zrem(String key, String member) {
+        String result = executeCommand("ZREM", key, member);
+        return Long.parseLong(result);
+    }
+
     public long zcard(String key) {
         String result = executeCommand("ZCARD", key);
         return Long.parseLong(result);
@@ -13,5 +13,6 @@ public interface ApiKeyRepository extends JpaRepository<ApiKey, UUID> {
     Optional<ApiKey> findByKeyHash(String keyHash);
     List<ApiKey> findByTenantId(UUID tenantId);
     List<ApiKey> findByTenantIdAndActive(UUID tenantId, Boolean active);
+    List<ApiKey> findByActive(Boolean active);
 }
 
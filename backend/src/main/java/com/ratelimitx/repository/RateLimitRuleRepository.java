@@ -1,6 +1,7 @@
 package com.ratelimitx.repository;
 
 import com.ratelimitx.common.entity.RateLimitRule;
+import com.ratelimitx.core.LimitScope;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -13,6 +14,7 @@ public interface RateLimitRuleRepository extends JpaRepository<RateLimitRule, UU
     Optional<RateLimitRule> findByTenantIdAndResourceAndActive(UUID tenantId, String resource, Boolean active);
     List<RateLimitRule> findByTenantId(UUID tenantId);
     List<RateLimitRule> findByTenantIdAndActive(UUID tenantId, Boolean active);
-    List<RateLimitRule> findByTenantIdAndLimitScope(UUID tenantId, RateLimitRule.LimitScope limitScope);
+    List<RateLimitRule> findByActive(Boolean active);
+    List<RateLimitRule> findByTenantIdAndLimitScope(UUID tenantId, LimitScope limitScope);
 }
 
@@ -0,0 +1,182 @@
+package com.ratelimitx.service;
+
+import com.ratelimitx.exception.ConcurrencyLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Adaptive concurrency limit for the check endpoint (gradient algorithm).
+ * Tracks a short-term and a long-term average of check latency, which is dominated by
+ * Redis. While the short-term latency stays near the long-term baseline the limit grows
+ * by about sqrt(limit) per adjustment; when latency rises, the limit shrinks by the
+ * ratio long/short. Checks above the limit are rejected immediately instead of queueing
+ * in Tomcat behind slow Redis calls.
+ * Callers wrap only the check itself (inside admission, where there is any), so time spent
+ * queued for a fair share does not read as latency and shrink the limit.
+ */
+@Service
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    @Value("${ratelimit.concurrency-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ratelimit.concurrency-limit.min-limit:8}")
+    private int minLimit;
+
+    @Value("${ratelimit.concurrency-limit.max-limit:1000}")
+    private int maxLimit;
+
+    @Value("${ratelimit.concurrency-limit.smoothing:0.2}")
+    private double smoothing;
+
+    // EWMA weights per sample for the short and long latency averages
+    private static final double SHORT_ALPHA = 0.1;
+    private static final double LONG_ALPHA = 0.01;
+
+    private final AtomicInteger inFlight = new AtomicInteger(0);
+    private final Counter rejected;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile double limit;
+    // Guarded by lock
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry,
+                                      @Value("${ratelimit.concurrency-limit.initial-limit:64}") int initialLimit) {
+        this.limit = initialLimit;
+
+        Gauge.builder("ratelimit.check.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Adaptive concurrency limit of the check endpoint")
+                .register(meterRegistry);
+        Gauge.builder("ratelimit.check.concurrency.inflight", inFlight, AtomicInteger::get)
+                .description("Checks currently in flight")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("ratelimit.check.concurrency.rejected")
+                .description("Checks rejected by the adaptive concurrency limit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run a check under the limit, sampling its latency
+     * @throws ConcurrencyLimitExceededException if the limit is reached
+     */
+    public <T> T execute(Supplier<T> check) {
+        if (!tryAcquire()) {
+            throw new ConcurrencyLimitExceededException();
+        }
+
+        long startNanos = System.nanoTime();
+        try {
+            return check.get();
+        } finally {
+            release(startNanos);
+        }
+    }
+
+    /**
+     * Same as {@link #execute(Supplier)} for a check that completes later;
+     * the future fails with ConcurrencyLimitExceededException if the limit is reached
+     */
+    public <T> CompletableFuture<T> executeAsync(Supplier<CompletableFuture<T>> check) {
+        if (!tryAcquire()) {
+            return CompletableFuture.failedFuture(new ConcurrencyLimitExceededException());
+        }
+
+        long startNanos = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = check.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((result, error) -> release(startNanos));
+    }
+
+    /**
+     * @return true if the check may run; the caller must then call {@link #release(long)}
+     */
+    public boolean tryAcquire() {
+        if (!enabled) {
+            return true;
+        }
+
+        if (inFlight.incrementAndGet() > (int) limit) {
+            inFlight.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param startNanos System.nanoTime() taken when the check started
+     */
+    public void release(long startNanos) {
+        if (!enabled) {
+            return;
+        }
+
+        int current = inFlight.getAndDecrement();
+        onSample(System.nanoTime() - startNanos, current);
+    }
+
+    private void onSample(long rttNanos, int inFlightAtCompletion) {
+        // Skip rather than wait: a missed sample costs nothing
+        if (!lock.tryLock()) {
+            return;
+        }
+
+        try {
+            if (longRttNanos == 0) {
+                shortRttNanos = rttNanos;
+                longRttNanos = rttNanos;
+                return;
+            }
+
+            shortRttNanos += (rttNanos - shortRttNanos) * SHORT_ALPHA;
+            longRttNanos += (rttNanos - longRttNanos) * LONG_ALPHA;
+
+            // Let the baseline recover quickly after a sustained latency drop
+            if (longRttNanos / shortRttNanos > 2) {
+                longRttNanos *= 0.95;
+            }
+
+            // Do not grow while the limit is not actually being used
+            if (inFlightAtCompletion < limit / 2) {
+                return;
+            }
+
+            double gradient = Math.max(0.5, Math.min(1.0, longRttNanos / shortRttNanos));
+            double newLimit = limit * gradient + Math.sqrt(limit);
+            newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+            newLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+
+            if ((int) newLimit != (int) limit) {
+                log.debug("Check concurrency limit {} -> {} (short rtt {}ms, long rtt {}ms)",
+                        (int) limit, (int) newLimit, shortRttNanos / 1_000_000, longRttNanos / 1_000_000);
+            }
+            limit = newLimit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
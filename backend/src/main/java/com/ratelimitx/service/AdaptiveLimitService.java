@@ -0,0 +1,244 @@
+package com.ratelimitx.service;
+
+import com.ratelimitx.common.entity.RateLimitRule;
+import com.ratelimitx.infrastructure.redis.UpstashRedisClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * AIMD (additive increase, multiplicative decrease) limits for adaptive rules.
+ * Clients report latency and errors of the protected backend; the effective
+ * maxRequests grows by a fixed step while the backend is healthy and is cut by a
+ * factor when it is not. The limit lives in Redis (adaptive:{ruleId}) and is adjusted
+ * by one atomic script per feedback sample, so every node moves the same value however
+ * the feedback is spread across them. Checks read a local copy, refreshed from Redis
+ * every refresh interval; data-plane snapshots carry it as the rule's maxRequests.
+ * The rule's maxRequests stays the ceiling.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AdaptiveLimitService {
+
+    private static final String KEY_PREFIX = "adaptive:";
+
+    private final UpstashRedisClient redis;
+
+    @Value("${ratelimit.adaptive.increase-step:1}")
+    private int increaseStep;
+
+    @Value("${ratelimit.adaptive.decrease-factor:0.7}")
+    private double decreaseFactor;
+
+    @Value("${ratelimit.adaptive.adjust-interval-ms:1000}")
+    private long adjustIntervalMs;
+
+    @Value("${ratelimit.adaptive.idle-evict-ms:300000}")
+    private long idleEvictMs;
+
+    @Value("${ratelimit.adaptive.state-ttl-seconds:86400}")
+    private int stateTtlSeconds;
+
+    // Local copies of the shared limits, keyed by rule id
+    private final ConcurrentHashMap<UUID, CachedLimit> limits = new ConcurrentHashMap<>();
+
+    /**
+     * Effective maxRequests for a rule (the configured value for non-adaptive rules)
+     */
+    public int effectiveMaxRequests(RateLimitRule rule) {
+        if (!Boolean.TRUE.equals(rule.getAdaptive())) {
+            return rule.getMaxRequests();
+        }
+
+        // Tracked from now on; the shared value arrives with the next refresh
+        CachedLimit cached = limits.computeIfAbsent(rule.getId(), id -> new CachedLimit());
+        cached.usedAt = System.currentTimeMillis();
+        return clamp(rule, cached.limit);
+    }
+
+    /**
+     * Effective maxRequests of the adaptive rules among the given ones, read from Redis
+     * (for snapshots, which may include rules this node never checked)
+     */
+    public Map<UUID, Integer> effectiveMaxRequests(List<RateLimitRule> rules) {
+        List<RateLimitRule> adaptive = rules.stream()
+                .filter(rule -> Boolean.TRUE.equals(rule.getAdaptive()))
+                .toList();
+        Map<UUID, Integer> result = new HashMap<>();
+        if (adaptive.isEmpty()) {
+            return result;
+        }
+
+        List<String> stored;
+        try {
+            stored = redis.pipeline(adaptive.stream()
+                    .map(rule -> new String[]{"HGET", key(rule.getId()), "limit"})
+                    .toList());
+        } catch (RuntimeException e) {
+            // Local copies, or the ceiling, until Redis is back
+            log.warn("Could not read adaptive limits: {}", e.getMessage());
+            stored = null;
+        }
+
+        for (int i = 0; i < adaptive.size(); i++) {
+            RateLimitRule rule = adaptive.get(i);
+            CachedLimit cached = limits.get(rule.getId());
+            int limit = stored != null ? parse(stored.get(i)) : cached != null ? cached.limit : 0;
+            result.put(rule.getId(), clamp(rule, limit));
+        }
+        return result;
+    }
+
+    /**
+     * Apply one feedback sample to an adaptive rule
+     * @param latencyMs observed backend latency (may be null)
+     * @param error whether the backend call failed
+     */
+    public void onFeedback(RateLimitRule rule, Integer latencyMs, boolean error) {
+        if (!Boolean.TRUE.equals(rule.getAdaptive())) {
+            return;
+        }
+
+        boolean overloaded = error || (rule.getTargetLatencyMs() != null && latencyMs != null
+                && latencyMs > rule.getTargetLatencyMs());
+
+        // Adjusts at most once per interval in each direction, so one incident is not counted per sample
+        String luaScript = """
+            local key = KEYS[1]
+            local overloaded = ARGV[1] == '1'
+            local ceiling = tonumber(ARGV[2])
+            local floor = tonumber(ARGV[3])
+            local step = tonumber(ARGV[4])
+            local factor = tonumber(ARGV[5])
+            local interval = tonumber(ARGV[6])
+            local now = tonumber(ARGV[7])
+
+            local state = redis.call('HMGET', key, 'limit', 'increased', 'decreased')
+            local limit = math.max(floor, math.min(ceiling, tonumber(state[1]) or ceiling))
+            local decreased = 0
+
+            if overloaded then
+                if now - (tonumber(state[3]) or 0) >= interval then
+                    limit = math.max(floor, math.floor(limit * factor))
+                    redis.call('HSET', key, 'limit', limit, 'decreased', now)
+                    decreased = 1
+                end
+            elseif now - (tonumber(state[2]) or 0) >= interval then
+                limit = math.min(ceiling, limit + step)
+                redis.call('HSET', key, 'limit', limit, 'increased', now)
+            end
+            redis.call('EXPIRE', key, ARGV[8])
+
+            return {limit, decreased}
+            """;
+
+        try {
+            String result = redis.eval(
+                    luaScript,
+                    new String[]{key(rule.getId())},
+                    overloaded ? "1" : "0",
+                    String.valueOf(rule.getMaxRequests()),
+                    String.valueOf(minRequests(rule)),
+                    String.valueOf(increaseStep),
+                    String.valueOf(decreaseFactor),
+                    String.valueOf(adjustIntervalMs),
+                    String.valueOf(System.currentTimeMillis()),
+                    String.valueOf(stateTtlSeconds)
+            );
+
+            // Parse result: [limit, decreased]
+            String[] parts = result.replaceAll("[\\[\\]]", "").split(",");
+            int limit = Integer.parseInt(parts[0].trim());
+
+            CachedLimit cached = limits.computeIfAbsent(rule.getId(), id -> new CachedLimit());
+            cached.limit = limit;
+            cached.usedAt = System.currentTimeMillis();
+
+            if (Integer.parseInt(parts[1].trim()) == 1) {
+                log.info("Adaptive rule {} decreased to {} (error={}, latency={}ms)",
+                        rule.getId(), limit, error, latencyMs);
+            }
+        } catch (RuntimeException e) {
+            // A lost sample only delays the adjustment
+            log.warn("Adaptive feedback for rule {} failed: {}", rule.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Drop a rule's adaptive state, e.g. when it is deleted, deactivated or no longer adaptive
+     */
+    public void forget(UUID ruleId) {
+        limits.remove(ruleId);
+        try {
+            redis.del(key(ruleId));
+        } catch (RuntimeException e) {
+            // Expires after state-ttl-seconds anyway
+            log.warn("Could not delete adaptive state of rule {}: {}", ruleId, e.getMessage());
+        }
+    }
+
+    /**
+     * Pull the shared limits of the rules this node checked recently; forget the others
+     */
+    @Scheduled(fixedDelayString = "${ratelimit.adaptive.refresh-interval-ms:1000}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        limits.entrySet().removeIf(entry -> now - entry.getValue().usedAt > idleEvictMs);
+
+        List<Map.Entry<UUID, CachedLimit>> entries = new ArrayList<>(limits.entrySet());
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<String> stored = redis.pipeline(entries.stream()
+                    .map(entry -> new String[]{"HGET", key(entry.getKey()), "limit"})
+                    .toList());
+            for (int i = 0; i < entries.size(); i++) {
+                entries.get(i).getValue().limit = parse(stored.get(i));
+            }
+        } catch (Exception e) {
+            // Keep the last known limits until the next refresh
+            log.warn("Adaptive limit refresh failed: {}", e.getMessage());
+        }
+    }
+
+    private int clamp(RateLimitRule rule, int limit) {
+        // No shared state yet: start at the ceiling
+        if (limit <= 0) {
+            return rule.getMaxRequests();
+        }
+        // Clamp in case the rule was edited since the last adjustment
+        return Math.max(minRequests(rule), Math.min(rule.getMaxRequests(), limit));
+    }
+
+    private int minRequests(RateLimitRule rule) {
+        if (rule.getMinRequests() != null) {
+            return Math.max(1, Math.min(rule.getMinRequests(), rule.getMaxRequests()));
+        }
+        return Math.max(1, rule.getMaxRequests() / 10);
+    }
+
+    private static int parse(String stored) {
+        return stored != null ? Integer.parseInt(stored) : 0;
+    }
+
+    private static String key(UUID ruleId) {
+        return KEY_PREFIX + ruleId;
+    }
+
+    private static class CachedLimit {
+        volatile int limit;   // 0 until known
+        volatile long usedAt = System.currentTimeMillis();
+    }
+}
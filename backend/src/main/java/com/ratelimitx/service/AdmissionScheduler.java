@@ -0,0 +1,276 @@
+package com.ratelimitx.service;
+
+import com.ratelimitx.exception.ServiceOverloadedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Admission control in front of the check path, with weighted fair queueing across tenants.
+ * At most max-concurrent checks run at once. When all slots are busy, requests wait in
+ * a bounded per-tenant queue; a freed slot goes to the queued request with the smallest
+ * virtual finish time, where each request advances its tenant's finish time by 1/weight
+ * and weights come from the tenant's tier. A flooding tenant therefore only grows its own
+ * queue: when that queue is full its oldest request is shed, and other tenants keep
+ * getting slots in proportion to their weight.
+ */
+@Service
+@Slf4j
+public class AdmissionScheduler {
+
+    private final TierService tierService;
+
+    @Value("${ratelimit.admission.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ratelimit.admission.max-concurrent:64}")
+    private int maxConcurrent;
+
+    @Value("${ratelimit.admission.queue-depth:100}")
+    private int queueDepth;
+
+    @Value("${ratelimit.admission.queue-timeout-ms:1000}")
+    private long queueTimeoutMs;
+
+    @Value("${ratelimit.admission.weights.free:1}")
+    private int freeWeight;
+
+    @Value("${ratelimit.admission.weights.pro:4}")
+    private int proWeight;
+
+    @Value("${ratelimit.admission.weights.enterprise:16}")
+    private int enterpriseWeight;
+
+    // Tiers rarely change; weights are looked up only when a request has to queue
+    private static final long WEIGHT_CACHE_MS = 60000;
+    private final ConcurrentHashMap<UUID, CachedWeight> weights = new ConcurrentHashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Guarded by lock
+    private final Map<UUID, TenantQueue> queues = new HashMap<>();
+    private int inFlight;
+    private int queued;
+    private double virtualTime;
+
+    public AdmissionScheduler(TierService tierService) {
+        this.tierService = tierService;
+    }
+
+    /**
+     * Run a task once the tenant is admitted
+     * @throws ServiceOverloadedException if the request was shed or waited longer than queue-timeout-ms
+     */
+    public <T> T execute(UUID tenantId, Supplier<T> task) {
+        if (!enabled) {
+            return task.get();
+        }
+
+        acquire(tenantId);
+        try {
+            return task.get();
+        } finally {
+            release();
+        }
+    }
+
+    private void acquire(UUID tenantId) {
+        Ticket ticket;
+
+        lock.lock();
+        try {
+            // Fast path: a free slot and nobody waiting for it
+            if (inFlight < maxConcurrent && queued == 0) {
+                inFlight++;
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // Resolved outside the lock, it may need the database
+        int weight = weight(tenantId);
+
+        lock.lock();
+        try {
+            if (inFlight < maxConcurrent && queued == 0) {
+                inFlight++;
+                return;
+            }
+
+            TenantQueue queue = queues.computeIfAbsent(tenantId, id -> new TenantQueue(weight));
+
+            if (queue.tickets.size() >= queueDepth) {
+                // Shed-oldest: the request that waited longest is the least likely to still be useful
+                Ticket oldest = queue.tickets.pollFirst();
+                queued--;
+                oldest.admitted.completeExceptionally(
+                        new ServiceOverloadedException("Request shed: too many queued checks for this tenant"));
+            }
+
+            double start = Math.max(virtualTime, queue.lastFinish);
+            ticket = new Ticket(start + 1.0 / queue.weight);
+            queue.lastFinish = ticket.finish;
+            queue.tickets.addLast(ticket);
+            queued++;
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            ticket.admitted.get(queueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (abandon(tenantId, ticket)) {
+                throw new ServiceOverloadedException("Request shed: timed out waiting for admission");
+            }
+            // Admitted just as we gave up - the slot is ours
+        } catch (ExecutionException e) {
+            throw (RuntimeException) e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (abandon(tenantId, ticket)) {
+                throw new ServiceOverloadedException("Interrupted while waiting for admission");
+            }
+        }
+    }
+
+    /**
+     * Remove a ticket that gave up waiting
+     * @return false if the ticket was admitted (or shed) in the meantime
+     */
+    private boolean abandon(UUID tenantId, Ticket ticket) {
+        lock.lock();
+        try {
+            TenantQueue queue = queues.get(tenantId);
+            if (queue != null && queue.tickets.remove(ticket)) {
+                queued--;
+                return true;
+            }
+            // Shed tickets were already removed; only an admitted ticket holds a slot
+            return ticket.admitted.isCompletedExceptionally();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            Ticket next = pollNext();
+            if (next != null) {
+                // Hand the slot straight to the next ticket; inFlight stays the same
+                next.admitted.complete(null);
+            } else {
+                inFlight--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Smallest virtual finish time across the heads of all tenant queues
+     */
+    private Ticket pollNext() {
+        TenantQueue best = null;
+
+        Iterator<TenantQueue> it = queues.values().iterator();
+        while (it.hasNext()) {
+            TenantQueue queue = it.next();
+            Ticket head = queue.tickets.peekFirst();
+            if (head == null) {
+                // Idle tenants keep no credit once virtual time has passed them
+                if (queue.lastFinish <= virtualTime) {
+                    it.remove();
+                }
+                continue;
+            }
+            if (best == null || head.finish < best.tickets.peekFirst().finish) {
+                best = queue;
+            }
+        }
+
+        if (best == null) {
+            return null;
+        }
+
+        Ticket ticket = best.tickets.pollFirst();
+        queued--;
+        virtualTime = Math.max(virtualTime, ticket.finish);
+        return ticket;
+    }
+
+    private int weight(UUID tenantId) {
+        long now = System.currentTimeMillis();
+        CachedWeight cached = weights.get(tenantId);
+        if (cached != null && cached.expiresAt > now) {
+            return cached.weight;
+        }
+
+        int weight;
+        try {
+            weight = switch (tierService.getTier(tenantId)) {
+                case FREE -> freeWeight;
+                case PRO -> proWeight;
+                case ENTERPRISE -> enterpriseWeight;
+            };
+        } catch (Exception e) {
+            log.warn("Could not resolve tier for tenant: {}, using FREE weight", tenantId);
+            weight = freeWeight;
+        }
+
+        weights.put(tenantId, new CachedWeight(weight, now + WEIGHT_CACHE_MS));
+        return weight;
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record CachedWeight(int weight, long expiresAt) {}
+
+    private static class TenantQueue {
+        final int weight;
+        final ArrayDeque<Ticket> tickets = new ArrayDeque<>();
+        double lastFinish;
+
+        TenantQueue(int weight) {
+            this.weight = Math.max(1, weight);
+        }
+    }
+
+    private static class Ticket {
+        final double finish;
+        final CompletableFuture<Void> admitted = new CompletableFuture<>();
+
+        Ticket(double finish) {
+            this.finish = finish;
+        }
+    }
+}
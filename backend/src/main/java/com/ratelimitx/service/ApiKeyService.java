@@ -6,6 +6,7 @@ import com.ratelimitx.exception.ResourceNotFoundException;
 import com.ratelimitx.repository.ApiKeyRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,6 +16,7 @@ import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @RequiredArgsConstructor
@@ -23,8 +25,19 @@ public class ApiKeyService {
 
     private final ApiKeyRepository apiKeyRepository;
 
+    @Value("${ratelimit.api-key-cache.ttl-ms:60000}")
+    private long cacheTtlMs;
+
+    @Value("${ratelimit.api-key-cache.max-entries:10000}")
+    private int cacheMaxEntries;
+
+    // Recently validated keys by hash; only valid, active keys are cached
+    private final ConcurrentHashMap<String, CachedKey> validatedKeys = new ConcurrentHashMap<>();
+
     /**
      * Validate API key and return the associated tenant ID
+     * Keys validated within the last ttl-ms are answered from memory; a key deactivated
+     * on another node stays usable there until its cache entry expires.
      * @param apiKey The API key to validate
      * @return UUID of the tenant
      * @throws InvalidApiKeyException if the API key is invalid or inactive
@@ -35,6 +48,11 @@ public class ApiKeyService {
         }
 
         String keyHash = hashApiKey(apiKey);
+        UUID cached = cachedTenant(keyHash, System.currentTimeMillis());
+        if (cached != null) {
+            return cached;
+        }
+
         ApiKey key = apiKeyRepository.findByKeyHash(keyHash)
                 .orElseThrow(() -> {
                     log.warn("Invalid API key attempted: {}", maskApiKey(apiKey));
@@ -53,11 +71,29 @@ public class ApiKeyService {
 //        }
 
         // Update last used timestamp asynchronously to avoid blocking
+        // (once per cache period, not on every request)
         updateLastUsedAsync(key);
 
+        cacheKey(keyHash, key.getTenantId());
         return key.getTenantId();
     }
 
+    private UUID cachedTenant(String keyHash, long now) {
+        CachedKey cached = validatedKeys.get(keyHash);
+        return cached != null && cached.expiresAt > now ? cached.tenantId : null;
+    }
+
+    private void cacheKey(String keyHash, UUID tenantId) {
+        long now = System.currentTimeMillis();
+        if (validatedKeys.size() >= cacheMaxEntries) {
+            validatedKeys.entrySet().removeIf(entry -> entry.getValue().expiresAt <= now);
+            if (validatedKeys.size() >= cacheMaxEntries) {
+                validatedKeys.clear();
+            }
+        }
+        validatedKeys.put(keyHash, new CachedKey(tenantId, now + cacheTtlMs));
+    }
+
     /**
      * Update last used timestamp asynchronously
      */
@@ -169,6 +205,7 @@ public class ApiKeyService {
         }
 
         apiKeyRepository.delete(key);
+        validatedKeys.remove(key.getKeyHash());
         log.info("Deleted API key: {} for tenant: {}", keyId, tenantId);
     }
 
@@ -191,6 +228,7 @@ public class ApiKeyService {
         // Deactivate old key
         oldKey.setActive(false);
         apiKeyRepository.save(oldKey);
+        validatedKeys.remove(oldKey.getKeyHash());
 
         // Create new key
         String newApiKey = generateApiKey();
@@ -227,6 +265,7 @@ public class ApiKeyService {
 
         key.setActive(active);
         apiKeyRepository.save(key);
+        validatedKeys.remove(key.getKeyHash());
 
         log.info("API key {} status changed to: {} for tenant: {}", keyId, active ? "active" : "inactive", tenantId);
     }
@@ -258,4 +297,6 @@ public class ApiKeyService {
 
         return key;
     }
-}
\ No newline at end of file
+
+    private record CachedKey(UUID tenantId, long expiresAt) {}
+}
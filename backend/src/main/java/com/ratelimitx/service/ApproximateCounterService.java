@@ -0,0 +1,197 @@
+package com.ratelimitx.service;
+
+import com.ratelimitx.common.dto.RateLimitCheckResponse;
+import com.ratelimitx.infrastructure.redis.UpstashRedisClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Approximate mode: local counting with periodic delta synchronization.
+ * Checks are decided from the last known global count plus this node's unsynced
+ * delta, counted in striped LongAdders. Every sync interval all deltas are pushed
+ * to Redis in pipelined calls of up to max-batch-size windows, which also pull back the
+ * global totals. Uses the same window keys as FixedWindowAlgorithm/SlidingWindowAlgorithm.
+ * Over-admission is bounded by the unsynced delta of each node; a node flushes early
+ * when its delta for a key reaches max-unsynced-fraction of the limit. The flush runs
+ * on the scheduler thread, so the check that triggers it neither waits for it nor
+ * spends its tenant's Redis bulkhead on every key.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ApproximateCounterService {
+
+    private final UpstashRedisClient redis;
+    private final TaskScheduler taskScheduler;
+
+    @Value("${ratelimit.approximate.max-unsynced-fraction:0.05}")
+    private double maxUnsyncedFraction;
+
+    @Value("${ratelimit.approximate.max-batch-size:500}")
+    private int maxBatchSize;
+
+    private final ConcurrentHashMap<String, WindowCounter> counters = new ConcurrentHashMap<>();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+
+    public RateLimitCheckResponse check(String key, int maxRequests, int windowSeconds, boolean sliding) {
+        return evaluate(key, maxRequests, windowSeconds, sliding, true);
+    }
+
+    /**
+     * Evaluate a check from local state without counting it
+     */
+    public RateLimitCheckResponse peek(String key, int maxRequests, int windowSeconds, boolean sliding) {
+        return evaluate(key, maxRequests, windowSeconds, sliding, false);
+    }
+
+    private RateLimitCheckResponse evaluate(String key, int maxRequests, int windowSeconds, boolean sliding,
+                                            boolean consume) {
+        long now = System.currentTimeMillis();
+        long windowSizeMs = windowSeconds * 1000L;
+        long windowStart = (now / windowSizeMs) * windowSizeMs;
+        long resetAt = windowStart + windowSizeMs;
+
+        WindowCounter current = counter(key + ":" + windowStart, windowSeconds, resetAt);
+        double estimate = current.estimate();
+
+        if (sliding) {
+            // Weighted previous window, as in SlidingWindowAlgorithm
+            WindowCounter previous = counter(key + ":" + (windowStart - windowSizeMs), windowSeconds, windowStart);
+            double progress = (double) (now - windowStart) / windowSizeMs;
+            estimate += previous.estimate() * (1.0 - progress);
+        }
+
+        boolean allowed = estimate < maxRequests;
+
+        if (allowed && consume) {
+            current.pending.increment();
+            estimate += 1;
+
+            // Bound the error: do not let this node run too far ahead of Redis
+            if (current.unsynced() >= Math.max(1, maxRequests * maxUnsyncedFraction)) {
+                requestFlush();
+            }
+        }
+
+        int remaining = Math.max(0, (int) Math.floor(maxRequests - estimate));
+        int retryAfter = allowed ? 0 : (int) Math.ceil((resetAt - now) / 1000.0);
+
+        return RateLimitCheckResponse.builder()
+                .allowed(allowed)
+                .remaining(remaining)
+                .resetAt(resetAt)
+                .retryAfter(retryAfter)
+                .build();
+    }
+
+    private WindowCounter counter(String windowKey, int windowSeconds, long resetAt) {
+        return counters.computeIfAbsent(windowKey, k -> new WindowCounter(windowSeconds, resetAt));
+    }
+
+    /**
+     * Run a sync on the scheduler thread soon; requests made while one is pending coalesce
+     */
+    private void requestFlush() {
+        if (flushRequested.compareAndSet(false, true)) {
+            taskScheduler.schedule(() -> {
+                flushRequested.set(false);
+                sync();
+            }, Instant.now());
+        }
+    }
+
+    /**
+     * Push local deltas and pull global totals, max-batch-size windows per pipelined call
+     */
+    @Scheduled(fixedDelayString = "${ratelimit.approximate.sync-interval-ms:100}")
+    public void sync() {
+        // Skip if a sync is already running (scheduled and early flushes can overlap)
+        if (!syncLock.tryLock()) {
+            return;
+        }
+
+        try {
+            long now = System.currentTimeMillis();
+
+            // Windows are kept one extra window for sliding estimates
+            counters.entrySet().removeIf(entry ->
+                    entry.getValue().resetAt + entry.getValue().windowSeconds * 1000L < now);
+
+            List<Map.Entry<String, WindowCounter>> entries = new ArrayList<>(counters.entrySet());
+            for (int from = 0; from < entries.size(); from += maxBatchSize) {
+                syncBatch(entries.subList(from, Math.min(entries.size(), from + maxBatchSize)));
+            }
+
+        } catch (Exception e) {
+            // Deltas of this and later batches stay unflushed and are retried on the next sync
+            log.error("Approximate counter sync failed", e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void syncBatch(List<Map.Entry<String, WindowCounter>> entries) {
+        List<String[]> commands = new ArrayList<>(entries.size() * 2);
+        long[] totals = new long[entries.size()];
+        int[] resultIndex = new int[entries.size()];
+
+        for (int i = 0; i < entries.size(); i++) {
+            String windowKey = entries.get(i).getKey();
+            WindowCounter counter = entries.get(i).getValue();
+            totals[i] = counter.pending.sum();
+            long delta = totals[i] - counter.flushed;
+
+            resultIndex[i] = commands.size();
+            if (delta > 0) {
+                commands.add(new String[]{"INCRBY", windowKey, String.valueOf(delta)});
+                commands.add(new String[]{"EXPIRE", windowKey, String.valueOf(counter.windowSeconds * 2)});
+            } else {
+                commands.add(new String[]{"GET", windowKey});
+            }
+        }
+
+        List<String> results = redis.pipeline(commands);
+
+        for (int i = 0; i < entries.size(); i++) {
+            WindowCounter counter = entries.get(i).getValue();
+            String result = results.get(resultIndex[i]);
+            counter.flushed = totals[i];
+            counter.globalCount = result != null ? Long.parseLong(result) : 0;
+        }
+    }
+
+    private static class WindowCounter {
+        final LongAdder pending = new LongAdder(); // All local increments for this window
+        final int windowSeconds;
+        final long resetAt;
+        volatile long flushed;      // Part of pending already pushed to Redis
+        volatile long globalCount;  // Global total as of the last sync (includes flushed)
+
+        WindowCounter(int windowSeconds, long resetAt) {
+            this.windowSeconds = windowSeconds;
+            this.resetAt = resetAt;
+        }
+
+        long unsynced() {
+            return pending.sum() - flushed;
+        }
+
+        double estimate() {
+            return globalCount + unsynced();
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.ratelimitx.service;
 import com.ratelimitx.common.entity.ApiKey;
 import com.ratelimitx.common.entity.RateLimitRule;
 import com.ratelimitx.common.entity.Tenant;
+import com.ratelimitx.core.Algorithm;
 import com.ratelimitx.repository.ApiKeyRepository;
 import com.ratelimitx.repository.RateLimitRuleRepository;
 import com.ratelimitx.repository.TenantRepository;
@@ -79,7 +80,7 @@ public class AuthService {
         RateLimitRule defaultRule = RateLimitRule.builder()
             .tenantId(tenant.getId())
             .resource("default")
-            .algorithm(RateLimitRule.Algorithm.FIXED_WINDOW)
+            .algorithm(Algorithm.FIXED_WINDOW)
             .maxRequests(100)
             .windowSeconds(60)
             .identifierType(RateLimitRule.IdentifierType.USER_ID)
@@ -0,0 +1,163 @@
+package com.ratelimitx.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ratelimitx.common.dto.DataPlaneSnapshot;
+import com.ratelimitx.common.dto.DataPlaneUsageReport;
+import com.ratelimitx.common.entity.RateLimitRule;
+import com.ratelimitx.common.entity.Tenant;
+import com.ratelimitx.common.entity.UsageMetric;
+import com.ratelimitx.core.Rule;
+import com.ratelimitx.repository.ApiKeyRepository;
+import com.ratelimitx.repository.RateLimitRuleRepository;
+import com.ratelimitx.repository.TenantRepository;
+import com.ratelimitx.repository.UsageMetricRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Control-plane side of the standalone data plane: builds the rule/key snapshot data-plane
+ * nodes poll, and stores the usage they report. A snapshot is rebuilt at most once per
+ * cache-ttl-ms however many nodes poll, so adding nodes does not add database load.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DataPlaneSyncService {
+
+    private final RateLimitRuleRepository ruleRepository;
+    private final ApiKeyRepository apiKeyRepository;
+    private final TenantRepository tenantRepository;
+    private final UsageMetricRepository usageMetricRepository;
+    private final TierService tierService;
+    private final AdaptiveLimitService adaptiveLimitService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${ratelimit.internal.snapshot-cache-ttl-ms:2000}")
+    private long cacheTtlMs;
+
+    private volatile DataPlaneSnapshot cached;
+
+    public DataPlaneSnapshot snapshot() {
+        DataPlaneSnapshot current = cached;
+        if (current != null && current.getGeneratedAt() + cacheTtlMs > System.currentTimeMillis()) {
+            return current;
+        }
+
+        synchronized (this) {
+            current = cached;
+            if (current == null || current.getGeneratedAt() + cacheTtlMs <= System.currentTimeMillis()) {
+                current = build();
+                cached = current;
+            }
+            return current;
+        }
+    }
+
+    private DataPlaneSnapshot build() {
+        List<Rule> rules = toRules(ruleRepository.findByActive(true));
+
+        List<DataPlaneSnapshot.Key> apiKeys = apiKeyRepository.findByActive(true).stream()
+                .map(key -> new DataPlaneSnapshot.Key(key.getKeyHash(), key.getTenantId()))
+                .sorted(Comparator.comparing(DataPlaneSnapshot.Key::getKeyHash))
+                .toList();
+
+        List<UUID> blockedTenants = tenantRepository.findAll().stream()
+                .filter(tierService::isCheckLimitExceeded)
+                .map(Tenant::getId)
+                .sorted()
+                .toList();
+
+        DataPlaneSnapshot snapshot = DataPlaneSnapshot.builder()
+                .rules(rules)
+                .apiKeys(apiKeys)
+                .blockedTenants(blockedTenants)
+                .build();
+        snapshot.setVersion(version(snapshot));
+        snapshot.setGeneratedAt(System.currentTimeMillis());
+
+        log.debug("Built data-plane snapshot {}: {} rules, {} API keys, {} blocked tenants",
+                snapshot.getVersion(), rules.size(), apiKeys.size(), blockedTenants.size());
+        return snapshot;
+    }
+
+    /**
+     * One tenant's active rules, for embedded limiters (RuleSync in ratelimitx-core).
+     * Not cached: each embedding process polls only its own tenant.
+     */
+    public DataPlaneSnapshot tenantRules(UUID tenantId) {
+        DataPlaneSnapshot snapshot = DataPlaneSnapshot.builder()
+                .rules(toRules(ruleRepository.findByTenantIdAndActive(tenantId, true)))
+                .build();
+        snapshot.setVersion(version(snapshot));
+        snapshot.setGeneratedAt(System.currentTimeMillis());
+        return snapshot;
+    }
+
+    private List<Rule> toRules(List<RateLimitRule> activeRules) {
+        // Adaptive rules are synced with their current effective limit
+        Map<UUID, Integer> adaptiveLimits = adaptiveLimitService.effectiveMaxRequests(activeRules);
+
+        // Sorted so that unchanged content always hashes to the same version
+        return activeRules.stream()
+                .sorted(Comparator.comparing(RateLimitRule::getId))
+                .filter(rule -> {
+                    if (rule.getMaxRequests() > 0 && rule.getWindowSeconds() > 0) {
+                        return true;
+                    }
+                    log.warn("Not syncing rule {} with non-positive limit or window", rule.getId());
+                    return false;
+                })
+                .map(rule -> new Rule(rule.getId(), rule.getTenantId(), rule.getResource(), rule.getAlgorithm(),
+                        adaptiveLimits.getOrDefault(rule.getId(), rule.getMaxRequests()), rule.getWindowSeconds(),
+                        rule.getLimitScope(), rule.getPriority() != null ? rule.getPriority() : 0))
+                .toList();
+    }
+
+    private String version(DataPlaneSnapshot content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(objectMapper.writeValueAsString(content).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Could not version data-plane snapshot", e);
+        }
+    }
+
+    /**
+     * Store the checks a data-plane node answered, one usage metric per check as for local checks
+     */
+    public int recordUsage(DataPlaneUsageReport report) {
+        List<UsageMetric> metrics = report.getChecks().stream()
+                .filter(check -> check.getTenantId() != null)
+                .map(check -> UsageMetric.builder()
+                        .tenantId(check.getTenantId())
+                        .resource(check.getResource())
+                        .identifier(check.getIdentifier())
+                        .checksPerformed(1)
+                        .checksDenied(Boolean.TRUE.equals(check.getAllowed()) ? 0 : 1)
+                        .latencyMs(check.getLatencyMs() != null ? check.getLatencyMs().intValue() : null)
+                        .timestamp(check.getTimestamp() != null
+                                ? LocalDateTime.ofInstant(Instant.ofEpochMilli(check.getTimestamp()), ZoneId.systemDefault())
+                                : LocalDateTime.now())
+                        .build())
+                .toList();
+
+        usageMetricRepository.saveAll(metrics);
+        return metrics.size();
+    }
+}
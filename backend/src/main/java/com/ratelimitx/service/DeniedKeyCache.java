@@ -0,0 +1,80 @@
+package com.ratelimitx.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Local cache of denied keys, so repeated denials skip Redis until the key resets.
+ * Direct-mapped and fixed-size: keys are reduced to a 64-bit hash and each hash owns
+ * one slot, so the cache never grows and needs no cleanup. A slot collision only
+ * evicts the older entry, which costs a Redis call but never a wrong answer.
+ */
+@Component
+public class DeniedKeyCache {
+
+    private final AtomicReferenceArray<Entry> slots;
+    private final int mask;
+
+    public DeniedKeyCache(@Value("${ratelimit.denied-cache.size:65536}") int size) {
+        // Round up to a power of two so the slot index is a mask
+        int capacity = Integer.highestOneBit(Math.max(16, size - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Remember that a key is denied until the given time (epoch millis)
+     */
+    public void deny(String key, long deniedUntil) {
+        long hash = hash(key);
+        slots.set(index(hash), new Entry(hash, deniedUntil));
+    }
+
+    /**
+     * @return epoch millis until which the key is known to be denied, or 0 if unknown
+     */
+    public long deniedUntil(String key, long now) {
+        long hash = hash(key);
+        Entry entry = slots.get(index(hash));
+        if (entry == null || entry.hash != hash || entry.deniedUntil <= now) {
+            return 0;
+        }
+        return entry.deniedUntil;
+    }
+
+    /**
+     * Drop a cached denial, e.g. after tokens were given back to the key
+     */
+    public void forget(String key) {
+        long hash = hash(key);
+        int index = index(hash);
+        Entry entry = slots.get(index);
+        if (entry != null && entry.hash == hash) {
+            slots.compareAndSet(index, entry, null);
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+
+    private int index(long hash) {
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    // FNV-1a, 64-bit
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private record Entry(long hash, long deniedUntil) {}
+}
@@ -0,0 +1,71 @@
+package com.ratelimitx.service;
+
+import com.ratelimitx.common.dto.RateLimitCheckResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Degraded-mode limiter used while Redis is unreachable.
+ * Each node enforces a fixed window in memory with the rule's limit divided by the
+ * expected node count, so the cluster as a whole stays close to the configured limit
+ * without any shared state. CONCURRENCY rules are treated as a rate here (maxRequests
+ * per windowSeconds), since leases cannot be tracked without Redis.
+ */
+@Service
+@Slf4j
+public class LocalFallbackLimiter {
+
+    @Value("${ratelimit.fallback.expected-nodes:1}")
+    private int expectedNodes;
+
+    private final ConcurrentHashMap<String, LocalWindow> windows = new ConcurrentHashMap<>();
+
+    public RateLimitCheckResponse check(String key, int maxRequests, int windowSeconds) {
+        long now = System.currentTimeMillis();
+        long windowSizeMs = windowSeconds * 1000L;
+        long windowStart = (now / windowSizeMs) * windowSizeMs;
+        long resetAt = windowStart + windowSizeMs;
+
+        int localLimit = Math.max(1, (int) Math.ceil((double) maxRequests / Math.max(1, expectedNodes)));
+
+        LocalWindow window = windows.compute(key, (k, existing) ->
+                existing == null || existing.windowStart != windowStart
+                        ? new LocalWindow(windowStart, resetAt)
+                        : existing);
+
+        int count = window.count.incrementAndGet();
+        boolean allowed = count <= localLimit;
+
+        return RateLimitCheckResponse.builder()
+                .allowed(allowed)
+                .remaining(Math.max(0, localLimit - count))
+                .resetAt(resetAt)
+                .retryAfter(allowed ? 0 : (int) Math.ceil((resetAt - now) / 1000.0))
+                .build();
+    }
+
+    /**
+     * Drop windows that have ended
+     */
+    @Scheduled(fixedDelayString = "${ratelimit.fallback.cleanup-interval-ms:60000}")
+    public void cleanupExpiredWindows() {
+        long now = System.currentTimeMillis();
+        windows.entrySet().removeIf(entry -> entry.getValue().resetAt <= now);
+    }
+
+    private static class LocalWindow {
+        final long windowStart;
+        final long resetAt;
+        final AtomicInteger count = new AtomicInteger(0);
+
+        LocalWindow(long windowStart, long resetAt) {
+            this.windowStart = windowStart;
+            this.resetAt = resetAt;
+        }
+    }
+}
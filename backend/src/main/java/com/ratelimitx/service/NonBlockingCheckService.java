@@ -0,0 +1,310 @@
+package com.ratelimitx.service;
+
+import com.ratelimitx.common.dto.RateLimitCheckRequest;
+import com.ratelimitx.common.dto.RateLimitCheckResponse;
+import com.ratelimitx.common.entity.RateLimitRule;
+import com.ratelimitx.core.Algorithm;
+import com.ratelimitx.infrastructure.bulkhead.BulkheadFullException;
+import com.ratelimitx.infrastructure.bulkhead.TenantContext;
+import com.ratelimitx.infrastructure.redis.RedisUnavailableException;
+import com.ratelimitx.service.algorithm.FixedWindowAlgorithm;
+import com.ratelimitx.service.algorithm.GcraAlgorithm;
+import com.ratelimitx.service.algorithm.SlidingLogAlgorithm;
+import com.ratelimitx.service.algorithm.SlidingWindowAlgorithm;
+import com.ratelimitx.service.algorithm.TokenBucketAlgorithm;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking variant of {@link RateLimitService#check}: the request thread only
+ * composes futures and returns. Rules come from an in-memory snapshot, and
+ * rate rules in EXACT mode are evaluated with async Redis calls. Anything that
+ * still blocks (cache misses that need the database, leases, lease/approximate
+ * execution modes) runs on a small bounded offload pool, never on a request or
+ * Redis client thread.
+ * Decisions, fallbacks and metrics are the same as for the blocking check.
+ */
+@Service
+@Slf4j
+public class NonBlockingCheckService {
+
+    private final RateLimitService rateLimitService;
+    private final RuleSnapshotCache ruleSnapshotCache;
+    private final AlertService alertService;
+    private final AdaptiveLimitService adaptiveLimitService;
+    private final LocalFallbackLimiter localFallbackLimiter;
+    private final DeniedKeyCache deniedKeyCache;
+    private final TokenBucketAlgorithm tokenBucket;
+    private final SlidingWindowAlgorithm slidingWindow;
+    private final FixedWindowAlgorithm fixedWindow;
+    private final GcraAlgorithm gcra;
+    private final SlidingLogAlgorithm slidingLog;
+    private final ThreadPoolExecutor offload;
+
+    @Value("${ratelimit.fail-open:true}")
+    private boolean failOpen;
+
+    @Value("${ratelimit.fallback.enabled:true}")
+    private boolean fallbackEnabled;
+
+    public NonBlockingCheckService(RateLimitService rateLimitService, RuleSnapshotCache ruleSnapshotCache,
+                                   AlertService alertService, AdaptiveLimitService adaptiveLimitService,
+                                   LocalFallbackLimiter localFallbackLimiter, DeniedKeyCache deniedKeyCache,
+                                   TokenBucketAlgorithm tokenBucket, SlidingWindowAlgorithm slidingWindow,
+                                   FixedWindowAlgorithm fixedWindow, GcraAlgorithm gcra, SlidingLogAlgorithm slidingLog,
+                                   @Value("${ratelimit.non-blocking.offload-threads:8}") int offloadThreads,
+                                   @Value("${ratelimit.non-blocking.offload-queue:1000}") int offloadQueue) {
+        this.rateLimitService = rateLimitService;
+        this.ruleSnapshotCache = ruleSnapshotCache;
+        this.alertService = alertService;
+        this.adaptiveLimitService = adaptiveLimitService;
+        this.localFallbackLimiter = localFallbackLimiter;
+        this.deniedKeyCache = deniedKeyCache;
+        this.tokenBucket = tokenBucket;
+        this.slidingWindow = slidingWindow;
+        this.fixedWindow = fixedWindow;
+        this.gcra = gcra;
+        this.slidingLog = slidingLog;
+
+        AtomicInteger threadCount = new AtomicInteger(0);
+        this.offload = new ThreadPoolExecutor(offloadThreads, offloadThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(offloadQueue), runnable -> {
+                    Thread thread = new Thread(runnable, "ratelimit-offload-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public CompletableFuture<RateLimitCheckResponse> check(UUID tenantId, RateLimitCheckRequest request) {
+        long startTime = System.currentTimeMillis();
+
+        // Validate input to prevent Redis key injection
+        rateLimitService.validateRequest(request);
+
+        return ruleSnapshotCache.get(tenantId, offload)
+                .thenCompose(snapshot -> {
+                    if (snapshot.tierLimitExceeded()) {
+                        alertService.sendTierLimitExceededAlert(tenantId);
+                        throw new IllegalStateException("Tier limit exceeded");
+                    }
+
+                    // Check tier limit alerts (80%, 90%)
+                    alertService.checkAndSendTierLimitAlerts(tenantId);
+
+                    List<RateLimitRule> applicableRules = rateLimitService.filterApplicableRules(snapshot.rules(), request);
+                    if (applicableRules.isEmpty()) {
+                        log.warn("No active rule found for tenant: {}, resource: {}", tenantId, request.getResource());
+                        return CompletableFuture.completedFuture(rateLimitService.createDefaultAllowedResponse());
+                    }
+
+                    return evaluate(new Evaluation(tenantId, request, applicableRules, startTime), 0);
+                })
+                .exceptionally(error -> {
+                    Throwable cause = unwrap(error);
+                    if (cause instanceof BulkheadFullException) {
+                        // Same as the blocking check: a 503, never a free pass under fail-open
+                        log.debug("Rejected check for tenant: {} ({})", tenantId, cause.getMessage());
+                        throw new CompletionException(cause);
+                    }
+                    log.error("Error checking rate limit for tenant: {}", tenantId, cause);
+                    rateLimitService.recordMetrics(tenantId, request, failOpen, System.currentTimeMillis() - startTime);
+
+                    if (failOpen) {
+                        return rateLimitService.createDefaultAllowedResponse();
+                    }
+                    return failClosedResponse();
+                });
+    }
+
+    /**
+     * Evaluate rules one after another from index on; most restrictive wins, first denial stops
+     */
+    private CompletableFuture<RateLimitCheckResponse> evaluate(Evaluation eval, int index) {
+        if (index == eval.rules.size()) {
+            return CompletableFuture.completedFuture(finish(eval));
+        }
+
+        RateLimitRule rule = eval.rules.get(index);
+        String key = rateLimitService.buildRedisKey(eval.tenantId, rule, eval.request);
+
+        if (rule.getAlgorithm() == Algorithm.CONCURRENCY && eval.leaseId == null) {
+            eval.leaseId = UUID.randomUUID().toString();
+        }
+
+        boolean denialCacheable = rateLimitService.isDenialCacheable(rule, adaptiveLimitService.effectiveMaxRequests(rule));
+
+        // Known denial - answer locally until the key resets
+        long deniedUntil = denialCacheable ? deniedKeyCache.deniedUntil(key, eval.startTime) : 0;
+        if (deniedUntil > 0) {
+            return CompletableFuture.completedFuture(deny(eval, RateLimitCheckResponse.builder()
+                    .allowed(false)
+                    .remaining(0)
+                    .resetAt(deniedUntil)
+                    .retryAfter((int) Math.ceil((deniedUntil - eval.startTime) / 1000.0))
+                    .build()));
+        }
+
+        return applyAlgorithm(eval.tenantId, rule, key, eval.leaseId)
+                .handle((response, error) -> {
+                    if (error == null) {
+                        if (!response.getAllowed() && denialCacheable) {
+                            deniedKeyCache.deny(key, response.getResetAt());
+                        }
+                        return response;
+                    }
+                    return onRuleFailure(rule, key, unwrap(error));
+                })
+                .thenCompose(response -> {
+                    if (response == null) {
+                        // Failed open - continue with the next rule
+                        return evaluate(eval, index + 1);
+                    }
+
+                    if (!response.getAllowed()) {
+                        return CompletableFuture.completedFuture(deny(eval, response));
+                    }
+
+                    if (response.getLeaseId() != null) {
+                        eval.leasedKeys.add(key);
+                    }
+                    if (eval.finalResponse == null || response.getRemaining() < eval.finalResponse.getRemaining()) {
+                        eval.finalResponse = response;
+                    }
+                    return evaluate(eval, index + 1);
+                });
+    }
+
+    private CompletableFuture<RateLimitCheckResponse> applyAlgorithm(UUID tenantId, RateLimitRule rule, String key,
+                                                                     String leaseId) {
+        int maxRequests = adaptiveLimitService.effectiveMaxRequests(rule);
+        int windowSeconds = rule.getWindowSeconds();
+
+        if (rule.getExecutionMode() == RateLimitRule.ExecutionMode.EXACT) {
+            // Called as the tenant so the async Redis call counts against its bulkhead
+            switch (rule.getAlgorithm()) {
+                case TOKEN_BUCKET:
+                    return TenantContext.callAs(tenantId, () -> tokenBucket.checkAsync(key, maxRequests, windowSeconds));
+                case SLIDING_WINDOW:
+                    return TenantContext.callAs(tenantId, () -> slidingWindow.checkAsync(key, maxRequests, windowSeconds));
+                case FIXED_WINDOW:
+                    return TenantContext.callAs(tenantId, () -> fixedWindow.checkAsync(key, maxRequests, windowSeconds));
+                case GCRA:
+                    return TenantContext.callAs(tenantId, () -> gcra.checkAsync(key, maxRequests, windowSeconds));
+                case SLIDING_LOG:
+                    return TenantContext.callAs(tenantId, () -> slidingLog.checkAsync(key, maxRequests, windowSeconds));
+                default:
+                    break;
+            }
+        }
+
+        return CompletableFuture.supplyAsync(() -> TenantContext.callAs(tenantId,
+                () -> rateLimitService.applyAlgorithm(rule, key, leaseId)), offload);
+    }
+
+    /**
+     * Same degradation as the blocking check
+     * @return the fallback decision, or null to skip the rule (fail open)
+     */
+    private RateLimitCheckResponse onRuleFailure(RateLimitRule rule, String key, Throwable error) {
+        if (error instanceof RedisUnavailableException || error instanceof BulkheadFullException) {
+            log.debug("Redis unavailable for rule: {} ({})", rule.getId(), error.getMessage());
+        } else {
+            log.error("Error applying rate limit algorithm for rule: {}", rule.getId(), error);
+        }
+
+        if (fallbackEnabled) {
+            return localFallbackLimiter.check(key, adaptiveLimitService.effectiveMaxRequests(rule), rule.getWindowSeconds());
+        }
+        if (!failOpen) {
+            return failClosedResponse();
+        }
+        return null;
+    }
+
+    private RateLimitCheckResponse deny(Evaluation eval, RateLimitCheckResponse response) {
+        // Give back leases taken by earlier rules
+        releaseLeases(eval);
+        rateLimitService.recordMetrics(eval.tenantId, eval.request, false, System.currentTimeMillis() - eval.startTime);
+        return response;
+    }
+
+    private RateLimitCheckResponse finish(Evaluation eval) {
+        RateLimitCheckResponse response = eval.finalResponse != null
+                ? eval.finalResponse : rateLimitService.createDefaultAllowedResponse();
+
+        if (!eval.leasedKeys.isEmpty()) {
+            response.setLeaseId(eval.leaseId);
+        }
+
+        rateLimitService.recordMetrics(eval.tenantId, eval.request, response.getAllowed(),
+                System.currentTimeMillis() - eval.startTime);
+        return response;
+    }
+
+    private void releaseLeases(Evaluation eval) {
+        if (eval.leasedKeys.isEmpty()) {
+            return;
+        }
+
+        try {
+            offload.execute(() -> TenantContext.callAs(eval.tenantId, () -> {
+                rateLimitService.releaseLeases(eval.leasedKeys, eval.leaseId);
+                return null;
+            }));
+        } catch (RejectedExecutionException e) {
+            // Leases expire on their own
+            log.warn("Could not release leases for tenant: {}, offload pool is full", eval.tenantId);
+        }
+    }
+
+    private RateLimitCheckResponse failClosedResponse() {
+        return RateLimitCheckResponse.builder()
+                .allowed(false)
+                .remaining(0)
+                .resetAt(System.currentTimeMillis() + 60000)
+                .retryAfter(60)
+                .build();
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        offload.shutdownNow();
+    }
+
+    /**
+     * State of one check as it moves through its rules; stages run one at a time
+     */
+    private static class Evaluation {
+        final UUID tenantId;
+        final RateLimitCheckRequest request;
+        final List<RateLimitRule> rules;
+        final long startTime;
+        final List<String> leasedKeys = new ArrayList<>();
+        String leaseId;
+        RateLimitCheckResponse finalResponse;
+
+        Evaluation(UUID tenantId, RateLimitCheckRequest request, List<RateLimitRule> rules, long startTime) {
+            this.tenantId = tenantId;
+            this.request = request;
+            this.rules = rules;
+            this.startTime = startTime;
+        }
+    }
+}
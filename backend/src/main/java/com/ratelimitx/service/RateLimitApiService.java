@@ -6,7 +6,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -18,6 +18,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class RateLimitApiService {
 
     private final UpstashRedisClient redis;
+    private final DeniedKeyCache deniedKeyCache;
 
     @Value("${ratelimit.api.max-requests:1000}")
     private int apiRateLimit;
@@ -28,8 +29,39 @@ public class RateLimitApiService {
     @Value("${ratelimit.api.fail-open:true}")
     private boolean failOpen;
 
-    // Local cache to reduce Redis load for repeat offenders
-    private final ConcurrentHashMap<String, Long> deniedUntilCache = new ConcurrentHashMap<>();
+    // Lua script for atomic operation
+    private static final String API_LIMIT_SCRIPT = """
+        local key = KEYS[1]
+        local max_requests = tonumber(ARGV[1])
+        local window_seconds = tonumber(ARGV[2])
+        local now = tonumber(ARGV[3])
+        local window_start = tonumber(ARGV[4])
+        
+        -- Get current count
+        local count = redis.call('GET', key)
+        
+        if not count then
+            count = 0
+        else
+            count = tonumber(count)
+        end
+        
+        local allowed = 0
+        if count < max_requests then
+            allowed = 1
+            count = redis.call('INCR', key)
+            
+            -- Set expiration on first request
+            if count == 1 then
+                redis.call('EXPIRE', key, window_seconds)
+            end
+        end
+        
+        local remaining = math.max(0, max_requests - count)
+        local reset_at = window_start + (window_seconds * 1000)
+        
+        return {allowed, remaining, reset_at, count}
+        """;
 
     // Circuit breaker for Redis failures
     private final AtomicInteger consecutiveFailures = new AtomicInteger(0);
@@ -46,100 +78,95 @@ public class RateLimitApiService {
         String sanitizedApiKey = sanitizeApiKey(apiKey);
 
         // Check local cache first - if recently denied, skip Redis call
-        Long deniedUntil = deniedUntilCache.get(sanitizedApiKey);
-        if (deniedUntil != null && System.currentTimeMillis() < deniedUntil) {
+        String cacheKey = "api_rl:" + sanitizedApiKey;
+        if (deniedKeyCache.deniedUntil(cacheKey, System.currentTimeMillis()) > 0) {
             return false;
         }
 
         try {
-            // Use Lua script for atomic operation
-            String luaScript = """
-                local key = KEYS[1]
-                local max_requests = tonumber(ARGV[1])
-                local window_seconds = tonumber(ARGV[2])
-                local now = tonumber(ARGV[3])
-                local window_start = tonumber(ARGV[4])
-                
-                -- Get current count
-                local count = redis.call('GET', key)
-                
-                if not count then
-                    count = 0
-                else
-                    count = tonumber(count)
-                end
-                
-                local allowed = 0
-                if count < max_requests then
-                    allowed = 1
-                    count = redis.call('INCR', key)
-                    
-                    -- Set expiration on first request
-                    if count == 1 then
-                        redis.call('EXPIRE', key, window_seconds)
-                    end
-                end
-                
-                local remaining = math.max(0, max_requests - count)
-                local reset_at = window_start + (window_seconds * 1000)
-                
-                return {allowed, remaining, reset_at, count}
-                """;
-
             long now = System.currentTimeMillis();
             long windowStart = (now / (apiWindowSeconds * 1000L)) * (apiWindowSeconds * 1000L);
-            String windowKey = buildRedisKey(sanitizedApiKey, windowStart);
 
             String result = redis.eval(
-                    luaScript,
-                    new String[]{windowKey},
+                    API_LIMIT_SCRIPT,
+                    new String[]{buildRedisKey(sanitizedApiKey, windowStart)},
                     String.valueOf(apiRateLimit),
                     String.valueOf(apiWindowSeconds),
                     String.valueOf(now),
                     String.valueOf(windowStart)
             );
 
-            // Parse result: [allowed, remaining, resetAt, count]
-            String[] parts = result.replaceAll("[\\[\\]]", "").split(",");
-            boolean allowed = Integer.parseInt(parts[0].trim()) == 1;
-            int remaining = Integer.parseInt(parts[1].trim());
-            long resetAt = Long.parseLong(parts[2].trim());
-            int currentCount = Integer.parseInt(parts[3].trim());
+            return onResult(apiKey, cacheKey, result);
 
-            // Reset failure counter on success
-            consecutiveFailures.set(0);
+        } catch (Exception e) {
+            return onFailure(e);
+        }
+    }
 
-            // If denied, cache the denial locally to reduce Redis load
-            if (!allowed) {
-                deniedUntilCache.put(sanitizedApiKey, resetAt);
-                log.warn("API rate limit exceeded for key: {} (count: {}/{})",
-                        maskApiKey(apiKey), currentCount, apiRateLimit);
-            }
+    /**
+     * Non-blocking {@link #isAllowed}; completes on a Redis client thread
+     */
+    public CompletableFuture<Boolean> isAllowedAsync(String apiKey) {
+        if (apiKey == null || apiKey.trim().isEmpty()) {
+            log.warn("Empty API key provided to rate limiter");
+            return CompletableFuture.completedFuture(false);
+        }
 
-            // Clean up cache periodically (only on allowed requests to avoid overhead)
-            if (allowed && deniedUntilCache.size() > 1000) {
-                cleanupDeniedCache();
-            }
+        String sanitizedApiKey = sanitizeApiKey(apiKey);
+        String cacheKey = "api_rl:" + sanitizedApiKey;
+        if (deniedKeyCache.deniedUntil(cacheKey, System.currentTimeMillis()) > 0) {
+            return CompletableFuture.completedFuture(false);
+        }
 
-            return allowed;
+        long now = System.currentTimeMillis();
+        long windowStart = (now / (apiWindowSeconds * 1000L)) * (apiWindowSeconds * 1000L);
+
+        return redis.evalAsync(
+                API_LIMIT_SCRIPT,
+                new String[]{buildRedisKey(sanitizedApiKey, windowStart)},
+                String.valueOf(apiRateLimit),
+                String.valueOf(apiWindowSeconds),
+                String.valueOf(now),
+                String.valueOf(windowStart)
+        ).handle((result, error) -> error == null ? onResult(apiKey, cacheKey, result) : onFailure(error));
+    }
 
-        } catch (Exception e) {
-            int failures = consecutiveFailures.incrementAndGet();
-
-            if (failures >= FAILURE_THRESHOLD) {
-                log.error("API rate limiter Redis failure threshold reached ({})", failures, e);
-            } else {
-                log.error("Error checking API rate limit (failure {}/{})", failures, FAILURE_THRESHOLD, e);
-            }
-
-            // Fail based on configured strategy
-            if (failOpen) {
-                log.warn("Failing open - allowing request despite rate limit check failure");
-                return true;
-            } else {
-                log.warn("Failing closed - denying request due to rate limit check failure");
-                return false;
-            }
+    private boolean onResult(String apiKey, String cacheKey, String result) {
+        // Parse result: [allowed, remaining, resetAt, count]
+        String[] parts = result.replaceAll("[\\[\\]]", "").split(",");
+        boolean allowed = Integer.parseInt(parts[0].trim()) == 1;
+        long resetAt = Long.parseLong(parts[2].trim());
+        int currentCount = Integer.parseInt(parts[3].trim());
+
+        // Reset failure counter on success
+        consecutiveFailures.set(0);
+
+        // If denied, cache the denial locally to reduce Redis load
+        if (!allowed) {
+            deniedKeyCache.deny(cacheKey, resetAt);
+            log.warn("API rate limit exceeded for key: {} (count: {}/{})",
+                    maskApiKey(apiKey), currentCount, apiRateLimit);
+        }
+
+        return allowed;
+    }
+
+    private boolean onFailure(Throwable e) {
+        int failures = consecutiveFailures.incrementAndGet();
+
+        if (failures >= FAILURE_THRESHOLD) {
+            log.error("API rate limiter Redis failure threshold reached ({})", failures, e);
+        } else {
+            log.error("Error checking API rate limit (failure {}/{})", failures, FAILURE_THRESHOLD, e);
+        }
+
+        // Fail based on configured strategy
+        if (failOpen) {
+            log.warn("Failing open - allowing request despite rate limit check failure");
+            return true;
+        } else {
+            log.warn("Failing closed - denying request due to rate limit check failure");
+            return false;
         }
     }
 
@@ -168,19 +195,6 @@ public class RateLimitApiService {
         return apiKey.substring(0, 8) + "***";
     }
 
-    /**
-     * Clean up expired entries from the denied cache
-     */
-    private void cleanupDeniedCache() {
-        try {
-            long now = System.currentTimeMillis();
-            deniedUntilCache.entrySet().removeIf(entry -> entry.getValue() < now);
-            log.debug("Cleaned up denied cache, current size: {}", deniedUntilCache.size());
-        } catch (Exception e) {
-            log.error("Error cleaning up denied cache", e);
-        }
-    }
-
     /**
      * Get current usage for an API key (for monitoring/debugging)
      */
@@ -0,0 +1,255 @@
+package com.ratelimitx.service;
+
+import com.ratelimitx.common.dto.RateLimitCheckRequest;
+import com.ratelimitx.common.dto.RateLimitCheckResponse;
+import com.ratelimitx.common.dto.RateLimitPeekResponse;
+import com.ratelimitx.common.entity.RateLimitRule;
+import com.ratelimitx.core.Algorithm;
+import com.ratelimitx.exception.RateLimitServiceException;
+import com.ratelimitx.infrastructure.bulkhead.TenantContext;
+import com.ratelimitx.infrastructure.redis.UpstashRedisClient;
+import com.ratelimitx.service.algorithm.ConcurrencyLimitAlgorithm;
+import com.ratelimitx.service.algorithm.FixedWindowAlgorithm;
+import com.ratelimitx.service.algorithm.GcraAlgorithm;
+import com.ratelimitx.service.algorithm.SlidingLogAlgorithm;
+import com.ratelimitx.service.algorithm.SlidingWindowAlgorithm;
+import com.ratelimitx.service.algorithm.TokenBucketAlgorithm;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dry-run checks: what /check would answer now, without consuming quota.
+ * Each rule is answered from the cheapest source that is fresh enough:
+ * a cached denial, local lease/approximate state, a recent peek result, and only
+ * then Redis. All Redis reads of a batch go out in one pipelined call.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitPeekService {
+
+    private final RateLimitService rateLimitService;
+    private final TokenBucketAlgorithm tokenBucket;
+    private final SlidingWindowAlgorithm slidingWindow;
+    private final FixedWindowAlgorithm fixedWindow;
+    private final GcraAlgorithm gcra;
+    private final SlidingLogAlgorithm slidingLog;
+    private final ConcurrencyLimitAlgorithm concurrencyLimit;
+    private final AdaptiveLimitService adaptiveLimitService;
+    private final TokenLeaseService tokenLeaseService;
+    private final ApproximateCounterService approximateCounterService;
+    private final DeniedKeyCache deniedKeyCache;
+    private final UpstashRedisClient redis;
+
+    @Value("${ratelimit.peek.cache-ttl-ms:250}")
+    private long cacheTtlMs;
+
+    @Value("${ratelimit.peek.cache-max-entries:10000}")
+    private int cacheMaxEntries;
+
+    // Recent Redis-backed peek results, keyed by rule key and effective limit
+    private final ConcurrentHashMap<String, CachedPeek> peekCache = new ConcurrentHashMap<>();
+
+    public List<RateLimitPeekResponse> peek(UUID tenantId, List<RateLimitCheckRequest> checks) {
+        long now = System.currentTimeMillis();
+
+        // Active rules are loaded once for the whole batch
+        List<RateLimitRule> activeRules = rateLimitService.findActiveRules(tenantId);
+
+        List<RateLimitPeekResponse.RuleStatus[]> statuses = new ArrayList<>(checks.size());
+        List<List<RateLimitRule>> rulesPerCheck = new ArrayList<>(checks.size());
+        List<PendingRead> pendingReads = new ArrayList<>();
+        List<String[]> commands = new ArrayList<>();
+
+        for (int c = 0; c < checks.size(); c++) {
+            RateLimitCheckRequest check = checks.get(c);
+            rateLimitService.validateRequest(check);
+
+            List<RateLimitRule> rules = rateLimitService.filterApplicableRules(activeRules, check);
+            RateLimitPeekResponse.RuleStatus[] checkStatuses = new RateLimitPeekResponse.RuleStatus[rules.size()];
+            rulesPerCheck.add(rules);
+            statuses.add(checkStatuses);
+
+            for (int r = 0; r < rules.size(); r++) {
+                RateLimitRule rule = rules.get(r);
+                String key = rateLimitService.buildRedisKey(tenantId, rule, check);
+                int maxRequests = adaptiveLimitService.effectiveMaxRequests(rule);
+
+                RateLimitPeekResponse.RuleStatus local = peekLocally(rule, key, maxRequests, now);
+                if (local != null) {
+                    checkStatuses[r] = local;
+                    continue;
+                }
+
+                List<String[]> ruleCommands = peekCommands(rule, key, maxRequests, now);
+                pendingReads.add(new PendingRead(c, r, rule, key, maxRequests, commands.size(), ruleCommands.size()));
+                commands.addAll(ruleCommands);
+            }
+        }
+
+        if (!commands.isEmpty()) {
+            List<String> values;
+            try {
+                values = TenantContext.callAs(tenantId, () -> redis.pipeline(commands));
+            } catch (Exception e) {
+                log.error("Peek failed for tenant: {}", tenantId, e);
+                throw new RateLimitServiceException("Rate limit state is unavailable", e);
+            }
+
+            for (PendingRead read : pendingReads) {
+                List<String> ruleValues = values.subList(read.offset, read.offset + read.count);
+                RateLimitCheckResponse response = peekResult(read.rule, ruleValues, read.maxRequests, now);
+                cachePeek(read.key + "|" + read.maxRequests, response, now);
+                statuses.get(read.checkIndex)[read.ruleIndex] = ruleStatus(read.rule, response, "REDIS");
+            }
+        }
+
+        List<RateLimitPeekResponse> results = new ArrayList<>(checks.size());
+        for (int c = 0; c < checks.size(); c++) {
+            results.add(aggregate(checks.get(c), List.of(statuses.get(c)), now));
+        }
+        return results;
+    }
+
+    /**
+     * Answer a rule without Redis if a local source is fresh enough
+     */
+    private RateLimitPeekResponse.RuleStatus peekLocally(RateLimitRule rule, String key, int maxRequests, long now) {
+        long deniedUntil = rateLimitService.isDenialCacheable(rule, maxRequests) ? deniedKeyCache.deniedUntil(key, now) : 0;
+        if (deniedUntil > 0) {
+            return ruleStatus(rule, RateLimitCheckResponse.builder()
+                    .allowed(false)
+                    .remaining(0)
+                    .resetAt(deniedUntil)
+                    .retryAfter((int) Math.ceil((deniedUntil - now) / 1000.0))
+                    .build(), "CACHE");
+        }
+
+        if (rule.getAlgorithm() != Algorithm.CONCURRENCY) {
+            if (rule.getExecutionMode() == RateLimitRule.ExecutionMode.APPROXIMATE) {
+                return ruleStatus(rule, approximateCounterService.peek(key, maxRequests, rule.getWindowSeconds(),
+                        rule.getAlgorithm() == Algorithm.SLIDING_WINDOW), "LOCAL");
+            }
+            if (rule.usesTokenLease()) {
+                RateLimitCheckResponse lease = tokenLeaseService.peek(key, rule.getWindowSeconds());
+                if (lease != null) {
+                    return ruleStatus(rule, lease, "LOCAL");
+                }
+            }
+        }
+
+        CachedPeek cached = peekCache.get(key + "|" + maxRequests);
+        if (cached != null && cached.expiresAt > now) {
+            return ruleStatus(rule, cached.response, "CACHE");
+        }
+
+        return null;
+    }
+
+    private List<String[]> peekCommands(RateLimitRule rule, String key, int maxRequests, long now) {
+        int windowSeconds = rule.getWindowSeconds();
+
+        // Leases (FIXED_WINDOW only) are claimed from the rule's own fixed window counter
+        return switch (rule.getAlgorithm()) {
+            case TOKEN_BUCKET -> tokenBucket.peekCommands(key, windowSeconds, now);
+            case SLIDING_WINDOW -> slidingWindow.peekCommands(key, windowSeconds, now);
+            case FIXED_WINDOW -> fixedWindow.peekCommands(key, windowSeconds, now);
+            case GCRA -> gcra.peekCommands(key, windowSeconds, now);
+            case SLIDING_LOG -> slidingLog.peekCommands(key, maxRequests, windowSeconds, now);
+            case CONCURRENCY -> concurrencyLimit.peekCommands(key, windowSeconds, now);
+        };
+    }
+
+    private RateLimitCheckResponse peekResult(RateLimitRule rule, List<String> values, int maxRequests, long now) {
+        int windowSeconds = rule.getWindowSeconds();
+
+        return switch (rule.getAlgorithm()) {
+            case TOKEN_BUCKET -> tokenBucket.peekResult(values, maxRequests, windowSeconds, now);
+            case SLIDING_WINDOW -> slidingWindow.peekResult(values, maxRequests, windowSeconds, now);
+            case FIXED_WINDOW -> fixedWindow.peekResult(values, maxRequests, windowSeconds, now);
+            case GCRA -> gcra.peekResult(values, maxRequests, windowSeconds, now);
+            case SLIDING_LOG -> slidingLog.peekResult(values, maxRequests, windowSeconds, now);
+            case CONCURRENCY -> concurrencyLimit.peekResult(values, maxRequests, windowSeconds, now);
+        };
+    }
+
+    /**
+     * Combine rule results the way check() does: any denial denies, most restrictive remaining wins
+     */
+    private RateLimitPeekResponse aggregate(RateLimitCheckRequest check, List<RateLimitPeekResponse.RuleStatus> rules,
+                                            long now) {
+        RateLimitPeekResponse.RuleStatus decisive = null;
+
+        for (RateLimitPeekResponse.RuleStatus rule : rules) {
+            if (decisive == null) {
+                decisive = rule;
+            } else if (!rule.getAllowed()) {
+                // The denial that lasts longest decides when a retry can succeed
+                if (decisive.getAllowed() || rule.getRetryAfter() > decisive.getRetryAfter()) {
+                    decisive = rule;
+                }
+            } else if (decisive.getAllowed() && rule.getRemaining() < decisive.getRemaining()) {
+                decisive = rule;
+            }
+        }
+
+        if (decisive == null) {
+            // No rules apply - same answer as check()
+            return RateLimitPeekResponse.builder()
+                    .identifier(check.getIdentifier())
+                    .resource(check.getResource())
+                    .allowed(true)
+                    .remaining(999)
+                    .resetAt(now + 3600000)
+                    .retryAfter(0)
+                    .rules(rules)
+                    .build();
+        }
+
+        return RateLimitPeekResponse.builder()
+                .identifier(check.getIdentifier())
+                .resource(check.getResource())
+                .allowed(decisive.getAllowed())
+                .remaining(decisive.getAllowed() ? decisive.getRemaining() : 0)
+                .resetAt(decisive.getResetAt())
+                .retryAfter(decisive.getRetryAfter())
+                .rules(rules)
+                .build();
+    }
+
+    private RateLimitPeekResponse.RuleStatus ruleStatus(RateLimitRule rule, RateLimitCheckResponse response,
+                                                        String source) {
+        return RateLimitPeekResponse.RuleStatus.builder()
+                .ruleId(rule.getId())
+                .algorithm(rule.getAlgorithm().name())
+                .allowed(response.getAllowed())
+                .remaining(response.getRemaining())
+                .resetAt(response.getResetAt())
+                .retryAfter(response.getRetryAfter())
+                .source(source)
+                .build();
+    }
+
+    private void cachePeek(String cacheKey, RateLimitCheckResponse response, long now) {
+        if (peekCache.size() >= cacheMaxEntries) {
+            peekCache.entrySet().removeIf(entry -> entry.getValue().expiresAt <= now);
+            if (peekCache.size() >= cacheMaxEntries) {
+                // Still full of fresh entries - start over rather than grow
+                peekCache.clear();
+            }
+        }
+        peekCache.put(cacheKey, new CachedPeek(response, now + cacheTtlMs));
+    }
+
+    private record CachedPeek(RateLimitCheckResponse response, long expiresAt) {}
+
+    private record PendingRead(int checkIndex, int ruleIndex, RateLimitRule rule, String key, int maxRequests,
+                               int offset, int count) {}
+}
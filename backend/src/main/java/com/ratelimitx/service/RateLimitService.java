@@ -2,9 +2,19 @@ package com.ratelimitx.service;
 
 import com.ratelimitx.common.dto.RateLimitCheckRequest;
 import com.ratelimitx.common.dto.RateLimitCheckResponse;
+import com.ratelimitx.common.dto.RateLimitFeedbackRequest;
+import com.ratelimitx.common.dto.RateLimitReleaseRequest;
 import com.ratelimitx.common.entity.RateLimitRule;
-import com.ratelimitx.repository.RateLimitRuleRepository;
+import com.ratelimitx.core.Algorithm;
+import com.ratelimitx.core.RateLimitKeys;
+import com.ratelimitx.core.RuleMatcher;
+import com.ratelimitx.infrastructure.bulkhead.BulkheadFullException;
+import com.ratelimitx.infrastructure.bulkhead.TenantContext;
+import com.ratelimitx.infrastructure.redis.RedisUnavailableException;
+import com.ratelimitx.service.algorithm.ConcurrencyLimitAlgorithm;
 import com.ratelimitx.service.algorithm.FixedWindowAlgorithm;
+import com.ratelimitx.service.algorithm.GcraAlgorithm;
+import com.ratelimitx.service.algorithm.SlidingLogAlgorithm;
 import com.ratelimitx.service.algorithm.SlidingWindowAlgorithm;
 import com.ratelimitx.service.algorithm.TokenBucketAlgorithm;
 import lombok.RequiredArgsConstructor;
@@ -12,52 +22,60 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class RateLimitService {
 
-    private final RateLimitRuleRepository ruleRepository;
     private final TokenBucketAlgorithm tokenBucket;
     private final SlidingWindowAlgorithm slidingWindow;
     private final FixedWindowAlgorithm fixedWindow;
+    private final GcraAlgorithm gcra;
+    private final SlidingLogAlgorithm slidingLog;
+    private final ConcurrencyLimitAlgorithm concurrencyLimit;
     private final MetricsService metricsService;
-    private final TierService tierService;
     private final AlertService alertService;
+    private final AdaptiveLimitService adaptiveLimitService;
+    private final TokenLeaseService tokenLeaseService;
+    private final ApproximateCounterService approximateCounterService;
+    private final LocalFallbackLimiter localFallbackLimiter;
+    private final DeniedKeyCache deniedKeyCache;
+    private final RuleSnapshotCache ruleSnapshotCache;
 
     @Value("${ratelimit.fail-open:true}")
     private boolean failOpen;
 
-    @Value("${ratelimit.redis.failure-threshold:5}")
-    private int redisFailureThreshold;
-
-    // Circuit breaker state
-    private final AtomicInteger consecutiveFailures = new AtomicInteger(0);
+    @Value("${ratelimit.fallback.enabled:true}")
+    private boolean fallbackEnabled;
 
     public RateLimitCheckResponse check(UUID tenantId, RateLimitCheckRequest request) {
+        // Redis calls made for this check count against the tenant's bulkhead
+        return TenantContext.callAs(tenantId, () -> doCheck(tenantId, request));
+    }
+
+    private RateLimitCheckResponse doCheck(UUID tenantId, RateLimitCheckRequest request) {
         long startTime = System.currentTimeMillis();
 
         // Validate input to prevent Redis key injection
         validateRequest(request);
 
         try {
-            // Validate tier limits (monthly check count)
-            try {
-                tierService.validateCheckRequest(tenantId);
-            } catch (RuntimeException e) {
+            // Rules and tier state (monthly check count) come from the snapshot, not a DB read per check
+            RuleSnapshotCache.Snapshot snapshot = ruleSnapshotCache.get(tenantId);
+            if (snapshot.tierLimitExceeded()) {
                 alertService.sendTierLimitExceededAlert(tenantId);
-                throw e;
+                throw new IllegalStateException("Tier limit exceeded");
             }
 
             // Check tier limit alerts (80%, 90%)
             alertService.checkAndSendTierLimitAlerts(tenantId);
 
             // Find applicable rules
-            List<RateLimitRule> applicableRules = findApplicableRules(tenantId, request);
+            List<RateLimitRule> applicableRules = filterApplicableRules(snapshot.rules(), request);
 
             if (applicableRules.isEmpty()) {
                 log.warn("No active rule found for tenant: {}, resource: {}", tenantId, request.getResource());
@@ -67,48 +85,78 @@ public class RateLimitService {
             // Check all applicable rules (most restrictive wins)
             RateLimitCheckResponse finalResponse = null;
 
+            // One lease id per check, shared by all CONCURRENCY rules it passes
+            String leaseId = null;
+            List<String> leasedKeys = new ArrayList<>();
+
             for (RateLimitRule rule : applicableRules) {
                 String key = buildRedisKey(tenantId, rule, request);
+                boolean denialCacheable = isDenialCacheable(rule, adaptiveLimitService.effectiveMaxRequests(rule));
 
-                try {
-                    RateLimitCheckResponse response = applyAlgorithm(rule, key);
-
-                    // Reset failure counter on success
-                    consecutiveFailures.set(0);
+                if (rule.getAlgorithm() == Algorithm.CONCURRENCY && leaseId == null) {
+                    leaseId = UUID.randomUUID().toString();
+                }
 
-                    if (!response.getAllowed()) {
-                        // Request denied - return immediately
-                        recordMetrics(tenantId, request, false, System.currentTimeMillis() - startTime);
-                        return response;
-                    }
+                // Known denial - answer locally until the key resets
+                long deniedUntil = denialCacheable ? deniedKeyCache.deniedUntil(key, startTime) : 0;
+                if (deniedUntil > 0) {
+                    releaseLeases(leasedKeys, leaseId);
+                    recordMetrics(tenantId, request, false, System.currentTimeMillis() - startTime);
+                    return RateLimitCheckResponse.builder()
+                            .allowed(false)
+                            .remaining(0)
+                            .resetAt(deniedUntil)
+                            .retryAfter((int) Math.ceil((deniedUntil - startTime) / 1000.0))
+                            .build();
+                }
 
-                    // Track most restrictive remaining count
-                    if (finalResponse == null || response.getRemaining() < finalResponse.getRemaining()) {
-                        finalResponse = response;
+                RateLimitCheckResponse response;
+                try {
+                    response = applyAlgorithm(rule, key, leaseId);
+                    if (!response.getAllowed() && denialCacheable) {
+                        deniedKeyCache.deny(key, response.getResetAt());
                     }
-
                 } catch (Exception e) {
-                    log.error("Error applying rate limit algorithm for rule: {}", rule.getId(), e);
-
-                    int failures = consecutiveFailures.incrementAndGet();
-
-                    // Circuit breaker logic
-                    if (failures >= redisFailureThreshold) {
-                        log.error("Redis failure threshold reached ({}), circuit breaker activated", failures);
-                        alertService.sendTierLimitExceededAlert(tenantId);
+                    if (e instanceof RedisUnavailableException || e instanceof BulkheadFullException) {
+                        // Circuit open or tenant over its Redis bulkhead - expected, no need for a stack trace
+                        log.debug("Redis unavailable for rule: {} ({})", rule.getId(), e.getMessage());
+                    } else {
+                        log.error("Error applying rate limit algorithm for rule: {}", rule.getId(), e);
                     }
 
-                    // Handle based on fail-open/fail-closed strategy
-                    if (!failOpen) {
+                    if (fallbackEnabled) {
+                        // Degraded mode: approximate enforcement from local memory
+                        response = localFallbackLimiter.check(key,
+                                adaptiveLimitService.effectiveMaxRequests(rule), rule.getWindowSeconds());
+                    } else if (!failOpen) {
                         // Fail closed - deny request
+                        releaseLeases(leasedKeys, leaseId);
                         return RateLimitCheckResponse.builder()
                                 .allowed(false)
                                 .remaining(0)
                                 .resetAt(System.currentTimeMillis() + 60000)
                                 .retryAfter(60)
                                 .build();
+                    } else {
+                        // Fail open - continue to next rule or allow
+                        continue;
                     }
-                    // Fail open - continue to next rule or allow
+                }
+
+                if (!response.getAllowed()) {
+                    // Request denied - give back leases taken by earlier rules and return immediately
+                    releaseLeases(leasedKeys, leaseId);
+                    recordMetrics(tenantId, request, false, System.currentTimeMillis() - startTime);
+                    return response;
+                }
+
+                if (response.getLeaseId() != null) {
+                    leasedKeys.add(key);
+                }
+
+                // Track most restrictive remaining count
+                if (finalResponse == null || response.getRemaining() < finalResponse.getRemaining()) {
+                    finalResponse = response;
                 }
             }
 
@@ -117,11 +165,19 @@ public class RateLimitService {
                 finalResponse = createDefaultAllowedResponse();
             }
 
+            if (!leasedKeys.isEmpty()) {
+                finalResponse.setLeaseId(leaseId);
+            }
+
             recordMetrics(tenantId, request, finalResponse.getAllowed(),
                     System.currentTimeMillis() - startTime);
 
             return finalResponse;
 
+        } catch (BulkheadFullException e) {
+            // Over the tenant's DB bulkhead loading its rules: a 503, never a free pass under fail-open
+            log.debug("Rejected check for tenant: {} ({})", tenantId, e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Error checking rate limit for tenant: {}", tenantId, e);
             recordMetrics(tenantId, request, failOpen, System.currentTimeMillis() - startTime);
@@ -139,70 +195,135 @@ public class RateLimitService {
         }
     }
 
-    private void validateRequest(RateLimitCheckRequest request) {
-        if (request.getResource() == null || request.getResource().trim().isEmpty()) {
-            throw new IllegalArgumentException("Resource cannot be empty");
-        }
+    /**
+     * Release a lease acquired by a check against CONCURRENCY rules
+     * @return number of rules whose lease was still held
+     */
+    public int release(UUID tenantId, RateLimitReleaseRequest request) {
+        RateLimitCheckRequest checkRequest = RateLimitCheckRequest.builder()
+                .identifier(request.getIdentifier())
+                .resource(request.getResource())
+                .build();
 
-        // Prevent Redis key injection by validating characters
-        String resource = request.getResource();
-        String identifier = request.getIdentifier();
+        validateRequest(checkRequest);
 
-        if (resource.contains(":") || resource.contains(" ") || resource.contains("\n")) {
-            throw new IllegalArgumentException("Invalid characters in resource");
+        return TenantContext.callAs(tenantId, () -> {
+            int released = 0;
+            for (RateLimitRule rule : findApplicableRules(tenantId, checkRequest)) {
+                if (rule.getAlgorithm() != Algorithm.CONCURRENCY) {
+                    continue;
+                }
+                if (concurrencyLimit.release(buildRedisKey(tenantId, rule, checkRequest), request.getLeaseId())) {
+                    released++;
+                }
+            }
+            return released;
+        });
+    }
+
+    /**
+     * Feed backend health into the adaptive rules that apply to a resource
+     * @return number of adaptive rules updated
+     */
+    public int feedback(UUID tenantId, RateLimitFeedbackRequest request) {
+        RateLimitCheckRequest checkRequest = RateLimitCheckRequest.builder()
+                .identifier(request.getIdentifier())
+                .resource(request.getResource())
+                .build();
+
+        validateRequest(checkRequest);
+
+        int updated = 0;
+        for (RateLimitRule rule : findApplicableRules(tenantId, checkRequest)) {
+            if (Boolean.TRUE.equals(rule.getAdaptive())) {
+                adaptiveLimitService.onFeedback(rule, request.getLatencyMs(), Boolean.TRUE.equals(request.getError()));
+                updated++;
+            }
         }
+        return updated;
+    }
 
-        if (identifier != null && (identifier.contains(":") || identifier.contains(" ") || identifier.contains("\n"))) {
-            throw new IllegalArgumentException("Invalid characters in identifier");
+    void releaseLeases(List<String> leasedKeys, String leaseId) {
+        for (String key : leasedKeys) {
+            try {
+                concurrencyLimit.release(key, leaseId);
+            } catch (Exception e) {
+                // Lease expires on its own
+                log.warn("Failed to release lease for key: {}", key, e);
+            }
         }
     }
 
-    private List<RateLimitRule> findApplicableRules(UUID tenantId, RateLimitCheckRequest request) {
-        List<RateLimitRule> allRules = ruleRepository.findByTenantIdAndActive(tenantId, true);
-
-        return allRules.stream()
-                .filter(rule -> {
-                    return switch (rule.getLimitScope()) {
-                        case GLOBAL -> true;
-                        case RESOURCE -> rule.getResource().equals(request.getResource()) ||
-                                rule.getResource().equals("*");
-                        case IDENTIFIER -> {
-                            // Ensure identifier is present for IDENTIFIER scope
-                            if (request.getIdentifier() == null || request.getIdentifier().isEmpty()) {
-                                yield false;
-                            }
-                            yield (rule.getResource().equals(request.getResource()) ||
-                                    rule.getResource().equals("*"));
-                        }
-                    };
-                })
-                .sorted((a, b) -> Integer.compare(b.getPriority(), a.getPriority()))
-                .collect(java.util.stream.Collectors.toList());
+    void validateRequest(RateLimitCheckRequest request) {
+        // Prevent Redis key injection by validating characters
+        RateLimitKeys.validate(request.getResource(), request.getIdentifier());
+    }
+
+    List<RateLimitRule> findApplicableRules(UUID tenantId, RateLimitCheckRequest request) {
+        return filterApplicableRules(findActiveRules(tenantId), request);
     }
 
-    private String buildRedisKey(UUID tenantId, RateLimitRule rule, RateLimitCheckRequest request) {
-        // Sanitize inputs (already validated, but extra safety)
-        String sanitizedResource = request.getResource().replaceAll("[^a-zA-Z0-9_-]", "_");
-        String sanitizedIdentifier = request.getIdentifier() != null ?
-                request.getIdentifier().replaceAll("[^a-zA-Z0-9_-]", "_") : "";
-
-        return switch (rule.getLimitScope()) {
-            case GLOBAL -> String.format("rl:%s:global:%s", tenantId, rule.getId());
-            case RESOURCE -> String.format("rl:%s:res:%s:%s", tenantId, sanitizedResource, rule.getId());
-            case IDENTIFIER -> String.format("rl:%s:id:%s:%s:%s",
-                    tenantId, sanitizedResource, sanitizedIdentifier, rule.getId());
+    List<RateLimitRule> findActiveRules(UUID tenantId) {
+        return ruleSnapshotCache.get(tenantId).rules();
+    }
+
+    /**
+     * Rules out of a tenant's active rules that apply to a request, highest priority first
+     */
+    List<RateLimitRule> filterApplicableRules(List<RateLimitRule> allRules, RateLimitCheckRequest request) {
+        return RuleMatcher.applicable(allRules, request.getResource(), request.getIdentifier());
+    }
+
+    String buildRedisKey(UUID tenantId, RateLimitRule rule, RateLimitCheckRequest request) {
+        return RateLimitKeys.build(tenantId, rule, request.getResource(), request.getIdentifier());
+    }
+
+    RateLimitCheckResponse applyAlgorithm(RateLimitRule rule, String key, String leaseId) {
+        int maxRequests = adaptiveLimitService.effectiveMaxRequests(rule);
+
+        // Lease mode replaces the per-check Redis call for rate-based rules
+        if (rule.usesTokenLease()) {
+            return tokenLeaseService.check(key, maxRequests, rule.getWindowSeconds());
+        }
+
+        // Approximate mode counts locally and syncs window counters in the background
+        if (rule.getExecutionMode() == RateLimitRule.ExecutionMode.APPROXIMATE
+                && rule.getAlgorithm() != Algorithm.CONCURRENCY) {
+            return approximateCounterService.check(key, maxRequests, rule.getWindowSeconds(),
+                    rule.getAlgorithm() == Algorithm.SLIDING_WINDOW);
+        }
+
+        return switch (rule.getAlgorithm()) {
+            case TOKEN_BUCKET -> tokenBucket.check(key, maxRequests, rule.getWindowSeconds());
+            case SLIDING_WINDOW -> slidingWindow.check(key, maxRequests, rule.getWindowSeconds());
+            case FIXED_WINDOW -> fixedWindow.check(key, maxRequests, rule.getWindowSeconds());
+            case GCRA -> gcra.check(key, maxRequests, rule.getWindowSeconds());
+            case SLIDING_LOG -> slidingLog.check(key, maxRequests, rule.getWindowSeconds());
+            // maxRequests = max in-flight, windowSeconds = lease TTL
+            case CONCURRENCY -> concurrencyLimit.acquire(key, maxRequests, rule.getWindowSeconds(), leaseId);
         };
     }
 
-    private RateLimitCheckResponse applyAlgorithm(RateLimitRule rule, String key) {
+    /**
+     * Denials can be cached until resetAt only where the key cannot free up earlier:
+     * a fixed window, or a log whose resetAt is when its oldest entry expires, evaluated
+     * against Redis with a fixed limit. A sliding window's estimate decays continuously as
+     * the previous window's weight drops, so it can admit again well before resetAt; that
+     * includes SLIDING_LOG rules above sliding-log.max-entries, which run as a sliding window.
+     * @param maxRequests the rule's effective limit
+     */
+    boolean isDenialCacheable(RateLimitRule rule, int maxRequests) {
+        if (rule.getExecutionMode() != RateLimitRule.ExecutionMode.EXACT || Boolean.TRUE.equals(rule.getAdaptive())) {
+            return false;
+        }
         return switch (rule.getAlgorithm()) {
-            case TOKEN_BUCKET -> tokenBucket.check(key, rule.getMaxRequests(), rule.getWindowSeconds());
-            case SLIDING_WINDOW -> slidingWindow.check(key, rule.getMaxRequests(), rule.getWindowSeconds());
-            case FIXED_WINDOW -> fixedWindow.check(key, rule.getMaxRequests(), rule.getWindowSeconds());
+            case FIXED_WINDOW -> true;
+            case SLIDING_LOG -> slidingLog.usesLog(maxRequests);
+            default -> false;
         };
     }
 
-    private RateLimitCheckResponse createDefaultAllowedResponse() {
+    RateLimitCheckResponse createDefaultAllowedResponse() {
         return RateLimitCheckResponse.builder()
                 .allowed(true)
                 .remaining(999)
@@ -211,7 +332,7 @@ public class RateLimitService {
                 .build();
     }
 
-    private void recordMetrics(UUID tenantId, RateLimitCheckRequest request,
+    void recordMetrics(UUID tenantId, RateLimitCheckRequest request,
                                boolean allowed, long latency) {
         try {
             metricsService.recordCheckAsync(tenantId, request.getResource(),
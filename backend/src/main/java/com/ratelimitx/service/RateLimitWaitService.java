@@ -0,0 +1,196 @@
+package com.ratelimitx.service;
+
+import com.ratelimitx.common.dto.RateLimitCheckRequest;
+import com.ratelimitx.common.dto.RateLimitCheckResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Checks that wait for capacity instead of returning 429 right away.
+ * A denied request is parked on a timer (no thread held while it waits) and the
+ * check is retried as soon as it can be admitted, until it is allowed or the client's
+ * timeout has passed. When that lies beyond the timeout, the last attempt is made at
+ * the deadline, where a sliding window or token bucket may already have room.
+ * The number of parked requests is bounded; beyond that the denial is returned
+ * immediately, as for a plain check.
+ */
+@Service
+@Slf4j
+public class RateLimitWaitService {
+
+    private final RateLimitService rateLimitService;
+    private final AdmissionScheduler admissionScheduler;
+    private final ScheduledExecutorService timer;
+    private final ExecutorService workers;
+    private final AtomicInteger parked = new AtomicInteger(0);
+
+    @Value("${ratelimit.wait.max-timeout-ms:30000}")
+    private long maxTimeoutMs;
+
+    @Value("${ratelimit.wait.max-parked:1000}")
+    private int maxParked;
+
+    @Value("${ratelimit.wait.min-retry-ms:50}")
+    private long minRetryMs;
+
+    @Value("${ratelimit.wait.jitter-ms:100}")
+    private long jitterMs;
+
+    public RateLimitWaitService(RateLimitService rateLimitService, AdmissionScheduler admissionScheduler,
+                                @Value("${ratelimit.wait.worker-threads:8}") int workerThreads) {
+        this.rateLimitService = rateLimitService;
+        this.admissionScheduler = admissionScheduler;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ratelimit-wait-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger threadCount = new AtomicInteger(0);
+        this.workers = Executors.newFixedThreadPool(workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "ratelimit-wait-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Check now and, if denied, keep retrying until allowed or timeoutMs has passed
+     * @param toResult maps the final check response to the value the DeferredResult completes with
+     */
+    public <T> DeferredResult<T> checkAndWait(UUID tenantId, RateLimitCheckRequest request, long timeoutMs,
+                                              Function<RateLimitCheckResponse, T> toResult) {
+        long timeout = Math.max(0, Math.min(timeoutMs, maxTimeoutMs));
+        long deadline = System.currentTimeMillis() + timeout;
+
+        // Safety net only: attempts are scheduled so that the result is set before the deadline
+        DeferredResult<T> result = new DeferredResult<>(timeout + 1000);
+
+        RateLimitCheckResponse response = check(tenantId, request);
+        long delay = retryDelay(response, deadline);
+        if (response.getAllowed() || delay <= 0) {
+            result.setResult(toResult.apply(response));
+            return result;
+        }
+
+        if (parked.incrementAndGet() > maxParked) {
+            parked.decrementAndGet();
+            log.warn("Too many parked checks ({}), returning denial for tenant: {}", maxParked, tenantId);
+            result.setResult(toResult.apply(response));
+            return result;
+        }
+
+        Waiter<T> waiter = new Waiter<>(tenantId, request, deadline, result, toResult);
+        waiter.lastResponse = response;
+        result.onCompletion(parked::decrementAndGet);
+        result.onTimeout(() -> result.setResult(toResult.apply(waiter.lastResponse)));
+        schedule(waiter, delay);
+
+        return result;
+    }
+
+    private void schedule(Waiter<?> waiter, long delayMs) {
+        timer.schedule(() -> {
+            try {
+                // Checks call Redis, so they run on the workers, never on the timer thread
+                workers.execute(() -> attempt(waiter));
+            } catch (RejectedExecutionException e) {
+                waiter.complete();
+            }
+        }, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void attempt(Waiter<?> waiter) {
+        if (waiter.result.isSetOrExpired()) {
+            return;
+        }
+
+        try {
+            RateLimitCheckResponse response = check(waiter.tenantId, waiter.request);
+            waiter.lastResponse = response;
+
+            long delay = retryDelay(response, waiter.deadline);
+            if (response.getAllowed() || delay <= 0) {
+                waiter.complete();
+            } else {
+                schedule(waiter, delay);
+            }
+        } catch (Exception e) {
+            log.error("Parked check failed for tenant: {}", waiter.tenantId, e);
+            waiter.result.setErrorResult(e);
+        }
+    }
+
+    private RateLimitCheckResponse check(UUID tenantId, RateLimitCheckRequest request) {
+        // Retries compete for admission like any other check, so parked floods stay fair too
+        return admissionScheduler.execute(tenantId, () -> rateLimitService.check(tenantId, request));
+    }
+
+    /**
+     * Wait until the earliest time the check can be admitted, plus jitter so requests parked on the
+     * same key do not retry in lockstep, but no later than the deadline. That is retryAfter, not
+     * resetAt: for GCRA and TOKEN_BUCKET resetAt is when the bucket is fully refilled, for
+     * SLIDING_WINDOW the end of the window, while room comes back well before either
+     * @return the delay in ms, or 0 if the deadline has passed and the denial is final
+     */
+    private long retryDelay(RateLimitCheckResponse response, long deadline) {
+        long now = System.currentTimeMillis();
+        if (now >= deadline) {
+            return 0;
+        }
+
+        long untilAdmitted = Long.MAX_VALUE;
+        if (response.getResetAt() != null) {
+            untilAdmitted = response.getResetAt() - now;
+        }
+        if (response.getRetryAfter() != null && response.getRetryAfter() > 0) {
+            // Rounded up to whole seconds, so never earlier than the algorithm admits again
+            untilAdmitted = Math.min(untilAdmitted, response.getRetryAfter() * 1000L);
+        }
+        if (untilAdmitted == Long.MAX_VALUE) {
+            untilAdmitted = 0;
+        }
+        long jitter = jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs) : 0;
+        return Math.min(Math.max(minRetryMs, untilAdmitted) + jitter, deadline - now);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private static class Waiter<T> {
+        final UUID tenantId;
+        final RateLimitCheckRequest request;
+        final long deadline;
+        final DeferredResult<T> result;
+        final Function<RateLimitCheckResponse, T> toResult;
+        volatile RateLimitCheckResponse lastResponse;
+
+        Waiter(UUID tenantId, RateLimitCheckRequest request, long deadline, DeferredResult<T> result,
+               Function<RateLimitCheckResponse, T> toResult) {
+            this.tenantId = tenantId;
+            this.request = request;
+            this.deadline = deadline;
+            this.result = result;
+            this.toResult = toResult;
+        }
+
+        void complete() {
+            result.setResult(toResult.apply(lastResponse));
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.ratelimitx.service;
+
+import com.ratelimitx.common.dto.RateLimitCheckRequest;
+import com.ratelimitx.common.dto.ReservationRequest;
+import com.ratelimitx.common.dto.ReservationResponse;
+import com.ratelimitx.common.entity.RateLimitRule;
+import com.ratelimitx.core.Algorithm;
+import com.ratelimitx.exception.RateLimitServiceException;
+import com.ratelimitx.infrastructure.bulkhead.TenantContext;
+import com.ratelimitx.infrastructure.redis.UpstashRedisClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Two-phase token reservations.
+ * reserve takes N tokens from every applicable window counter in one atomic script
+ * and records the reservation; commit keeps the tokens, cancel gives them back.
+ * Reservations not committed before their TTL are refunded by a sweeper that any
+ * node may run (the refund script is atomic, so concurrent sweeps are harmless).
+ * Only FIXED_WINDOW and SLIDING_WINDOW rules can be reserved against: they are plain
+ * counters, so a refund is an exact DECRBY on the same window key.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationService {
+
+    private static final String EXPIRY_INDEX_KEY = "rsv:expiry";
+
+    // Keep the record a bit past expiry so the sweeper still finds it
+    private static final long RECORD_GRACE_MS = 60000;
+
+    // Shared by cancel and sweep: refund one reservation record, returns {tokens, keys...}
+    private static final String REFUND_FUNCTION = """
+            local function refund(record_key, member)
+                local record = redis.call('GET', record_key)
+                redis.call('ZREM', KEYS[1], member)
+                if not record then
+                    return nil
+                end
+                redis.call('DEL', record_key)
+
+                -- record = "<tokens>|<key>,<key>,..."
+                local sep = string.find(record, '|', 1, true)
+                local tokens = tonumber(string.sub(record, 1, sep - 1))
+                local refunded = {tokens}
+
+                for key in string.gmatch(string.sub(record, sep + 1), '[^,]+') do
+                    -- Skip windows that already ended (the key expired)
+                    local count = tonumber(redis.call('GET', key) or '0')
+                    if count > 0 then
+                        redis.call('DECRBY', key, math.min(tokens, count))
+                    end
+                    table.insert(refunded, key)
+                end
+
+                return refunded
+            end
+            """;
+
+    private final RateLimitService rateLimitService;
+    private final AdaptiveLimitService adaptiveLimitService;
+    private final DeniedKeyCache deniedKeyCache;
+    private final UpstashRedisClient redis;
+
+    @Value("${ratelimit.reservation.sweep-batch-size:100}")
+    private int sweepBatchSize;
+
+    public ReservationResponse reserve(UUID tenantId, ReservationRequest request) {
+        RateLimitCheckRequest checkRequest = RateLimitCheckRequest.builder()
+                .identifier(request.getIdentifier())
+                .resource(request.getResource())
+                .build();
+
+        rateLimitService.validateRequest(checkRequest);
+
+        List<RateLimitRule> rules = rateLimitService.findApplicableRules(tenantId, checkRequest);
+        for (RateLimitRule rule : rules) {
+            if (rule.getAlgorithm() != Algorithm.FIXED_WINDOW
+                    && rule.getAlgorithm() != Algorithm.SLIDING_WINDOW) {
+                throw new IllegalArgumentException(
+                        "Reservations support FIXED_WINDOW and SLIDING_WINDOW rules only, rule " + rule.getId()
+                                + " uses " + rule.getAlgorithm());
+            }
+        }
+
+        int tokens = request.getTokens();
+        long now = System.currentTimeMillis();
+        long expiresAt = now + request.getTtlSeconds() * 1000L;
+        String reservationId = UUID.randomUUID().toString();
+        String member = tenantId + ":" + reservationId;
+
+        // KEYS: index, record, then (current, previous) window keys per rule
+        // ARGV: tokens, rule count, expiresAt, record TTL, member, then (max, expire, weight) per rule
+        List<String> keys = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        List<String> windowKeys = new ArrayList<>();
+        keys.add(EXPIRY_INDEX_KEY);
+        keys.add(recordKey(member));
+        args.add(String.valueOf(tokens));
+        args.add(String.valueOf(rules.size()));
+        args.add(String.valueOf(expiresAt));
+        args.add(String.valueOf(expiresAt - now + RECORD_GRACE_MS));
+        args.add(member);
+
+        for (RateLimitRule rule : rules) {
+            String key = rateLimitService.buildRedisKey(tenantId, rule, checkRequest);
+            long windowSizeMs = rule.getWindowSeconds() * 1000L;
+            long windowStart = (now / windowSizeMs) * windowSizeMs;
+            boolean sliding = rule.getAlgorithm() == Algorithm.SLIDING_WINDOW;
+
+            String currentKey = key + ":" + windowStart;
+            windowKeys.add(currentKey);
+            keys.add(currentKey);
+            keys.add(key + ":" + (windowStart - windowSizeMs));
+
+            // Same counting as FixedWindowAlgorithm / SlidingWindowAlgorithm
+            double previousWeight = sliding ? 1.0 - (double) (now - windowStart) / windowSizeMs : 0;
+            args.add(String.valueOf(adaptiveLimitService.effectiveMaxRequests(rule)));
+            args.add(String.valueOf(sliding ? rule.getWindowSeconds() * 2 : rule.getWindowSeconds()));
+            args.add(String.valueOf(previousWeight));
+        }
+
+        String luaScript = """
+            local tokens = tonumber(ARGV[1])
+            local rule_count = tonumber(ARGV[2])
+            local expires_at = tonumber(ARGV[3])
+            local record_ttl = tonumber(ARGV[4])
+            local member = ARGV[5]
+
+            -- All rules must have room before anything is taken
+            local remaining = -1
+            for i = 1, rule_count do
+                local max_requests = tonumber(ARGV[5 + (i - 1) * 3 + 1])
+                local weight = tonumber(ARGV[5 + (i - 1) * 3 + 3])
+                local count = tonumber(redis.call('GET', KEYS[2 + (i - 1) * 2 + 1]) or '0')
+                local previous = 0
+                if weight > 0 then
+                    previous = tonumber(redis.call('GET', KEYS[2 + (i - 1) * 2 + 2]) or '0')
+                end
+
+                local left = max_requests - (previous * weight + count)
+                if left < tokens then
+                    return {0, i, 0}
+                end
+                if remaining < 0 or left - tokens < remaining then
+                    remaining = math.floor(left - tokens)
+                end
+            end
+
+            local window_keys = {}
+            for i = 1, rule_count do
+                local key = KEYS[2 + (i - 1) * 2 + 1]
+                local expire_seconds = tonumber(ARGV[5 + (i - 1) * 3 + 2])
+                local count = redis.call('INCRBY', key, tokens)
+                if count == tokens then
+                    redis.call('EXPIRE', key, expire_seconds)
+                end
+                table.insert(window_keys, key)
+            end
+
+            redis.call('SET', KEYS[2], tokens .. '|' .. table.concat(window_keys, ','), 'PX', record_ttl)
+            redis.call('ZADD', KEYS[1], expires_at, member)
+
+            return {1, 0, math.max(0, remaining)}
+            """;
+
+        try {
+            String result = TenantContext.callAs(tenantId,
+                    () -> redis.eval(luaScript, keys.toArray(new String[0]), args.toArray(new String[0])));
+
+            // Parse result: [reserved, blockingRule, remaining]
+            String[] parts = result.replaceAll("[\\[\\]]", "").split(",");
+            boolean reserved = Integer.parseInt(parts[0].trim()) == 1;
+
+            if (!reserved) {
+                RateLimitRule blocking = rules.get(Integer.parseInt(parts[1].trim()) - 1);
+                long windowSizeMs = blocking.getWindowSeconds() * 1000L;
+                long resetAt = (now / windowSizeMs) * windowSizeMs + windowSizeMs;
+
+                return ReservationResponse.builder()
+                        .allowed(false)
+                        .tokens(tokens)
+                        .remaining(0)
+                        .retryAfter((int) Math.ceil((resetAt - now) / 1000.0))
+                        .build();
+            }
+
+            return ReservationResponse.builder()
+                    .allowed(true)
+                    .reservationId(reservationId)
+                    .tokens(tokens)
+                    // No rules: nothing to reserve against, like the default allowed check response
+                    .remaining(rules.isEmpty() ? 999 : Integer.parseInt(parts[2].trim()))
+                    .expiresAt(expiresAt)
+                    .retryAfter(0)
+                    .build();
+
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to reserve {} tokens for tenant: {}", tokens, tenantId, e);
+            throw new RateLimitServiceException("Failed to reserve tokens", e);
+        }
+    }
+
+    /**
+     * Keep the reserved tokens
+     * @return true if the reservation was still pending
+     */
+    public boolean commit(UUID tenantId, String reservationId) {
+        String member = tenantId + ":" + reservationId;
+
+        String luaScript = """
+            redis.call('ZREM', KEYS[1], ARGV[1])
+            return redis.call('DEL', KEYS[2])
+            """;
+
+        try {
+            String result = TenantContext.callAs(tenantId,
+                    () -> redis.eval(luaScript, new String[]{EXPIRY_INDEX_KEY, recordKey(member)}, member));
+            return Integer.parseInt(result.trim()) == 1;
+        } catch (Exception e) {
+            log.error("Failed to commit reservation: {}", reservationId, e);
+            throw new RateLimitServiceException("Failed to commit reservation", e);
+        }
+    }
+
+    /**
+     * Give the reserved tokens back
+     * @return number of tokens refunded (0 if the reservation was already committed, cancelled or expired)
+     */
+    public int cancel(UUID tenantId, String reservationId) {
+        String member = tenantId + ":" + reservationId;
+
+        String luaScript = REFUND_FUNCTION + """
+            local refunded = refund(KEYS[2], ARGV[1])
+            if not refunded then
+                return {0}
+            end
+            return refunded
+            """;
+
+        try {
+            String result = TenantContext.callAs(tenantId,
+                    () -> redis.eval(luaScript, new String[]{EXPIRY_INDEX_KEY, recordKey(member)}, member));
+            return forgetRefundedKeys(result);
+        } catch (Exception e) {
+            log.error("Failed to cancel reservation: {}", reservationId, e);
+            throw new RateLimitServiceException("Failed to cancel reservation", e);
+        }
+    }
+
+    /**
+     * Refund reservations that passed their TTL without a commit
+     */
+    @Scheduled(fixedDelayString = "${ratelimit.reservation.sweep-interval-ms:5000}")
+    public void sweepExpiredReservations() {
+        String luaScript = REFUND_FUNCTION + """
+            local expired = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[2]))
+            -- {swept, refunded keys...}
+            local result = {#expired}
+            for _, member in ipairs(expired) do
+                local refunded = refund('rsv:' .. member, member)
+                if refunded then
+                    for i = 2, #refunded do
+                        table.insert(result, refunded[i])
+                    end
+                end
+            end
+            return result
+            """;
+
+        try {
+            String result = redis.eval(
+                    luaScript,
+                    new String[]{EXPIRY_INDEX_KEY},
+                    String.valueOf(System.currentTimeMillis()),
+                    String.valueOf(sweepBatchSize)
+            );
+
+            int swept = forgetRefundedKeys(result);
+            if (swept > 0) {
+                log.info("Refunded {} expired reservations", swept);
+            }
+        } catch (Exception e) {
+            log.warn("Reservation sweep failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Refunded keys may have a cached denial on this node that no longer holds
+     * @param result [tokens or swept count, windowKey...]
+     * @return the leading number
+     */
+    private int forgetRefundedKeys(String result) {
+        String[] parts = result.replaceAll("[\\[\\]\"]", "").split(",");
+        for (int i = 1; i < parts.length; i++) {
+            String windowKey = parts[i].trim();
+            // Strip the ":<windowStart>" suffix to get the rule key
+            deniedKeyCache.forget(windowKey.substring(0, windowKey.lastIndexOf(':')));
+        }
+        return Integer.parseInt(parts[0].trim());
+    }
+
+    private String recordKey(String member) {
+        return "rsv:" + member;
+    }
+}
@@ -0,0 +1,124 @@
+package com.ratelimitx.service;
+
+import com.ratelimitx.common.entity.RateLimitRule;
+import com.ratelimitx.infrastructure.bulkhead.BulkheadFullException;
+import com.ratelimitx.infrastructure.bulkhead.TenantBulkheads;
+import com.ratelimitx.repository.RateLimitRuleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * In-memory snapshot of each tenant's active rules and monthly quota state, shared by the
+ * blocking and non-blocking check paths. Snapshots older than ttl-ms are still served while
+ * a single reload runs; only a tenant's very first check waits for the database, so a
+ * tenant's checks hold at most one of its DB bulkhead permits however many run at once.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RuleSnapshotCache {
+
+    private final RateLimitRuleRepository ruleRepository;
+    private final TierService tierService;
+    private final TenantBulkheads bulkheads;
+
+    @Value("${ratelimit.non-blocking.snapshot-ttl-ms:5000}")
+    private long ttlMs;
+
+    private final ConcurrentHashMap<UUID, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, CompletableFuture<Snapshot>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * @param loader runs the blocking database reads
+     */
+    public CompletableFuture<Snapshot> get(UUID tenantId, Executor loader) {
+        Snapshot snapshot = snapshots.get(tenantId);
+        if (snapshot == null) {
+            return load(tenantId, loader);
+        }
+
+        if (snapshot.loadedAt() + ttlMs <= System.currentTimeMillis()) {
+            // Stale-while-revalidate: this check uses the old rules
+            load(tenantId, loader);
+        }
+        return CompletableFuture.completedFuture(snapshot);
+    }
+
+    /**
+     * Blocking variant of {@link #get(UUID, Executor)}: a missing or stale snapshot is
+     * loaded on the calling thread, other checks of the tenant meanwhile wait for the
+     * first load or keep using the stale snapshot
+     */
+    public Snapshot get(UUID tenantId) {
+        try {
+            return get(tenantId, Runnable::run).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Drop a tenant's snapshot after its rules changed on this node
+     */
+    public void invalidate(UUID tenantId) {
+        snapshots.remove(tenantId);
+    }
+
+    private CompletableFuture<Snapshot> load(UUID tenantId, Executor loader) {
+        CompletableFuture<Snapshot> future = new CompletableFuture<>();
+        CompletableFuture<Snapshot> inProgress = loading.putIfAbsent(tenantId, future);
+        if (inProgress != null) {
+            return inProgress;
+        }
+
+        try {
+            loader.execute(() -> {
+                try {
+                    Snapshot snapshot = new Snapshot(
+                            bulkheads.db(tenantId, () -> ruleRepository.findByTenantIdAndActive(tenantId, true)),
+                            isTierLimitExceeded(tenantId), System.currentTimeMillis());
+                    snapshots.put(tenantId, snapshot);
+                    loading.remove(tenantId, future);
+                    future.complete(snapshot);
+                } catch (Exception e) {
+                    loading.remove(tenantId, future);
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            loading.remove(tenantId, future);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private boolean isTierLimitExceeded(UUID tenantId) {
+        try {
+            bulkheads.db(tenantId, () -> {
+                tierService.validateCheckRequest(tenantId);
+                return null;
+            });
+            return false;
+        } catch (BulkheadFullException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.debug("Tier validation failed for tenant: {} ({})", tenantId, e.getMessage());
+            return true;
+        }
+    }
+
+    public record Snapshot(List<RateLimitRule> rules, boolean tierLimitExceeded, long loadedAt) {}
+}
@@ -44,6 +44,12 @@ public class TierService {
         };
     }
     
+    public Tenant.Tier getTier(UUID tenantId) {
+        return tenantRepository.findById(tenantId)
+            .map(Tenant::getTier)
+            .orElseThrow(() -> new RuntimeException("Tenant not found"));
+    }
+    
     public void validateRuleCreation(UUID tenantId) {
         Tenant tenant = tenantRepository.findById(tenantId)
             .orElseThrow(() -> new RuntimeException("Tenant not found"));
@@ -78,6 +84,20 @@ public class TierService {
         }
     }
     
+    /**
+     * Same monthly check count test as {@link #validateCheckRequest}, for a tenant already loaded
+     */
+    public boolean isCheckLimitExceeded(Tenant tenant) {
+        TierLimits limits = getTierLimits(tenant.getTier());
+        
+        if (limits.maxChecksPerMonth == Integer.MAX_VALUE) {
+            return false;
+        }
+        
+        LocalDateTime monthStart = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
+        return usageMetricRepository.countByTenantIdAndTimestampAfter(tenant.getId(), monthStart) >= limits.maxChecksPerMonth;
+    }
+    
     public boolean canUseCustomAlgorithm(UUID tenantId) {
         Tenant tenant = tenantRepository.findById(tenantId)
             .orElseThrow(() -> new RuntimeException("Tenant not found"));
@@ -0,0 +1,250 @@
+package com.ratelimitx.service;
+
+import com.ratelimitx.common.dto.RateLimitCheckResponse;
+import com.ratelimitx.infrastructure.redis.UpstashRedisClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token lease mode for hot keys.
+ * Each node atomically claims a chunk of tokens from the shared per-window bucket in
+ * Redis and serves checks from a local counter until the chunk is used up or the
+ * window ends. Tokens are claimed before they are handed out, so the window limit is
+ * never exceeded; the cost is that tokens still leased when the window ends are lost
+ * (at most one chunk per node). Chunk size follows the node's local rate.
+ * Only FIXED_WINDOW rules run in this mode (see RateLimitRule.validateExecutionMode).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenLeaseService {
+
+    private final UpstashRedisClient redis;
+
+    @Value("${ratelimit.token-lease.target-lease-ms:1000}")
+    private long targetLeaseMs;
+
+    @Value("${ratelimit.token-lease.min-chunk:1}")
+    private int minChunk;
+
+    @Value("${ratelimit.token-lease.max-chunk-fraction:0.1}")
+    private double maxChunkFraction;
+
+    private final ConcurrentHashMap<String, LeaseSlot> slots = new ConcurrentHashMap<>();
+
+    public RateLimitCheckResponse check(String key, int maxRequests, int windowSeconds) {
+        long now = System.currentTimeMillis();
+        long windowSizeMs = windowSeconds * 1000L;
+        long windowStart = (now / windowSizeMs) * windowSizeMs;
+        long resetAt = windowStart + windowSizeMs;
+
+        LeaseSlot slot = slots.computeIfAbsent(key, k -> new LeaseSlot());
+
+        // Fast path: serve from the local chunk
+        RateLimitCheckResponse local = tryLocal(slot, windowStart, resetAt, now);
+        if (local != null) {
+            return local;
+        }
+
+        slot.lock.lock();
+        try {
+            // Another thread may have refilled the chunk while we waited
+            local = tryLocal(slot, windowStart, resetAt, now);
+            if (local != null) {
+                return local;
+            }
+
+            int chunk = nextChunkSize(slot, maxRequests, now);
+            int[] claim = claim(key + ":" + windowStart, maxRequests, windowSeconds, chunk);
+            int granted = claim[0];
+            int sharedRemaining = claim[1];
+
+            slot.lastClaimAt = now;
+            slot.claimedInLease = granted;
+
+            if (granted == 0) {
+                // Shared bucket is empty for this window - deny locally until it ends
+                slot.lease = new Lease(windowStart, resetAt, 0, 0, true);
+                return denied(resetAt, now);
+            }
+
+            // One token is used by this request
+            slot.lease = new Lease(windowStart, resetAt, granted - 1, sharedRemaining, false);
+            return RateLimitCheckResponse.builder()
+                    .allowed(true)
+                    .remaining(sharedRemaining + granted - 1)
+                    .resetAt(resetAt)
+                    .retryAfter(0)
+                    .build();
+        } finally {
+            slot.lock.unlock();
+        }
+    }
+
+    /**
+     * Evaluate a check from the local lease without taking a token
+     * @return null if this node holds no lease for the current window
+     */
+    public RateLimitCheckResponse peek(String key, int windowSeconds) {
+        long now = System.currentTimeMillis();
+        long windowSizeMs = windowSeconds * 1000L;
+        long windowStart = (now / windowSizeMs) * windowSizeMs;
+
+        LeaseSlot slot = slots.get(key);
+        Lease lease = slot != null ? slot.lease : null;
+        if (lease == null || lease.windowStart != windowStart) {
+            return null;
+        }
+        if (lease.exhausted) {
+            return denied(lease.resetAt, now);
+        }
+
+        // Local chunk plus what the shared bucket had left at the last claim
+        int remaining = Math.max(0, lease.tokens.get()) + lease.sharedRemaining;
+        if (remaining == 0) {
+            return denied(lease.resetAt, now);
+        }
+
+        return RateLimitCheckResponse.builder()
+                .allowed(true)
+                .remaining(remaining)
+                .resetAt(lease.resetAt)
+                .retryAfter(0)
+                .build();
+    }
+
+    private RateLimitCheckResponse tryLocal(LeaseSlot slot, long windowStart, long resetAt, long now) {
+        Lease lease = slot.lease;
+        if (lease == null || lease.windowStart != windowStart) {
+            return null;
+        }
+        if (lease.exhausted) {
+            return denied(resetAt, now);
+        }
+
+        int left = lease.tokens.decrementAndGet();
+        if (left < 0) {
+            return null;
+        }
+
+        return RateLimitCheckResponse.builder()
+                .allowed(true)
+                .remaining(lease.sharedRemaining + left)
+                .resetAt(resetAt)
+                .retryAfter(0)
+                .build();
+    }
+
+    /**
+     * Size the next chunk to cover targetLeaseMs of local traffic at the rate observed
+     * while the previous chunk was being used.
+     */
+    private int nextChunkSize(LeaseSlot slot, int maxRequests, long now) {
+        int maxChunk = Math.max(minChunk, (int) Math.floor(maxRequests * maxChunkFraction));
+
+        if (slot.lastClaimAt == 0) {
+            return minChunk;
+        }
+
+        long elapsed = Math.max(1, now - slot.lastClaimAt);
+        double ratePerMs = (double) slot.claimedInLease / elapsed;
+        int chunk = (int) Math.ceil(ratePerMs * targetLeaseMs);
+
+        return Math.max(minChunk, Math.min(maxChunk, chunk));
+    }
+
+    /**
+     * Atomically take up to {@code chunk} tokens from the shared window counter
+     * @return [granted, remaining in the shared bucket after the claim]
+     */
+    private int[] claim(String windowKey, int maxRequests, int windowSeconds, int chunk) {
+        String luaScript = """
+            local key = KEYS[1]
+            local max_requests = tonumber(ARGV[1])
+            local window_seconds = tonumber(ARGV[2])
+            local chunk = tonumber(ARGV[3])
+
+            local used = tonumber(redis.call('GET', key) or '0')
+            local granted = math.max(0, math.min(chunk, max_requests - used))
+
+            if granted > 0 then
+                used = redis.call('INCRBY', key, granted)
+                if used == granted then
+                    redis.call('EXPIRE', key, window_seconds)
+                end
+            end
+
+            return {granted, math.max(0, max_requests - used)}
+            """;
+
+        try {
+            String result = redis.eval(
+                    luaScript,
+                    new String[]{windowKey},
+                    String.valueOf(maxRequests),
+                    String.valueOf(windowSeconds),
+                    String.valueOf(chunk)
+            );
+
+            // Parse result: [granted, sharedRemaining]
+            String[] parts = result.replaceAll("[\\[\\]]", "").split(",");
+            return new int[]{Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim())};
+
+        } catch (Exception e) {
+            log.error("Token lease claim failed for key: {}", windowKey, e);
+            throw e;
+        }
+    }
+
+    private RateLimitCheckResponse denied(long resetAt, long now) {
+        return RateLimitCheckResponse.builder()
+                .allowed(false)
+                .remaining(0)
+                .resetAt(resetAt)
+                .retryAfter((int) Math.ceil((resetAt - now) / 1000.0))
+                .build();
+    }
+
+    /**
+     * Drop slots whose lease belongs to a window that has ended
+     */
+    @Scheduled(fixedDelayString = "${ratelimit.token-lease.cleanup-interval-ms:60000}")
+    public void cleanupExpiredLeases() {
+        long now = System.currentTimeMillis();
+        slots.entrySet().removeIf(entry -> {
+            LeaseSlot slot = entry.getValue();
+            Lease lease = slot.lease;
+            return !slot.lock.isLocked() && (lease == null || lease.resetAt <= now);
+        });
+    }
+
+    private static class LeaseSlot {
+        final ReentrantLock lock = new ReentrantLock();
+        volatile Lease lease;
+        volatile long lastClaimAt;
+        volatile int claimedInLease;
+    }
+
+    private static class Lease {
+        final long windowStart;
+        final long resetAt;
+        final AtomicInteger tokens;
+        final int sharedRemaining;
+        final boolean exhausted;
+
+        Lease(long windowStart, long resetAt, int tokens, int sharedRemaining, boolean exhausted) {
+            this.windowStart = windowStart;
+            this.resetAt = resetAt;
+            this.tokens = new AtomicInteger(tokens);
+            this.sharedRemaining = sharedRemaining;
+            this.exhausted = exhausted;
+        }
+    }
+}
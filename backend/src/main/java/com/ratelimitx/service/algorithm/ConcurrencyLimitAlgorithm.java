@@ -0,0 +1,82 @@
+package com.ratelimitx.service.algorithm;
+
+import com.ratelimitx.common.dto.RateLimitCheckResponse;
+import com.ratelimitx.core.algorithm.ConcurrencyLimit;
+import com.ratelimitx.infrastructure.redis.UpstashRedisClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Concurrency Limit Algorithm
+ * Limits in-flight work instead of request rate. Each allowed check acquires a lease
+ * that the client releases when the work is done. Leases live in one sorted set per
+ * key (member = lease id, score = expiry), so leaked leases expire on their own.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ConcurrencyLimitAlgorithm {
+
+    private final UpstashRedisClient redis;
+
+    public RateLimitCheckResponse acquire(String key, int maxConcurrent, int leaseSeconds, String leaseId) {
+        try {
+            return RateLimitCheckResponse.of(ConcurrencyLimit.acquire(redis, key, maxConcurrent, leaseSeconds,
+                    System.currentTimeMillis(), leaseId));
+
+        } catch (Exception e) {
+            log.error("Concurrency limit algorithm failed for key: {}", key, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Release a lease acquired by {@link #acquire}
+     * @return true if the lease was still held
+     */
+    public boolean release(String key, String leaseId) {
+        try {
+            return redis.zrem(key, leaseId) > 0;
+        } catch (Exception e) {
+            log.error("Failed to release lease {} for key: {}", leaseId, key, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Read-only commands for {@link #peekResult}, so peeks can share one pipelined round trip
+     */
+    public List<String[]> peekCommands(String key, int leaseSeconds, long now) {
+        // Leases with expiry at or before now are stale (acquire() removes them inclusively)
+        String min = "(" + now;
+        return List.of(
+                new String[]{"ZCOUNT", key, min, "+inf"},
+                new String[]{"ZRANGEBYSCORE", key, min, "+inf", "WITHSCORES", "LIMIT", "0", "1"}
+        );
+    }
+
+    /**
+     * Evaluate a check without consuming, from the replies to {@link #peekCommands}
+     */
+    public RateLimitCheckResponse peekResult(List<String> values, int maxConcurrent, int leaseSeconds, long now) {
+        int count = values.get(0) != null ? Integer.parseInt(values.get(0)) : 0;
+        boolean allowed = count < maxConcurrent;
+
+        // Earliest expiring lease: ["leaseId","expiry"]
+        long resetAt = now + leaseSeconds * 1000L;
+        String[] earliest = values.get(1) != null ? values.get(1).replaceAll("[\\[\\]\"]", "").split(",") : new String[0];
+        if (earliest.length == 2) {
+            resetAt = (long) Double.parseDouble(earliest[1].trim());
+        }
+
+        return RateLimitCheckResponse.builder()
+                .allowed(allowed)
+                .remaining(Math.max(0, maxConcurrent - count))
+                .resetAt(resetAt)
+                .retryAfter(allowed ? 0 : (int) Math.ceil((resetAt - now) / 1000.0))
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.ratelimitx.service.algorithm;
+
+import com.ratelimitx.common.dto.RateLimitCheckResponse;
+import com.ratelimitx.core.algorithm.Gcra;
+import com.ratelimitx.infrastructure.redis.UpstashRedisClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Generic Cell Rate Algorithm (GCRA)
+ * Stores a single theoretical arrival time (TAT) per key and updates it with one
+ * atomic read-modify-write. Gives smooth limiting with exact retry-after values
+ * and the smallest Redis footprint of all algorithms (one integer, no hashes).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GcraAlgorithm {
+
+    private final UpstashRedisClient redis;
+
+    public RateLimitCheckResponse check(String key, int maxRequests, int windowSeconds) {
+        try {
+            return RateLimitCheckResponse.of(Gcra.check(redis, key, maxRequests, windowSeconds,
+                    System.currentTimeMillis()));
+
+        } catch (Exception e) {
+            log.error("GCRA algorithm failed for key: {}", key, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Non-blocking {@link #check}; completes on a Redis client thread
+     */
+    public CompletableFuture<RateLimitCheckResponse> checkAsync(String key, int maxRequests, int windowSeconds) {
+        return Gcra.checkAsync(redis, key, maxRequests, windowSeconds, System.currentTimeMillis())
+                .thenApply(RateLimitCheckResponse::of);
+    }
+
+    /**
+     * Read-only commands for {@link #peekResult}, so peeks can share one pipelined round trip
+     */
+    public List<String[]> peekCommands(String key, int windowSeconds, long now) {
+        return List.<String[]>of(new String[]{"GET", key});
+    }
+
+    /**
+     * Evaluate a check without consuming, from the replies to {@link #peekCommands}
+     */
+    public RateLimitCheckResponse peekResult(List<String> values, int maxRequests, int windowSeconds, long now) {
+        double emissionInterval = (windowSeconds * 1000.0) / maxRequests;
+        double delayTolerance = emissionInterval * maxRequests;
+
+        double tat = values.get(0) != null ? Double.parseDouble(values.get(0)) : now;
+        tat = Math.max(tat, now);
+        double allowAt = tat + emissionInterval - delayTolerance;
+        boolean allowed = now >= allowAt;
+
+        return RateLimitCheckResponse.builder()
+                .allowed(allowed)
+                .remaining(Math.max(0, (int) Math.floor((now + delayTolerance - tat) / emissionInterval)))
+                .resetAt((long) Math.ceil(tat))
+                .retryAfter(allowed ? 0 : (int) Math.ceil((allowAt - now) / 1000.0))
+                .build();
+    }
+}
@@ -0,0 +1,109 @@
+package com.ratelimitx.service.algorithm;
+
+import com.ratelimitx.common.dto.RateLimitCheckResponse;
+import com.ratelimitx.core.algorithm.SlidingLog;
+import com.ratelimitx.infrastructure.redis.UpstashRedisClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sliding Log Algorithm
+ * Exact accounting: keeps one sorted-set entry per accepted request in the window.
+ * Intended for low-rate, high-value limits (e.g. 5 password resets per hour).
+ * Rules above the configured max-entries fall back to the sliding window counter,
+ * so large limits never pay the per-request ZSET memory.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SlidingLogAlgorithm {
+
+    private final UpstashRedisClient redis;
+    private final SlidingWindowAlgorithm slidingWindow;
+
+    @Value("${ratelimit.sliding-log.max-entries:1000}")
+    private int maxEntries;
+
+    public RateLimitCheckResponse check(String key, int maxRequests, int windowSeconds) {
+        // Memory guard: the log holds up to maxRequests entries per key
+        if (maxRequests > maxEntries) {
+            return slidingWindow.check(key, maxRequests, windowSeconds);
+        }
+
+        try {
+            return RateLimitCheckResponse.of(SlidingLog.check(redis, key, maxRequests, windowSeconds,
+                    System.currentTimeMillis()));
+
+        } catch (Exception e) {
+            log.error("Sliding log algorithm failed for key: {}", key, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Non-blocking {@link #check}; completes on a Redis client thread
+     */
+    public CompletableFuture<RateLimitCheckResponse> checkAsync(String key, int maxRequests, int windowSeconds) {
+        if (!usesLog(maxRequests)) {
+            return slidingWindow.checkAsync(key, maxRequests, windowSeconds);
+        }
+
+        return SlidingLog.checkAsync(redis, key, maxRequests, windowSeconds, System.currentTimeMillis())
+                .thenApply(RateLimitCheckResponse::of);
+    }
+
+    /**
+     * @return false if rules with this limit are served by the sliding window counter instead
+     */
+    public boolean usesLog(int maxRequests) {
+        return maxRequests <= maxEntries;
+    }
+
+    /**
+     * Read-only commands for {@link #peekResult}, so peeks can share one pipelined round trip
+     */
+    public List<String[]> peekCommands(String key, int maxRequests, int windowSeconds, long now) {
+        if (maxRequests > maxEntries) {
+            return slidingWindow.peekCommands(key, windowSeconds, now);
+        }
+
+        // Entries at or before now - window are expired (check() removes them inclusively)
+        String min = "(" + (now - windowSeconds * 1000L);
+        return List.of(
+                new String[]{"ZCOUNT", key, min, "+inf"},
+                new String[]{"ZRANGEBYSCORE", key, min, "+inf", "WITHSCORES", "LIMIT", "0", "1"}
+        );
+    }
+
+    /**
+     * Evaluate a check without consuming, from the replies to {@link #peekCommands}
+     */
+    public RateLimitCheckResponse peekResult(List<String> values, int maxRequests, int windowSeconds, long now) {
+        if (maxRequests > maxEntries) {
+            return slidingWindow.peekResult(values, maxRequests, windowSeconds, now);
+        }
+
+        long windowSizeMs = windowSeconds * 1000L;
+        int count = Math.min(maxRequests, values.get(0) != null ? Integer.parseInt(values.get(0)) : 0);
+        boolean allowed = count < maxRequests;
+
+        // Oldest entry decides when the next slot frees up: ["member","score"]
+        long resetAt = now + windowSizeMs;
+        String[] oldest = values.get(1) != null ? values.get(1).replaceAll("[\\[\\]\"]", "").split(",") : new String[0];
+        if (oldest.length == 2) {
+            resetAt = (long) Double.parseDouble(oldest[1].trim()) + windowSizeMs;
+        }
+
+        return RateLimitCheckResponse.builder()
+                .allowed(allowed)
+                .remaining(Math.max(0, maxRequests - count))
+                .resetAt(resetAt)
+                .retryAfter(allowed ? 0 : (int) Math.ceil((resetAt - now) / 1000.0))
+                .build();
+    }
+}
@@ -1,15 +1,18 @@
 package com.ratelimitx.service.algorithm;
 
 import com.ratelimitx.common.dto.RateLimitCheckResponse;
+import com.ratelimitx.core.algorithm.TokenBucket;
 import com.ratelimitx.infrastructure.redis.UpstashRedisClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
- * Token Bucket Algorithm using atomic Redis commands
- * Note: This has a small race condition window but is acceptable for most use cases
- * For critical applications, use Fixed Window or Sliding Window Counter instead
+ * Token Bucket Algorithm
+ * Refill and take run as one atomic script (see {@link TokenBucket})
  */
 @Component
 @RequiredArgsConstructor
@@ -19,52 +22,52 @@ public class TokenBucketAlgorithm {
     private final UpstashRedisClient redis;
 
     public RateLimitCheckResponse check(String key, int maxTokens, int windowSeconds) {
-        long now = System.currentTimeMillis();
-
         try {
-            // Get current state
-            String tokensStr = redis.hget(key, "tokens");
-            String lastRefillStr = redis.hget(key, "last_refill");
+            return RateLimitCheckResponse.of(TokenBucket.check(redis, key, maxTokens, windowSeconds,
+                    System.currentTimeMillis()));
 
-            double tokens = tokensStr != null && !tokensStr.equals("null")
-                    ? Double.parseDouble(tokensStr) : maxTokens;
-            long lastRefill = lastRefillStr != null && !lastRefillStr.equals("null")
-                    ? Long.parseLong(lastRefillStr) : now;
-
-            // Calculate refill rate (tokens per second)
-            double refillRate = (double) maxTokens / windowSeconds;
+        } catch (Exception e) {
+            log.error("Token bucket algorithm failed for key: {}", key, e);
+            throw e;
+        }
+    }
 
-            // Calculate tokens to add based on elapsed time
-            long elapsedMs = now - lastRefill;
-            double tokensToAdd = (elapsedMs / 1000.0) * refillRate;
-            tokens = Math.min(maxTokens, tokens + tokensToAdd);
+    /**
+     * Non-blocking {@link #check}; completes on a Redis client thread
+     */
+    public CompletableFuture<RateLimitCheckResponse> checkAsync(String key, int maxTokens, int windowSeconds) {
+        return TokenBucket.checkAsync(redis, key, maxTokens, windowSeconds, System.currentTimeMillis())
+                .thenApply(RateLimitCheckResponse::of);
+    }
 
-            // Check if request is allowed
-            boolean allowed = tokens >= 1.0;
+    /**
+     * Read-only commands for {@link #peekResult}, so peeks can share one pipelined round trip
+     */
+    public List<String[]> peekCommands(String key, int windowSeconds, long now) {
+        return List.of(
+                new String[]{"HGET", key, "tokens"},
+                new String[]{"HGET", key, "last_refill"}
+        );
+    }
 
-            if (allowed) {
-                tokens -= 1.0;
-                // Update state with new values
-                redis.hset(key, "tokens", String.format("%.6f", tokens));
-                redis.hset(key, "last_refill", String.valueOf(now));
-                redis.expire(key, windowSeconds * 2);
-            }
+    /**
+     * Evaluate a check without consuming, from the replies to {@link #peekCommands}
+     */
+    public RateLimitCheckResponse peekResult(List<String> values, int maxTokens, int windowSeconds, long now) {
+        double tokens = values.get(0) != null ? Double.parseDouble(values.get(0)) : maxTokens;
+        long lastRefill = values.get(1) != null ? Long.parseLong(values.get(1)) : now;
 
-            int remaining = (int) Math.max(0, Math.floor(tokens));
-            long tokensNeeded = (long) Math.ceil(maxTokens - tokens);
-            long resetAt = now + (long) ((tokensNeeded / refillRate) * 1000);
-            int retryAfter = allowed ? 0 : (int) Math.ceil((1.0 - tokens) / refillRate);
+        double refillRate = (double) maxTokens / windowSeconds;
+        tokens = Math.min(maxTokens, tokens + ((now - lastRefill) / 1000.0) * refillRate);
+        boolean allowed = tokens >= 1.0;
 
-            return RateLimitCheckResponse.builder()
-                    .allowed(allowed)
-                    .remaining(remaining)
-                    .resetAt(resetAt)
-                    .retryAfter(retryAfter)
-                    .build();
+        long tokensNeeded = (long) Math.ceil(maxTokens - tokens);
 
-        } catch (Exception e) {
-            log.error("Token bucket algorithm failed for key: {}", key, e);
-            throw e;
-        }
+        return RateLimitCheckResponse.builder()
+                .allowed(allowed)
+                .remaining((int) Math.max(0, Math.floor(tokens)))
+                .resetAt(now + (long) ((tokensNeeded / refillRate) * 1000))
+                .retryAfter(allowed ? 0 : (int) Math.ceil((1.0 - tokens) / refillRate))
+                .build();
     }
-}
\ No newline at end of file
+}
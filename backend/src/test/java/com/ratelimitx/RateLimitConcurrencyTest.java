@@ -2,6 +2,7 @@ package com.ratelimitx;
 
 import com.ratelimitx.common.dto.RateLimitCheckResponse;
 import com.ratelimitx.service.algorithm.FixedWindowAlgorithm;
+import com.ratelimitx.service.algorithm.GcraAlgorithm;
 import com.ratelimitx.service.algorithm.SlidingWindowAlgorithm;
 import com.ratelimitx.service.algorithm.TokenBucketAlgorithm;
 import lombok.extern.slf4j.Slf4j;
@@ -32,6 +33,9 @@ public class RateLimitConcurrencyTest {
     @Autowired
     private TokenBucketAlgorithm tokenBucket;
     
+    @Autowired
+    private GcraAlgorithm gcra;
+    
     @Test
     public void testFixedWindowConcurrency() throws Exception {
         String testKey = "test:fixed:" + System.currentTimeMillis();
@@ -130,6 +134,53 @@ public class RateLimitConcurrencyTest {
         assertEquals(concurrentRequests, allowedCount.get() + deniedCount.get());
     }
     
+    @Test
+    public void testGcraConcurrency() throws Exception {
+        String testKey = "test:gcra:" + System.currentTimeMillis();
+        int maxRequests = 10;
+        int windowSeconds = 60;
+        int concurrentRequests = 50;
+        
+        AtomicInteger allowedCount = new AtomicInteger(0);
+        AtomicInteger deniedCount = new AtomicInteger(0);
+        
+        ExecutorService executor = Executors.newFixedThreadPool(20);
+        CountDownLatch latch = new CountDownLatch(concurrentRequests);
+        
+        List<Future<RateLimitCheckResponse>> futures = new ArrayList<>();
+        
+        for (int i = 0; i < concurrentRequests; i++) {
+            Future<RateLimitCheckResponse> future = executor.submit(() -> {
+                try {
+                    latch.countDown();
+                    latch.await();
+                    return gcra.check(testKey, maxRequests, windowSeconds);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            futures.add(future);
+        }
+        
+        for (Future<RateLimitCheckResponse> future : futures) {
+            RateLimitCheckResponse response = future.get();
+            if (response.getAllowed()) {
+                allowedCount.incrementAndGet();
+            } else {
+                deniedCount.incrementAndGet();
+                assertTrue(response.getRetryAfter() > 0, "Denied GCRA response must carry retryAfter");
+            }
+        }
+        
+        executor.shutdown();
+        
+        log.info("GCRA Results: Allowed={}, Denied={}", allowedCount.get(), deniedCount.get());
+        
+        // GCRA is a single atomic script, so the burst must be exact
+        assertEquals(maxRequests, allowedCount.get());
+        assertEquals(concurrentRequests, allowedCount.get() + deniedCount.get());
+    }
+    
     @Test
     public void testSequentialRequests() throws Exception {
         String testKey = "test:sequential:" + System.currentTimeMillis();
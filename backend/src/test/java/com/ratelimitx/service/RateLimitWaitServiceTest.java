@@ -0,0 +1,94 @@
+package com.ratelimitx.service;
+
+import com.ratelimitx.common.dto.RateLimitCheckRequest;
+import com.ratelimitx.common.dto.RateLimitCheckResponse;
+import com.ratelimitx.core.Algorithm;
+import com.ratelimitx.core.store.InMemoryRateLimitStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Parked checks against a GCRA limit held in memory (5 per 10s: one request every 2s),
+ * whose resetAt lies far beyond the point where the next request is admitted
+ */
+public class RateLimitWaitServiceTest {
+
+    private static final UUID TENANT = UUID.randomUUID();
+
+    private final InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+    private final RateLimitService rateLimitService = mock(RateLimitService.class);
+    private final RateLimitWaitService waitService =
+            new RateLimitWaitService(rateLimitService, new AdmissionScheduler(mock(TierService.class)), 2);
+
+    private final RateLimitCheckRequest request = RateLimitCheckRequest.builder()
+            .resource("api.search")
+            .identifier("user-1")
+            .build();
+
+    public RateLimitWaitServiceTest() {
+        ReflectionTestUtils.setField(waitService, "maxTimeoutMs", 30_000L);
+        ReflectionTestUtils.setField(waitService, "maxParked", 10);
+        ReflectionTestUtils.setField(waitService, "minRetryMs", 50L);
+        ReflectionTestUtils.setField(waitService, "jitterMs", 10L);
+
+        when(rateLimitService.check(eq(TENANT), any())).thenAnswer(invocation -> RateLimitCheckResponse.of(
+                store.check(Algorithm.GCRA, "k", 5, 10, System.currentTimeMillis())));
+    }
+
+    @AfterEach
+    public void shutdown() {
+        waitService.shutdown();
+    }
+
+    @Test
+    public void testGcraWaitCompletesBeforeResetAt() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(rateLimitService.check(TENANT, request).getAllowed());
+        }
+        RateLimitCheckResponse denied = rateLimitService.check(TENANT, request);
+        assertFalse(denied.getAllowed());
+        assertTrue(denied.getResetAt() - System.currentTimeMillis() > 8000);
+
+        long start = System.currentTimeMillis();
+        RateLimitCheckResponse response = await(waitService.checkAndWait(TENANT, request, 9000, Function.identity()));
+        long waited = System.currentTimeMillis() - start;
+
+        // Admitted after the ~2s emission interval, not at resetAt or the deadline
+        assertTrue(response.getAllowed());
+        assertTrue(waited < 4000, "waited " + waited + "ms");
+    }
+
+    @Test
+    public void testDenialReturnedAtDeadline() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            rateLimitService.check(TENANT, request);
+        }
+
+        long start = System.currentTimeMillis();
+        RateLimitCheckResponse response = await(waitService.checkAndWait(TENANT, request, 500, Function.identity()));
+        long waited = System.currentTimeMillis() - start;
+
+        assertFalse(response.getAllowed());
+        assertTrue(waited >= 400 && waited < 2000, "waited " + waited + "ms");
+    }
+
+    private static RateLimitCheckResponse await(DeferredResult<RateLimitCheckResponse> result) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (!result.hasResult() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(result.hasResult());
+        return (RateLimitCheckResponse) result.getResult();
+    }
+}
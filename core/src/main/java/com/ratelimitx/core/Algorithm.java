@@ -0,0 +1,5 @@
+package com.ratelimitx.core;
+
+public enum Algorithm {
+    TOKEN_BUCKET, SLIDING_WINDOW, FIXED_WINDOW, GCRA, SLIDING_LOG, CONCURRENCY
+}
@@ -0,0 +1,53 @@
+package com.ratelimitx.core;
+
+/**
+ * Outcome of a check against one or more rules
+ *
+ * @param resetAt    epoch millis when the limit has fully recovered
+ * @param retryAfter seconds until a denied check may succeed, 0 when allowed
+ * @param leaseId    set when a CONCURRENCY rule acquired a lease that must be released
+ */
+public record Decision(boolean allowed, int remaining, long resetAt, int retryAfter, String leaseId) {
+
+    public Decision(boolean allowed, int remaining, long resetAt, int retryAfter) {
+        this(allowed, remaining, resetAt, retryAfter, null);
+    }
+
+    public Decision withLeaseId(String leaseId) {
+        return new Decision(allowed, remaining, resetAt, retryAfter, leaseId);
+    }
+
+    /**
+     * Answer when no rule applies (or every rule failed open)
+     */
+    public static Decision unlimited(long now) {
+        return new Decision(true, 999, now + 3600000, 0);
+    }
+
+    /**
+     * Answer when the store fails and the limiter fails closed
+     */
+    public static Decision failClosed(long now) {
+        return new Decision(false, 0, now + 60000, 60);
+    }
+
+    /**
+     * Parse an algorithm script reply: [allowed, remaining, resetAt, retryAfter]
+     */
+    public static Decision fromReply(String reply) {
+        long[] values = parseReply(reply);
+        return new Decision(values[0] == 1, (int) values[1], values[2], (int) values[3]);
+    }
+
+    /**
+     * Integers of a script's array reply as returned by Upstash, e.g. "[1,4,1700000000000,0]"
+     */
+    public static long[] parseReply(String reply) {
+        String[] parts = reply.replaceAll("[\\[\\]]", "").split(",");
+        long[] values = new long[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Long.parseLong(parts[i].trim());
+        }
+        return values;
+    }
+}
@@ -0,0 +1,7 @@
+package com.ratelimitx.core;
+
+public enum LimitScope {
+    GLOBAL,      // Applies to entire tenant
+    RESOURCE,    // Applies to specific resource/endpoint
+    IDENTIFIER   // Applies to specific identifier (user/IP)
+}
@@ -0,0 +1,44 @@
+package com.ratelimitx.core;
+
+import java.util.UUID;
+
+/**
+ * Store keys for rule counters. Every node, embedded limiter and data-plane service builds
+ * the same key for the same check, which is what lets them share counters in Redis.
+ */
+public final class RateLimitKeys {
+
+    private RateLimitKeys() {
+    }
+
+    /**
+     * Reject input that could inject into a Redis key
+     * @throws IllegalArgumentException on a missing resource or invalid characters
+     */
+    public static void validate(String resource, String identifier) {
+        if (resource == null || resource.trim().isEmpty()) {
+            throw new IllegalArgumentException("Resource cannot be empty");
+        }
+
+        if (resource.contains(":") || resource.contains(" ") || resource.contains("\n")) {
+            throw new IllegalArgumentException("Invalid characters in resource");
+        }
+
+        if (identifier != null && (identifier.contains(":") || identifier.contains(" ") || identifier.contains("\n"))) {
+            throw new IllegalArgumentException("Invalid characters in identifier");
+        }
+    }
+
+    public static String build(UUID tenantId, RuleDefinition rule, String resource, String identifier) {
+        // Sanitize inputs (already validated, but extra safety)
+        String sanitizedResource = resource.replaceAll("[^a-zA-Z0-9_-]", "_");
+        String sanitizedIdentifier = identifier != null ? identifier.replaceAll("[^a-zA-Z0-9_-]", "_") : "";
+
+        return switch (rule.getLimitScope()) {
+            case GLOBAL -> String.format("rl:%s:global:%s", tenantId, rule.getId());
+            case RESOURCE -> String.format("rl:%s:res:%s:%s", tenantId, sanitizedResource, rule.getId());
+            case IDENTIFIER -> String.format("rl:%s:id:%s:%s:%s",
+                    tenantId, sanitizedResource, sanitizedIdentifier, rule.getId());
+        };
+    }
+}
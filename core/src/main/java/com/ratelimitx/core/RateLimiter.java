@@ -0,0 +1,193 @@
+package com.ratelimitx.core;
+
+import com.ratelimitx.core.store.RateLimitStore;
+
+import java.lang.System.Logger.Level;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Checks requests against rules inside the calling process. Same rule matching, keys and
+ * "most restrictive wins" evaluation as the service; counters live in the given store.
+ *
+ * <pre>{@code
+ * RateLimiter limiter = RateLimiter.builder()
+ *         .store(new InMemoryRateLimitStore())
+ *         .rules(RuleSource.of(rules))
+ *         .build();
+ *
+ * if (!limiter.check("api.search", userId).allowed()) { ... }
+ * }</pre>
+ */
+public final class RateLimiter {
+
+    private static final System.Logger log = System.getLogger(RateLimiter.class.getName());
+
+    private final RateLimitStore store;
+    private final RuleSource rules;
+    private final boolean failOpen;
+    private final LongSupplier clock;
+
+    private RateLimiter(Builder builder) {
+        this.store = Objects.requireNonNull(builder.store, "store");
+        this.rules = builder.rules != null ? builder.rules : RuleSource.of(List.of());
+        this.failOpen = builder.failOpen;
+        this.clock = builder.clock;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Check and count one request against the rules that apply to it
+     * @throws IllegalArgumentException on an invalid resource or identifier
+     */
+    public Decision check(String resource, String identifier) {
+        RateLimitKeys.validate(resource, identifier);
+        return evaluate(RuleMatcher.applicable(List.copyOf(rules.rules()), resource, identifier), resource, identifier);
+    }
+
+    /**
+     * Evaluate already matched rules in order; the first denial wins, otherwise the allow
+     * with the fewest remaining. A store failure skips the rule (fail open) or denies.
+     */
+    public Decision evaluate(List<? extends RuleDefinition> matchedRules, String resource, String identifier) {
+        long now = clock.getAsLong();
+        Decision result = null;
+
+        // One lease id per check, shared by all CONCURRENCY rules it passes
+        String leaseId = null;
+        List<String> leasedKeys = new ArrayList<>();
+
+        for (RuleDefinition rule : matchedRules) {
+            String key = RateLimitKeys.build(rule.getTenantId(), rule, resource, identifier);
+
+            if (rule.getAlgorithm() == Algorithm.CONCURRENCY && leaseId == null) {
+                leaseId = UUID.randomUUID().toString();
+            }
+
+            Decision decision;
+            try {
+                decision = apply(rule, key, now, leaseId);
+            } catch (RuntimeException e) {
+                // Expected while the store is down; the caller sees it in the decisions
+                log.log(Level.DEBUG, "Rate limit store failed for rule " + rule.getId(), e);
+                if (!failOpen) {
+                    releaseLeases(leasedKeys, leaseId);
+                    return Decision.failClosed(now);
+                }
+                continue;
+            }
+
+            if (!decision.allowed()) {
+                // Give back leases taken by earlier rules
+                releaseLeases(leasedKeys, leaseId);
+                return decision;
+            }
+
+            if (decision.leaseId() != null) {
+                leasedKeys.add(key);
+            }
+            if (result == null || decision.remaining() < result.remaining()) {
+                result = decision;
+            }
+        }
+
+        if (result == null) {
+            result = Decision.unlimited(now);
+        }
+        return leasedKeys.isEmpty() ? result.withLeaseId(null) : result.withLeaseId(leaseId);
+    }
+
+    /**
+     * Release the lease of a check against CONCURRENCY rules
+     * @return number of rules whose lease was still held
+     */
+    public int release(String resource, String identifier, String leaseId) {
+        RateLimitKeys.validate(resource, identifier);
+        return release(RuleMatcher.applicable(List.copyOf(rules.rules()), resource, identifier),
+                resource, identifier, leaseId);
+    }
+
+    /**
+     * {@link #release(String, String, String)} for already matched rules
+     */
+    public int release(List<? extends RuleDefinition> matchedRules, String resource, String identifier,
+                       String leaseId) {
+        if (leaseId == null || leaseId.isBlank()) {
+            throw new IllegalArgumentException("Lease ID is required");
+        }
+
+        int released = 0;
+        for (RuleDefinition rule : matchedRules) {
+            if (rule.getAlgorithm() == Algorithm.CONCURRENCY
+                    && store.release(RateLimitKeys.build(rule.getTenantId(), rule, resource, identifier), leaseId)) {
+                released++;
+            }
+        }
+        return released;
+    }
+
+    private Decision apply(RuleDefinition rule, String key, long now, String leaseId) {
+        if (rule.getAlgorithm() == Algorithm.CONCURRENCY) {
+            // maxRequests = max in-flight, windowSeconds = lease TTL
+            return store.acquire(key, rule.getMaxRequests(), rule.getWindowSeconds(), now, leaseId);
+        }
+        return store.check(rule.getAlgorithm(), key, rule.getMaxRequests(), rule.getWindowSeconds(), now);
+    }
+
+    private void releaseLeases(List<String> leasedKeys, String leaseId) {
+        for (String key : leasedKeys) {
+            try {
+                store.release(key, leaseId);
+            } catch (RuntimeException e) {
+                // Lease expires on its own
+                log.log(Level.WARNING, "Failed to release lease for key " + key, e);
+            }
+        }
+    }
+
+    public static final class Builder {
+        private RateLimitStore store;
+        private RuleSource rules;
+        private boolean failOpen = true;
+        private LongSupplier clock = System::currentTimeMillis;
+
+        private Builder() {
+        }
+
+        public Builder store(RateLimitStore store) {
+            this.store = store;
+            return this;
+        }
+
+        public Builder rules(RuleSource rules) {
+            this.rules = rules;
+            return this;
+        }
+
+        /**
+         * Allow checks when the store fails (default); otherwise deny them
+         */
+        public Builder failOpen(boolean failOpen) {
+            this.failOpen = failOpen;
+            return this;
+        }
+
+        /**
+         * Epoch millis source, for tests
+         */
+        public Builder clock(LongSupplier clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public RateLimiter build() {
+            return new RateLimiter(this);
+        }
+    }
+}
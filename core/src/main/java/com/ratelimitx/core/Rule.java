@@ -0,0 +1,101 @@
+package com.ratelimitx.core;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * An active rule as synced from the server or defined by the embedding application
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class Rule implements RuleDefinition {
+
+    private final UUID id;
+    private final UUID tenantId;
+    private final String resource;
+    private final Algorithm algorithm;
+    private final int maxRequests;
+    private final int windowSeconds;
+    private final LimitScope limitScope;
+    private final int priority;
+
+    @JsonCreator
+    public Rule(@JsonProperty("id") UUID id,
+                @JsonProperty("tenantId") UUID tenantId,
+                @JsonProperty("resource") String resource,
+                @JsonProperty("algorithm") Algorithm algorithm,
+                @JsonProperty("maxRequests") int maxRequests,
+                @JsonProperty("windowSeconds") int windowSeconds,
+                @JsonProperty("limitScope") LimitScope limitScope,
+                @JsonProperty("priority") int priority) {
+        if (maxRequests <= 0 || windowSeconds <= 0) {
+            throw new IllegalArgumentException("maxRequests and windowSeconds must be positive");
+        }
+        this.id = Objects.requireNonNull(id, "id");
+        this.tenantId = Objects.requireNonNull(tenantId, "tenantId");
+        this.resource = Objects.requireNonNull(resource, "resource");
+        this.algorithm = Objects.requireNonNull(algorithm, "algorithm");
+        this.maxRequests = maxRequests;
+        this.windowSeconds = windowSeconds;
+        this.limitScope = limitScope != null ? limitScope : LimitScope.RESOURCE;
+        this.priority = priority;
+    }
+
+    /**
+     * Copy of any rule definition, e.g. to hand server rules to an embedded limiter
+     */
+    public static Rule of(RuleDefinition rule) {
+        return new Rule(rule.getId(), rule.getTenantId(), rule.getResource(), rule.getAlgorithm(),
+                rule.getMaxRequests(), rule.getWindowSeconds(), rule.getLimitScope(),
+                rule.getPriority() != null ? rule.getPriority() : 0);
+    }
+
+    @Override
+    public UUID getId() {
+        return id;
+    }
+
+    @Override
+    public UUID getTenantId() {
+        return tenantId;
+    }
+
+    @Override
+    public String getResource() {
+        return resource;
+    }
+
+    @Override
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    @Override
+    public Integer getMaxRequests() {
+        return maxRequests;
+    }
+
+    @Override
+    public Integer getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    @Override
+    public LimitScope getLimitScope() {
+        return limitScope;
+    }
+
+    @Override
+    public Integer getPriority() {
+        return priority;
+    }
+
+    @Override
+    public String toString() {
+        return "Rule{" + id + ", " + limitScope + " " + resource + ": " + algorithm + " "
+                + maxRequests + "/" + windowSeconds + "s}";
+    }
+}
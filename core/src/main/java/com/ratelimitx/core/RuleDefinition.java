@@ -0,0 +1,38 @@
+package com.ratelimitx.core;
+
+import java.util.UUID;
+
+/**
+ * What matching, key building and evaluation need to know about a rule.
+ * Implemented by {@link Rule} and by the server's rule entity.
+ */
+public interface RuleDefinition {
+
+    UUID getId();
+
+    UUID getTenantId();
+
+    /**
+     * Resource name, or "*" for every resource
+     */
+    String getResource();
+
+    Algorithm getAlgorithm();
+
+    /**
+     * Requests per window; for CONCURRENCY, requests in flight
+     */
+    Integer getMaxRequests();
+
+    /**
+     * Window length; for CONCURRENCY, the lease TTL
+     */
+    Integer getWindowSeconds();
+
+    LimitScope getLimitScope();
+
+    /**
+     * Higher priority is evaluated first
+     */
+    Integer getPriority();
+}
@@ -0,0 +1,32 @@
+package com.ratelimitx.core;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Which of a tenant's active rules apply to a check
+ */
+public final class RuleMatcher {
+
+    private RuleMatcher() {
+    }
+
+    /**
+     * Rules out of a tenant's active rules that apply to a request, highest priority first
+     */
+    public static <R extends RuleDefinition> List<R> applicable(List<R> rules, String resource, String identifier) {
+        return rules.stream()
+                .filter(rule -> switch (rule.getLimitScope()) {
+                    case GLOBAL -> true;
+                    case RESOURCE -> matchesResource(rule, resource);
+                    // Ensure identifier is present for IDENTIFIER scope
+                    case IDENTIFIER -> identifier != null && !identifier.isEmpty() && matchesResource(rule, resource);
+                })
+                .sorted(Comparator.comparing((R rule) -> rule.getPriority() != null ? rule.getPriority() : 0).reversed())
+                .toList();
+    }
+
+    private static boolean matchesResource(RuleDefinition rule, String resource) {
+        return rule.getResource().equals(resource) || rule.getResource().equals("*");
+    }
+}
@@ -0,0 +1,20 @@
+package com.ratelimitx.core;
+
+import java.util.List;
+
+/**
+ * Supplies the active rules a {@link RateLimiter} checks against; read on every check
+ */
+@FunctionalInterface
+public interface RuleSource {
+
+    List<? extends RuleDefinition> rules();
+
+    /**
+     * Fixed rules, e.g. defined in code or loaded once from configuration
+     */
+    static RuleSource of(List<? extends RuleDefinition> rules) {
+        List<? extends RuleDefinition> copy = List.copyOf(rules);
+        return () -> copy;
+    }
+}
@@ -0,0 +1,104 @@
+package com.ratelimitx.core.algorithm;
+
+import com.ratelimitx.core.Decision;
+import com.ratelimitx.core.store.ScriptExecutor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Concurrency limit: bounds in-flight work instead of request rate. Each allowed check
+ * acquires a lease that is released when the work is done. Leases live in one sorted set
+ * per key (member = lease id, score = expiry), so leaked leases expire on their own.
+ */
+public final class ConcurrencyLimit {
+
+    // Lua script for atomic expire + count + acquire
+    static final String ACQUIRE_SCRIPT = """
+        local key = KEYS[1]
+        local max_concurrent = tonumber(ARGV[1])
+        local lease_ms = tonumber(ARGV[2])
+        local now = tonumber(ARGV[3])
+        local lease_id = ARGV[4]
+
+        -- Drop leases that were never released
+        redis.call('ZREMRANGEBYSCORE', key, '-inf', now)
+
+        local count = redis.call('ZCARD', key)
+
+        local allowed = 0
+        if count < max_concurrent then
+            allowed = 1
+            redis.call('ZADD', key, now + lease_ms, lease_id)
+            redis.call('PEXPIRE', key, lease_ms)
+            count = count + 1
+        end
+
+        -- Earliest expiring lease decides when a slot frees up at the latest
+        local reset_at = now + lease_ms
+        local earliest = redis.call('ZRANGE', key, 0, 0, 'WITHSCORES')
+        if earliest[2] then
+            reset_at = tonumber(earliest[2])
+        end
+
+        local remaining = math.max(0, max_concurrent - count)
+        local retry_after = 0
+
+        if allowed == 0 then
+            retry_after = math.ceil((reset_at - now) / 1000)
+        end
+
+        return {allowed, remaining, reset_at, retry_after}
+        """;
+
+    static final String RELEASE_SCRIPT = """
+        return redis.call('ZREM', KEYS[1], ARGV[1])
+        """;
+
+    private ConcurrencyLimit() {
+    }
+
+    /**
+     * @return the decision, carrying leaseId if the lease was acquired
+     */
+    public static Decision acquire(ScriptExecutor redis, String key, int maxConcurrent, int leaseSeconds,
+                                   long now, String leaseId) {
+        Decision decision = Decision.fromReply(redis.eval(ACQUIRE_SCRIPT, new String[]{key},
+                String.valueOf(maxConcurrent), String.valueOf(leaseSeconds * 1000L), String.valueOf(now), leaseId));
+        return decision.allowed() ? decision.withLeaseId(leaseId) : decision;
+    }
+
+    /**
+     * @return true if the lease was still held
+     */
+    public static boolean release(ScriptExecutor redis, String key, String leaseId) {
+        return Long.parseLong(redis.eval(RELEASE_SCRIPT, new String[]{key}, leaseId).trim()) > 0;
+    }
+
+    /**
+     * Same acquire on in-process state
+     */
+    public static Decision acquire(State state, int maxConcurrent, int leaseSeconds, long now, String leaseId) {
+        long leaseMs = leaseSeconds * 1000L;
+        state.leases.values().removeIf(expiry -> expiry <= now);
+
+        boolean allowed = state.leases.size() < maxConcurrent;
+        if (allowed) {
+            state.leases.put(leaseId, now + leaseMs);
+        }
+        state.expiresAt = state.leases.values().stream().mapToLong(Long::longValue).max().orElse(now);
+
+        long resetAt = state.leases.values().stream().mapToLong(Long::longValue).min().orElse(now + leaseMs);
+        Decision decision = new Decision(allowed, Math.max(0, maxConcurrent - state.leases.size()), resetAt,
+                allowed ? 0 : (int) Math.ceil((resetAt - now) / 1000.0));
+        return allowed ? decision.withLeaseId(leaseId) : decision;
+    }
+
+    public static boolean release(State state, String leaseId) {
+        return state.leases.remove(leaseId) != null;
+    }
+
+    public static final class State extends LocalState {
+        private final Map<String, Long> leases = new HashMap<>();
+    }
+}
@@ -0,0 +1,108 @@
+package com.ratelimitx.core.algorithm;
+
+import com.ratelimitx.core.Decision;
+import com.ratelimitx.core.store.ScriptExecutor;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Fixed window counter: one counter per key and aligned window
+ */
+public final class FixedWindow {
+
+    // Lua script for atomic fixed window operations
+    static final String SCRIPT = """
+        local key = KEYS[1]
+        local max_requests = tonumber(ARGV[1])
+        local window_seconds = tonumber(ARGV[2])
+        local window_start = tonumber(ARGV[3])
+        local now = tonumber(ARGV[4])
+        
+        -- Get current count
+        local count = redis.call('GET', key)
+        
+        if not count then
+            count = 0
+        else
+            count = tonumber(count)
+        end
+        
+        local allowed = 0
+        if count < max_requests then
+            allowed = 1
+            count = redis.call('INCR', key)
+            
+            -- Set expiration only on first increment
+            if count == 1 then
+                redis.call('EXPIRE', key, window_seconds)
+            end
+        else
+            count = count + 1  -- For accurate remaining calculation
+        end
+        
+        local remaining = math.max(0, max_requests - count)
+        local reset_at = window_start + (window_seconds * 1000)
+        local retry_after = 0
+        
+        if allowed == 0 then
+            retry_after = math.ceil((reset_at - now) / 1000)
+        end
+        
+        return {allowed, remaining, reset_at, retry_after}
+        """;
+
+    private FixedWindow() {
+    }
+
+    public static Decision check(ScriptExecutor redis, String key, int maxRequests, int windowSeconds, long now) {
+        long windowStart = windowStart(now, windowSeconds);
+        return Decision.fromReply(redis.eval(SCRIPT, new String[]{key + ":" + windowStart},
+                args(maxRequests, windowSeconds, windowStart, now)));
+    }
+
+    public static CompletableFuture<Decision> checkAsync(ScriptExecutor redis, String key, int maxRequests,
+                                                         int windowSeconds, long now) {
+        long windowStart = windowStart(now, windowSeconds);
+        return redis.evalAsync(SCRIPT, new String[]{key + ":" + windowStart},
+                        args(maxRequests, windowSeconds, windowStart, now))
+                .thenApply(Decision::fromReply);
+    }
+
+    /**
+     * Same check on in-process state
+     */
+    public static Decision check(State state, int maxRequests, int windowSeconds, long now) {
+        long windowStart = windowStart(now, windowSeconds);
+        long resetAt = windowStart + windowSeconds * 1000L;
+        if (state.windowStart != windowStart) {
+            state.windowStart = windowStart;
+            state.count = 0;
+            state.expiresAt = resetAt;
+        }
+
+        boolean allowed = state.count < maxRequests;
+        if (allowed) {
+            state.count++;
+        }
+
+        return new Decision(allowed, allowed ? maxRequests - state.count : 0, resetAt,
+                allowed ? 0 : (int) Math.ceil((resetAt - now) / 1000.0));
+    }
+
+    /**
+     * Window boundary aligned to the window size
+     */
+    public static long windowStart(long now, int windowSeconds) {
+        return (now / (windowSeconds * 1000L)) * (windowSeconds * 1000L);
+    }
+
+    private static String[] args(int maxRequests, int windowSeconds, long windowStart, long now) {
+        return new String[]{String.valueOf(maxRequests), String.valueOf(windowSeconds),
+                String.valueOf(windowStart), String.valueOf(now)};
+    }
+
+    public static final class State extends LocalState {
+        private long windowStart = -1;
+        private int count;
+    }
+}
@@ -0,0 +1,93 @@
+package com.ratelimitx.core.algorithm;
+
+import com.ratelimitx.core.Decision;
+import com.ratelimitx.core.store.ScriptExecutor;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Generic Cell Rate Algorithm (GCRA)
+ * Stores a single theoretical arrival time (TAT) per key and updates it with one
+ * atomic read-modify-write.
+ */
+public final class Gcra {
+
+    // Lua script for atomic GCRA operations
+    static final String SCRIPT = """
+        local key = KEYS[1]
+        local emission_interval = tonumber(ARGV[1])
+        local delay_tolerance = tonumber(ARGV[2])
+        local now = tonumber(ARGV[3])
+
+        local tat = tonumber(redis.call('GET', key))
+        if not tat or tat < now then
+            tat = now
+        end
+
+        local new_tat = tat + emission_interval
+        local allow_at = new_tat - delay_tolerance
+
+        local allowed = 0
+        local retry_after = 0
+
+        if now >= allow_at then
+            allowed = 1
+            tat = new_tat
+            -- Key lives only as long as it carries state
+            redis.call('SET', key, math.ceil(tat), 'PX', math.ceil(tat - now))
+        else
+            retry_after = math.ceil((allow_at - now) / 1000)
+        end
+
+        local remaining = math.max(0, math.floor((now + delay_tolerance - tat) / emission_interval))
+        local reset_at = math.ceil(tat)
+
+        return {allowed, remaining, reset_at, retry_after}
+        """;
+
+    private Gcra() {
+    }
+
+    public static Decision check(ScriptExecutor redis, String key, int maxRequests, int windowSeconds, long now) {
+        return Decision.fromReply(redis.eval(SCRIPT, new String[]{key}, args(maxRequests, windowSeconds, now)));
+    }
+
+    public static CompletableFuture<Decision> checkAsync(ScriptExecutor redis, String key, int maxRequests,
+                                                         int windowSeconds, long now) {
+        return redis.evalAsync(SCRIPT, new String[]{key}, args(maxRequests, windowSeconds, now))
+                .thenApply(Decision::fromReply);
+    }
+
+    /**
+     * Same check on in-process state
+     */
+    public static Decision check(State state, int maxRequests, int windowSeconds, long now) {
+        double emissionInterval = (windowSeconds * 1000.0) / maxRequests;
+        double delayTolerance = emissionInterval * maxRequests;
+
+        double tat = Math.max(state.isExpired(now) ? now : state.tat, now);
+        double allowAt = tat + emissionInterval - delayTolerance;
+
+        boolean allowed = now >= allowAt;
+        if (allowed) {
+            tat += emissionInterval;
+            state.tat = Math.ceil(tat);
+            state.expiresAt = (long) Math.ceil(tat);
+        }
+
+        return new Decision(allowed, Math.max(0, (int) Math.floor((now + delayTolerance - tat) / emissionInterval)),
+                (long) Math.ceil(tat), allowed ? 0 : (int) Math.ceil((allowAt - now) / 1000.0));
+    }
+
+    private static String[] args(int maxRequests, int windowSeconds, long now) {
+        // Time between two requests at the sustained rate, in milliseconds
+        double emissionInterval = (windowSeconds * 1000.0) / maxRequests;
+        // How far the TAT may run ahead of now (allows a burst of maxRequests)
+        double delayTolerance = emissionInterval * maxRequests;
+        return new String[]{String.valueOf(emissionInterval), String.valueOf(delayTolerance), String.valueOf(now)};
+    }
+
+    public static final class State extends LocalState {
+        private double tat;
+    }
+}
@@ -0,0 +1,14 @@
+package com.ratelimitx.core.algorithm;
+
+/**
+ * Per-key state of an algorithm evaluated in process. Like its Redis key, the state
+ * expires once it no longer affects decisions.
+ */
+public abstract class LocalState {
+
+    long expiresAt;
+
+    public boolean isExpired(long now) {
+        return expiresAt <= now;
+    }
+}
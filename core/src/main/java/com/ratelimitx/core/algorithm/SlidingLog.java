@@ -0,0 +1,104 @@
+package com.ratelimitx.core.algorithm;
+
+import com.ratelimitx.core.Decision;
+import com.ratelimitx.core.store.ScriptExecutor;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sliding log: exact accounting with one sorted-set entry per accepted request in the window.
+ * Meant for low limits; callers serve limits above their max log size with {@link SlidingWindow}.
+ */
+public final class SlidingLog {
+
+    // Lua script for atomic trim + count + add
+    static final String SCRIPT = """
+        local key = KEYS[1]
+        local max_requests = tonumber(ARGV[1])
+        local window_ms = tonumber(ARGV[2])
+        local now = tonumber(ARGV[3])
+        local member = ARGV[4]
+
+        -- Drop entries that left the window
+        redis.call('ZREMRANGEBYSCORE', key, '-inf', now - window_ms)
+
+        local count = redis.call('ZCARD', key)
+
+        -- Cap the log size (e.g. after the limit of a rule was lowered)
+        if count > max_requests then
+            redis.call('ZREMRANGEBYRANK', key, 0, count - max_requests - 1)
+            count = max_requests
+        end
+
+        local allowed = 0
+        if count < max_requests then
+            allowed = 1
+            redis.call('ZADD', key, now, member)
+            redis.call('PEXPIRE', key, window_ms)
+            count = count + 1
+        end
+
+        -- Oldest entry decides when the next slot frees up
+        local reset_at = now + window_ms
+        local oldest = redis.call('ZRANGE', key, 0, 0, 'WITHSCORES')
+        if oldest[2] then
+            reset_at = tonumber(oldest[2]) + window_ms
+        end
+
+        local remaining = math.max(0, max_requests - count)
+        local retry_after = 0
+
+        if allowed == 0 then
+            retry_after = math.ceil((reset_at - now) / 1000)
+        end
+
+        return {allowed, remaining, reset_at, retry_after}
+        """;
+
+    private SlidingLog() {
+    }
+
+    public static Decision check(ScriptExecutor redis, String key, int maxRequests, int windowSeconds, long now) {
+        return Decision.fromReply(redis.eval(SCRIPT, new String[]{key}, args(maxRequests, windowSeconds, now)));
+    }
+
+    public static CompletableFuture<Decision> checkAsync(ScriptExecutor redis, String key, int maxRequests,
+                                                         int windowSeconds, long now) {
+        return redis.evalAsync(SCRIPT, new String[]{key}, args(maxRequests, windowSeconds, now))
+                .thenApply(Decision::fromReply);
+    }
+
+    /**
+     * Same check on in-process state
+     */
+    public static Decision check(State state, int maxRequests, int windowSeconds, long now) {
+        long windowSizeMs = windowSeconds * 1000L;
+        ArrayDeque<Long> log = state.entries;
+
+        while (!log.isEmpty() && (log.peekFirst() <= now - windowSizeMs || log.size() > maxRequests)) {
+            log.pollFirst();
+        }
+
+        boolean allowed = log.size() < maxRequests;
+        if (allowed) {
+            log.addLast(now);
+            state.expiresAt = now + windowSizeMs;
+        }
+
+        long resetAt = log.isEmpty() ? now + windowSizeMs : log.peekFirst() + windowSizeMs;
+        return new Decision(allowed, Math.max(0, maxRequests - log.size()), resetAt,
+                allowed ? 0 : (int) Math.ceil((resetAt - now) / 1000.0));
+    }
+
+    private static String[] args(int maxRequests, int windowSeconds, long now) {
+        String member = now + "-" + Integer.toHexString(ThreadLocalRandom.current().nextInt());
+        return new String[]{String.valueOf(maxRequests), String.valueOf(windowSeconds * 1000L),
+                String.valueOf(now), member};
+    }
+
+    public static final class State extends LocalState {
+        private final ArrayDeque<Long> entries = new ArrayDeque<>();
+    }
+}
@@ -0,0 +1,121 @@
+package com.ratelimitx.core.algorithm;
+
+import com.ratelimitx.core.Decision;
+import com.ratelimitx.core.store.ScriptExecutor;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sliding window counter: the previous window's count, weighted by how much of it still
+ * overlaps the sliding window, plus the current window's count. One counter per window.
+ */
+public final class SlidingWindow {
+
+    // Lua script for atomic read of both windows + increment
+    static final String SCRIPT = """
+        local current_key = KEYS[1]
+        local previous_key = KEYS[2]
+        local max_requests = tonumber(ARGV[1])
+        local window_seconds = tonumber(ARGV[2])
+        local previous_weight = tonumber(ARGV[3])
+
+        local current = tonumber(redis.call('GET', current_key) or '0')
+        local previous = tonumber(redis.call('GET', previous_key) or '0')
+        local estimated = previous * previous_weight + current
+
+        local allowed = 0
+        if estimated < max_requests then
+            allowed = 1
+            current = redis.call('INCR', current_key)
+            -- Keep for 2 windows to support sliding calculation
+            if current == 1 then
+                redis.call('EXPIRE', current_key, window_seconds * 2)
+            end
+            estimated = previous * previous_weight + current
+        end
+
+        return {allowed, math.max(0, math.floor(max_requests - estimated))}
+        """;
+
+    private SlidingWindow() {
+    }
+
+    public static Decision check(ScriptExecutor redis, String key, int maxRequests, int windowSeconds, long now) {
+        Window window = new Window(now, windowSeconds);
+        return window.decision(Decision.parseReply(redis.eval(SCRIPT, window.keys(key),
+                window.args(maxRequests, windowSeconds))), now);
+    }
+
+    public static CompletableFuture<Decision> checkAsync(ScriptExecutor redis, String key, int maxRequests,
+                                                         int windowSeconds, long now) {
+        Window window = new Window(now, windowSeconds);
+        return redis.evalAsync(SCRIPT, window.keys(key), window.args(maxRequests, windowSeconds))
+                .thenApply(reply -> window.decision(Decision.parseReply(reply), now));
+    }
+
+    /**
+     * Same check on in-process state
+     */
+    public static Decision check(State state, int maxRequests, int windowSeconds, long now) {
+        Window window = new Window(now, windowSeconds);
+        long windowSizeMs = windowSeconds * 1000L;
+
+        // Slide forward: the old current window becomes the previous one, or both are stale
+        if (state.currentStart != window.currentStart) {
+            state.previous = state.currentStart == window.currentStart - windowSizeMs ? state.current : 0;
+            state.current = 0;
+            state.currentStart = window.currentStart;
+        }
+
+        double estimated = state.previous * window.previousWeight + state.current;
+        boolean allowed = estimated < maxRequests;
+        if (allowed) {
+            state.current++;
+            state.expiresAt = window.currentStart + windowSizeMs * 2;
+            estimated = state.previous * window.previousWeight + state.current;
+        }
+
+        return window.decision(new long[]{allowed ? 1 : 0, Math.max(0, (long) Math.floor(maxRequests - estimated))}, now);
+    }
+
+    /**
+     * Boundaries of the current window and the weight of the previous one
+     */
+    private static final class Window {
+        final long currentStart;
+        final long previousStart;
+        final double previousWeight;
+
+        Window(long now, int windowSeconds) {
+            long windowSizeMs = windowSeconds * 1000L;
+            this.currentStart = (now / windowSizeMs) * windowSizeMs;
+            this.previousStart = currentStart - windowSizeMs;
+            this.previousWeight = 1.0 - (double) (now - currentStart) / windowSizeMs;
+        }
+
+        String[] keys(String key) {
+            return new String[]{key + ":" + currentStart, key + ":" + previousStart};
+        }
+
+        String[] args(int maxRequests, int windowSeconds) {
+            return new String[]{String.valueOf(maxRequests), String.valueOf(windowSeconds),
+                    String.valueOf(previousWeight)};
+        }
+
+        /**
+         * Script reply [allowed, remaining] plus the window end
+         */
+        Decision decision(long[] reply, long now) {
+            boolean allowed = reply[0] == 1;
+            long resetAt = currentStart + (currentStart - previousStart);
+            return new Decision(allowed, (int) reply[1], resetAt,
+                    allowed ? 0 : (int) Math.ceil((resetAt - now) / 1000.0));
+        }
+    }
+
+    public static final class State extends LocalState {
+        private long currentStart = -1;
+        private int current;
+        private int previous;
+    }
+}
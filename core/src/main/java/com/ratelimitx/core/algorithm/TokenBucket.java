@@ -0,0 +1,85 @@
+package com.ratelimitx.core.algorithm;
+
+import com.ratelimitx.core.Decision;
+import com.ratelimitx.core.store.ScriptExecutor;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Token bucket: maxTokens capacity, refilled continuously at maxTokens per window.
+ * State is a hash with the fields tokens and last_refill.
+ */
+public final class TokenBucket {
+
+    // Lua script for atomic refill + take
+    static final String SCRIPT = """
+        local key = KEYS[1]
+        local max_tokens = tonumber(ARGV[1])
+        local window_seconds = tonumber(ARGV[2])
+        local now = tonumber(ARGV[3])
+        local refill_rate = max_tokens / window_seconds
+
+        local tokens = tonumber(redis.call('HGET', key, 'tokens')) or max_tokens
+        local last_refill = tonumber(redis.call('HGET', key, 'last_refill')) or now
+        tokens = math.min(max_tokens, tokens + ((now - last_refill) / 1000) * refill_rate)
+
+        local allowed = 0
+        local retry_after = 0
+        if tokens >= 1 then
+            allowed = 1
+            tokens = tokens - 1
+            redis.call('HSET', key, 'tokens', string.format('%.6f', tokens), 'last_refill', ARGV[3])
+            redis.call('EXPIRE', key, window_seconds * 2)
+        else
+            retry_after = math.ceil((1 - tokens) / refill_rate)
+        end
+
+        local reset_at = now + math.floor(math.ceil(max_tokens - tokens) / refill_rate * 1000)
+        return {allowed, math.floor(tokens), reset_at, retry_after}
+        """;
+
+    private TokenBucket() {
+    }
+
+    public static Decision check(ScriptExecutor redis, String key, int maxTokens, int windowSeconds, long now) {
+        return Decision.fromReply(redis.eval(SCRIPT, new String[]{key}, args(maxTokens, windowSeconds, now)));
+    }
+
+    public static CompletableFuture<Decision> checkAsync(ScriptExecutor redis, String key, int maxTokens,
+                                                         int windowSeconds, long now) {
+        return redis.evalAsync(SCRIPT, new String[]{key}, args(maxTokens, windowSeconds, now))
+                .thenApply(Decision::fromReply);
+    }
+
+    /**
+     * Same check on in-process state
+     */
+    public static Decision check(State state, int maxTokens, int windowSeconds, long now) {
+        double refillRate = (double) maxTokens / windowSeconds;
+
+        double tokens = state.lastRefill < 0 ? maxTokens
+                : Math.min(maxTokens, state.tokens + ((now - state.lastRefill) / 1000.0) * refillRate);
+
+        boolean allowed = tokens >= 1.0;
+        if (allowed) {
+            tokens -= 1.0;
+            state.tokens = tokens;
+            state.lastRefill = now;
+            state.expiresAt = now + windowSeconds * 2000L;
+        }
+
+        long tokensNeeded = (long) Math.ceil(maxTokens - tokens);
+        return new Decision(allowed, (int) Math.max(0, Math.floor(tokens)),
+                now + (long) ((tokensNeeded / refillRate) * 1000),
+                allowed ? 0 : (int) Math.ceil((1.0 - tokens) / refillRate));
+    }
+
+    private static String[] args(int maxTokens, int windowSeconds, long now) {
+        return new String[]{String.valueOf(maxTokens), String.valueOf(windowSeconds), String.valueOf(now)};
+    }
+
+    public static final class State extends LocalState {
+        private double tokens;
+        private long lastRefill = -1;
+    }
+}
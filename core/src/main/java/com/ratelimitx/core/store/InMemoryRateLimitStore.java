@@ -0,0 +1,87 @@
+package com.ratelimitx.core.store;
+
+import com.ratelimitx.core.Algorithm;
+import com.ratelimitx.core.Decision;
+import com.ratelimitx.core.algorithm.ConcurrencyLimit;
+import com.ratelimitx.core.algorithm.FixedWindow;
+import com.ratelimitx.core.algorithm.Gcra;
+import com.ratelimitx.core.algorithm.LocalState;
+import com.ratelimitx.core.algorithm.SlidingLog;
+import com.ratelimitx.core.algorithm.SlidingWindow;
+import com.ratelimitx.core.algorithm.TokenBucket;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Counters in this process's heap: no network hop, but limits are per process.
+ * Each key is updated inside ConcurrentHashMap.compute, which makes the check atomic;
+ * expired keys are swept every few thousand checks.
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private static final int SWEEP_EVERY = 4096;
+
+    private final ConcurrentHashMap<String, LocalState> states = new ConcurrentHashMap<>();
+    private final AtomicLong checks = new AtomicLong(0);
+
+    @Override
+    public Decision check(Algorithm algorithm, String key, int maxRequests, int windowSeconds, long now) {
+        return switch (algorithm) {
+            case TOKEN_BUCKET -> update(key, now, TokenBucket.State::new, TokenBucket.State.class,
+                    state -> TokenBucket.check(state, maxRequests, windowSeconds, now));
+            case SLIDING_WINDOW -> update(key, now, SlidingWindow.State::new, SlidingWindow.State.class,
+                    state -> SlidingWindow.check(state, maxRequests, windowSeconds, now));
+            case FIXED_WINDOW -> update(key, now, FixedWindow.State::new, FixedWindow.State.class,
+                    state -> FixedWindow.check(state, maxRequests, windowSeconds, now));
+            case GCRA -> update(key, now, Gcra.State::new, Gcra.State.class,
+                    state -> Gcra.check(state, maxRequests, windowSeconds, now));
+            case SLIDING_LOG -> update(key, now, SlidingLog.State::new, SlidingLog.State.class,
+                    state -> SlidingLog.check(state, maxRequests, windowSeconds, now));
+            case CONCURRENCY -> throw new IllegalArgumentException("CONCURRENCY rules acquire leases");
+        };
+    }
+
+    @Override
+    public Decision acquire(String key, int maxConcurrent, int leaseSeconds, long now, String leaseId) {
+        return update(key, now, ConcurrencyLimit.State::new, ConcurrencyLimit.State.class,
+                state -> ConcurrencyLimit.acquire(state, maxConcurrent, leaseSeconds, now, leaseId));
+    }
+
+    @Override
+    public boolean release(String key, String leaseId) {
+        boolean[] released = new boolean[1];
+        states.computeIfPresent(key, (k, state) -> {
+            if (state instanceof ConcurrencyLimit.State leases) {
+                released[0] = ConcurrencyLimit.release(leases, leaseId);
+            }
+            return state;
+        });
+        return released[0];
+    }
+
+    /**
+     * Number of keys held, including expired ones not swept yet
+     */
+    public int size() {
+        return states.size();
+    }
+
+    private <S extends LocalState> Decision update(String key, long now, Supplier<S> initial, Class<S> type,
+                                                   Function<S, Decision> check) {
+        if (checks.incrementAndGet() % SWEEP_EVERY == 0) {
+            states.values().removeIf(state -> state.isExpired(now));
+        }
+
+        Decision[] decision = new Decision[1];
+        states.compute(key, (k, current) -> {
+            // A rule that changed algorithm starts over on the same key
+            S state = type.isInstance(current) && !current.isExpired(now) ? type.cast(current) : initial.get();
+            decision[0] = check.apply(state);
+            return state;
+        });
+        return decision[0];
+    }
+}
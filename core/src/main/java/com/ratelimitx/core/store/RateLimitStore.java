@@ -0,0 +1,25 @@
+package com.ratelimitx.core.store;
+
+import com.ratelimitx.core.Algorithm;
+import com.ratelimitx.core.Decision;
+
+/**
+ * Where counters live. Each call is one atomic check-and-update of one key.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Check and count one request on a rate algorithm (not CONCURRENCY)
+     */
+    Decision check(Algorithm algorithm, String key, int maxRequests, int windowSeconds, long now);
+
+    /**
+     * Acquire a lease on a CONCURRENCY key; maxConcurrent in flight, leases expire after leaseSeconds
+     */
+    Decision acquire(String key, int maxConcurrent, int leaseSeconds, long now, String leaseId);
+
+    /**
+     * @return true if the lease was still held
+     */
+    boolean release(String key, String leaseId);
+}
@@ -0,0 +1,58 @@
+package com.ratelimitx.core.store;
+
+import com.ratelimitx.core.Algorithm;
+import com.ratelimitx.core.Decision;
+import com.ratelimitx.core.algorithm.ConcurrencyLimit;
+import com.ratelimitx.core.algorithm.FixedWindow;
+import com.ratelimitx.core.algorithm.Gcra;
+import com.ratelimitx.core.algorithm.SlidingLog;
+import com.ratelimitx.core.algorithm.SlidingWindow;
+import com.ratelimitx.core.algorithm.TokenBucket;
+
+/**
+ * Counters in Redis, one script per check. Uses the same keys and layout as the service,
+ * so embedded limiters and RateLimitX nodes can share counters.
+ */
+public class RedisRateLimitStore implements RateLimitStore {
+
+    public static final int DEFAULT_MAX_LOG_ENTRIES = 1000;
+
+    private final ScriptExecutor redis;
+    private final int maxLogEntries;
+
+    public RedisRateLimitStore(ScriptExecutor redis) {
+        this(redis, DEFAULT_MAX_LOG_ENTRIES);
+    }
+
+    /**
+     * @param maxLogEntries SLIDING_LOG limits above this are counted with SLIDING_WINDOW
+     */
+    public RedisRateLimitStore(ScriptExecutor redis, int maxLogEntries) {
+        this.redis = redis;
+        this.maxLogEntries = maxLogEntries;
+    }
+
+    @Override
+    public Decision check(Algorithm algorithm, String key, int maxRequests, int windowSeconds, long now) {
+        return switch (algorithm) {
+            case TOKEN_BUCKET -> TokenBucket.check(redis, key, maxRequests, windowSeconds, now);
+            case SLIDING_WINDOW -> SlidingWindow.check(redis, key, maxRequests, windowSeconds, now);
+            case FIXED_WINDOW -> FixedWindow.check(redis, key, maxRequests, windowSeconds, now);
+            case GCRA -> Gcra.check(redis, key, maxRequests, windowSeconds, now);
+            case SLIDING_LOG -> maxRequests > maxLogEntries
+                    ? SlidingWindow.check(redis, key, maxRequests, windowSeconds, now)
+                    : SlidingLog.check(redis, key, maxRequests, windowSeconds, now);
+            case CONCURRENCY -> throw new IllegalArgumentException("CONCURRENCY rules acquire leases");
+        };
+    }
+
+    @Override
+    public Decision acquire(String key, int maxConcurrent, int leaseSeconds, long now, String leaseId) {
+        return ConcurrencyLimit.acquire(redis, key, maxConcurrent, leaseSeconds, now, leaseId);
+    }
+
+    @Override
+    public boolean release(String key, String leaseId) {
+        return ConcurrencyLimit.release(redis, key, leaseId);
+    }
+}
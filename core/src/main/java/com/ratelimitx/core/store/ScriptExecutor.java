@@ -0,0 +1,23 @@
+package com.ratelimitx.core.store;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs Lua scripts on Redis, e.g. an Upstash REST client. Scripts return arrays of integers;
+ * the reply is expected as its JSON text.
+ */
+public interface ScriptExecutor {
+
+    String eval(String script, String[] keys, String... args);
+
+    /**
+     * Non-blocking {@link #eval}; defaults to running it on the calling thread
+     */
+    default CompletableFuture<String> evalAsync(String script, String[] keys, String... args) {
+        try {
+            return CompletableFuture.completedFuture(eval(script, keys, args));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.ratelimitx.core.sync;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ratelimitx.core.Rule;
+import com.ratelimitx.core.RuleDefinition;
+import com.ratelimitx.core.RuleSource;
+
+import java.io.IOException;
+import java.lang.System.Logger.Level;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a tenant's active rules in sync with the server by polling
+ * {@code GET /api/v1/rules/snapshot} (conditional on the last version, so an unchanged
+ * rule set costs a 304). If the server is unreachable the last rules stay in use.
+ * Needs jackson-databind on the classpath.
+ *
+ * <pre>{@code
+ * RuleSync rules = RuleSync.start("https://api.ratelimitx.com", apiKey, Duration.ofSeconds(10));
+ * RateLimiter limiter = RateLimiter.builder().store(store).rules(rules).build();
+ * }</pre>
+ */
+public final class RuleSync implements RuleSource, AutoCloseable {
+
+    private static final System.Logger log = System.getLogger(RuleSync.class.getName());
+
+    private final URI snapshotUri;
+    private final String apiKey;
+    private final HttpClient http;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ScheduledExecutorService scheduler;
+
+    private volatile List<Rule> rules = List.of();
+    private volatile String version;
+    private volatile long lastSyncAt;
+
+    private RuleSync(String baseUrl, String apiKey) {
+        this.snapshotUri = URI.create(baseUrl.replaceAll("/+$", "") + "/api/v1/rules/snapshot");
+        this.apiKey = Objects.requireNonNull(apiKey, "apiKey");
+        this.http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ratelimitx-rule-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Load the rules once (failures are logged, not thrown), then refresh every interval
+     */
+    public static RuleSync start(String baseUrl, String apiKey, Duration interval) {
+        RuleSync sync = new RuleSync(baseUrl, apiKey);
+        sync.refreshQuietly();
+        sync.scheduler.scheduleWithFixedDelay(sync::refreshQuietly,
+                interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        return sync;
+    }
+
+    @Override
+    public List<? extends RuleDefinition> rules() {
+        return rules;
+    }
+
+    /**
+     * @return false until the first snapshot has loaded
+     */
+    public boolean isLoaded() {
+        return version != null;
+    }
+
+    public String version() {
+        return version;
+    }
+
+    /**
+     * Epoch millis of the last successful poll, 0 before the first
+     */
+    public long lastSyncAt() {
+        return lastSyncAt;
+    }
+
+    /**
+     * Poll once
+     * @return true if the rules changed
+     */
+    public boolean refresh() throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(snapshotUri)
+                .timeout(Duration.ofSeconds(10))
+                .header("X-API-Key", apiKey)
+                .header("Accept", "application/json")
+                .GET();
+        if (version != null) {
+            request.header("If-None-Match", "\"" + version + "\"");
+        }
+
+        HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 304) {
+            lastSyncAt = System.currentTimeMillis();
+            return false;
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("Rule snapshot request failed with HTTP " + response.statusCode());
+        }
+
+        JsonNode snapshot = objectMapper.readTree(response.body());
+        List<Rule> loaded = new ArrayList<>();
+        for (JsonNode rule : snapshot.path("rules")) {
+            loaded.add(objectMapper.treeToValue(rule, Rule.class));
+        }
+
+        rules = List.copyOf(loaded);
+        version = snapshot.path("version").asText(null);
+        lastSyncAt = System.currentTimeMillis();
+        log.log(Level.DEBUG, "Loaded " + loaded.size() + " rules, version " + version);
+        return true;
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.log(Level.WARNING, "Rule sync failed, keeping " + rules.size() + " rules: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,164 @@
+package com.ratelimitx.core;
+
+import com.ratelimitx.core.store.InMemoryRateLimitStore;
+import com.ratelimitx.core.store.RateLimitStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Multi-rule evaluation on an in-memory store with a fixed clock
+ */
+public class RateLimiterTest {
+
+    private static final UUID TENANT = UUID.randomUUID();
+    // Aligned to the 60s windows of the rules below
+    private static final long T0 = 1_700_000_040_000L;
+
+    private final AtomicLong clock = new AtomicLong(T0);
+    private final InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+
+    @Test
+    public void testMostRestrictiveAllowWins() {
+        RateLimiter limiter = limiter(
+                rule(Algorithm.FIXED_WINDOW, "api.search", 10, LimitScope.RESOURCE, 0),
+                rule(Algorithm.FIXED_WINDOW, "*", 3, LimitScope.RESOURCE, 0));
+
+        Decision decision = limiter.check("api.search", "user-1");
+        assertTrue(decision.allowed());
+        assertEquals(2, decision.remaining());
+        assertNull(decision.leaseId());
+    }
+
+    @Test
+    public void testFirstDenialInPriorityOrderWins() {
+        Rule strict = rule(Algorithm.FIXED_WINDOW, "api.search", 1, LimitScope.RESOURCE, 10);
+        Rule loose = rule(Algorithm.FIXED_WINDOW, "api.search", 100, LimitScope.RESOURCE, 0);
+        RateLimiter limiter = limiter(loose, strict);
+
+        assertTrue(limiter.check("api.search", "user-1").allowed());
+        assertFalse(limiter.check("api.search", "user-1").allowed());
+
+        // The denial stopped evaluation: the lower priority rule counted only the first check
+        String looseKey = RateLimitKeys.build(TENANT, loose, "api.search", "user-1");
+        assertEquals(98, store.check(Algorithm.FIXED_WINDOW, looseKey, 100, 60, clock.get()).remaining());
+    }
+
+    @Test
+    public void testLeaseReleasedWhenLaterRuleDenies() {
+        Rule concurrency = rule(Algorithm.CONCURRENCY, "jobs", 2, LimitScope.RESOURCE, 10);
+        Rule window = rule(Algorithm.FIXED_WINDOW, "jobs", 1, LimitScope.RESOURCE, 0);
+        RateLimiter limiter = limiter(concurrency, window);
+
+        Decision first = limiter.check("jobs", "user-1");
+        assertTrue(first.allowed());
+        assertNotNull(first.leaseId());
+
+        // Takes the second lease, then the window denies and the lease must be given back
+        Decision second = limiter.check("jobs", "user-1");
+        assertFalse(second.allowed());
+        assertNull(second.leaseId());
+
+        String leaseKey = RateLimitKeys.build(TENANT, concurrency, "jobs", "user-1");
+        assertTrue(store.acquire(leaseKey, 2, 60, clock.get(), "probe").allowed());
+        assertFalse(store.acquire(leaseKey, 2, 60, clock.get(), "probe-2").allowed());
+
+        assertEquals(1, limiter.release("jobs", "user-1", first.leaseId()));
+        assertEquals(0, limiter.release("jobs", "user-1", first.leaseId()));
+    }
+
+    @Test
+    public void testIdentifierScopeCountsPerIdentifier() {
+        RateLimiter limiter = limiter(rule(Algorithm.FIXED_WINDOW, "api.search", 1, LimitScope.IDENTIFIER, 0));
+
+        assertTrue(limiter.check("api.search", "user-1").allowed());
+        assertFalse(limiter.check("api.search", "user-1").allowed());
+        assertTrue(limiter.check("api.search", "user-2").allowed());
+    }
+
+    @Test
+    public void testResourceScopeIsSharedAcrossIdentifiers() {
+        RateLimiter limiter = limiter(rule(Algorithm.FIXED_WINDOW, "api.search", 1, LimitScope.RESOURCE, 0));
+
+        assertTrue(limiter.check("api.search", "user-1").allowed());
+        assertFalse(limiter.check("api.search", "user-2").allowed());
+        assertTrue(limiter.check("api.other", "user-1").allowed());
+    }
+
+    @Test
+    public void testClockDrivesWindows() {
+        RateLimiter limiter = limiter(rule(Algorithm.FIXED_WINDOW, "api.search", 1, LimitScope.RESOURCE, 0));
+
+        assertTrue(limiter.check("api.search", "user-1").allowed());
+        Decision denied = limiter.check("api.search", "user-1");
+        assertFalse(denied.allowed());
+        assertEquals(T0 + 60_000, denied.resetAt());
+
+        clock.set(T0 + 60_000);
+        assertTrue(limiter.check("api.search", "user-1").allowed());
+    }
+
+    @Test
+    public void testNoApplicableRuleIsUnlimited() {
+        RateLimiter limiter = limiter(rule(Algorithm.FIXED_WINDOW, "api.search", 1, LimitScope.RESOURCE, 0));
+
+        Decision decision = limiter.check("api.other", "user-1");
+        assertTrue(decision.allowed());
+        assertEquals(Decision.unlimited(T0), decision);
+    }
+
+    @Test
+    public void testStoreFailureFailsOpenOrClosed() {
+        Rule rule = rule(Algorithm.FIXED_WINDOW, "api.search", 1, LimitScope.RESOURCE, 0);
+
+        RateLimiter open = RateLimiter.builder().store(new FailingStore()).rules(RuleSource.of(List.of(rule)))
+                .clock(clock::get).build();
+        assertTrue(open.check("api.search", "user-1").allowed());
+
+        RateLimiter closed = RateLimiter.builder().store(new FailingStore()).rules(RuleSource.of(List.of(rule)))
+                .failOpen(false).clock(clock::get).build();
+        assertEquals(Decision.failClosed(T0), closed.check("api.search", "user-1"));
+    }
+
+    @Test
+    public void testInvalidInputIsRejected() {
+        RateLimiter limiter = limiter();
+
+        assertThrows(IllegalArgumentException.class, () -> limiter.check("api:search", "user-1"));
+        assertThrows(IllegalArgumentException.class, () -> limiter.check("api.search", "user 1"));
+        assertThrows(IllegalArgumentException.class, () -> limiter.release("api.search", "user-1", " "));
+    }
+
+    private RateLimiter limiter(Rule... rules) {
+        return RateLimiter.builder()
+                .store(store)
+                .rules(RuleSource.of(List.of(rules)))
+                .clock(clock::get)
+                .build();
+    }
+
+    private static Rule rule(Algorithm algorithm, String resource, int maxRequests, LimitScope scope, int priority) {
+        return new Rule(UUID.randomUUID(), TENANT, resource, algorithm, maxRequests, 60, scope, priority);
+    }
+
+    private static class FailingStore implements RateLimitStore {
+        @Override
+        public Decision check(Algorithm algorithm, String key, int maxRequests, int windowSeconds, long now) {
+            throw new IllegalStateException("store down");
+        }
+
+        @Override
+        public Decision acquire(String key, int maxConcurrent, int leaseSeconds, long now, String leaseId) {
+            throw new IllegalStateException("store down");
+        }
+
+        @Override
+        public boolean release(String key, String leaseId) {
+            throw new IllegalStateException("store down");
+        }
+    }
+}
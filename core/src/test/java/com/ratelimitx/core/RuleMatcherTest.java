@@ -0,0 +1,58 @@
+package com.ratelimitx.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RuleMatcherTest {
+
+    private static final UUID TENANT = UUID.randomUUID();
+
+    @Test
+    public void testScopesMatchResourceAndIdentifier() {
+        Rule global = rule("anything", LimitScope.GLOBAL, 0);
+        Rule resource = rule("api.search", LimitScope.RESOURCE, 0);
+        Rule wildcard = rule("*", LimitScope.RESOURCE, 0);
+        Rule other = rule("api.other", LimitScope.RESOURCE, 0);
+        Rule perIdentifier = rule("api.search", LimitScope.IDENTIFIER, 0);
+        List<Rule> rules = List.of(global, resource, wildcard, other, perIdentifier);
+
+        List<Rule> withIdentifier = RuleMatcher.applicable(rules, "api.search", "user-1");
+        assertEquals(4, withIdentifier.size());
+        assertTrue(withIdentifier.containsAll(List.of(global, resource, wildcard, perIdentifier)));
+
+        // IDENTIFIER rules need an identifier to count against
+        assertFalse(RuleMatcher.applicable(rules, "api.search", null).contains(perIdentifier));
+        assertFalse(RuleMatcher.applicable(rules, "api.search", "").contains(perIdentifier));
+
+        assertEquals(List.of(global, wildcard), RuleMatcher.applicable(List.of(global, wildcard, resource), "api.list", "user-1"));
+    }
+
+    @Test
+    public void testHighestPriorityFirst() {
+        Rule low = rule("api.search", LimitScope.RESOURCE, -5);
+        Rule unset = new Rule(UUID.randomUUID(), TENANT, "api.search", Algorithm.FIXED_WINDOW, 10, 60,
+                LimitScope.RESOURCE, 0);
+        Rule high = rule("*", LimitScope.RESOURCE, 20);
+        Rule middle = rule("api.search", LimitScope.IDENTIFIER, 5);
+
+        assertEquals(List.of(high, middle, unset, low),
+                RuleMatcher.applicable(List.of(low, unset, high, middle), "api.search", "user-1"));
+    }
+
+    @Test
+    public void testMissingScopeDefaultsToResource() {
+        Rule rule = new Rule(UUID.randomUUID(), TENANT, "api.search", Algorithm.FIXED_WINDOW, 10, 60, null, 0);
+
+        assertEquals(LimitScope.RESOURCE, rule.getLimitScope());
+        assertEquals(List.of(rule), RuleMatcher.applicable(List.of(rule), "api.search", null));
+        assertTrue(RuleMatcher.applicable(List.of(rule), "api.other", null).isEmpty());
+    }
+
+    private static Rule rule(String resource, LimitScope scope, int priority) {
+        return new Rule(UUID.randomUUID(), TENANT, resource, Algorithm.FIXED_WINDOW, 10, 60, scope, priority);
+    }
+}
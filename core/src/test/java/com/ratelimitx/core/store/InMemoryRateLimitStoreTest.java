@@ -0,0 +1,189 @@
+package com.ratelimitx.core.store;
+
+import com.ratelimitx.core.Algorithm;
+import com.ratelimitx.core.Decision;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Algorithm boundaries on in-process state, with explicit timestamps instead of the wall clock
+ */
+public class InMemoryRateLimitStoreTest {
+
+    // Aligned to every window size used below
+    private static final long T0 = 1_700_000_000_000L;
+
+    private final InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+
+    @Test
+    public void testFixedWindowDeniesUntilWindowEnds() {
+        for (int i = 0; i < 3; i++) {
+            Decision decision = store.check(Algorithm.FIXED_WINDOW, "k", 3, 10, T0 + 1000);
+            assertTrue(decision.allowed());
+            assertEquals(2 - i, decision.remaining());
+        }
+
+        Decision denied = store.check(Algorithm.FIXED_WINDOW, "k", 3, 10, T0 + 1000);
+        assertFalse(denied.allowed());
+        assertEquals(0, denied.remaining());
+        assertEquals(T0 + 10_000, denied.resetAt());
+        assertEquals(9, denied.retryAfter());
+
+        Decision lastMillisecond = store.check(Algorithm.FIXED_WINDOW, "k", 3, 10, T0 + 9999);
+        assertFalse(lastMillisecond.allowed());
+        assertEquals(1, lastMillisecond.retryAfter());
+
+        Decision nextWindow = store.check(Algorithm.FIXED_WINDOW, "k", 3, 10, T0 + 10_000);
+        assertTrue(nextWindow.allowed());
+        assertEquals(2, nextWindow.remaining());
+        assertEquals(T0 + 20_000, nextWindow.resetAt());
+    }
+
+    @Test
+    public void testSlidingWindowWeighsPreviousWindow() {
+        assertEquals(10, countAllowed(Algorithm.SLIDING_WINDOW, 10, 10, T0 + 5000, 20));
+
+        // Halfway into the next window the previous 10 count as 5
+        Decision first = store.check(Algorithm.SLIDING_WINDOW, "k", 10, 10, T0 + 15_000);
+        assertTrue(first.allowed());
+        assertEquals(4, first.remaining());
+        assertEquals(T0 + 20_000, first.resetAt());
+        assertEquals(4, countAllowed(Algorithm.SLIDING_WINDOW, 10, 10, T0 + 15_000, 20));
+
+        // At three quarters they count as 2.5: 5 + 2.5 leaves room for 3 more
+        assertEquals(3, countAllowed(Algorithm.SLIDING_WINDOW, 10, 10, T0 + 17_500, 20));
+
+        Decision denied = store.check(Algorithm.SLIDING_WINDOW, "k", 10, 10, T0 + 17_500);
+        assertFalse(denied.allowed());
+        assertEquals(0, denied.remaining());
+        assertEquals(3, denied.retryAfter());
+    }
+
+    @Test
+    public void testSlidingWindowForgetsWindowsBeforeThePrevious() {
+        assertEquals(10, countAllowed(Algorithm.SLIDING_WINDOW, 10, 10, T0 + 5000, 20));
+
+        // Two windows later nothing of the full window is left
+        Decision decision = store.check(Algorithm.SLIDING_WINDOW, "k", 10, 10, T0 + 20_000);
+        assertTrue(decision.allowed());
+        assertEquals(9, decision.remaining());
+    }
+
+    @Test
+    public void testTokenBucketRefillsContinuously() {
+        assertEquals(5, countAllowed(Algorithm.TOKEN_BUCKET, 5, 10, T0, 10));
+
+        // 0.5 tokens per second: the next token is 2 seconds away
+        Decision denied = store.check(Algorithm.TOKEN_BUCKET, "k", 5, 10, T0);
+        assertFalse(denied.allowed());
+        assertEquals(2, denied.retryAfter());
+        assertEquals(T0 + 10_000, denied.resetAt());
+
+        assertFalse(store.check(Algorithm.TOKEN_BUCKET, "k", 5, 10, T0 + 1999).allowed());
+
+        Decision refilled = store.check(Algorithm.TOKEN_BUCKET, "k", 5, 10, T0 + 2000);
+        assertTrue(refilled.allowed());
+        assertEquals(0, refilled.remaining());
+    }
+
+    @Test
+    public void testTokenBucketCapsAtCapacity() {
+        assertEquals(5, countAllowed(Algorithm.TOKEN_BUCKET, 5, 10, T0, 10));
+
+        // A long idle period refills to the capacity, not beyond
+        assertEquals(5, countAllowed(Algorithm.TOKEN_BUCKET, 5, 10, T0 + 60_000, 10));
+    }
+
+    @Test
+    public void testGcraAllowsBurstThenEmissionInterval() {
+        // 5 per 10s: one request every 2000ms, bursts of up to 5
+        Decision first = store.check(Algorithm.GCRA, "k", 5, 10, T0);
+        assertTrue(first.allowed());
+        assertEquals(4, first.remaining());
+        assertEquals(T0 + 2000, first.resetAt());
+
+        assertEquals(4, countAllowed(Algorithm.GCRA, 5, 10, T0, 10));
+
+        Decision denied = store.check(Algorithm.GCRA, "k", 5, 10, T0);
+        assertFalse(denied.allowed());
+        assertEquals(0, denied.remaining());
+        assertEquals(T0 + 10_000, denied.resetAt());
+        assertEquals(2, denied.retryAfter());
+
+        assertFalse(store.check(Algorithm.GCRA, "k", 5, 10, T0 + 1999).allowed());
+        assertTrue(store.check(Algorithm.GCRA, "k", 5, 10, T0 + 2000).allowed());
+        assertFalse(store.check(Algorithm.GCRA, "k", 5, 10, T0 + 2000).allowed());
+        assertTrue(store.check(Algorithm.GCRA, "k", 5, 10, T0 + 4000).allowed());
+    }
+
+    @Test
+    public void testGcraStartsOverAfterIdle() {
+        assertEquals(5, countAllowed(Algorithm.GCRA, 5, 10, T0, 10));
+        assertEquals(5, countAllowed(Algorithm.GCRA, 5, 10, T0 + 10_000, 10));
+    }
+
+    @Test
+    public void testSlidingLogFreesSlotWhenOldestEntryLeaves() {
+        assertTrue(store.check(Algorithm.SLIDING_LOG, "k", 3, 10, T0).allowed());
+        assertTrue(store.check(Algorithm.SLIDING_LOG, "k", 3, 10, T0 + 1000).allowed());
+        assertTrue(store.check(Algorithm.SLIDING_LOG, "k", 3, 10, T0 + 2000).allowed());
+
+        Decision denied = store.check(Algorithm.SLIDING_LOG, "k", 3, 10, T0 + 3000);
+        assertFalse(denied.allowed());
+        assertEquals(T0 + 10_000, denied.resetAt());
+        assertEquals(7, denied.retryAfter());
+
+        assertFalse(store.check(Algorithm.SLIDING_LOG, "k", 3, 10, T0 + 9999).allowed());
+
+        // The entry at T0 is exactly one window old: out of the log
+        Decision freed = store.check(Algorithm.SLIDING_LOG, "k", 3, 10, T0 + 10_000);
+        assertTrue(freed.allowed());
+        assertEquals(0, freed.remaining());
+        assertEquals(T0 + 11_000, freed.resetAt());
+        assertFalse(store.check(Algorithm.SLIDING_LOG, "k", 3, 10, T0 + 10_999).allowed());
+    }
+
+    @Test
+    public void testConcurrencyLeasesReleaseAndExpire() {
+        assertTrue(store.acquire("k", 2, 30, T0, "a").allowed());
+        Decision second = store.acquire("k", 2, 30, T0, "b");
+        assertTrue(second.allowed());
+        assertEquals("b", second.leaseId());
+        assertEquals(0, second.remaining());
+
+        Decision denied = store.acquire("k", 2, 30, T0, "c");
+        assertFalse(denied.allowed());
+        assertNull(denied.leaseId());
+        assertEquals(T0 + 30_000, denied.resetAt());
+
+        assertTrue(store.release("k", "a"));
+        assertFalse(store.release("k", "a"));
+        assertTrue(store.acquire("k", 2, 30, T0 + 1000, "c").allowed());
+
+        // Leases that were never released expire with their TTL
+        assertTrue(store.acquire("k", 2, 30, T0 + 31_000, "d").allowed());
+        assertTrue(store.acquire("k", 2, 30, T0 + 31_000, "e").allowed());
+    }
+
+    @Test
+    public void testKeysAreIndependent() {
+        assertEquals(3, countAllowed(Algorithm.FIXED_WINDOW, 3, 10, T0, 5));
+        assertTrue(store.check(Algorithm.FIXED_WINDOW, "other", 3, 10, T0).allowed());
+    }
+
+    @Test
+    public void testConcurrencyIsNotARateCheck() {
+        assertThrows(IllegalArgumentException.class, () -> store.check(Algorithm.CONCURRENCY, "k", 1, 10, T0));
+    }
+
+    private int countAllowed(Algorithm algorithm, int maxRequests, int windowSeconds, long now, int attempts) {
+        int allowed = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (store.check(algorithm, "k", maxRequests, windowSeconds, now).allowed()) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+}
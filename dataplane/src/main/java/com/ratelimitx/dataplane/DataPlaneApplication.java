@@ -0,0 +1,13 @@
+package com.ratelimitx.dataplane;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@SpringBootApplication
+@EnableScheduling
+public class DataPlaneApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(DataPlaneApplication.class, args);
+    }
+}
@@ -0,0 +1,30 @@
+package com.ratelimitx.dataplane.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApiResponse<T> {
+    private Boolean success;
+    private T data;
+    private String error;
+    
+    public static <T> ApiResponse<T> success(T data) {
+        return ApiResponse.<T>builder()
+            .success(true)
+            .data(data)
+            .build();
+    }
+    
+    public static <T> ApiResponse<T> error(String error) {
+        return ApiResponse.<T>builder()
+            .success(false)
+            .error(error)
+            .build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.ratelimitx.dataplane.common.dto;
+
+import com.ratelimitx.core.Rule;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Control plane's GET /internal/v1/snapshot: active rules, active API keys (hashes only)
+ * and tenants over their monthly check limit
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataPlaneSnapshot {
+    private String version;
+    private Long generatedAt;
+    private List<Rule> rules;
+    private List<Key> apiKeys;
+    private List<UUID> blockedTenants;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key {
+        private String keyHash;
+        private UUID tenantId;
+    }
+}
@@ -0,0 +1,33 @@
+package com.ratelimitx.dataplane.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Body of the control plane's POST /internal/v1/usage
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataPlaneUsageReport {
+    private List<Check> checks;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Check {
+        private UUID tenantId;
+        private String resource;
+        private String identifier;
+        private Boolean allowed;
+        private Long latencyMs;
+        private Long timestamp;
+    }
+}
@@ -0,0 +1,20 @@
+package com.ratelimitx.dataplane.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Same body as the control plane's POST /api/v1/check
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitCheckRequest {
+    private String identifier;
+    private String resource;
+    @Builder.Default
+    private Integer tokens = 1;
+}
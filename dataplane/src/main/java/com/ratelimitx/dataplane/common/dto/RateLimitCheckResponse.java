@@ -0,0 +1,31 @@
+package com.ratelimitx.dataplane.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ratelimitx.core.Decision;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitCheckResponse {
+    private Boolean allowed;
+    private Integer remaining;
+    private Long resetAt;
+    private Integer retryAfter;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String leaseId; // Set when a CONCURRENCY rule acquired a lease
+
+    public static RateLimitCheckResponse of(Decision decision) {
+        return RateLimitCheckResponse.builder()
+                .allowed(decision.allowed())
+                .remaining(decision.remaining())
+                .resetAt(decision.resetAt())
+                .retryAfter(decision.retryAfter())
+                .leaseId(decision.leaseId())
+                .build();
+    }
+}
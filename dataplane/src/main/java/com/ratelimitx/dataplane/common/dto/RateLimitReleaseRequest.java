@@ -0,0 +1,16 @@
+package com.ratelimitx.dataplane.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitReleaseRequest {
+    private String identifier;
+    private String resource;
+    private String leaseId;
+}
@@ -0,0 +1,32 @@
+package com.ratelimitx.dataplane.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Body of a data plane's POST /internal/v1/replication: every window counter that changed
+ * since the sender's last push to the receiver, with each replica's count of it
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplicationDelta {
+    private String replica;
+    private List<Counter> counters;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Counter {
+        private String id;
+        private Map<String, Long> counts;
+        private Long expiresAt;
+    }
+}
@@ -0,0 +1,26 @@
+package com.ratelimitx.dataplane.config;
+
+import com.ratelimitx.core.store.RateLimitStore;
+import com.ratelimitx.core.store.RedisRateLimitStore;
+import com.ratelimitx.dataplane.infrastructure.redis.UpstashRedisClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Where the data plane keeps counters (ratelimit.store): "redis" shares them with the control
+ * plane through Upstash, "cluster" holds them in the memory of the data-plane nodes
+ * themselves (ShardedRateLimitStore), "replicated" keeps a copy in every region
+ * (ReplicatedRateLimitStore).
+ */
+@Configuration
+public class RateLimitStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "ratelimit.store", havingValue = "redis", matchIfMissing = true)
+    public RateLimitStore redisRateLimitStore(UpstashRedisClient redis,
+                                              @Value("${ratelimit.sliding-log.max-entries:1000}") int maxLogEntries) {
+        return new RedisRateLimitStore(redis, maxLogEntries);
+    }
+}
@@ -0,0 +1,113 @@
+package com.ratelimitx.dataplane.controller;
+
+import com.ratelimitx.dataplane.common.dto.ApiResponse;
+import com.ratelimitx.dataplane.common.dto.RateLimitCheckRequest;
+import com.ratelimitx.dataplane.common.dto.RateLimitCheckResponse;
+import com.ratelimitx.dataplane.common.dto.RateLimitReleaseRequest;
+import com.ratelimitx.dataplane.service.CheckService;
+import com.ratelimitx.dataplane.service.RuleSnapshotStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Same check and release API as the control plane; API keys are resolved against the snapshot
+ */
+@RestController
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+public class CheckController {
+
+    private final CheckService checkService;
+    private final RuleSnapshotStore store;
+
+    @Value("${ratelimit.fail-open:true}")
+    private boolean failOpen;
+
+    @PostMapping("/check")
+    public ResponseEntity<?> check(@RequestHeader("X-API-Key") String apiKey,
+                                   @RequestBody RateLimitCheckRequest request) {
+        if (!store.isLoaded()) {
+            return notReady();
+        }
+
+        UUID tenantId = store.tenantForKeyHash(hash(apiKey));
+        if (tenantId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ApiResponse.error("Invalid API key"));
+        }
+
+        RateLimitCheckResponse response = checkService.check(tenantId, request);
+        HttpStatus status = response.getAllowed() ? HttpStatus.OK : HttpStatus.TOO_MANY_REQUESTS;
+
+        return ResponseEntity
+                .status(status)
+                .header("X-RateLimit-Remaining", String.valueOf(response.getRemaining()))
+                .header("X-RateLimit-Reset", String.valueOf(response.getResetAt()))
+                .header("Retry-After", String.valueOf(response.getRetryAfter()))
+                .body(response);
+    }
+
+    /**
+     * Release a lease returned by a check against CONCURRENCY rules
+     */
+    @PostMapping("/release")
+    public ResponseEntity<ApiResponse<Integer>> release(@RequestHeader("X-API-Key") String apiKey,
+                                                        @RequestBody RateLimitReleaseRequest request) {
+        if (!store.isLoaded()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ApiResponse.error("Rules not loaded yet"));
+        }
+
+        UUID tenantId = store.tenantForKeyHash(hash(apiKey));
+        if (tenantId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ApiResponse.error("Invalid API key"));
+        }
+
+        return ResponseEntity.ok(ApiResponse.success(checkService.release(tenantId, request)));
+    }
+
+    @GetMapping("/health")
+    public ResponseEntity<ApiResponse<String>> health() {
+        return ResponseEntity.ok(ApiResponse.success("OK"));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiResponse<Void>> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+    }
+
+    /**
+     * 503 until the first snapshot arrived; the body follows the fail-open setting
+     */
+    private ResponseEntity<RateLimitCheckResponse> notReady() {
+        RateLimitCheckResponse response = RateLimitCheckResponse.builder()
+                .allowed(failOpen)
+                .remaining(0)
+                .resetAt(System.currentTimeMillis() + 1000)
+                .retryAfter(1)
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(response);
+    }
+
+    /**
+     * SHA-256 hex, as stored by the control plane
+     */
+    private static String hash(String apiKey) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(apiKey.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.ratelimitx.dataplane.controller;
+
+import com.ratelimitx.dataplane.common.dto.ApiResponse;
+import com.ratelimitx.dataplane.common.dto.ReplicationDelta;
+import com.ratelimitx.dataplane.infrastructure.replication.ReplicatedRateLimitStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Receives the counts other replicas push in replicated mode, authenticated with the
+ * shared X-Internal-Token; answers with this replica's name
+ */
+@RestController
+@RequestMapping("/internal/v1")
+@ConditionalOnProperty(name = "ratelimit.store", havingValue = "replicated")
+public class ReplicationController {
+
+    private final ReplicatedRateLimitStore store;
+    private final byte[] token;
+
+    public ReplicationController(ReplicatedRateLimitStore store,
+                                 @Value("${ratelimit.replication.token:}") String token) {
+        this.store = store;
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @PostMapping("/replication")
+    public ResponseEntity<ApiResponse<String>> replicate(@RequestHeader(value = "X-Internal-Token", required = false) String presented,
+                                                         @RequestBody ReplicationDelta delta) {
+        if (presented == null || !MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8))) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ApiResponse.error("Invalid internal token"));
+        }
+
+        store.merge(delta);
+        return ResponseEntity.ok(ApiResponse.success(store.replica()));
+    }
+}
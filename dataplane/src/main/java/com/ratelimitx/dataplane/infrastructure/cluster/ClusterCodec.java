@@ -0,0 +1,189 @@
+package com.ratelimitx.dataplane.infrastructure.cluster;
+
+import com.ratelimitx.core.Algorithm;
+import com.ratelimitx.core.Decision;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wire format of the node-to-node channel, written by hand over Data streams.
+ * A connection starts with MAGIC and the cluster token. After that the client sends
+ * frames of requests and the server answers each frame with a frame of as many replies,
+ * in the same order; frames are answered in the order they were sent:
+ * <pre>
+ * frame   = int count, count x (byte type, body)
+ * CHECK   = utf algorithm, utf key, int maxRequests, int windowSeconds
+ * ACQUIRE = utf key, int maxConcurrent, int leaseSeconds, utf leaseId
+ * RELEASE = utf key, utf leaseId
+ * PING    = utf senderNode                  -> MEMBERS reply
+ * reply   = byte status, body               (DECISION | RELEASED | MEMBERS | ERROR message)
+ * </pre>
+ */
+final class ClusterCodec {
+
+    static final int MAGIC = 0x524c5801;
+    static final int MAX_FRAME_ITEMS = 10_000;
+
+    static void checkCount(int count) throws IOException {
+        if (count < 0 || count > MAX_FRAME_ITEMS) {
+            throw new IOException("Bad item count: " + count);
+        }
+    }
+
+    static final byte CHECK = 1;
+    static final byte ACQUIRE = 2;
+    static final byte RELEASE = 3;
+    static final byte PING = 4;
+
+    static final byte DECISION = 1;
+    static final byte RELEASED = 2;
+    static final byte MEMBERS = 3;
+    static final byte ERROR = 4;
+
+    private ClusterCodec() {
+    }
+
+    /**
+     * One operation on a key owned by another node; which fields are set depends on the type
+     */
+    record Request(byte type, Algorithm algorithm, String key, int limit, int seconds, String value) {
+
+        static Request check(Algorithm algorithm, String key, int maxRequests, int windowSeconds) {
+            return new Request(CHECK, algorithm, key, maxRequests, windowSeconds, null);
+        }
+
+        static Request acquire(String key, int maxConcurrent, int leaseSeconds, String leaseId) {
+            return new Request(ACQUIRE, null, key, maxConcurrent, leaseSeconds, leaseId);
+        }
+
+        static Request release(String key, String leaseId) {
+            return new Request(RELEASE, null, key, 0, 0, leaseId);
+        }
+
+        static Request ping(String senderNode) {
+            return new Request(PING, null, null, 0, 0, senderNode);
+        }
+    }
+
+    /**
+     * Answer to one request: a decision, a release result, the responder's live members,
+     * or the error the owner hit evaluating it
+     */
+    record Reply(Decision decision, boolean released, List<String> members, String error) {
+
+        static Reply of(Decision decision) {
+            return new Reply(decision, false, null, null);
+        }
+
+        static Reply released(boolean released) {
+            return new Reply(null, released, null, null);
+        }
+
+        static Reply members(List<String> members) {
+            return new Reply(null, false, members, null);
+        }
+
+        static Reply error(String message) {
+            return new Reply(null, false, null, message != null ? message : "error");
+        }
+    }
+
+    static void writeRequest(DataOutputStream out, Request request) throws IOException {
+        out.writeByte(request.type());
+        switch (request.type()) {
+            case CHECK -> {
+                out.writeUTF(request.algorithm().name());
+                out.writeUTF(request.key());
+                out.writeInt(request.limit());
+                out.writeInt(request.seconds());
+            }
+            case ACQUIRE -> {
+                out.writeUTF(request.key());
+                out.writeInt(request.limit());
+                out.writeInt(request.seconds());
+                out.writeUTF(request.value());
+            }
+            case RELEASE -> {
+                out.writeUTF(request.key());
+                out.writeUTF(request.value());
+            }
+            case PING -> out.writeUTF(request.value());
+            default -> throw new IllegalArgumentException("Unknown request type: " + request.type());
+        }
+    }
+
+    static Request readRequest(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case CHECK -> {
+                String algorithm = in.readUTF();
+                try {
+                    yield Request.check(Algorithm.valueOf(algorithm), in.readUTF(), in.readInt(), in.readInt());
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Unknown algorithm: " + algorithm);
+                }
+            }
+            case ACQUIRE -> Request.acquire(in.readUTF(), in.readInt(), in.readInt(), in.readUTF());
+            case RELEASE -> Request.release(in.readUTF(), in.readUTF());
+            case PING -> Request.ping(in.readUTF());
+            default -> throw new IOException("Unknown request type: " + type);
+        };
+    }
+
+    static void writeReply(DataOutputStream out, Reply reply) throws IOException {
+        if (reply.error() != null) {
+            out.writeByte(ERROR);
+            out.writeUTF(reply.error());
+        } else if (reply.decision() != null) {
+            Decision decision = reply.decision();
+            out.writeByte(DECISION);
+            out.writeBoolean(decision.allowed());
+            out.writeInt(decision.remaining());
+            out.writeLong(decision.resetAt());
+            out.writeInt(decision.retryAfter());
+            out.writeBoolean(decision.leaseId() != null);
+            if (decision.leaseId() != null) {
+                out.writeUTF(decision.leaseId());
+            }
+        } else if (reply.members() != null) {
+            out.writeByte(MEMBERS);
+            out.writeInt(reply.members().size());
+            for (String member : reply.members()) {
+                out.writeUTF(member);
+            }
+        } else {
+            out.writeByte(RELEASED);
+            out.writeBoolean(reply.released());
+        }
+    }
+
+    static Reply readReply(DataInputStream in) throws IOException {
+        byte status = in.readByte();
+        return switch (status) {
+            case DECISION -> {
+                boolean allowed = in.readBoolean();
+                int remaining = in.readInt();
+                long resetAt = in.readLong();
+                int retryAfter = in.readInt();
+                String leaseId = in.readBoolean() ? in.readUTF() : null;
+                yield Reply.of(new Decision(allowed, remaining, resetAt, retryAfter, leaseId));
+            }
+            case RELEASED -> Reply.released(in.readBoolean());
+            case MEMBERS -> {
+                int count = in.readInt();
+                checkCount(count);
+                List<String> members = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    members.add(in.readUTF());
+                }
+                yield Reply.members(members);
+            }
+            case ERROR -> Reply.error(in.readUTF());
+            default -> throw new IOException("Unknown reply status: " + status);
+        };
+    }
+}
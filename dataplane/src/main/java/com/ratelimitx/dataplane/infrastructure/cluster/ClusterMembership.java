@@ -0,0 +1,197 @@
+package com.ratelimitx.dataplane.infrastructure.cluster;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Which nodes own keys. With static membership the ring is this node plus its seeds, always.
+ * With heartbeat membership every node pings every member it knows each heartbeat interval;
+ * a member that has not answered (or pinged us) for failure-timeout-ms leaves the ring, and
+ * members learned from ping replies join it once they answer themselves. Seeds start out
+ * live, so a cluster that starts together does not reshuffle keys while it connects.
+ */
+@Component
+@ConditionalOnProperty(name = "ratelimit.store", havingValue = "cluster")
+@Slf4j
+public class ClusterMembership {
+
+    // Members that are not seeds are forgotten after this many failure timeouts of silence
+    private static final int FORGET_AFTER_TIMEOUTS = 10;
+
+    private final String self;
+    private final Set<String> seeds;
+    private final String token;
+    private final boolean heartbeat;
+    private final int virtualNodes;
+    private final long failureTimeoutMs;
+    private final int maxBatchSize;
+    private final int maxInFlight;
+    private final int timeoutMs;
+
+    private final Map<String, Long> lastSeen = new ConcurrentHashMap<>();
+    private final Map<String, PeerChannel> channels = new ConcurrentHashMap<>();
+    private volatile HashRing ring;
+
+    public ClusterMembership(MeterRegistry meterRegistry,
+                             @Value("${ratelimit.cluster.node:}") String self,
+                             @Value("${ratelimit.cluster.seeds:}") String seeds,
+                             @Value("${ratelimit.cluster.token:}") String token,
+                             @Value("${ratelimit.cluster.membership:heartbeat}") String membership,
+                             @Value("${ratelimit.cluster.virtual-nodes:128}") int virtualNodes,
+                             @Value("${ratelimit.cluster.failure-timeout-ms:5000}") long failureTimeoutMs,
+                             @Value("${ratelimit.cluster.max-batch-size:100}") int maxBatchSize,
+                             @Value("${ratelimit.cluster.max-in-flight:4}") int maxInFlight,
+                             @Value("${ratelimit.cluster.timeout-ms:500}") int timeoutMs) {
+        if (self.isBlank()) {
+            throw new IllegalStateException("ratelimit.cluster.node must be set to this node's host:port");
+        }
+        if (token.isBlank()) {
+            throw new IllegalStateException("ratelimit.cluster.token must be set in cluster mode");
+        }
+        if (!membership.equals("static") && !membership.equals("heartbeat")) {
+            throw new IllegalStateException("ratelimit.cluster.membership must be static or heartbeat, got: " + membership);
+        }
+        PeerChannel.address(self);
+
+        this.self = self.trim();
+        this.seeds = new TreeSet<>();
+        Arrays.stream(seeds.split(","))
+                .map(String::trim)
+                .filter(seed -> !seed.isEmpty() && !seed.equals(this.self))
+                .forEach(seed -> {
+                    PeerChannel.address(seed);
+                    this.seeds.add(seed);
+                });
+        this.token = token;
+        this.heartbeat = membership.equals("heartbeat");
+        this.virtualNodes = virtualNodes;
+        this.failureTimeoutMs = failureTimeoutMs;
+        this.maxBatchSize = maxBatchSize;
+        this.maxInFlight = maxInFlight;
+        this.timeoutMs = timeoutMs;
+
+        long now = System.currentTimeMillis();
+        this.seeds.forEach(seed -> lastSeen.put(seed, now));
+
+        Set<String> initial = new TreeSet<>(this.seeds);
+        initial.add(this.self);
+        this.ring = new HashRing(initial, virtualNodes);
+        log.info("Cluster node {} starting with {} membership, ring {}", this.self, membership, initial);
+
+        Gauge.builder("ratelimit.cluster.members", this, members -> members.ring.nodes().size())
+                .description("Nodes currently owning keys, this one included")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the node that owns a key
+     */
+    public String owner(String key) {
+        return ring.owner(key);
+    }
+
+    public boolean isSelf(String node) {
+        return self.equals(node);
+    }
+
+    public String self() {
+        return self;
+    }
+
+    public List<String> liveMembers() {
+        return ring.nodes();
+    }
+
+    String token() {
+        return token;
+    }
+
+    PeerChannel channel(String node) {
+        return channels.computeIfAbsent(node,
+                peer -> new PeerChannel(peer, token, maxBatchSize, maxInFlight, timeoutMs));
+    }
+
+    /**
+     * A peer pinged this node: it is alive, and gets our view of the live members back
+     */
+    ClusterCodec.Reply onPing(String sender) {
+        if (heartbeat && !isSelf(sender)) {
+            PeerChannel.address(sender);
+            lastSeen.put(sender, System.currentTimeMillis());
+            refresh();
+        }
+        return ClusterCodec.Reply.members(liveMembers());
+    }
+
+    @Scheduled(fixedDelayString = "${ratelimit.cluster.heartbeat-interval-ms:1000}")
+    public void heartbeat() {
+        if (!heartbeat) {
+            return;
+        }
+
+        for (String node : List.copyOf(lastSeen.keySet())) {
+            channel(node).submit(ClusterCodec.Request.ping(self)).whenComplete((reply, error) -> {
+                if (error != null || reply.members() == null) {
+                    return;
+                }
+                long now = System.currentTimeMillis();
+                lastSeen.put(node, now);
+                for (String member : reply.members()) {
+                    if (!isSelf(member)) {
+                        // Not live until it answers a ping of ours
+                        lastSeen.putIfAbsent(member, now - failureTimeoutMs);
+                    }
+                }
+                refresh();
+            });
+        }
+        refresh();
+    }
+
+    private synchronized void refresh() {
+        long now = System.currentTimeMillis();
+        Set<String> live = new TreeSet<>();
+        live.add(self);
+
+        List<String> forgotten = new ArrayList<>();
+        lastSeen.forEach((node, seenAt) -> {
+            if (now - seenAt < failureTimeoutMs) {
+                live.add(node);
+            } else if (!seeds.contains(node) && now - seenAt > failureTimeoutMs * FORGET_AFTER_TIMEOUTS) {
+                forgotten.add(node);
+            }
+        });
+        for (String node : forgotten) {
+            lastSeen.remove(node);
+            PeerChannel channel = channels.remove(node);
+            if (channel != null) {
+                channel.close();
+            }
+        }
+
+        if (!live.equals(new TreeSet<>(ring.nodes()))) {
+            log.info("Cluster membership changed: {} -> {}", ring.nodes(), live);
+            ring = new HashRing(live, virtualNodes);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        channels.values().forEach(PeerChannel::close);
+        channels.clear();
+    }
+}
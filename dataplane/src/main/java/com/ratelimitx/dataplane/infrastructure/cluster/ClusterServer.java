@@ -0,0 +1,172 @@
+package com.ratelimitx.dataplane.infrastructure.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Accepts connections from the other nodes on the port of ratelimit.cluster.node and answers
+ * forwarded checks and pings. Each peer keeps one connection open, served by its own thread;
+ * frames on it are answered in order.
+ */
+@Component
+@ConditionalOnProperty(name = "ratelimit.store", havingValue = "cluster")
+@Slf4j
+public class ClusterServer implements SmartLifecycle {
+
+    private static final int HANDSHAKE_TIMEOUT_MS = 5000;
+
+    private final ClusterMembership membership;
+    private final ShardedRateLimitStore store;
+    private final byte[] token;
+
+    @Value("${ratelimit.cluster.bind-address:0.0.0.0}")
+    private String bindAddress;
+
+    private volatile ServerSocket serverSocket;
+    private ExecutorService executor;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+
+    public ClusterServer(ClusterMembership membership, ShardedRateLimitStore store) {
+        this.membership = membership;
+        this.store = store;
+        this.token = membership.token().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void start() {
+        int port = PeerChannel.address(membership.self()).getPort();
+        AtomicInteger threadCount = new AtomicInteger(0);
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "cluster-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            ServerSocket socket = new ServerSocket();
+            socket.bind(new InetSocketAddress(bindAddress, port));
+            serverSocket = socket;
+        } catch (IOException e) {
+            executor.shutdownNow();
+            throw new UncheckedIOException("Failed to start cluster listener on port " + port, e);
+        }
+
+        executor.execute(this::accept);
+        log.info("Cluster node {} listening on port {}", membership.self(), port);
+    }
+
+    private void accept() {
+        ServerSocket current = serverSocket;
+        while (current != null && !current.isClosed()) {
+            try {
+                Socket socket = current.accept();
+                connections.add(socket);
+                executor.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (!current.isClosed()) {
+                    log.warn("Cluster accept failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout(HANDSHAKE_TIMEOUT_MS);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+            if (in.readInt() != ClusterCodec.MAGIC
+                    || !MessageDigest.isEqual(token, in.readUTF().getBytes(StandardCharsets.UTF_8))) {
+                log.warn("Rejected cluster connection from {}", socket.getRemoteSocketAddress());
+                return;
+            }
+            socket.setSoTimeout(0);
+
+            while (true) {
+                int count = in.readInt();
+                ClusterCodec.checkCount(count);
+
+                List<ClusterCodec.Request> requests = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    requests.add(ClusterCodec.readRequest(in));
+                }
+
+                out.writeInt(count);
+                for (ClusterCodec.Request request : requests) {
+                    ClusterCodec.writeReply(out, answer(request));
+                }
+                out.flush();
+            }
+        } catch (EOFException | SocketException e) {
+            // Peer went away or we are stopping
+        } catch (IOException e) {
+            log.warn("Cluster connection from {} failed: {}", socket.getRemoteSocketAddress(), e.getMessage());
+        } finally {
+            connections.remove(socket);
+        }
+    }
+
+    private ClusterCodec.Reply answer(ClusterCodec.Request request) {
+        try {
+            return request.type() == ClusterCodec.PING
+                    ? membership.onPing(request.value())
+                    : store.serve(request);
+        } catch (RuntimeException e) {
+            return ClusterCodec.Reply.error(e.getMessage());
+        }
+    }
+
+    @Override
+    public void stop() {
+        ServerSocket current = serverSocket;
+        if (current == null) {
+            return;
+        }
+        serverSocket = null;
+
+        try {
+            current.close();
+        } catch (IOException ignored) {
+            // Closing anyway
+        }
+        for (Socket socket : connections) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Closing anyway
+            }
+        }
+        executor.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return serverSocket != null;
+    }
+}
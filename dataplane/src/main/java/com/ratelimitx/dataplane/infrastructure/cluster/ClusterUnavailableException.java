@@ -0,0 +1,10 @@
+package com.ratelimitx.dataplane.infrastructure.cluster;
+
+/**
+ * Thrown when the node owning a key cannot be reached or did not answer in time
+ */
+public class ClusterUnavailableException extends RuntimeException {
+    public ClusterUnavailableException(String message) {
+        super(message);
+    }
+}
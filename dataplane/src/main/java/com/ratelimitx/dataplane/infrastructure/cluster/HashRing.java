@@ -0,0 +1,59 @@
+package com.ratelimitx.dataplane.infrastructure.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent-hash ring of cluster nodes. Each node is placed at virtualNodes points, and a key
+ * belongs to the first node clockwise from its hash. Adding or removing a node only moves the
+ * keys between it and its neighbours; every other key keeps its owner. Immutable: membership
+ * changes build a new ring.
+ */
+final class HashRing {
+
+    private final NavigableMap<Long, String> points = new TreeMap<>();
+    private final List<String> nodes;
+
+    HashRing(Collection<String> nodes, int virtualNodes) {
+        this.nodes = List.copyOf(nodes);
+        for (String node : this.nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                points.put(hash(node + "#" + i), node);
+            }
+        }
+    }
+
+    /**
+     * @return the node that owns a key, or null if the ring is empty
+     */
+    String owner(String key) {
+        if (points.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> entry = points.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : points.firstEntry().getValue();
+    }
+
+    List<String> nodes() {
+        return nodes;
+    }
+
+    // FNV-1a over the UTF-8 bytes, then the murmur3 finalizer so similar keys spread out
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,268 @@
+package com.ratelimitx.dataplane.infrastructure.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Persistent connection to one peer node, shared by every request to keys it owns.
+ * A request is sent right away while fewer than maxInFlight frames are outstanding;
+ * otherwise it waits for the next free slot and goes out together with everything that
+ * queued up meanwhile (up to maxBatchSize per frame), like the Redis EvalBatcher.
+ * A broken connection fails its outstanding requests; the next frame reconnects,
+ * at most once per reconnect interval.
+ */
+@Slf4j
+class PeerChannel implements Closeable {
+
+    private static final long RECONNECT_INTERVAL_MS = 1000;
+
+    private final String node;
+    private final String token;
+    private final int maxBatchSize;
+    private final int maxInFlight;
+    private final int timeoutMs;
+
+    private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger(0);
+
+    // Guarded by this: the current connection and the frames it has not answered yet, oldest first
+    private Connection connection;
+    private long connectedAt;
+    private boolean closed;
+
+    PeerChannel(String node, String token, int maxBatchSize, int maxInFlight, int timeoutMs) {
+        this.node = node;
+        this.token = token;
+        this.maxBatchSize = maxBatchSize;
+        this.maxInFlight = maxInFlight;
+        this.timeoutMs = timeoutMs;
+    }
+
+    String node() {
+        return node;
+    }
+
+    CompletableFuture<ClusterCodec.Reply> submit(ClusterCodec.Request request) {
+        Pending pending = new Pending(request, new CompletableFuture<>());
+        queue.add(pending);
+        drain();
+        return pending.future;
+    }
+
+    private void drain() {
+        while (!queue.isEmpty()) {
+            int current = inFlight.get();
+            if (current >= maxInFlight) {
+                // The next answered frame drains again
+                return;
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+
+            List<Pending> batch = new ArrayList<>();
+            Pending pending;
+            while (batch.size() < maxBatchSize && (pending = queue.poll()) != null) {
+                batch.add(pending);
+            }
+
+            if (batch.isEmpty()) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+            dispatch(batch);
+        }
+    }
+
+    private void dispatch(List<Pending> batch) {
+        Connection current = null;
+        try {
+            synchronized (this) {
+                current = connect();
+                DataOutputStream out = current.out;
+                out.writeInt(batch.size());
+                for (Pending pending : batch) {
+                    ClusterCodec.writeRequest(out, pending.request);
+                }
+                out.flush();
+                current.frames.add(batch);
+            }
+        } catch (IOException | RuntimeException e) {
+            fail(batch, e);
+            if (current != null) {
+                drop(current, e);
+            }
+        }
+    }
+
+    // Caller holds the monitor
+    private Connection connect() throws IOException {
+        if (closed) {
+            throw new IOException("Channel to " + node + " is closed");
+        }
+        if (connection != null) {
+            return connection;
+        }
+
+        long now = System.currentTimeMillis();
+        if (now - connectedAt < RECONNECT_INTERVAL_MS) {
+            throw new IOException("Peer " + node + " is unreachable, reconnecting");
+        }
+        connectedAt = now;
+
+        Socket socket = new Socket();
+        try {
+            socket.connect(address(node), timeoutMs);
+            socket.setTcpNoDelay(true);
+            socket.setKeepAlive(true);
+
+            Connection opened = new Connection(socket);
+            opened.out.writeInt(ClusterCodec.MAGIC);
+            opened.out.writeUTF(token);
+            opened.out.flush();
+
+            Thread reader = new Thread(() -> read(opened), "cluster-peer-" + node);
+            reader.setDaemon(true);
+            reader.start();
+
+            connection = opened;
+            log.info("Connected to cluster peer {}", node);
+            return opened;
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    private void read(Connection current) {
+        try {
+            while (true) {
+                int count = current.in.readInt();
+                ClusterCodec.checkCount(count);
+
+                List<ClusterCodec.Reply> replies = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    replies.add(ClusterCodec.readReply(current.in));
+                }
+
+                List<Pending> batch;
+                synchronized (this) {
+                    batch = current.frames.poll();
+                }
+                if (batch == null || batch.size() != count) {
+                    throw new IOException("Peer " + node + " answered a frame that was not sent");
+                }
+
+                for (int i = 0; i < count; i++) {
+                    batch.get(i).future.complete(replies.get(i));
+                }
+                inFlight.decrementAndGet();
+                drain();
+            }
+        } catch (IOException | RuntimeException e) {
+            drop(current, e);
+        }
+    }
+
+    /**
+     * Close a connection and fail what it still owes; null means the current one
+     */
+    private void drop(Connection broken, Exception cause) {
+        List<List<Pending>> unanswered = new ArrayList<>();
+        synchronized (this) {
+            Connection current = broken != null ? broken : connection;
+            if (current == null) {
+                return;
+            }
+            if (current == connection) {
+                connection = null;
+            }
+            if (current.closed) {
+                return;
+            }
+            current.closed = true;
+            unanswered.addAll(current.frames);
+            current.frames.clear();
+            try {
+                current.socket.close();
+            } catch (IOException ignored) {
+                // Already broken
+            }
+        }
+
+        if (!closed) {
+            log.warn("Lost connection to cluster peer {}: {}", node, reason(cause));
+        }
+        for (List<Pending> batch : unanswered) {
+            fail(batch, cause);
+        }
+    }
+
+    private void fail(List<Pending> batch, Exception cause) {
+        ClusterUnavailableException error = new ClusterUnavailableException(
+                "Peer " + node + " unavailable: " + reason(cause));
+        for (Pending pending : batch) {
+            pending.future.completeExceptionally(error);
+        }
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    /**
+     * Give up on the current connection, e.g. after the peer stopped answering
+     */
+    void reset(Exception cause) {
+        drop(null, cause);
+    }
+
+    private static String reason(Exception cause) {
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+
+    static InetSocketAddress address(String node) {
+        int colon = node.lastIndexOf(':');
+        if (colon <= 0) {
+            throw new IllegalArgumentException("Cluster node must be host:port, got: " + node);
+        }
+        return new InetSocketAddress(node.substring(0, colon), Integer.parseInt(node.substring(colon + 1)));
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        drop(null, new IOException("closed"));
+    }
+
+    private static final class Connection {
+        final Socket socket;
+        final DataInputStream in;
+        final DataOutputStream out;
+        final Queue<List<Pending>> frames = new ArrayDeque<>();
+        boolean closed;
+
+        Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+    }
+
+    private record Pending(ClusterCodec.Request request, CompletableFuture<ClusterCodec.Reply> future) {}
+}
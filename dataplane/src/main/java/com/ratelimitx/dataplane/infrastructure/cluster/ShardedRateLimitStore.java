@@ -0,0 +1,130 @@
+package com.ratelimitx.dataplane.infrastructure.cluster;
+
+import com.ratelimitx.core.Algorithm;
+import com.ratelimitx.core.Decision;
+import com.ratelimitx.core.store.InMemoryRateLimitStore;
+import com.ratelimitx.core.store.RateLimitStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Counters spread over the cluster without an external store: every key has one owner on the
+ * hash ring, which holds its counter in memory. Keys this node owns are checked locally;
+ * the others are forwarded to their owner over its {@link PeerChannel} and evaluated there,
+ * with the owner's clock. When the owner cannot be reached in timeout-ms the call throws
+ * {@link ClusterUnavailableException}, which the limiter handles like a Redis outage.
+ * When membership changes, keys that move to another node start over with a fresh counter.
+ */
+@Component
+@ConditionalOnProperty(name = "ratelimit.store", havingValue = "cluster")
+public class ShardedRateLimitStore implements RateLimitStore {
+
+    private final ClusterMembership membership;
+    private final InMemoryRateLimitStore local = new InMemoryRateLimitStore();
+    private final long timeoutMs;
+    private final Counter localRequests;
+    private final Counter remoteRequests;
+
+    public ShardedRateLimitStore(ClusterMembership membership, MeterRegistry meterRegistry,
+                                 @Value("${ratelimit.cluster.timeout-ms:500}") long timeoutMs) {
+        this.membership = membership;
+        this.timeoutMs = timeoutMs;
+        this.localRequests = counter(meterRegistry, "local");
+        this.remoteRequests = counter(meterRegistry, "remote");
+    }
+
+    @Override
+    public Decision check(Algorithm algorithm, String key, int maxRequests, int windowSeconds, long now) {
+        String owner = membership.owner(key);
+        if (membership.isSelf(owner)) {
+            localRequests.increment();
+            return local.check(algorithm, key, maxRequests, windowSeconds, now);
+        }
+        return forward(owner, ClusterCodec.Request.check(algorithm, key, maxRequests, windowSeconds)).decision();
+    }
+
+    @Override
+    public Decision acquire(String key, int maxConcurrent, int leaseSeconds, long now, String leaseId) {
+        String owner = membership.owner(key);
+        if (membership.isSelf(owner)) {
+            localRequests.increment();
+            return local.acquire(key, maxConcurrent, leaseSeconds, now, leaseId);
+        }
+        return forward(owner, ClusterCodec.Request.acquire(key, maxConcurrent, leaseSeconds, leaseId)).decision();
+    }
+
+    @Override
+    public boolean release(String key, String leaseId) {
+        String owner = membership.owner(key);
+        if (membership.isSelf(owner)) {
+            localRequests.increment();
+            return local.release(key, leaseId);
+        }
+        return forward(owner, ClusterCodec.Request.release(key, leaseId)).released();
+    }
+
+    /**
+     * Evaluate a request forwarded by another node on the counters held here
+     */
+    ClusterCodec.Reply serve(ClusterCodec.Request request) {
+        long now = System.currentTimeMillis();
+        return switch (request.type()) {
+            case ClusterCodec.CHECK -> ClusterCodec.Reply.of(
+                    local.check(request.algorithm(), request.key(), request.limit(), request.seconds(), now));
+            case ClusterCodec.ACQUIRE -> ClusterCodec.Reply.of(
+                    local.acquire(request.key(), request.limit(), request.seconds(), now, request.value()));
+            case ClusterCodec.RELEASE -> ClusterCodec.Reply.released(local.release(request.key(), request.value()));
+            default -> ClusterCodec.Reply.error("Unexpected request type: " + request.type());
+        };
+    }
+
+    /**
+     * Number of keys whose counters this node holds
+     */
+    public int size() {
+        return local.size();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("ratelimit.cluster.requests")
+                .description("Counter operations of checks on this node, by whether this node owns the key")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    private ClusterCodec.Reply forward(String owner, ClusterCodec.Request request) {
+        remoteRequests.increment();
+        PeerChannel channel = membership.channel(owner);
+        CompletableFuture<ClusterCodec.Reply> future = channel.submit(request);
+
+        ClusterCodec.Reply reply;
+        try {
+            reply = future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // A peer that stops answering holds every frame behind this one too
+            channel.reset(new TimeoutException("no reply in " + timeoutMs + "ms"));
+            throw new ClusterUnavailableException("Peer " + owner + " did not answer in " + timeoutMs + "ms");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ClusterUnavailableException unavailable) {
+                throw unavailable;
+            }
+            throw new ClusterUnavailableException("Peer " + owner + " failed: " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClusterUnavailableException("Interrupted waiting for peer " + owner);
+        }
+
+        if (reply.error() != null) {
+            throw new ClusterUnavailableException("Peer " + owner + " could not evaluate " + request.key() + ": " + reply.error());
+        }
+        return reply;
+    }
+}
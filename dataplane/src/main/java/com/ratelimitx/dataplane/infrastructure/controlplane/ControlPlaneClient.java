@@ -0,0 +1,75 @@
+package com.ratelimitx.dataplane.infrastructure.controlplane;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ratelimitx.dataplane.common.dto.DataPlaneSnapshot;
+import com.ratelimitx.dataplane.common.dto.DataPlaneUsageReport;
+import okhttp3.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client for the control plane's internal API, authenticated with the shared X-Internal-Token
+ */
+@Component
+public class ControlPlaneClient {
+
+    private final String baseUrl;
+    private final String token;
+    private final ObjectMapper objectMapper;
+    private final OkHttpClient httpClient;
+
+    public ControlPlaneClient(@Value("${ratelimit.control-plane.url}") String baseUrl,
+                              @Value("${ratelimit.control-plane.token}") String token,
+                              @Value("${ratelimit.control-plane.timeout-ms:10000}") long timeoutMs,
+                              ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.token = token;
+        this.objectMapper = objectMapper;
+        this.httpClient = new OkHttpClient.Builder()
+                .connectTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .readTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .writeTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * @param etag ETag of the snapshot already held, or null
+     * @return the new snapshot, or null if the one held is still current
+     */
+    public DataPlaneSnapshot fetchSnapshot(String etag) throws IOException {
+        Request.Builder request = new Request.Builder()
+                .url(baseUrl + "/internal/v1/snapshot")
+                .addHeader("X-Internal-Token", token)
+                .get();
+        if (etag != null) {
+            request.addHeader("If-None-Match", etag);
+        }
+
+        try (Response response = httpClient.newCall(request.build()).execute()) {
+            if (response.code() == 304) {
+                return null;
+            }
+            if (!response.isSuccessful()) {
+                throw new IOException("Snapshot request failed: " + response.code());
+            }
+            return objectMapper.readValue(response.body().byteStream(), DataPlaneSnapshot.class);
+        }
+    }
+
+    public void reportUsage(DataPlaneUsageReport report) throws IOException {
+        Request request = new Request.Builder()
+                .url(baseUrl + "/internal/v1/usage")
+                .addHeader("X-Internal-Token", token)
+                .post(RequestBody.create(objectMapper.writeValueAsBytes(report), MediaType.parse("application/json")))
+                .build();
+
+        try (Response response = httpClient.newCall(request).execute()) {
+            if (!response.isSuccessful()) {
+                throw new IOException("Usage report failed: " + response.code());
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.ratelimitx.dataplane.infrastructure.redis;
+
+/**
+ * Thrown without contacting Redis while the circuit is open
+ */
+public class RedisUnavailableException extends RuntimeException {
+    public RedisUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,118 @@
+package com.ratelimitx.dataplane.infrastructure.redis;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ratelimitx.core.store.ScriptExecutor;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Upstash REST client for the data plane: scripts only.
+ * After failure-threshold consecutive failures calls fail fast for open-duration-ms,
+ * then the next call goes through as a probe.
+ */
+@Component
+@Slf4j
+public class UpstashRedisClient implements ScriptExecutor {
+
+    private final String redisUrl;
+    private final String redisToken;
+    private final int failureThreshold;
+    private final long openDurationMs;
+
+    private final OkHttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger(0);
+    private final AtomicLong openUntil = new AtomicLong(0);
+
+    public UpstashRedisClient(@Value("${upstash.redis.url}") String redisUrl,
+                              @Value("${upstash.redis.token}") String redisToken,
+                              @Value("${ratelimit.redis.failure-threshold:5}") int failureThreshold,
+                              @Value("${ratelimit.redis.open-duration-ms:10000}") long openDurationMs,
+                              @Value("${ratelimit.redis.timeout-ms:2000}") long timeoutMs,
+                              @Value("${ratelimit.redis.max-idle-connections:16}") int maxIdleConnections) {
+        this.redisUrl = redisUrl;
+        this.redisToken = redisToken;
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+
+        this.httpClient = new OkHttpClient.Builder()
+                .connectTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .readTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .writeTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .connectionPool(new ConnectionPool(maxIdleConnections, 5, TimeUnit.MINUTES))
+                .retryOnConnectionFailure(true)
+                .build();
+    }
+
+    /**
+     * Execute a Lua script atomically
+     * @return The result from the script (JSON text for arrays)
+     */
+    @Override
+    public String eval(String script, String[] keys, String... args) {
+        List<String> command = new ArrayList<>(3 + keys.length + args.length);
+        command.add("EVAL");
+        command.add(script);
+        command.add(String.valueOf(keys.length));
+        command.addAll(List.of(keys));
+        command.addAll(List.of(args));
+        return execute(command);
+    }
+
+    private String execute(List<String> command) {
+        if (System.currentTimeMillis() < openUntil.get()) {
+            throw new RedisUnavailableException("Redis circuit is open");
+        }
+
+        Request request;
+        try {
+            request = new Request.Builder()
+                    .url(redisUrl)
+                    .addHeader("Authorization", "Bearer " + redisToken)
+                    .post(RequestBody.create(objectMapper.writeValueAsString(command),
+                            MediaType.parse("application/json")))
+                    .build();
+        } catch (IOException e) {
+            throw new RuntimeException("Redis operation failed", e);
+        }
+
+        try (Response response = httpClient.newCall(request).execute()) {
+            if (response.code() >= 500) {
+                onFailure();
+            } else {
+                consecutiveFailures.set(0);
+            }
+            if (!response.isSuccessful()) {
+                throw new RuntimeException("Redis operation failed: " + response.code());
+            }
+
+            JsonNode result = objectMapper.readTree(response.body().string()).get("result");
+            if (result == null || result.isNull()) {
+                return null;
+            }
+            return result.isTextual() ? result.asText() : result.toString();
+        } catch (IOException e) {
+            onFailure();
+            throw new RuntimeException("Redis operation failed", e);
+        }
+    }
+
+    private void onFailure() {
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openUntil.set(System.currentTimeMillis() + openDurationMs);
+            consecutiveFailures.set(0);
+            log.error("Redis circuit opened, failing fast for {}ms", openDurationMs);
+        }
+    }
+}
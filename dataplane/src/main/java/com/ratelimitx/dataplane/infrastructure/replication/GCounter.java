@@ -0,0 +1,69 @@
+package com.ratelimitx.dataplane.infrastructure.replication;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Grow-only counter of one key and window (a CRDT G-counter): one count per replica, merged
+ * by keeping the larger value, so deltas may arrive late, twice or out of order and every
+ * replica still converges on the same sum.
+ */
+final class GCounter {
+
+    private final Map<String, Long> counts = new HashMap<>(4);
+    private final long expiresAt;
+    private long total;
+    // Sequence number of the last change to any count
+    private long version;
+
+    GCounter(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    synchronized long value() {
+        return total;
+    }
+
+    synchronized void increment(String replica, long version) {
+        counts.merge(replica, 1L, Long::sum);
+        total++;
+        this.version = version;
+    }
+
+    /**
+     * @return true if a count grew, i.e. the merge taught this replica something
+     */
+    synchronized boolean merge(Map<String, Long> received, LongSupplier version) {
+        boolean changed = false;
+        for (Map.Entry<String, Long> entry : received.entrySet()) {
+            long current = counts.getOrDefault(entry.getKey(), 0L);
+            long count = entry.getValue() != null ? entry.getValue() : 0L;
+            if (count > current) {
+                counts.put(entry.getKey(), count);
+                total += count - current;
+                changed = true;
+            }
+        }
+        if (changed) {
+            this.version = version.getAsLong();
+        }
+        return changed;
+    }
+
+    synchronized Map<String, Long> counts() {
+        return Map.copyOf(counts);
+    }
+
+    synchronized long version() {
+        return version;
+    }
+
+    long expiresAt() {
+        return expiresAt;
+    }
+
+    boolean isExpired(long now) {
+        return expiresAt <= now;
+    }
+}
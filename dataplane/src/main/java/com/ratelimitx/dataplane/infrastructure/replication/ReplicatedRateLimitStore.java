@@ -0,0 +1,198 @@
+package com.ratelimitx.dataplane.infrastructure.replication;
+
+import com.ratelimitx.core.Algorithm;
+import com.ratelimitx.core.Decision;
+import com.ratelimitx.core.algorithm.FixedWindow;
+import com.ratelimitx.core.store.InMemoryRateLimitStore;
+import com.ratelimitx.core.store.RateLimitStore;
+import com.ratelimitx.dataplane.common.dto.ReplicationDelta;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters replicated between regions: every window of every key is a {@link GCounter}.
+ * Checks count locally without waiting for anyone, and {@link ReplicationSync} pushes the
+ * windows that changed to the peers every sync interval. A check is decided on the merged
+ * count, against the limit minus safety-margin of it, which is held back for increments
+ * other replicas made but have not pushed yet.
+ * FIXED_WINDOW and SLIDING_WINDOW are evaluated as such; TOKEN_BUCKET, GCRA and SLIDING_LOG
+ * run as a sliding window counter over the same window. CONCURRENCY leases are not
+ * replicated: each replica grants its share of the limit.
+ */
+@Component
+@ConditionalOnProperty(name = "ratelimit.store", havingValue = "replicated")
+@Slf4j
+public class ReplicatedRateLimitStore implements RateLimitStore {
+
+    private final String replica;
+    private final double safetyMargin;
+    private final int replicas;
+
+    private final ConcurrentHashMap<String, GCounter> counters = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong(0);
+    private final InMemoryRateLimitStore leases = new InMemoryRateLimitStore();
+
+    public ReplicatedRateLimitStore(MeterRegistry meterRegistry,
+                                    @Value("${ratelimit.replication.region:}") String region,
+                                    @Value("${ratelimit.replication.peers:}") String peers,
+                                    @Value("${ratelimit.replication.safety-margin:0.1}") double safetyMargin) {
+        if (region.isBlank()) {
+            throw new IllegalStateException("ratelimit.replication.region must be set in replicated mode");
+        }
+        if (safetyMargin < 0 || safetyMargin >= 1) {
+            throw new IllegalStateException("ratelimit.replication.safety-margin must be in [0, 1), got: " + safetyMargin);
+        }
+
+        // A restarted replica counts under a new name, so its earlier counts are neither lost nor reused
+        this.replica = region.trim() + "@" + Long.toString(System.currentTimeMillis(), 36);
+        this.safetyMargin = safetyMargin;
+        this.replicas = 1 + (int) Arrays.stream(peers.split(",")).filter(peer -> !peer.isBlank()).count();
+        log.info("Replica {} of {}, safety margin {}", replica, replicas, safetyMargin);
+
+        Gauge.builder("ratelimit.replication.counters", counters, ConcurrentHashMap::size)
+                .description("Window counters held, this replica's and its peers'")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Decision check(Algorithm algorithm, String key, int maxRequests, int windowSeconds, long now) {
+        return switch (algorithm) {
+            case FIXED_WINDOW -> fixedWindow(key, maxRequests, windowSeconds, now);
+            case SLIDING_WINDOW, TOKEN_BUCKET, GCRA, SLIDING_LOG -> slidingWindow(key, maxRequests, windowSeconds, now);
+            case CONCURRENCY -> throw new IllegalArgumentException("CONCURRENCY rules acquire leases");
+        };
+    }
+
+    @Override
+    public Decision acquire(String key, int maxConcurrent, int leaseSeconds, long now, String leaseId) {
+        return leases.acquire(key, Math.max(1, maxConcurrent / replicas), leaseSeconds, now, leaseId);
+    }
+
+    @Override
+    public boolean release(String key, String leaseId) {
+        return leases.release(key, leaseId);
+    }
+
+    private Decision fixedWindow(String key, int maxRequests, int windowSeconds, long now) {
+        long windowStart = FixedWindow.windowStart(now, windowSeconds);
+        long resetAt = windowStart + windowSeconds * 1000L;
+        int limit = limit(maxRequests);
+
+        GCounter counter = counter(key + ":" + windowStart, resetAt);
+        boolean allowed;
+        long count;
+        synchronized (counter) {
+            count = counter.value();
+            allowed = count < limit;
+            if (allowed) {
+                counter.increment(replica, versions.incrementAndGet());
+                count++;
+            }
+        }
+
+        return new Decision(allowed, allowed ? (int) Math.max(0, limit - count) : 0, resetAt,
+                allowed ? 0 : (int) Math.ceil((resetAt - now) / 1000.0));
+    }
+
+    private Decision slidingWindow(String key, int maxRequests, int windowSeconds, long now) {
+        long windowSizeMs = windowSeconds * 1000L;
+        long currentStart = (now / windowSizeMs) * windowSizeMs;
+        long resetAt = currentStart + windowSizeMs;
+        double previousWeight = 1.0 - (double) (now - currentStart) / windowSizeMs;
+        int limit = limit(maxRequests);
+
+        GCounter previous = counters.get(key + ":" + (currentStart - windowSizeMs));
+        double weighted = previous != null ? previous.value() * previousWeight : 0;
+
+        // Kept for two windows: the next one still weighs it
+        GCounter current = counter(key + ":" + currentStart, currentStart + windowSizeMs * 2);
+        boolean allowed;
+        double estimated;
+        synchronized (current) {
+            estimated = weighted + current.value();
+            allowed = estimated < limit;
+            if (allowed) {
+                current.increment(replica, versions.incrementAndGet());
+                estimated++;
+            }
+        }
+
+        return new Decision(allowed, (int) Math.max(0, Math.floor(limit - estimated)), resetAt,
+                allowed ? 0 : (int) Math.ceil((resetAt - now) / 1000.0));
+    }
+
+    /**
+     * The limit a replica decides against: the rest is the safety margin, never less than 1
+     */
+    private int limit(int maxRequests) {
+        return Math.max(1, maxRequests - (int) (maxRequests * safetyMargin));
+    }
+
+    private GCounter counter(String id, long expiresAt) {
+        return counters.computeIfAbsent(id, k -> new GCounter(expiresAt));
+    }
+
+    public String replica() {
+        return replica;
+    }
+
+    /**
+     * Sequence number of the latest change to any counter held here
+     */
+    long version() {
+        return versions.get();
+    }
+
+    /**
+     * Every live window that changed after the given version, with all counts known here
+     */
+    List<ReplicationDelta.Counter> changedSince(long version, long now) {
+        List<ReplicationDelta.Counter> changed = new ArrayList<>();
+        counters.forEach((id, counter) -> {
+            if (counter.version() > version && !counter.isExpired(now)) {
+                changed.add(ReplicationDelta.Counter.builder()
+                        .id(id)
+                        .counts(counter.counts())
+                        .expiresAt(counter.expiresAt())
+                        .build());
+            }
+        });
+        return changed;
+    }
+
+    /**
+     * Merge a peer's counts; windows that grew are passed on in this replica's next pushes,
+     * so counts also reach replicas the sender does not push to itself
+     */
+    public void merge(ReplicationDelta delta) {
+        if (delta.getReplica() == null || delta.getCounters() == null || replica.equals(delta.getReplica())) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        for (ReplicationDelta.Counter received : delta.getCounters()) {
+            if (received.getId() == null || received.getCounts() == null || received.getExpiresAt() == null
+                    || received.getExpiresAt() <= now) {
+                continue;
+            }
+            counter(received.getId(), received.getExpiresAt()).merge(received.getCounts(), versions::incrementAndGet);
+        }
+    }
+
+    /**
+     * Drop windows that no longer affect decisions
+     */
+    void sweep(long now) {
+        counters.values().removeIf(counter -> counter.isExpired(now));
+    }
+}
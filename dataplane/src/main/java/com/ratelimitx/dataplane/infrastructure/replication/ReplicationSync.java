@@ -0,0 +1,168 @@
+package com.ratelimitx.dataplane.infrastructure.replication;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ratelimitx.dataplane.common.dto.ReplicationDelta;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes counts to every peer each sync interval: only windows that changed since the last push
+ * the peer accepted, so a peer that was unreachable gets everything it missed, and a peer that
+ * restarted (it answers with a new replica name) gets every live window again.
+ * Each peer is pushed to on its own thread, so a slow region does not hold up the others.
+ */
+@Component
+@ConditionalOnProperty(name = "ratelimit.store", havingValue = "replicated")
+@Slf4j
+public class ReplicationSync {
+
+    private final ReplicatedRateLimitStore store;
+    private final ObjectMapper objectMapper;
+    private final String token;
+    private final int maxBatchSize;
+    private final List<Peer> peers;
+    private final OkHttpClient httpClient;
+    private final ExecutorService executor;
+
+    public ReplicationSync(ReplicatedRateLimitStore store, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                           @Value("${ratelimit.replication.peers:}") String peers,
+                           @Value("${ratelimit.replication.token:}") String token,
+                           @Value("${ratelimit.replication.timeout-ms:2000}") long timeoutMs,
+                           @Value("${ratelimit.replication.max-batch-size:5000}") int maxBatchSize) {
+        if (token.isBlank()) {
+            throw new IllegalStateException("ratelimit.replication.token must be set in replicated mode");
+        }
+
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.token = token;
+        this.maxBatchSize = maxBatchSize;
+        this.peers = Arrays.stream(peers.split(","))
+                .map(String::trim)
+                .filter(peer -> !peer.isEmpty())
+                .map(peer -> new Peer(peer.endsWith("/") ? peer.substring(0, peer.length() - 1) : peer))
+                .toList();
+        this.httpClient = new OkHttpClient.Builder()
+                .connectTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .readTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .writeTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .build();
+
+        AtomicInteger threadCount = new AtomicInteger(0);
+        this.executor = Executors.newFixedThreadPool(Math.max(1, this.peers.size()), runnable -> {
+            Thread thread = new Thread(runnable, "replication-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (Peer peer : this.peers) {
+            Gauge.builder("ratelimit.replication.lag", peer, p -> p.pushedAt == 0
+                            ? Double.NaN : (System.currentTimeMillis() - p.pushedAt) / 1000.0)
+                    .description("Seconds since this replica's counts last reached the peer")
+                    .baseUnit("seconds")
+                    .tag("peer", peer.url)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ratelimit.replication.sync-interval-ms:200}")
+    public void sync() {
+        store.sweep(System.currentTimeMillis());
+        for (Peer peer : peers) {
+            // Still busy with the previous push: it picks up these changes next time
+            if (peer.busy.compareAndSet(false, true)) {
+                executor.execute(() -> {
+                    try {
+                        push(peer);
+                    } finally {
+                        peer.busy.set(false);
+                    }
+                });
+            }
+        }
+    }
+
+    private void push(Peer peer) {
+        long version = store.version();
+        List<ReplicationDelta.Counter> changed = store.changedSince(peer.acknowledged, System.currentTimeMillis());
+
+        try {
+            String remoteReplica = null;
+            for (int from = 0; from < changed.size() || from == 0; from += maxBatchSize) {
+                List<ReplicationDelta.Counter> batch = changed.subList(from, Math.min(changed.size(), from + maxBatchSize));
+                remoteReplica = send(peer, ReplicationDelta.builder().replica(store.replica()).counters(batch).build());
+            }
+
+            if (peer.replica != null && !peer.replica.equals(remoteReplica)) {
+                // The peer restarted with empty counters: send it every live window next time
+                log.info("Replication peer {} restarted as {}", peer.url, remoteReplica);
+                peer.acknowledged = 0;
+            } else {
+                peer.acknowledged = version;
+            }
+            peer.replica = remoteReplica;
+            peer.pushedAt = System.currentTimeMillis();
+            peer.failing = false;
+        } catch (IOException | RuntimeException e) {
+            if (!peer.failing) {
+                log.warn("Replication to {} failed, retrying every sync interval: {}", peer.url, e.getMessage());
+                peer.failing = true;
+            }
+        }
+    }
+
+    /**
+     * @return the receiving replica's name
+     */
+    private String send(Peer peer, ReplicationDelta delta) throws IOException {
+        Request request = new Request.Builder()
+                .url(peer.url + "/internal/v1/replication")
+                .addHeader("X-Internal-Token", token)
+                .post(RequestBody.create(objectMapper.writeValueAsBytes(delta), MediaType.parse("application/json")))
+                .build();
+
+        try (Response response = httpClient.newCall(request).execute()) {
+            if (!response.isSuccessful()) {
+                throw new IOException("Replication push failed: " + response.code());
+            }
+            JsonNode body = objectMapper.readTree(response.body().byteStream());
+            return body.path("data").asText(null);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static final class Peer {
+        final String url;
+        final AtomicBoolean busy = new AtomicBoolean(false);
+        // Written by one push at a time
+        volatile long acknowledged;
+        volatile String replica;
+        volatile long pushedAt;
+        volatile boolean failing;
+
+        Peer(String url) {
+            this.url = url;
+        }
+    }
+}
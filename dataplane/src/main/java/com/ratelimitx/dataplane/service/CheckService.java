@@ -0,0 +1,118 @@
+package com.ratelimitx.dataplane.service;
+
+import com.ratelimitx.core.Decision;
+import com.ratelimitx.core.RateLimitKeys;
+import com.ratelimitx.core.RateLimiter;
+import com.ratelimitx.core.Rule;
+import com.ratelimitx.core.RuleMatcher;
+import com.ratelimitx.core.store.RateLimitStore;
+import com.ratelimitx.dataplane.common.dto.RateLimitCheckRequest;
+import com.ratelimitx.dataplane.common.dto.RateLimitCheckResponse;
+import com.ratelimitx.dataplane.common.dto.RateLimitReleaseRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The check path of the control plane's RateLimitService with rules from the in-memory
+ * snapshot: rule matching, Redis keys, algorithms and "most restrictive wins" evaluation
+ * all come from ratelimitx-core, so both planes enforce the same counters.
+ * Every check is evaluated in the configured store (EXACT), Redis unless the nodes run as
+ * a cluster or replicated: lease and approximate execution modes and adaptive limits are
+ * control-plane features.
+ */
+@Service
+@Slf4j
+public class CheckService {
+
+    private final RuleSnapshotStore store;
+    private final RateLimiter limiter;
+    private final UsageReporter usageReporter;
+    private final boolean failOpen;
+    private final Counter allowedChecks;
+    private final Counter deniedChecks;
+
+    public CheckService(RuleSnapshotStore store, RateLimitStore rateLimitStore, UsageReporter usageReporter,
+                        MeterRegistry meterRegistry,
+                        @Value("${ratelimit.fail-open:true}") boolean failOpen) {
+        this.store = store;
+        this.usageReporter = usageReporter;
+        this.failOpen = failOpen;
+        // Rules come per check from the snapshot, so the limiter needs no rule source
+        this.limiter = RateLimiter.builder()
+                .store(rateLimitStore)
+                .failOpen(failOpen)
+                .build();
+        this.allowedChecks = Counter.builder("ratelimit.dataplane.checks").tag("outcome", "allowed").register(meterRegistry);
+        this.deniedChecks = Counter.builder("ratelimit.dataplane.checks").tag("outcome", "denied").register(meterRegistry);
+    }
+
+    public RateLimitCheckResponse check(UUID tenantId, RateLimitCheckRequest request) {
+        long startTime = System.currentTimeMillis();
+
+        // Validate input to prevent Redis key injection
+        validateRequest(request);
+
+        if (store.isBlocked(tenantId)) {
+            // Same outcome as a failed tier validation on the control plane
+            log.warn("Monthly check limit exceeded for tenant: {}", tenantId);
+            Decision decision = failOpen ? Decision.unlimited(startTime) : Decision.failClosed(startTime);
+            return record(tenantId, request, RateLimitCheckResponse.of(decision), startTime);
+        }
+
+        List<Rule> applicableRules = applicableRules(tenantId, request);
+        if (applicableRules.isEmpty()) {
+            log.debug("No active rule found for tenant: {}, resource: {}", tenantId, request.getResource());
+            return RateLimitCheckResponse.of(Decision.unlimited(startTime));
+        }
+
+        Decision decision = limiter.evaluate(applicableRules, request.getResource(), request.getIdentifier());
+        return record(tenantId, request, RateLimitCheckResponse.of(decision), startTime);
+    }
+
+    /**
+     * Release a lease acquired by a check against CONCURRENCY rules
+     * @return number of rules whose lease was still held
+     */
+    public int release(UUID tenantId, RateLimitReleaseRequest request) {
+        RateLimitCheckRequest checkRequest = RateLimitCheckRequest.builder()
+                .identifier(request.getIdentifier())
+                .resource(request.getResource())
+                .build();
+
+        validateRequest(checkRequest);
+        return limiter.release(applicableRules(tenantId, checkRequest), request.getResource(),
+                request.getIdentifier(), request.getLeaseId());
+    }
+
+    void validateRequest(RateLimitCheckRequest request) {
+        if (request.getIdentifier() == null || request.getIdentifier().isBlank()) {
+            throw new IllegalArgumentException("Identifier is required");
+        }
+        if (request.getResource() == null || request.getResource().isBlank()) {
+            throw new IllegalArgumentException("Resource is required");
+        }
+
+        // Prevent Redis key injection by validating characters
+        RateLimitKeys.validate(request.getResource(), request.getIdentifier());
+    }
+
+    /**
+     * Rules out of a tenant's active rules that apply to a request, highest priority first
+     */
+    List<Rule> applicableRules(UUID tenantId, RateLimitCheckRequest request) {
+        return RuleMatcher.applicable(store.rules(tenantId), request.getResource(), request.getIdentifier());
+    }
+
+    private RateLimitCheckResponse record(UUID tenantId, RateLimitCheckRequest request,
+                                          RateLimitCheckResponse response, long startTime) {
+        (response.getAllowed() ? allowedChecks : deniedChecks).increment();
+        usageReporter.record(tenantId, request, response.getAllowed(), System.currentTimeMillis() - startTime);
+        return response;
+    }
+}
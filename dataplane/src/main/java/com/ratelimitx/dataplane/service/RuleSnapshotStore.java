@@ -0,0 +1,67 @@
+package com.ratelimitx.dataplane.service;
+
+import com.ratelimitx.core.Rule;
+import com.ratelimitx.dataplane.common.dto.DataPlaneSnapshot;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * The control plane's latest snapshot, indexed for the check path. A new snapshot replaces
+ * the previous one in a single write, so a check never sees a half-applied update.
+ */
+@Component
+public class RuleSnapshotStore {
+
+    private volatile Indexed current;
+
+    public boolean isLoaded() {
+        return current != null;
+    }
+
+    /**
+     * @return version of the snapshot held, or null before the first one arrived
+     */
+    public String version() {
+        Indexed indexed = current;
+        return indexed != null ? indexed.version : null;
+    }
+
+    public UUID tenantForKeyHash(String keyHash) {
+        return current.tenants.get(keyHash);
+    }
+
+    public boolean isBlocked(UUID tenantId) {
+        return current.blockedTenants.contains(tenantId);
+    }
+
+    /**
+     * Active rules of a tenant, highest priority first
+     */
+    public List<Rule> rules(UUID tenantId) {
+        return current.rules.getOrDefault(tenantId, List.of());
+    }
+
+    void replace(DataPlaneSnapshot snapshot) {
+        Map<String, UUID> tenants = new HashMap<>();
+        for (DataPlaneSnapshot.Key key : snapshot.getApiKeys()) {
+            tenants.put(key.getKeyHash(), key.getTenantId());
+        }
+
+        Map<UUID, List<Rule>> rules = snapshot.getRules().stream()
+                .sorted(Comparator.comparing(Rule::getPriority).reversed())
+                .collect(Collectors.groupingBy(Rule::getTenantId, Collectors.toList()));
+
+        current = new Indexed(snapshot.getVersion(), tenants, rules, new HashSet<>(snapshot.getBlockedTenants()));
+    }
+
+    private record Indexed(String version, Map<String, UUID> tenants,
+                           Map<UUID, List<Rule>> rules, Set<UUID> blockedTenants) {}
+}
@@ -0,0 +1,65 @@
+package com.ratelimitx.dataplane.service;
+
+import com.ratelimitx.dataplane.common.dto.DataPlaneSnapshot;
+import com.ratelimitx.dataplane.infrastructure.controlplane.ControlPlaneClient;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Polls the control plane for rule/key snapshots (conditional GET, so an unchanged snapshot
+ * costs a 304). While the control plane is unreachable the last snapshot keeps being served;
+ * until the first one arrives the node reports itself down and checks get 503.
+ */
+@Component
+@Slf4j
+public class SnapshotSync implements HealthIndicator {
+
+    private final ControlPlaneClient controlPlane;
+    private final RuleSnapshotStore store;
+
+    private volatile long syncedAt;
+
+    public SnapshotSync(ControlPlaneClient controlPlane, RuleSnapshotStore store, MeterRegistry meterRegistry) {
+        this.controlPlane = controlPlane;
+        this.store = store;
+
+        Gauge.builder("ratelimit.dataplane.snapshot.age", this, sync -> sync.syncedAt == 0
+                        ? Double.NaN : (System.currentTimeMillis() - sync.syncedAt) / 1000.0)
+                .description("Seconds since the control plane last confirmed the rule snapshot")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${ratelimit.control-plane.poll-interval-ms:5000}")
+    public void poll() {
+        String version = store.version();
+        try {
+            DataPlaneSnapshot snapshot = controlPlane.fetchSnapshot(version != null ? "\"" + version + "\"" : null);
+            if (snapshot != null) {
+                store.replace(snapshot);
+                log.info("Loaded snapshot {}: {} rules, {} API keys", snapshot.getVersion(),
+                        snapshot.getRules().size(), snapshot.getApiKeys().size());
+            }
+            syncedAt = System.currentTimeMillis();
+        } catch (Exception e) {
+            log.warn("Snapshot sync failed, serving {} ({})",
+                    version != null ? "snapshot " + version : "no snapshot", e.getMessage());
+        }
+    }
+
+    @Override
+    public Health health() {
+        if (!store.isLoaded()) {
+            return Health.down().withDetail("snapshot", "not loaded").build();
+        }
+        return Health.up()
+                .withDetail("snapshot", store.version())
+                .withDetail("syncedAt", syncedAt)
+                .build();
+    }
+}
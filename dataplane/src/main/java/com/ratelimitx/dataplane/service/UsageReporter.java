@@ -0,0 +1,86 @@
+package com.ratelimitx.dataplane.service;
+
+import com.ratelimitx.dataplane.common.dto.DataPlaneUsageReport;
+import com.ratelimitx.dataplane.common.dto.RateLimitCheckRequest;
+import com.ratelimitx.dataplane.infrastructure.controlplane.ControlPlaneClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Buffers answered checks and reports them to the control plane in batches, where they
+ * count towards analytics and monthly tier limits. The buffer is bounded: while the control
+ * plane is unreachable for long, the oldest unreported checks are dropped, never the checks.
+ */
+@Component
+@Slf4j
+public class UsageReporter {
+
+    private final ControlPlaneClient controlPlane;
+    private final int maxBuffered;
+    private final int batchSize;
+    private final Counter dropped;
+
+    private final ConcurrentLinkedQueue<DataPlaneUsageReport.Check> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger buffered = new AtomicInteger(0);
+
+    public UsageReporter(ControlPlaneClient controlPlane, MeterRegistry meterRegistry,
+                         @Value("${ratelimit.usage.max-buffered:100000}") int maxBuffered,
+                         @Value("${ratelimit.usage.batch-size:5000}") int batchSize) {
+        this.controlPlane = controlPlane;
+        this.maxBuffered = maxBuffered;
+        this.batchSize = batchSize;
+        this.dropped = Counter.builder("ratelimit.dataplane.usage.dropped")
+                .description("Checks not reported to the control plane because the usage buffer was full")
+                .register(meterRegistry);
+    }
+
+    public void record(UUID tenantId, RateLimitCheckRequest request, boolean allowed, long latencyMs) {
+        add(DataPlaneUsageReport.Check.builder()
+                .tenantId(tenantId)
+                .resource(request.getResource())
+                .identifier(request.getIdentifier())
+                .allowed(allowed)
+                .latencyMs(latencyMs)
+                .timestamp(System.currentTimeMillis())
+                .build());
+    }
+
+    private void add(DataPlaneUsageReport.Check check) {
+        buffer.add(check);
+        if (buffered.incrementAndGet() > maxBuffered && buffer.poll() != null) {
+            buffered.decrementAndGet();
+            dropped.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ratelimit.usage.flush-interval-ms:1000}")
+    public void flush() {
+        while (!buffer.isEmpty()) {
+            List<DataPlaneUsageReport.Check> batch = new ArrayList<>();
+            DataPlaneUsageReport.Check check;
+            while (batch.size() < batchSize && (check = buffer.poll()) != null) {
+                batch.add(check);
+            }
+            buffered.addAndGet(-batch.size());
+
+            try {
+                controlPlane.reportUsage(new DataPlaneUsageReport(batch));
+            } catch (Exception e) {
+                // Keep them for the next flush (subject to the buffer bound)
+                log.warn("Usage report of {} checks failed ({})", batch.size(), e.getMessage());
+                batch.forEach(this::add);
+                return;
+            }
+        }
+    }
+}
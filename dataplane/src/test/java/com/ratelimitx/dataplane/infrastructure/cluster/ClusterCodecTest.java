@@ -0,0 +1,107 @@
+package com.ratelimitx.dataplane.infrastructure.cluster;
+
+import com.ratelimitx.core.Algorithm;
+import com.ratelimitx.core.Decision;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Every request and reply survives a write and read of the node-to-node wire format
+ */
+public class ClusterCodecTest {
+
+    @Test
+    public void testRequestsRoundTrip() throws IOException {
+        List<ClusterCodec.Request> requests = List.of(
+                ClusterCodec.Request.check(Algorithm.SLIDING_WINDOW, "t:r:api.search:user-1", 100, 60),
+                ClusterCodec.Request.check(Algorithm.GCRA, "k", 1, 1),
+                ClusterCodec.Request.acquire("t:r:jobs", 5, 30, "lease-1"),
+                ClusterCodec.Request.release("t:r:jobs", "lease-1"),
+                ClusterCodec.Request.ping("10.0.0.1:7000"));
+
+        for (ClusterCodec.Request request : requests) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            ClusterCodec.writeRequest(new DataOutputStream(bytes), request);
+            assertEquals(request, ClusterCodec.readRequest(input(bytes.toByteArray())));
+        }
+    }
+
+    @Test
+    public void testRepliesRoundTrip() throws IOException {
+        List<ClusterCodec.Reply> replies = List.of(
+                ClusterCodec.Reply.of(new Decision(true, 9, 1_700_000_060_000L, 0, null)),
+                ClusterCodec.Reply.of(new Decision(false, 0, 1_700_000_060_000L, 42, null)),
+                ClusterCodec.Reply.of(new Decision(true, 4, 1_700_000_030_000L, 0, "lease-1")),
+                ClusterCodec.Reply.released(true),
+                ClusterCodec.Reply.released(false),
+                ClusterCodec.Reply.members(List.of("10.0.0.1:7000", "10.0.0.2:7000")),
+                ClusterCodec.Reply.members(List.of()),
+                ClusterCodec.Reply.error("store down"));
+
+        for (ClusterCodec.Reply reply : replies) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            ClusterCodec.writeReply(new DataOutputStream(bytes), reply);
+            assertEquals(reply, ClusterCodec.readReply(input(bytes.toByteArray())));
+        }
+    }
+
+    @Test
+    public void testFrameReadsBackInOrder() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(2);
+        ClusterCodec.writeRequest(out, ClusterCodec.Request.check(Algorithm.FIXED_WINDOW, "a", 10, 60));
+        ClusterCodec.writeRequest(out, ClusterCodec.Request.release("b", "lease-1"));
+
+        DataInputStream in = input(bytes.toByteArray());
+        int count = in.readInt();
+        ClusterCodec.checkCount(count);
+        assertEquals("a", ClusterCodec.readRequest(in).key());
+        assertEquals("b", ClusterCodec.readRequest(in).key());
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void testNullErrorMessageIsReplaced() {
+        assertEquals("error", ClusterCodec.Reply.error(null).error());
+    }
+
+    @Test
+    public void testMalformedInputIsRejected() throws IOException {
+        assertThrows(IOException.class, () -> ClusterCodec.readRequest(input(new byte[]{99})));
+        assertThrows(IOException.class, () -> ClusterCodec.readReply(input(new byte[]{99})));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(ClusterCodec.CHECK);
+        out.writeUTF("NO_SUCH_ALGORITHM");
+        out.writeUTF("k");
+        out.writeInt(1);
+        out.writeInt(1);
+        assertThrows(IOException.class, () -> ClusterCodec.readRequest(input(bytes.toByteArray())));
+
+        // A truncated frame fails instead of yielding a partial request
+        ByteArrayOutputStream truncated = new ByteArrayOutputStream();
+        ClusterCodec.writeRequest(new DataOutputStream(truncated), ClusterCodec.Request.acquire("k", 5, 30, "lease-1"));
+        byte[] partial = Arrays.copyOf(truncated.toByteArray(), truncated.size() - 3);
+        assertThrows(EOFException.class, () -> ClusterCodec.readRequest(input(partial)));
+
+        assertThrows(IOException.class, () -> ClusterCodec.checkCount(-1));
+        assertThrows(IOException.class, () -> ClusterCodec.checkCount(ClusterCodec.MAX_FRAME_ITEMS + 1));
+        ClusterCodec.checkCount(ClusterCodec.MAX_FRAME_ITEMS);
+    }
+
+    private static DataInputStream input(byte[] bytes) {
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+}
@@ -0,0 +1,93 @@
+package com.ratelimitx.dataplane.infrastructure.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Key ownership and how little of it moves when membership changes
+ */
+public class HashRingTest {
+
+    private static final int VIRTUAL_NODES = 128;
+    private static final int KEYS = 10_000;
+
+    @Test
+    public void testOwnershipIsDeterministic() {
+        HashRing ring = new HashRing(List.of("a:7000", "b:7000", "c:7000"), VIRTUAL_NODES);
+        // Every node builds its ring from the same members, in whatever order it learned them
+        HashRing reordered = new HashRing(List.of("c:7000", "a:7000", "b:7000"), VIRTUAL_NODES);
+
+        for (int i = 0; i < KEYS; i++) {
+            String key = "key-" + i;
+            assertEquals(ring.owner(key), reordered.owner(key));
+            assertTrue(ring.nodes().contains(ring.owner(key)));
+        }
+    }
+
+    @Test
+    public void testKeysSpreadAcrossNodes() {
+        HashRing ring = new HashRing(List.of("a:7000", "b:7000", "c:7000", "d:7000"), VIRTUAL_NODES);
+
+        Map<String, Integer> owned = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            owned.merge(ring.owner("key-" + i), 1, Integer::sum);
+        }
+
+        assertEquals(4, owned.size());
+        // An even share is 2500: allow generous slack for hashing noise
+        owned.values().forEach(count -> assertTrue(count > 1500 && count < 3500, "owned " + count));
+    }
+
+    @Test
+    public void testAddingNodeOnlyMovesKeysToIt() {
+        HashRing before = new HashRing(List.of("a:7000", "b:7000", "c:7000"), VIRTUAL_NODES);
+        HashRing after = new HashRing(List.of("a:7000", "b:7000", "c:7000", "d:7000"), VIRTUAL_NODES);
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "key-" + i;
+            if (!before.owner(key).equals(after.owner(key))) {
+                assertEquals("d:7000", after.owner(key));
+                moved++;
+            }
+        }
+        // About a quarter of the keys, not a reshuffle
+        assertTrue(moved > KEYS / 8 && moved < KEYS * 3 / 8, "moved " + moved);
+    }
+
+    @Test
+    public void testRemovingNodeOnlyMovesItsKeys() {
+        HashRing before = new HashRing(List.of("a:7000", "b:7000", "c:7000"), VIRTUAL_NODES);
+        HashRing after = new HashRing(List.of("a:7000", "c:7000"), VIRTUAL_NODES);
+
+        for (int i = 0; i < KEYS; i++) {
+            String key = "key-" + i;
+            if (!"b:7000".equals(before.owner(key))) {
+                assertEquals(before.owner(key), after.owner(key));
+            } else {
+                assertNotEquals("b:7000", after.owner(key));
+            }
+        }
+    }
+
+    @Test
+    public void testEmptyAndSingleNodeRings() {
+        assertNull(new HashRing(List.of(), VIRTUAL_NODES).owner("key"));
+
+        HashRing single = new HashRing(List.of("a:7000"), VIRTUAL_NODES);
+        assertEquals("a:7000", single.owner("key"));
+        assertEquals("a:7000", single.owner(""));
+    }
+
+    @Test
+    public void testHashIsStable() {
+        // Nodes running different builds must agree on owners, so the hash must never change
+        assertEquals(HashRing.hash("tenant:rule:api.search"), HashRing.hash("tenant:rule:api.search"));
+        assertNotEquals(HashRing.hash("key-1"), HashRing.hash("key-2"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.ratelimitx.dataplane.infrastructure.replication;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Merge semantics of the per-window CRDT: duplicates, reordering and stale counts
+ */
+public class GCounterTest {
+
+    private final AtomicLong versions = new AtomicLong(0);
+
+    @Test
+    public void testIncrementCountsPerReplica() {
+        GCounter counter = new GCounter(1000);
+        counter.increment("eu", versions.incrementAndGet());
+        counter.increment("eu", versions.incrementAndGet());
+        counter.increment("us", versions.incrementAndGet());
+
+        assertEquals(3, counter.value());
+        assertEquals(Map.of("eu", 2L, "us", 1L), counter.counts());
+        assertEquals(3, counter.version());
+    }
+
+    @Test
+    public void testMergeIsIdempotent() {
+        GCounter counter = new GCounter(1000);
+        counter.increment("eu", versions.incrementAndGet());
+
+        assertTrue(counter.merge(Map.of("us", 4L), versions::incrementAndGet));
+        long version = counter.version();
+
+        // The same delta again teaches nothing and does not mark the counter changed
+        assertFalse(counter.merge(Map.of("us", 4L), versions::incrementAndGet));
+        assertEquals(5, counter.value());
+        assertEquals(version, counter.version());
+    }
+
+    @Test
+    public void testStaleCountsDoNotLowerTotal() {
+        GCounter counter = new GCounter(1000);
+
+        // Pushes from the same replica arriving newest first
+        assertTrue(counter.merge(Map.of("us", 7L), versions::incrementAndGet));
+        assertFalse(counter.merge(Map.of("us", 3L), versions::incrementAndGet));
+        assertFalse(counter.merge(Map.of("us", 5L), versions::incrementAndGet));
+
+        assertEquals(7, counter.value());
+        assertEquals(Map.of("us", 7L), counter.counts());
+    }
+
+    @Test
+    public void testReplicasConvergeWhateverTheOrder() {
+        Map<String, Long> fromUs = Map.of("us", 3L);
+        Map<String, Long> fromAp = Map.of("ap", 2L, "us", 1L);
+        Map<String, Long> fromUsLater = Map.of("us", 6L);
+
+        GCounter first = new GCounter(1000);
+        first.merge(fromUs, versions::incrementAndGet);
+        first.merge(fromAp, versions::incrementAndGet);
+        first.merge(fromUsLater, versions::incrementAndGet);
+
+        GCounter second = new GCounter(1000);
+        second.merge(fromUsLater, versions::incrementAndGet);
+        second.merge(fromAp, versions::incrementAndGet);
+        second.merge(fromUs, versions::incrementAndGet);
+
+        assertEquals(8, first.value());
+        assertEquals(first.counts(), second.counts());
+        assertEquals(first.value(), second.value());
+    }
+
+    @Test
+    public void testMergeKeepsOwnIncrements() {
+        GCounter counter = new GCounter(1000);
+        counter.increment("eu", versions.incrementAndGet());
+        counter.increment("eu", versions.incrementAndGet());
+
+        // A peer that saw only one of them does not take it back
+        Map<String, Long> received = new HashMap<>();
+        received.put("eu", 1L);
+        received.put("us", null);
+        assertFalse(counter.merge(received, versions::incrementAndGet));
+        assertEquals(2, counter.value());
+    }
+
+    @Test
+    public void testExpiry() {
+        GCounter counter = new GCounter(1000);
+
+        assertFalse(counter.isExpired(999));
+        assertTrue(counter.isExpired(1000));
+        assertEquals(1000, counter.expiresAt());
+    }
+}
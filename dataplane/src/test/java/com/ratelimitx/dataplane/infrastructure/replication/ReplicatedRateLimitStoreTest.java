@@ -0,0 +1,155 @@
+package com.ratelimitx.dataplane.infrastructure.replication;
+
+import com.ratelimitx.core.Algorithm;
+import com.ratelimitx.core.Decision;
+import com.ratelimitx.core.algorithm.FixedWindow;
+import com.ratelimitx.dataplane.common.dto.ReplicationDelta;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Decisions on merged counts. Merges drop windows expired by the wall clock, so the checks
+ * use the current time and hour-long windows that cannot roll over mid-test.
+ */
+public class ReplicatedRateLimitStoreTest {
+
+    private static final int WINDOW_SECONDS = 3600;
+
+    private final long now = System.currentTimeMillis();
+    private final long windowStart = FixedWindow.windowStart(now, WINDOW_SECONDS);
+    private final long resetAt = windowStart + WINDOW_SECONDS * 1000L;
+
+    @Test
+    public void testSafetyMarginLowersLimit() {
+        ReplicatedRateLimitStore store = store(0.1);
+
+        assertEquals(9, countAllowed(store, Algorithm.FIXED_WINDOW, "k", 10, 20));
+        Decision denied = store.check(Algorithm.FIXED_WINDOW, "k", 10, WINDOW_SECONDS, now);
+        assertFalse(denied.allowed());
+        assertEquals(resetAt, denied.resetAt());
+
+        // Never below one request, however small the limit
+        assertEquals(1, countAllowed(store(0.9), Algorithm.FIXED_WINDOW, "k", 1, 5));
+        assertEquals(10, countAllowed(store(0), Algorithm.FIXED_WINDOW, "k", 10, 20));
+    }
+
+    @Test
+    public void testMergedCountsAreDecidedOn() {
+        ReplicatedRateLimitStore store = store(0);
+        assertEquals(2, countAllowed(store, Algorithm.FIXED_WINDOW, "k", 10, 2));
+
+        store.merge(delta("us@1", "k:" + windowStart, Map.of("us@1", 5L), resetAt));
+
+        Decision decision = store.check(Algorithm.FIXED_WINDOW, "k", 10, WINDOW_SECONDS, now);
+        assertTrue(decision.allowed());
+        assertEquals(2, decision.remaining());
+        assertEquals(2, countAllowed(store, Algorithm.FIXED_WINDOW, "k", 10, 5));
+    }
+
+    @Test
+    public void testRepeatedAndReorderedDeltasCountOnce() {
+        ReplicatedRateLimitStore store = store(0);
+        String id = "k:" + windowStart;
+
+        store.merge(delta("us@1", id, Map.of("us@1", 4L), resetAt));
+        store.merge(delta("us@1", id, Map.of("us@1", 4L), resetAt));
+        store.merge(delta("us@1", id, Map.of("us@1", 2L), resetAt));
+        // Relayed by a third replica, with its own count
+        store.merge(delta("ap@1", id, Map.of("us@1", 3L, "ap@1", 1L), resetAt));
+
+        assertEquals(5, countAllowed(store, Algorithm.FIXED_WINDOW, "k", 10, 10));
+    }
+
+    @Test
+    public void testExpiredAndOwnWindowsAreIgnored() {
+        ReplicatedRateLimitStore store = store(0);
+        long version = store.version();
+
+        store.merge(delta("us@1", "k:" + windowStart, Map.of("us@1", 9L), now - 1));
+        store.merge(delta(store.replica(), "k:" + windowStart, Map.of("us@1", 9L), resetAt));
+        store.merge(ReplicationDelta.builder().replica("us@1").counters(List.of(
+                ReplicationDelta.Counter.builder().id("k:" + windowStart).counts(Map.of("us@1", 9L)).build())).build());
+
+        assertEquals(version, store.version());
+        assertEquals(10, countAllowed(store, Algorithm.FIXED_WINDOW, "k", 10, 20));
+    }
+
+    @Test
+    public void testChangedSinceAndSweep() {
+        ReplicatedRateLimitStore store = store(0);
+        store.check(Algorithm.FIXED_WINDOW, "a", 10, WINDOW_SECONDS, now);
+        long version = store.version();
+        store.check(Algorithm.FIXED_WINDOW, "b", 10, WINDOW_SECONDS, now);
+
+        List<ReplicationDelta.Counter> changed = store.changedSince(version, now);
+        assertEquals(1, changed.size());
+        assertEquals("b:" + windowStart, changed.get(0).getId());
+        assertEquals(Map.of(store.replica(), 1L), changed.get(0).getCounts());
+        assertEquals(resetAt, changed.get(0).getExpiresAt());
+
+        // Expired windows are neither pushed nor kept
+        assertTrue(store.changedSince(0, resetAt).isEmpty());
+        store.sweep(resetAt);
+        assertEquals(10, countAllowed(store, Algorithm.FIXED_WINDOW, "a", 10, 20));
+    }
+
+    @Test
+    public void testSlidingWindowWeighsMergedPreviousWindow() {
+        ReplicatedRateLimitStore store = store(0);
+        long windowSizeMs = WINDOW_SECONDS * 1000L;
+        long currentStart = (now / windowSizeMs) * windowSizeMs;
+        long previousStart = currentStart - windowSizeMs;
+
+        // A full previous window from a peer, still live for one more window
+        store.merge(delta("us@1", "k:" + previousStart, Map.of("us@1", 10L), currentStart + windowSizeMs));
+
+        double previousWeight = 1.0 - (double) (now - currentStart) / windowSizeMs;
+        int expected = (int) Math.ceil(10 - 10 * previousWeight);
+        assertEquals(expected, countAllowed(store, Algorithm.SLIDING_WINDOW, "k", 10, 20));
+    }
+
+    @Test
+    public void testLeasesSplitAcrossReplicas() {
+        ReplicatedRateLimitStore store = new ReplicatedRateLimitStore(new SimpleMeterRegistry(), "eu",
+                "https://us.example.com, https://ap.example.com", 0);
+
+        assertTrue(store.acquire("k", 7, 60, now, "a").allowed());
+        assertTrue(store.acquire("k", 7, 60, now, "b").allowed());
+        assertFalse(store.acquire("k", 7, 60, now, "c").allowed());
+        assertTrue(store.release("k", "a"));
+    }
+
+    @Test
+    public void testInvalidConfigurationIsRejected() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        assertThrows(IllegalStateException.class, () -> new ReplicatedRateLimitStore(registry, " ", "", 0.1));
+        assertThrows(IllegalStateException.class, () -> new ReplicatedRateLimitStore(registry, "eu", "", 1));
+        assertThrows(IllegalStateException.class, () -> new ReplicatedRateLimitStore(registry, "eu", "", -0.1));
+    }
+
+    private int countAllowed(ReplicatedRateLimitStore store, Algorithm algorithm, String key, int maxRequests, int attempts) {
+        int allowed = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (store.check(algorithm, key, maxRequests, WINDOW_SECONDS, now).allowed()) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+
+    private static ReplicatedRateLimitStore store(double safetyMargin) {
+        return new ReplicatedRateLimitStore(new SimpleMeterRegistry(), "eu", "", safetyMargin);
+    }
+
+    private static ReplicationDelta delta(String replica, String id, Map<String, Long> counts, long expiresAt) {
+        return ReplicationDelta.builder()
+                .replica(replica)
+                .counters(List.of(ReplicationDelta.Counter.builder().id(id).counts(counts).expiresAt(expiresAt).build()))
+                .build();
+    }
+}
@@ -231,7 +231,7 @@ export default function DocsPage() {
                     "api.payment.create")
                   </li>
                   <li>
-                    <strong>Algorithm:</strong> TOKEN_BUCKET, SLIDING_WINDOW, or FIXED_WINDOW
+                    <strong>Algorithm:</strong> TOKEN_BUCKET, SLIDING_WINDOW, FIXED_WINDOW, GCRA, SLIDING_LOG, or CONCURRENCY
                   </li>
                   <li>
                     <strong>Max Requests:</strong> Maximum number of requests allowed
@@ -196,6 +196,9 @@ export default function RulesPage() {
                 <option value="TOKEN_BUCKET">Token Bucket</option>
                 <option value="SLIDING_WINDOW">Sliding Window</option>
                 <option value="FIXED_WINDOW">Fixed Window</option>
+                <option value="GCRA">GCRA</option>
+                <option value="SLIDING_LOG">Sliding Log</option>
+                <option value="CONCURRENCY">Concurrency (in-flight)</option>
               </select>
             </div>
             <div>
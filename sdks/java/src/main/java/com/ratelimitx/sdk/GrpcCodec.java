@@ -0,0 +1,236 @@
+package com.ratelimitx.sdk;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.ratelimitx.sdk.Models.*;
+
+/**
+ * Protobuf wire encoding of the ratelimitx.v1 messages for {@link RateLimitXGrpc}.
+ * Written by hand against the SDK models, so no protoc step or generated classes are needed.
+ */
+final class GrpcCodec {
+
+    private GrpcCodec() {
+    }
+
+    static final MethodDescriptor.Marshaller<RateLimitCheckRequest> CHECK_REQUEST =
+            marshaller(GrpcCodec::writeCheckRequest, GrpcCodec::readCheckRequest);
+
+    static final MethodDescriptor.Marshaller<RateLimitCheckResponse> CHECK_RESPONSE =
+            marshaller(GrpcCodec::writeCheckResponse, GrpcCodec::readCheckResponse);
+
+    static final MethodDescriptor.Marshaller<List<RateLimitCheckRequest>> CHECK_BATCH_REQUEST =
+            repeated(GrpcCodec::writeCheckRequest, GrpcCodec::readCheckRequest);
+
+    static final MethodDescriptor.Marshaller<List<RateLimitCheckResponse>> CHECK_BATCH_RESPONSE =
+            repeated(GrpcCodec::writeCheckResponse, GrpcCodec::readCheckResponse);
+
+    static final MethodDescriptor.Marshaller<List<RateLimitPeekResponse>> PEEK_BATCH_RESPONSE =
+            repeated(GrpcCodec::writePeekResponse, GrpcCodec::readPeekResponse);
+
+    private static void writeCheckRequest(CodedOutputStream out, RateLimitCheckRequest request) throws IOException {
+        writeString(out, 1, request.getIdentifier());
+        writeString(out, 2, request.getResource());
+        writeInt32(out, 3, request.getTokens());
+    }
+
+    private static RateLimitCheckRequest readCheckRequest(CodedInputStream in) throws IOException {
+        RateLimitCheckRequest request = new RateLimitCheckRequest(null, null);
+        while (true) {
+            int tag = in.readTag();
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 0:
+                    return request;
+                case 1:
+                    request.setIdentifier(in.readString());
+                    break;
+                case 2:
+                    request.setResource(in.readString());
+                    break;
+                case 3:
+                    request.setTokens(in.readInt32());
+                    break;
+                default:
+                    in.skipField(tag);
+            }
+        }
+    }
+
+    private static void writeCheckResponse(CodedOutputStream out, RateLimitCheckResponse response) throws IOException {
+        if (Boolean.TRUE.equals(response.getAllowed())) {
+            out.writeBool(1, true);
+        }
+        writeInt32(out, 2, response.getRemaining());
+        writeInt64(out, 3, response.getResetAt());
+        writeInt32(out, 4, response.getRetryAfter());
+        writeString(out, 5, response.getLeaseId());
+    }
+
+    private static RateLimitCheckResponse readCheckResponse(CodedInputStream in) throws IOException {
+        RateLimitCheckResponse response = new RateLimitCheckResponse();
+        response.setAllowed(false);
+        response.setRemaining(0);
+        response.setResetAt(0L);
+        response.setRetryAfter(0);
+        while (true) {
+            int tag = in.readTag();
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 0:
+                    return response;
+                case 1:
+                    response.setAllowed(in.readBool());
+                    break;
+                case 2:
+                    response.setRemaining(in.readInt32());
+                    break;
+                case 3:
+                    response.setResetAt(in.readInt64());
+                    break;
+                case 4:
+                    response.setRetryAfter(in.readInt32());
+                    break;
+                case 5:
+                    response.setLeaseId(in.readString());
+                    break;
+                default:
+                    in.skipField(tag);
+            }
+        }
+    }
+
+    private static void writePeekResponse(CodedOutputStream out, RateLimitPeekResponse response) throws IOException {
+        writeString(out, 1, response.getIdentifier());
+        writeString(out, 2, response.getResource());
+        if (Boolean.TRUE.equals(response.getAllowed())) {
+            out.writeBool(3, true);
+        }
+        writeInt32(out, 4, response.getRemaining());
+        writeInt64(out, 5, response.getResetAt());
+        writeInt32(out, 6, response.getRetryAfter());
+    }
+
+    private static RateLimitPeekResponse readPeekResponse(CodedInputStream in) throws IOException {
+        RateLimitPeekResponse response = new RateLimitPeekResponse();
+        response.setAllowed(false);
+        response.setRemaining(0);
+        response.setResetAt(0L);
+        response.setRetryAfter(0);
+        while (true) {
+            int tag = in.readTag();
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 0:
+                    return response;
+                case 1:
+                    response.setIdentifier(in.readString());
+                    break;
+                case 2:
+                    response.setResource(in.readString());
+                    break;
+                case 3:
+                    response.setAllowed(in.readBool());
+                    break;
+                case 4:
+                    response.setRemaining(in.readInt32());
+                    break;
+                case 5:
+                    response.setResetAt(in.readInt64());
+                    break;
+                case 6:
+                    response.setRetryAfter(in.readInt32());
+                    break;
+                default:
+                    in.skipField(tag);
+            }
+        }
+    }
+
+    private static void writeString(CodedOutputStream out, int field, String value) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            out.writeString(field, value);
+        }
+    }
+
+    private static void writeInt32(CodedOutputStream out, int field, Integer value) throws IOException {
+        if (value != null && value != 0) {
+            out.writeInt32(field, value);
+        }
+    }
+
+    private static void writeInt64(CodedOutputStream out, int field, Long value) throws IOException {
+        if (value != null && value != 0) {
+            out.writeInt64(field, value);
+        }
+    }
+
+    private interface Writer<T> {
+        void write(CodedOutputStream out, T value) throws IOException;
+    }
+
+    private interface Reader<T> {
+        T read(CodedInputStream in) throws IOException;
+    }
+
+    private static <T> byte[] encode(Writer<T> writer, T value) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+            writer.write(out, value);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw Status.INTERNAL.withDescription("Failed to encode message").withCause(e).asRuntimeException();
+        }
+    }
+
+    private static <T> MethodDescriptor.Marshaller<T> marshaller(Writer<T> writer, Reader<T> reader) {
+        return new MethodDescriptor.Marshaller<T>() {
+            @Override
+            public InputStream stream(T value) {
+                return new ByteArrayInputStream(encode(writer, value));
+            }
+
+            @Override
+            public T parse(InputStream stream) {
+                try {
+                    return reader.read(CodedInputStream.newInstance(stream));
+                } catch (IOException e) {
+                    throw Status.INTERNAL.withDescription("Malformed message").withCause(e).asRuntimeException();
+                }
+            }
+        };
+    }
+
+    private static <T> MethodDescriptor.Marshaller<List<T>> repeated(Writer<T> writer, Reader<T> reader) {
+        return marshaller((out, values) -> {
+            for (T value : values) {
+                out.writeByteArray(1, encode(writer, value));
+            }
+        }, in -> {
+            List<T> values = new ArrayList<>();
+            while (true) {
+                int tag = in.readTag();
+                if (tag == 0) {
+                    return values;
+                }
+                if (WireFormat.getTagFieldNumber(tag) != 1) {
+                    in.skipField(tag);
+                    continue;
+                }
+                int limit = in.pushLimit(in.readRawVarint32());
+                values.add(reader.read(in));
+                in.popLimit(limit);
+            }
+        });
+    }
+}
@@ -151,6 +151,84 @@ public class RateLimitX {
         return execute(httpRequest, RateLimitCheckResponse.class);
     }
 
+    /**
+     * Check, waiting up to timeoutMs on the server for capacity instead of failing right away
+     */
+    public RateLimitCheckResponse checkAndWait(RateLimitCheckRequest request, long timeoutMs) throws RateLimitXException {
+        Request httpRequest = buildRequest("/api/v1/check/wait?timeoutMs=" + timeoutMs)
+                .post(RequestBody.create(gson.toJson(request), MediaType.get("application/json")))
+                .build();
+        return execute(httpRequest, RateLimitCheckResponse.class);
+    }
+
+    /**
+     * Evaluate checks without consuming quota (e.g. for UI hints or routing)
+     */
+    public List<RateLimitPeekResponse> peek(List<RateLimitCheckRequest> checks) throws RateLimitXException {
+        Map<String, Object> data = new HashMap<>();
+        data.put("checks", checks);
+
+        Request httpRequest = buildRequest("/api/v1/peek")
+                .post(RequestBody.create(gson.toJson(data), MediaType.get("application/json")))
+                .build();
+        return executeList(httpRequest, RateLimitPeekResponse.class);
+    }
+
+    /**
+     * Release a lease returned by {@link #check} for CONCURRENCY rules
+     * @return number of rules whose lease was still held
+     */
+    public Integer release(RateLimitReleaseRequest request) throws RateLimitXException {
+        Request httpRequest = buildRequest("/api/v1/release")
+                .post(RequestBody.create(gson.toJson(request), MediaType.get("application/json")))
+                .build();
+        return execute(httpRequest, Integer.class);
+    }
+
+    /**
+     * Report backend latency/errors so adaptive rules can adjust their limit
+     * @return number of adaptive rules updated
+     */
+    public Integer feedback(RateLimitFeedbackRequest request) throws RateLimitXException {
+        Request httpRequest = buildRequest("/api/v1/feedback")
+                .post(RequestBody.create(gson.toJson(request), MediaType.get("application/json")))
+                .build();
+        return execute(httpRequest, Integer.class);
+    }
+
+    /**
+     * Reserve tokens up front; call {@link #commitReservation} or {@link #cancelReservation} later.
+     * Reservations that are neither committed nor cancelled are refunded after ttlSeconds.
+     */
+    public ReservationResponse reserve(ReservationRequest request) throws RateLimitXException {
+        Request httpRequest = buildRequest("/api/v1/reservations")
+                .post(RequestBody.create(gson.toJson(request), MediaType.get("application/json")))
+                .build();
+        return execute(httpRequest, ReservationResponse.class);
+    }
+
+    /**
+     * Keep the tokens of a reservation
+     * @return true if the reservation was still pending
+     */
+    public Boolean commitReservation(String reservationId) throws RateLimitXException {
+        Request httpRequest = buildRequest("/api/v1/reservations/" + reservationId + "/commit")
+                .post(RequestBody.create("", MediaType.get("application/json")))
+                .build();
+        return execute(httpRequest, Boolean.class);
+    }
+
+    /**
+     * Give the tokens of a reservation back
+     * @return number of tokens refunded
+     */
+    public Integer cancelReservation(String reservationId) throws RateLimitXException {
+        Request httpRequest = buildRequest("/api/v1/reservations/" + reservationId + "/cancel")
+                .post(RequestBody.create("", MediaType.get("application/json")))
+                .build();
+        return execute(httpRequest, Integer.class);
+    }
+
     /**
      * Register a new user/tenant
      */
@@ -0,0 +1,140 @@
+package com.ratelimitx.sdk;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientInterceptors;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ClientCalls;
+import io.grpc.stub.MetadataUtils;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.ratelimitx.sdk.Models.*;
+
+/**
+ * RateLimitX gRPC client for the hot path: check, batch check and peek over one
+ * long-lived HTTP/2 connection. Requires grpc-netty-shaded, grpc-stub and protobuf-java
+ * on the classpath; the server must run with ratelimit.grpc.enabled=true.
+ */
+public class RateLimitXGrpc implements Closeable {
+    private static final String SERVICE_NAME = "ratelimitx.v1.RateLimit";
+    private static final long DEFAULT_DEADLINE_MS = 1000;
+
+    private static final MethodDescriptor<RateLimitCheckRequest, RateLimitCheckResponse> CHECK =
+            MethodDescriptor.<RateLimitCheckRequest, RateLimitCheckResponse>newBuilder()
+                    .setType(MethodDescriptor.MethodType.UNARY)
+                    .setFullMethodName(MethodDescriptor.generateFullMethodName(SERVICE_NAME, "Check"))
+                    .setRequestMarshaller(GrpcCodec.CHECK_REQUEST)
+                    .setResponseMarshaller(GrpcCodec.CHECK_RESPONSE)
+                    .build();
+
+    private static final MethodDescriptor<List<RateLimitCheckRequest>, List<RateLimitCheckResponse>> CHECK_BATCH =
+            MethodDescriptor.<List<RateLimitCheckRequest>, List<RateLimitCheckResponse>>newBuilder()
+                    .setType(MethodDescriptor.MethodType.UNARY)
+                    .setFullMethodName(MethodDescriptor.generateFullMethodName(SERVICE_NAME, "CheckBatch"))
+                    .setRequestMarshaller(GrpcCodec.CHECK_BATCH_REQUEST)
+                    .setResponseMarshaller(GrpcCodec.CHECK_BATCH_RESPONSE)
+                    .build();
+
+    private static final MethodDescriptor<List<RateLimitCheckRequest>, List<RateLimitPeekResponse>> PEEK =
+            MethodDescriptor.<List<RateLimitCheckRequest>, List<RateLimitPeekResponse>>newBuilder()
+                    .setType(MethodDescriptor.MethodType.UNARY)
+                    .setFullMethodName(MethodDescriptor.generateFullMethodName(SERVICE_NAME, "Peek"))
+                    .setRequestMarshaller(GrpcCodec.CHECK_BATCH_REQUEST)
+                    .setResponseMarshaller(GrpcCodec.PEEK_BATCH_RESPONSE)
+                    .build();
+
+    private final ManagedChannel channel;
+    private final Channel authenticatedChannel;
+    private final long deadlineMs;
+
+    /**
+     * @param target host:port of the gRPC listener, e.g. "localhost:9090"
+     */
+    public RateLimitXGrpc(String target, String apiKey) {
+        this(ManagedChannelBuilder.forTarget(target).usePlaintext().build(), apiKey, DEFAULT_DEADLINE_MS);
+    }
+
+    /**
+     * Use a caller-configured channel (TLS, keepalive, load balancing); closing this client shuts it down
+     */
+    public RateLimitXGrpc(ManagedChannel channel, String apiKey, long deadlineMs) {
+        Metadata headers = new Metadata();
+        headers.put(Metadata.Key.of("x-api-key", Metadata.ASCII_STRING_MARSHALLER), apiKey);
+
+        this.channel = channel;
+        this.authenticatedChannel = ClientInterceptors.intercept(channel,
+                MetadataUtils.newAttachHeadersInterceptor(headers));
+        this.deadlineMs = deadlineMs;
+    }
+
+    /**
+     * Check if a request should be rate limited
+     */
+    public RateLimitCheckResponse check(RateLimitCheckRequest request) throws RateLimitXException {
+        return call(CHECK, request);
+    }
+
+    /**
+     * Run up to 100 checks in one round trip; results are in request order
+     */
+    public List<RateLimitCheckResponse> checkBatch(List<RateLimitCheckRequest> checks) throws RateLimitXException {
+        return call(CHECK_BATCH, checks);
+    }
+
+    /**
+     * Evaluate checks without consuming quota (e.g. for UI hints or routing)
+     */
+    public List<RateLimitPeekResponse> peek(List<RateLimitCheckRequest> checks) throws RateLimitXException {
+        return call(PEEK, checks);
+    }
+
+    private <ReqT, RespT> RespT call(MethodDescriptor<ReqT, RespT> method, ReqT request) throws RateLimitXException {
+        try {
+            return ClientCalls.blockingUnaryCall(authenticatedChannel, method,
+                    CallOptions.DEFAULT.withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS), request);
+        } catch (StatusRuntimeException e) {
+            throw new RateLimitXException(e.getStatus().getCode() + ": " + e.getStatus().getDescription(),
+                    toHttpStatus(e), null);
+        }
+    }
+
+    /**
+     * Same status codes the HTTP client reports, so callers can share error handling
+     */
+    private static int toHttpStatus(StatusRuntimeException e) {
+        switch (e.getStatus().getCode()) {
+            case INVALID_ARGUMENT:
+                return 400;
+            case UNAUTHENTICATED:
+                return 401;
+            case RESOURCE_EXHAUSTED:
+                return 429;
+            case UNAVAILABLE:
+                return 503;
+            case DEADLINE_EXCEEDED:
+                return 504;
+            default:
+                return 500;
+        }
+    }
+
+    @Override
+    public void close() {
+        channel.shutdown();
+        try {
+            if (!channel.awaitTermination(5, TimeUnit.SECONDS)) {
+                channel.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            channel.shutdownNow();
+        }
+    }
+}
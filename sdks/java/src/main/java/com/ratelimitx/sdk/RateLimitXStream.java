@@ -0,0 +1,160 @@
+package com.ratelimitx.sdk;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.ratelimitx.sdk.Models.*;
+
+/**
+ * Streaming check client over the /api/v1/check/stream WebSocket. The API key is sent once,
+ * when connecting; checks can be issued from any thread and complete as decisions arrive.
+ */
+public class RateLimitXStream implements Closeable {
+    private final OkHttpClient client;
+    private final WebSocket webSocket;
+    private final Gson gson = new GsonBuilder().create();
+    private final Map<String, CompletableFuture<RateLimitCheckResponse>> pending = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(0);
+    private volatile boolean open = true;
+
+    public RateLimitXStream(String baseUrl, String apiKey) {
+        String url = baseUrl.replaceAll("/$", "").replaceFirst("^http", "ws") + "/api/v1/check/stream";
+
+        this.client = new OkHttpClient.Builder()
+                .pingInterval(30, TimeUnit.SECONDS)
+                .build();
+        this.webSocket = client.newWebSocket(new Request.Builder()
+                .url(url)
+                .addHeader("X-API-Key", apiKey)
+                .build(), new Listener());
+    }
+
+    /**
+     * Check if a request should be rate limited; completes exceptionally with
+     * {@link RateLimitXException} if the server could not evaluate it
+     */
+    public CompletableFuture<RateLimitCheckResponse> check(RateLimitCheckRequest request) {
+        String id = Long.toString(nextId.incrementAndGet());
+        CompletableFuture<RateLimitCheckResponse> future = new CompletableFuture<>();
+        pending.put(id, future);
+
+        JsonObject frame = gson.toJsonTree(request).getAsJsonObject();
+        frame.addProperty("id", id);
+
+        if (!webSocket.send(gson.toJson(frame))) {
+            pending.remove(id);
+            future.completeExceptionally(new RateLimitXException("Check stream is closed", 0, null));
+        }
+        return future;
+    }
+
+    /**
+     * Check several requests in one frame (at most 100); decisions complete one by one,
+     * in whatever order the server answers them
+     */
+    public List<CompletableFuture<RateLimitCheckResponse>> check(List<RateLimitCheckRequest> requests) {
+        List<String> ids = new ArrayList<>(requests.size());
+        List<CompletableFuture<RateLimitCheckResponse>> futures = new ArrayList<>(requests.size());
+        JsonArray frame = new JsonArray();
+
+        for (RateLimitCheckRequest request : requests) {
+            String id = Long.toString(nextId.incrementAndGet());
+            CompletableFuture<RateLimitCheckResponse> future = new CompletableFuture<>();
+            pending.put(id, future);
+            ids.add(id);
+            futures.add(future);
+
+            JsonObject check = gson.toJsonTree(request).getAsJsonObject();
+            check.addProperty("id", id);
+            frame.add(check);
+        }
+
+        if (!webSocket.send(gson.toJson(frame))) {
+            for (String id : ids) {
+                CompletableFuture<RateLimitCheckResponse> future = pending.remove(id);
+                if (future != null) {
+                    future.completeExceptionally(new RateLimitXException("Check stream is closed", 0, null));
+                }
+            }
+        }
+        return futures;
+    }
+
+    /**
+     * @return false once the server closed the stream or the connection failed
+     */
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() {
+        webSocket.close(1000, null);
+        client.dispatcher().executorService().shutdown();
+    }
+
+    private void failAll(String message) {
+        for (String id : pending.keySet()) {
+            CompletableFuture<RateLimitCheckResponse> future = pending.remove(id);
+            if (future != null) {
+                future.completeExceptionally(new RateLimitXException(message, 0, null));
+            }
+        }
+    }
+
+    private class Listener extends WebSocketListener {
+        @Override
+        public void onMessage(WebSocket webSocket, String text) {
+            JsonObject frame = gson.fromJson(text, JsonObject.class);
+            if (!frame.has("id")) {
+                // Frame the server could not parse at all
+                return;
+            }
+
+            CompletableFuture<RateLimitCheckResponse> future = pending.remove(frame.get("id").getAsString());
+            if (future == null) {
+                return;
+            }
+
+            if (frame.has("error")) {
+                future.completeExceptionally(new RateLimitXException(frame.get("error").getAsString(), 0, frame));
+            } else {
+                future.complete(gson.fromJson(frame, RateLimitCheckResponse.class));
+            }
+        }
+
+        @Override
+        public void onClosing(WebSocket webSocket, int code, String reason) {
+            open = false;
+            webSocket.close(1000, null);
+        }
+
+        @Override
+        public void onClosed(WebSocket webSocket, int code, String reason) {
+            open = false;
+            failAll("Check stream closed: " + code);
+        }
+
+        @Override
+        public void onFailure(WebSocket webSocket, Throwable t, Response response) {
+            open = false;
+            failAll("Check stream failed: " + t.getMessage());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.ratelimitx.sdk;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -35,6 +36,7 @@ public class Models {
         private Integer remaining;
         private Long resetAt;
         private Integer retryAfter;
+        private String leaseId;
 
         public Boolean getAllowed() { return allowed; }
         public void setAllowed(Boolean allowed) { this.allowed = allowed; }
@@ -44,6 +46,144 @@ public class Models {
         public void setResetAt(Long resetAt) { this.resetAt = resetAt; }
         public Integer getRetryAfter() { return retryAfter; }
         public void setRetryAfter(Integer retryAfter) { this.retryAfter = retryAfter; }
+        public String getLeaseId() { return leaseId; }
+        public void setLeaseId(String leaseId) { this.leaseId = leaseId; }
+    }
+
+    public static class RateLimitPeekResponse {
+        private String identifier;
+        private String resource;
+        private Boolean allowed;
+        private Integer remaining;
+        private Long resetAt;
+        private Integer retryAfter;
+        private List<RuleStatus> rules;
+
+        public String getIdentifier() { return identifier; }
+        public void setIdentifier(String identifier) { this.identifier = identifier; }
+        public String getResource() { return resource; }
+        public void setResource(String resource) { this.resource = resource; }
+        public Boolean getAllowed() { return allowed; }
+        public void setAllowed(Boolean allowed) { this.allowed = allowed; }
+        public Integer getRemaining() { return remaining; }
+        public void setRemaining(Integer remaining) { this.remaining = remaining; }
+        public Long getResetAt() { return resetAt; }
+        public void setResetAt(Long resetAt) { this.resetAt = resetAt; }
+        public Integer getRetryAfter() { return retryAfter; }
+        public void setRetryAfter(Integer retryAfter) { this.retryAfter = retryAfter; }
+        public List<RuleStatus> getRules() { return rules; }
+        public void setRules(List<RuleStatus> rules) { this.rules = rules; }
+    }
+
+    public static class RuleStatus {
+        private String ruleId;
+        private String algorithm;
+        private Boolean allowed;
+        private Integer remaining;
+        private Long resetAt;
+        private Integer retryAfter;
+        private String source;
+
+        public String getRuleId() { return ruleId; }
+        public void setRuleId(String ruleId) { this.ruleId = ruleId; }
+        public String getAlgorithm() { return algorithm; }
+        public void setAlgorithm(String algorithm) { this.algorithm = algorithm; }
+        public Boolean getAllowed() { return allowed; }
+        public void setAllowed(Boolean allowed) { this.allowed = allowed; }
+        public Integer getRemaining() { return remaining; }
+        public void setRemaining(Integer remaining) { this.remaining = remaining; }
+        public Long getResetAt() { return resetAt; }
+        public void setResetAt(Long resetAt) { this.resetAt = resetAt; }
+        public Integer getRetryAfter() { return retryAfter; }
+        public void setRetryAfter(Integer retryAfter) { this.retryAfter = retryAfter; }
+        public String getSource() { return source; }
+        public void setSource(String source) { this.source = source; }
+    }
+
+    public static class RateLimitReleaseRequest {
+        private String identifier;
+        private String resource;
+        private String leaseId;
+
+        public RateLimitReleaseRequest(String identifier, String resource, String leaseId) {
+            this.identifier = identifier;
+            this.resource = resource;
+            this.leaseId = leaseId;
+        }
+
+        public String getIdentifier() { return identifier; }
+        public void setIdentifier(String identifier) { this.identifier = identifier; }
+        public String getResource() { return resource; }
+        public void setResource(String resource) { this.resource = resource; }
+        public String getLeaseId() { return leaseId; }
+        public void setLeaseId(String leaseId) { this.leaseId = leaseId; }
+    }
+
+    public static class ReservationRequest {
+        private String identifier;
+        private String resource;
+        private Integer tokens = 1;
+        private Integer ttlSeconds = 60;
+
+        public ReservationRequest(String identifier, String resource, Integer tokens, Integer ttlSeconds) {
+            this.identifier = identifier;
+            this.resource = resource;
+            this.tokens = tokens;
+            this.ttlSeconds = ttlSeconds;
+        }
+
+        public String getIdentifier() { return identifier; }
+        public void setIdentifier(String identifier) { this.identifier = identifier; }
+        public String getResource() { return resource; }
+        public void setResource(String resource) { this.resource = resource; }
+        public Integer getTokens() { return tokens; }
+        public void setTokens(Integer tokens) { this.tokens = tokens; }
+        public Integer getTtlSeconds() { return ttlSeconds; }
+        public void setTtlSeconds(Integer ttlSeconds) { this.ttlSeconds = ttlSeconds; }
+    }
+
+    public static class ReservationResponse {
+        private Boolean allowed;
+        private String reservationId;
+        private Integer tokens;
+        private Integer remaining;
+        private Long expiresAt;
+        private Integer retryAfter;
+
+        public Boolean getAllowed() { return allowed; }
+        public void setAllowed(Boolean allowed) { this.allowed = allowed; }
+        public String getReservationId() { return reservationId; }
+        public void setReservationId(String reservationId) { this.reservationId = reservationId; }
+        public Integer getTokens() { return tokens; }
+        public void setTokens(Integer tokens) { this.tokens = tokens; }
+        public Integer getRemaining() { return remaining; }
+        public void setRemaining(Integer remaining) { this.remaining = remaining; }
+        public Long getExpiresAt() { return expiresAt; }
+        public void setExpiresAt(Long expiresAt) { this.expiresAt = expiresAt; }
+        public Integer getRetryAfter() { return retryAfter; }
+        public void setRetryAfter(Integer retryAfter) { this.retryAfter = retryAfter; }
+    }
+
+    public static class RateLimitFeedbackRequest {
+        private String identifier;
+        private String resource;
+        private Integer latencyMs;
+        private Boolean error = false;
+
+        public RateLimitFeedbackRequest(String resource, Integer latencyMs, Boolean error) {
+            this.resource = resource;
+            this.latencyMs = latencyMs;
+            this.error = error;
+        }
+
+        public String getIdentifier() { return identifier; }
+        public void setIdentifier(String identifier) { this.identifier = identifier; }
+        public String getResource() { return resource; }
+        public void setResource(String resource) { this.resource = resource; }
+        public Integer getLatencyMs() { return latencyMs; }
+        public void setLatencyMs(Integer latencyMs) { this.latencyMs = latencyMs; }
+        public Boolean getError() { return error; }
+        public void setError(Boolean error) { this.error = error; }
     }
 
     public static class AuthResponse {
@@ -75,6 +215,10 @@ public class Models {
         private Boolean active;
         private String createdAt;
         private String updatedAt;
+        private String executionMode;
+        private Boolean adaptive;
+        private Integer minRequests;
+        private Integer targetLatencyMs;
 
         // Getters and setters
         public String getId() { return id; }
@@ -101,6 +245,14 @@ public class Models {
         public void setCreatedAt(String createdAt) { this.createdAt = createdAt; }
         public String getUpdatedAt() { return updatedAt; }
         public void setUpdatedAt(String updatedAt) { this.updatedAt = updatedAt; }
+        public String getExecutionMode() { return executionMode; }
+        public void setExecutionMode(String executionMode) { this.executionMode = executionMode; }
+        public Boolean getAdaptive() { return adaptive; }
+        public void setAdaptive(Boolean adaptive) { this.adaptive = adaptive; }
+        public Integer getMinRequests() { return minRequests; }
+        public void setMinRequests(Integer minRequests) { this.minRequests = minRequests; }
+        public Integer getTargetLatencyMs() { return targetLatencyMs; }
+        public void setTargetLatencyMs(Integer targetLatencyMs) { this.targetLatencyMs = targetLatencyMs; }
     }
 
     public static class CreateRuleRequest {
@@ -110,6 +262,10 @@ public class Models {
         private Integer windowSeconds;
         private Integer burstCapacity;
         private String identifierType;
+        private String executionMode;
+        private Boolean adaptive;
+        private Integer minRequests;
+        private Integer targetLatencyMs;
 
         public String getResource() { return resource; }
         public void setResource(String resource) { this.resource = resource; }
@@ -123,6 +279,14 @@ public class Models {
         public void setBurstCapacity(Integer burstCapacity) { this.burstCapacity = burstCapacity; }
         public String getIdentifierType() { return identifierType; }
         public void setIdentifierType(String identifierType) { this.identifierType = identifierType; }
+        public String getExecutionMode() { return executionMode; }
+        public void setExecutionMode(String executionMode) { this.executionMode = executionMode; }
+        public Boolean getAdaptive() { return adaptive; }
+        public void setAdaptive(Boolean adaptive) { this.adaptive = adaptive; }
+        public Integer getMinRequests() { return minRequests; }
+        public void setMinRequests(Integer minRequests) { this.minRequests = minRequests; }
+        public Integer getTargetLatencyMs() { return targetLatencyMs; }
+        public void setTargetLatencyMs(Integer targetLatencyMs) { this.targetLatencyMs = targetLatencyMs; }
     }
 
     public static class UpdateRuleRequest {
@@ -133,6 +297,10 @@ public class Models {
         private Integer burstCapacity;
         private Boolean active;
         private String identifierType;
+        private String executionMode;
+        private Boolean adaptive;
+        private Integer minRequests;
+        private Integer targetLatencyMs;
 
         public String getResource() { return resource; }
         public void setResource(String resource) { this.resource = resource; }
@@ -148,6 +316,14 @@ public class Models {
         public void setActive(Boolean active) { this.active = active; }
         public String getIdentifierType() { return identifierType; }
         public void setIdentifierType(String identifierType) { this.identifierType = identifierType; }
+        public String getExecutionMode() { return executionMode; }
+        public void setExecutionMode(String executionMode) { this.executionMode = executionMode; }
+        public Boolean getAdaptive() { return adaptive; }
+        public void setAdaptive(Boolean adaptive) { this.adaptive = adaptive; }
+        public Integer getMinRequests() { return minRequests; }
+        public void setMinRequests(Integer minRequests) { this.minRequests = minRequests; }
+        public Integer getTargetLatencyMs() { return targetLatencyMs; }
+        public void setTargetLatencyMs(Integer targetLatencyMs) { this.targetLatencyMs = targetLatencyMs; }
     }
 
     public static class ApiKey {
@@ -47,7 +47,7 @@ export interface AuthResponse {
 export interface RateLimitRule {
   id?: string;
   resource: string;
-  algorithm: 'TOKEN_BUCKET' | 'SLIDING_WINDOW' | 'FIXED_WINDOW';
+  algorithm: 'TOKEN_BUCKET' | 'SLIDING_WINDOW' | 'FIXED_WINDOW' | 'GCRA' | 'SLIDING_LOG' | 'CONCURRENCY';
   maxRequests: number;
   windowSeconds: number;
   burstCapacity?: number;
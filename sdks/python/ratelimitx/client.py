@@ -217,7 +217,7 @@ class RateLimitX:
 
         Args:
             resource: Resource identifier
-            algorithm: Algorithm type (TOKEN_BUCKET, SLIDING_WINDOW, FIXED_WINDOW)
+            algorithm: Algorithm type (TOKEN_BUCKET, SLIDING_WINDOW, FIXED_WINDOW, GCRA, SLIDING_LOG, CONCURRENCY)
             max_requests: Maximum requests per window
             window_seconds: Window size in seconds
             burst_capacity: Burst capacity (optional)
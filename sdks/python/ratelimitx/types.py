@@ -9,6 +9,9 @@ class Algorithm(str, Enum):
     TOKEN_BUCKET = "TOKEN_BUCKET"
     SLIDING_WINDOW = "SLIDING_WINDOW"
     FIXED_WINDOW = "FIXED_WINDOW"
+    GCRA = "GCRA"
+    SLIDING_LOG = "SLIDING_LOG"
+    CONCURRENCY = "CONCURRENCY"
 
 
 class IdentifierType(str, Enum):